@@ -0,0 +1,89 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.api.scheduler2;
+
+import com.cronutils.descriptor.CronDescriptor;
+import com.cronutils.model.CronType;
+import com.cronutils.model.definition.CronDefinition;
+import com.cronutils.model.definition.CronDefinitionBuilder;
+import com.cronutils.parser.CronParser;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Locale;
+
+/**
+ * Times how long reading the cron triggers of a job listing takes with the cron-utils objects built for every
+ * trigger, as {@link ComplexJobTrigger#setCronString(String)} did before the parser was shared and the checked cron
+ * expressions and their descriptions were cached, and with the current trigger, and prints the time per trigger.
+ */
+@SuppressWarnings( "nls" )
+public class CronDescriptionsBenchmarkIT {
+
+  private static final String[] CRON_STRINGS = {
+    "0 0 12 ? * 2 *", "0 30 6 * * ? *", "0 0 0 1 * ? *", "0 15 10 ? * MON-FRI *", "0 0/5 * * * ? *" };
+
+  private static final int TRIGGERS = 1000;
+
+  private static final int WARMUP_ROUNDS = 3;
+
+  private static final int ROUNDS = 10;
+
+  @Test
+  public void compareReadingTheTriggersOfAJobListing() {
+    String legacy = null;
+    String current = null;
+    long legacyNanos = 0;
+    long currentNanos = 0;
+    for ( int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++ ) {
+      long start = System.nanoTime();
+      for ( int i = 0; i < TRIGGERS; i++ ) {
+        legacy = legacyDescribe( CRON_STRINGS[ i % CRON_STRINGS.length ] );
+      }
+      long legacyElapsed = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      for ( int i = 0; i < TRIGGERS; i++ ) {
+        ComplexJobTrigger trigger = new ComplexJobTrigger();
+        trigger.setCronString( CRON_STRINGS[ i % CRON_STRINGS.length ] );
+        current = trigger.getCronDescription();
+      }
+      long currentElapsed = System.nanoTime() - start;
+
+      if ( round >= WARMUP_ROUNDS ) {
+        legacyNanos += legacyElapsed;
+        currentNanos += currentElapsed;
+      }
+    }
+
+    Assert.assertEquals( legacy, current );
+    System.out.println( "cron triggers set and described, before: " + report( legacyNanos ) );
+    System.out.println( "cron triggers set and described, after:  " + report( currentNanos ) );
+    Assert.assertTrue( currentNanos < legacyNanos );
+  }
+
+  /**
+   * Checks and describes a cron expression the way setCronString did, with new cron-utils objects every time.
+   */
+  private static String legacyDescribe( String cronString ) {
+    CronDefinition cronDefinition = CronDefinitionBuilder.instanceDefinitionFor( CronType.QUARTZ );
+    CronDescriptor descriptor = CronDescriptor.instance( Locale.US );
+    CronParser parser = new CronParser( cronDefinition );
+    return descriptor.describe( parser.parse( cronString ) );
+  }
+
+  private static String report( long nanos ) {
+    return ( nanos / ROUNDS / TRIGGERS ) + " ns/trigger";
+  }
+}
@@ -0,0 +1,212 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.blockout;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.pentaho.platform.api.scheduler2.ComplexJobTrigger;
+import org.pentaho.platform.api.scheduler2.IJobTrigger;
+import org.pentaho.platform.api.scheduler2.SimpleJobTrigger;
+import org.pentaho.platform.scheduler2.blockout.BlockoutManagerUtil.TIME;
+import org.pentaho.platform.scheduler2.quartz.QuartzJobKey;
+import org.pentaho.platform.scheduler2.quartz.QuartzScheduler;
+import org.quartz.Trigger;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Times {@link BlockoutOverlap} against the fire-time enumeration it replaced, kept below as {@link Legacy}, for
+ * schedules a blockout never blocks, the worst case of both. The results of both are compared, and the time per
+ * call is printed.
+ */
+@SuppressWarnings( "nls" )
+public class BlockoutOverlapBenchmarkIT {
+
+  private static final int WARMUP_CALLS = 200;
+  private static final int MEASURED_CALLS = 2000;
+
+  // keeps the calls from being optimized away
+  private static volatile boolean sink;
+
+  @Test
+  public void compareSimpleScheduleWithSimpleBlockout() throws Exception {
+    // daily at 3 AM, and weekly from midnight for 2 hours
+    IJobTrigger schedule = new SimpleJobTrigger( date( 3 ), null, -1, TIME.DAY.time / 1000 );
+    IJobTrigger blockOut = blockOut( new SimpleJobTrigger( date( 0 ), null, -1, TIME.WEEK.time / 1000 ) );
+
+    compare( "simple schedule, simple blockout", schedule, blockOut );
+  }
+
+  @Test
+  public void compareComplexScheduleWithSimpleBlockout() throws Exception {
+    IJobTrigger schedule = cron( "0 0 3 ? * *" );
+    IJobTrigger blockOut = blockOut( new SimpleJobTrigger( date( 0 ), null, -1, TIME.WEEK.time / 1000 ) );
+
+    compare( "complex schedule, simple blockout", schedule, blockOut );
+  }
+
+  @Test
+  public void compareComplexScheduleWithComplexBlockout() throws Exception {
+    IJobTrigger schedule = cron( "0 0 3 ? * 2 *" );
+    IJobTrigger blockOut = blockOut( cron( "0 0 0 ? * 2 *" ) );
+
+    compare( "complex schedule, complex blockout", schedule, blockOut );
+  }
+
+  private static void compare( String name, IJobTrigger schedule, IJobTrigger blockOut ) throws Exception {
+    boolean legacy = Legacy.willBlockSchedule( schedule, blockOut );
+    boolean overlap = BlockoutManagerUtil.willBlockSchedule( schedule, blockOut, null );
+    Assert.assertEquals( legacy, overlap );
+
+    long legacyNanos = time( () -> Legacy.willBlockSchedule( schedule, blockOut ) );
+    long overlapNanos = time( () -> BlockoutManagerUtil.willBlockSchedule( schedule, blockOut, null ) );
+    System.out.println( name + ": fire-time enumeration " + legacyNanos / 1000 + " us/call, overlap engine "
+      + overlapNanos / 1000 + " us/call" );
+  }
+
+  private static long time( BooleanSupplier call ) {
+    for ( int i = 0; i < WARMUP_CALLS; i++ ) {
+      sink ^= call.getAsBoolean();
+    }
+    long start = System.nanoTime();
+    for ( int i = 0; i < MEASURED_CALLS; i++ ) {
+      sink ^= call.getAsBoolean();
+    }
+    return ( System.nanoTime() - start ) / MEASURED_CALLS;
+  }
+
+  private static Date date( int hourOfDay ) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.set( 2013, Calendar.JANUARY, 7, hourOfDay, 0, 0 );
+    calendar.set( Calendar.MILLISECOND, 0 );
+    return calendar.getTime();
+  }
+
+  private static IJobTrigger cron( String cronString ) {
+    ComplexJobTrigger trigger = new ComplexJobTrigger();
+    trigger.setStartTime( date( 0 ) );
+    trigger.setCronString( cronString );
+    return trigger;
+  }
+
+  private static IJobTrigger blockOut( IJobTrigger trigger ) {
+    trigger.setDuration( 2 * TIME.HOUR.time );
+    return trigger;
+  }
+
+  /**
+   * The fire-time enumeration of {@link BlockoutManagerUtil#willBlockSchedule} before {@link BlockoutOverlap}, less
+   * the last runs of the blockout jobs, which need a running platform.
+   */
+  static class Legacy {
+
+    static boolean willBlockSchedule( IJobTrigger scheduleTrigger, IJobTrigger blockOutJobTrigger ) {
+      boolean isScheduleTriggerComplex = BlockoutManagerUtil.isComplexTrigger( scheduleTrigger );
+      boolean isBlockOutTriggerComplex = BlockoutManagerUtil.isComplexTrigger( blockOutJobTrigger );
+
+      if ( isScheduleTriggerComplex && isBlockOutTriggerComplex ) {
+        List<Date> blockOutFireTimes = getFireTimes( blockOutJobTrigger );
+        int iStart = 0;
+        for ( Date scheduleFireTime : getFireTimes( scheduleTrigger ) ) {
+          for ( int i = iStart; i < blockOutFireTimes.size(); i++ ) {
+            Date blockOutStartDate = blockOutFireTimes.get( i );
+            if ( blockOutStartDate.after( scheduleFireTime ) ) {
+              iStart = i;
+              break;
+            }
+            long blockOutEnd = blockOutStartDate.getTime() + blockOutJobTrigger.getDuration();
+            if ( blockOutStartDate.getTime() <= scheduleFireTime.getTime()
+              && scheduleFireTime.getTime() <= blockOutEnd ) {
+              return true;
+            }
+          }
+        }
+        return false;
+      }
+
+      if ( isScheduleTriggerComplex ) {
+        for ( Date fireTime : getFireTimes( scheduleTrigger ) ) {
+          if ( willBlockDate( blockOutJobTrigger, fireTime ) ) {
+            return true;
+          }
+        }
+        return false;
+      }
+
+      long blockOutRecurrence = ( (SimpleJobTrigger) blockOutJobTrigger ).getRepeatInterval() * 1000;
+      long scheduleRecurrence = ( (SimpleJobTrigger) scheduleTrigger ).getRepeatInterval() * 1000;
+      for ( int i = 0; i < 1000; i++ ) {
+        double shiftBy = ( blockOutRecurrence - scheduleRecurrence ) * i / (double) scheduleRecurrence;
+        double x1 = ( blockOutJobTrigger.getStartTime().getTime() - scheduleTrigger.getStartTime().getTime() )
+          / (double) scheduleRecurrence + shiftBy;
+        double x2 = ( blockOutJobTrigger.getStartTime().getTime() + blockOutJobTrigger.getDuration()
+          - scheduleTrigger.getStartTime().getTime() ) / (double) scheduleRecurrence + shiftBy;
+        if ( hasIntBetween( x1, x2 ) ) {
+          int xShift = (int) Math.ceil( x1 < x2 ? x1 : x2 );
+          long scheduleDate = scheduleTrigger.getStartTime().getTime() + scheduleRecurrence * ( i + xShift );
+          long blockOutStartDate = blockOutJobTrigger.getStartTime().getTime() + blockOutRecurrence * i;
+          if ( scheduleTrigger.getStartTime().getTime() <= scheduleDate
+            && ( scheduleTrigger.getEndTime() == null || scheduleDate <= scheduleTrigger.getEndTime().getTime() )
+            && blockOutJobTrigger.getStartTime().getTime() <= blockOutStartDate
+            && ( blockOutJobTrigger.getEndTime() == null
+            || blockOutStartDate <= blockOutJobTrigger.getEndTime().getTime() ) ) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+    private static boolean willBlockDate( IJobTrigger blockOutJobTrigger, Date date ) {
+      if ( date.before( blockOutJobTrigger.getStartTime() )
+        || ( blockOutJobTrigger.getEndTime() != null && date.after( blockOutJobTrigger.getEndTime() ) ) ) {
+        return false;
+      }
+      long blockOutRecurrenceInterval = ( (SimpleJobTrigger) blockOutJobTrigger ).getRepeatInterval() * 1000;
+      double x1 = ( date.getTime() - blockOutJobTrigger.getStartTime().getTime() )
+        / (double) blockOutRecurrenceInterval;
+      double x2 = ( date.getTime() - ( blockOutJobTrigger.getStartTime().getTime()
+        + blockOutJobTrigger.getDuration() ) ) / (double) blockOutRecurrenceInterval;
+      return ( x1 < x2 ? x2 >= 0 : x1 >= 0 ) && hasIntBetween( x1, x2 );
+    }
+
+    private static boolean hasIntBetween( double x1, double x2 ) {
+      return x1 > x2 ? Math.floor( x1 ) - Math.ceil( x2 ) >= 0 : Math.floor( x2 ) - Math.ceil( x1 ) >= 0;
+    }
+
+    private static List<Date> getFireTimes( IJobTrigger jobTrigger ) {
+      Date startDate = new Date();
+      Date endDate = new Date( startDate.getTime() + 4 * TIME.YEAR.time );
+      try {
+        List<Date> dates = new ArrayList<>();
+        Trigger trigger = QuartzScheduler.createQuartzTrigger( jobTrigger, new QuartzJobKey( "test", "test" ) );
+        for ( int i = 0; i < 1000; i++ ) {
+          Date nextFireTime = trigger.getFireTimeAfter( startDate );
+          if ( nextFireTime == null || nextFireTime.after( endDate ) ) {
+            break;
+          }
+          dates.add( nextFireTime );
+          startDate = nextFireTime;
+        }
+        return dates;
+      } catch ( Exception e ) {
+        throw new RuntimeException( e );
+      }
+    }
+  }
+}
@@ -15,6 +15,7 @@ package org.pentaho.platform.scheduler2.blockout;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 
@@ -182,6 +183,40 @@ public class PentahoBlockoutManagerIT {
 
   }
 
+  @Test
+  public void testScheduleTheBlockoutsBlockEntirelyIsCreated() throws Exception {
+    Calendar blockOutStartDate = new GregorianCalendar( 2013, Calendar.JANUARY, 7 );
+    IJobTrigger blockOutJobTrigger =
+        new SimpleJobTrigger( blockOutStartDate.getTime(), null, -1, TIME.WEEK.time / 1000 );
+    blockOutJobTrigger.setDuration( duration );
+    addBlockOutJob( blockOutJobTrigger );
+
+    Calendar scheduleStartDate = new GregorianCalendar( 2013, Calendar.JANUARY, 7, 1, 0, 0 );
+    IJobTrigger scheduleTrigger =
+        new SimpleJobTrigger( scheduleStartDate.getTime(), null, -1, TIME.WEEK.time / 1000 );
+    assertFalse( this.blockOutManager.willFire( scheduleTrigger ) );
+
+    // the schedule dialog lets the user continue with a schedule the blockouts block entirely
+    Job job = addJob( scheduleTrigger, "blockedSchedule" ); //$NON-NLS-1$
+    assertNotNull( this.scheduler.getJob( job.getJobId() ) );
+  }
+
+  @Test
+  public void testScheduleKeepsItsNextRunOnceABlockoutBlocksItEntirely() throws Exception {
+    Calendar scheduleStartDate = new GregorianCalendar( 2013, Calendar.JANUARY, 7, 1, 0, 0 );
+    IJobTrigger scheduleTrigger =
+        new SimpleJobTrigger( scheduleStartDate.getTime(), null, -1, TIME.WEEK.time / 1000 );
+    Job job = addJob( scheduleTrigger, "blockedSchedule" ); //$NON-NLS-1$
+
+    Calendar blockOutStartDate = new GregorianCalendar( 2013, Calendar.JANUARY, 7 );
+    IJobTrigger blockOutJobTrigger =
+        new SimpleJobTrigger( blockOutStartDate.getTime(), null, -1, TIME.WEEK.time / 1000 );
+    blockOutJobTrigger.setDuration( duration );
+    addBlockOutJob( blockOutJobTrigger );
+
+    assertNotNull( this.scheduler.getJob( job.getJobId() ).getNextRun() );
+  }
+
   /**
    * Test method for
    * {@link org.pentaho.platform.scheduler2.blockout.PentahoBlockoutManager#isPartiallyBlocked(org.quartz.IJobTrigger)}.
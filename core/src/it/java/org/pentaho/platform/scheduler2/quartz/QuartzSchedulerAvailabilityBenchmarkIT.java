@@ -0,0 +1,167 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.quartz;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.quartz.impl.calendar.BaseCalendar;
+import org.quartz.impl.triggers.CronTriggerImpl;
+
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Times how long a cron trigger bound to an availability window takes to find its fire times with the calendar and
+ * trigger start used before {@link QuartzSchedulerAvailability#getNextIncludedTime(long)} was reworked and cron
+ * triggers were started when their window opens, and with the current ones, and prints the time per call.
+ */
+@SuppressWarnings( "nls" )
+public class QuartzSchedulerAvailabilityBenchmarkIT {
+
+  private static final long DAY = 86400000L;
+
+  private static final String EVERY_MINUTE = "0 * * ? * * *";
+
+  private static final int WARMUP_ROUNDS = 3;
+
+  private static final int ROUNDS = 10;
+
+  @Test
+  public void compareFirstFireTimeOfAWindowInTheFuture() throws Exception {
+    long now = System.currentTimeMillis() / 1000 * 1000;
+    Date windowStart = new Date( now + 7 * DAY );
+    Date windowEnd = new Date( now + 14 * DAY );
+
+    Date legacy = null;
+    Date current = null;
+    long legacyNanos = 0;
+    long currentNanos = 0;
+    for ( int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++ ) {
+      long start = System.nanoTime();
+      legacy = trigger( new Date( now ), windowEnd ).computeFirstFireTime(
+        new LegacyAvailability( windowStart, windowEnd ) );
+      long legacyElapsed = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      CronTriggerImpl trigger = trigger( new Date( now ), windowEnd );
+      QuartzSchedulerAvailability calendar = new QuartzSchedulerAvailability( windowStart, windowEnd );
+      QuartzScheduler.startAtAvailability( trigger, calendar );
+      current = trigger.computeFirstFireTime( calendar );
+      long currentElapsed = System.nanoTime() - start;
+
+      if ( round >= WARMUP_ROUNDS ) {
+        legacyNanos += legacyElapsed;
+        currentNanos += currentElapsed;
+      }
+    }
+
+    Assert.assertEquals( legacy, current );
+    System.out.println( "first fire time a week ahead, before: " + report( legacyNanos ) );
+    System.out.println( "first fire time a week ahead, after:  " + report( currentNanos ) );
+    Assert.assertTrue( currentNanos < legacyNanos );
+  }
+
+  @Test
+  public void compareFireTimesWithinTheWindow() throws Exception {
+    long now = System.currentTimeMillis() / 1000 * 1000;
+    Date windowStart = new Date( now );
+    Date windowEnd = new Date( now + DAY );
+    CronTriggerImpl trigger = trigger( windowStart, windowEnd );
+    LegacyAvailability legacyCalendar = new LegacyAvailability( windowStart, windowEnd );
+    QuartzSchedulerAvailability calendar = new QuartzSchedulerAvailability( windowStart, windowEnd );
+
+    int legacyCount = 0;
+    int currentCount = 0;
+    long legacyNanos = 0;
+    long currentNanos = 0;
+    for ( int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++ ) {
+      long start = System.nanoTime();
+      legacyCount = countFireTimes( trigger, legacyCalendar );
+      long legacyElapsed = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      currentCount = countFireTimes( trigger, calendar );
+      long currentElapsed = System.nanoTime() - start;
+
+      if ( round >= WARMUP_ROUNDS ) {
+        legacyNanos += legacyElapsed;
+        currentNanos += currentElapsed;
+      }
+    }
+
+    Assert.assertEquals( legacyCount, currentCount );
+    System.out.println( "fire times of a day, before: " + report( legacyNanos ) );
+    System.out.println( "fire times of a day, after:  " + report( currentNanos ) );
+  }
+
+  /**
+   * Walks the fire times the way a cron trigger does when it fires, skipping the times the calendar excludes.
+   */
+  private static int countFireTimes( CronTriggerImpl trigger, org.quartz.Calendar calendar ) {
+    int count = 0;
+    Date fireTime = trigger.getFireTimeAfter( new Date( trigger.getStartTime().getTime() - 1 ) );
+    while ( fireTime != null ) {
+      if ( calendar.isTimeIncluded( fireTime.getTime() ) ) {
+        count++;
+      }
+      fireTime = trigger.getFireTimeAfter( fireTime );
+    }
+    return count;
+  }
+
+  private static CronTriggerImpl trigger( Date startTime, Date endTime ) throws Exception {
+    CronTriggerImpl trigger = new CronTriggerImpl();
+    trigger.setName( "benchmark" );
+    trigger.setCronExpression( EVERY_MINUTE );
+    trigger.setTimeZone( TimeZone.getTimeZone( "UTC" ) );
+    trigger.setStartTime( startTime );
+    trigger.setEndTime( endTime );
+    return trigger;
+  }
+
+  private static String report( long nanos ) {
+    return ( nanos / ROUNDS / 1000 ) + " us/call";
+  }
+
+  /**
+   * The availability calendar as it was, which steps through the window one millisecond at a time.
+   */
+  private static class LegacyAvailability extends BaseCalendar {
+    private final Date startTime;
+    private final Date endTime;
+
+    LegacyAvailability( Date startTime, Date endTime ) {
+      this.startTime = startTime;
+      this.endTime = endTime;
+    }
+
+    @Override
+    public long getNextIncludedTime( long arg0 ) {
+      long nextIncludedDate = 0;
+      Date date = new Date( arg0 );
+      if ( !date.before( startTime ) && date.before( endTime ) ) {
+        nextIncludedDate = arg0 + 1;
+      } else if ( date.before( startTime ) ) {
+        nextIncludedDate = startTime.getTime();
+      }
+      return nextIncludedDate;
+    }
+
+    @Override
+    public boolean isTimeIncluded( long arg0 ) {
+      Date date = new Date( arg0 );
+      return !date.before( startTime ) && !date.after( endTime );
+    }
+  }
+}
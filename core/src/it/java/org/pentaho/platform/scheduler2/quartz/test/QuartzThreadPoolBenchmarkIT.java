@@ -0,0 +1,103 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.quartz.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.TriggerBuilder;
+import org.quartz.impl.StdSchedulerFactory;
+import org.pentaho.platform.scheduler2.quartz.QuartzVirtualThreadPool;
+
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the same burst of I/O-bound jobs, which only wait, through Quartz's SimpleThreadPool and through
+ * {@link QuartzVirtualThreadPool}, and prints how long each pool takes. With the same cap both pools take about as
+ * long; the virtual thread pool can be given a much higher cap without holding a platform thread per waiting job.
+ */
+@SuppressWarnings( "nls" )
+public class QuartzThreadPoolBenchmarkIT {
+
+  private static final int JOB_COUNT = 200;
+  private static final long JOB_WAIT_MILLIS = 100;
+
+  private static volatile CountDownLatch remainingJobs;
+
+  public static class WaitingJob implements Job {
+    @Override
+    public void execute( JobExecutionContext context ) {
+      try {
+        // stands for a job waiting on the repository, a database or a mail server
+        Thread.sleep( JOB_WAIT_MILLIS );
+      } catch ( InterruptedException e ) {
+        Thread.currentThread().interrupt();
+      }
+      remainingJobs.countDown();
+    }
+  }
+
+  @Test
+  public void compareThreadPools() throws Exception {
+    Properties simple = new Properties();
+    simple.put( "org.quartz.threadPool.class", "org.quartz.simpl.SimpleThreadPool" );
+    simple.put( "org.quartz.threadPool.threadCount", "10" );
+    simple.put( "org.quartz.threadPool.makeThreadsDaemons", "true" );
+    long simpleMillis = run( "SimpleThreadPool", simple );
+
+    Properties virtual = new Properties();
+    virtual.put( "org.quartz.threadPool.class", QuartzVirtualThreadPool.class.getName() );
+    virtual.put( "org.quartz.threadPool.maxConcurrency", "10" );
+    long virtualMillis = run( "QuartzVirtualThreadPool", virtual );
+
+    virtual.put( "org.quartz.threadPool.maxConcurrency", "200" );
+    long virtualUncappedMillis = run( "QuartzVirtualThreadPool", virtual );
+
+    System.out.println( "SimpleThreadPool, 10 threads:         " + report( simpleMillis ) );
+    System.out.println( "QuartzVirtualThreadPool, cap of 10:  " + report( virtualMillis ) );
+    System.out.println( "QuartzVirtualThreadPool, cap of 200: " + report( virtualUncappedMillis ) );
+    Assert.assertTrue( virtualUncappedMillis < simpleMillis );
+  }
+
+  private static long run( String name, Properties props ) throws Exception {
+    props.put( "org.quartz.scheduler.instanceName", "Benchmark" + name + props.hashCode() );
+    props.put( "org.quartz.scheduler.instanceId", "1" );
+    props.put( "org.quartz.scheduler.makeSchedulerThreadDaemon", "true" );
+    props.put( "org.quartz.scheduler.batchTriggerAcquisitionMaxCount", "50" );
+    props.put( "org.quartz.jobStore.class", "org.quartz.simpl.RAMJobStore" );
+    Scheduler scheduler = new StdSchedulerFactory( props ).getScheduler();
+    remainingJobs = new CountDownLatch( JOB_COUNT );
+    try {
+      for ( int i = 0; i < JOB_COUNT; i++ ) {
+        scheduler.scheduleJob( JobBuilder.newJob( WaitingJob.class ).withIdentity( "job" + i ).build(),
+          TriggerBuilder.newTrigger().withIdentity( "trigger" + i ).startNow().build() );
+      }
+      long start = System.nanoTime();
+      scheduler.start();
+      Assert.assertTrue( name + " did not run all the jobs", remainingJobs.await( 2, TimeUnit.MINUTES ) );
+      return TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start );
+    } finally {
+      scheduler.shutdown( true );
+    }
+  }
+
+  private static String report( long millis ) {
+    return JOB_COUNT + " jobs in " + millis + " ms, " + ( JOB_COUNT * 1000L / Math.max( 1, millis ) ) + " jobs/s";
+  }
+}
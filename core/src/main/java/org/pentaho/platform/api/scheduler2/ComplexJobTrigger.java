@@ -17,16 +17,12 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.TreeSet;
 
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 
-import com.cronutils.descriptor.CronDescriptor;
-import com.cronutils.model.CronType;
-import com.cronutils.model.definition.CronDefinition;
-import com.cronutils.model.definition.CronDefinitionBuilder;
-import com.cronutils.parser.CronParser;
 import org.pentaho.platform.api.scheduler2.wrappers.DayOfMonthWrapper;
 import org.pentaho.platform.api.scheduler2.wrappers.DayOfWeekWrapper;
 import org.pentaho.platform.api.scheduler2.wrappers.HourlyWrapper;
@@ -127,6 +123,32 @@ public class ComplexJobTrigger extends JobTrigger implements IComplexJobTrigger
     setSecondRecurrence( 0 );
   }
 
+  /**
+   * Creates a copy of a trigger. The recurrence lists are copied but share their recurrences with the original, which
+   * makes the copy cheap enough to hand out one per job when listing jobs.
+   *
+   * @param trigger
+   *          the trigger to copy
+   */
+  public ComplexJobTrigger( ComplexJobTrigger trigger ) {
+    super( trigger );
+    copyRecurrences( trigger.yearlyRecurrences, yearlyRecurrences );
+    copyRecurrences( trigger.monthlyRecurrences, monthlyRecurrences );
+    copyRecurrences( trigger.dayOfMonthRecurrences, dayOfMonthRecurrences );
+    copyRecurrences( trigger.dayOfWeekRecurrences, dayOfWeekRecurrences );
+    copyRecurrences( trigger.hourlyRecurrences, hourlyRecurrences );
+    copyRecurrences( trigger.minuteRecurrences, minuteRecurrences );
+    copyRecurrences( trigger.secondRecurrences, secondRecurrences );
+    this.repeatInterval = trigger.repeatInterval;
+    this.cronDescription = trigger.cronDescription;
+  }
+
+  private static void copyRecurrences( ITimeWrapper from, ITimeWrapper to ) {
+    for ( Object recurrence : from.getRecurrences() ) {
+      to.add( (ITimeRecurrence) recurrence );
+    }
+  }
+
   private void setRecurrences( ITimeWrapper theList, Integer... recurrences ) {
     theList.clear();
     addRecurrences( theList, recurrences );
@@ -605,19 +627,28 @@ public class ComplexJobTrigger extends JobTrigger implements IComplexJobTrigger
     return nonNullArgs;
   }
 
+  /**
+   * Sets the cron expression of this trigger. The expression is checked right away, but its description is not
+   * computed until it is asked for, usually when the trigger is serialized for a client.
+   *
+   * @throws IllegalArgumentException if the cron expression is not valid
+   */
   @Override
-  public void setCronString(String cronString) {
-    super.setCronString(cronString);
-    getCronDescription();
+  public void setCronString( String cronString ) {
+    if ( !Objects.equals( cronString, getCronString() ) ) {
+      if ( cronString != null && !cronString.isEmpty() ) {
+        CronDescriptions.validate( cronString );
+      }
+      cronDescription = null;
+    }
+    super.setCronString( cronString );
   }
 
   @Override
   public String getCronDescription() {
-    if(getCronString() != null && !getCronString().isEmpty() && (cronDescription == null || cronDescription.isEmpty())) {
-      CronDefinition cronDefinition = CronDefinitionBuilder.instanceDefinitionFor(CronType.QUARTZ);
-      CronDescriptor descriptor = CronDescriptor.instance(Locale.US);
-      CronParser parser = new CronParser(cronDefinition);
-      cronDescription = descriptor.describe(parser.parse(getCronString()));
+    if ( getCronString() != null && !getCronString().isEmpty() && ( cronDescription == null || cronDescription
+      .isEmpty() ) ) {
+      cronDescription = CronDescriptions.describe( getCronString(), Locale.US );
     }
     return cronDescription;
   }
@@ -0,0 +1,136 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.api.scheduler2;
+
+import com.cronutils.descriptor.CronDescriptor;
+import com.cronutils.model.CronType;
+import com.cronutils.model.definition.CronDefinitionBuilder;
+import com.cronutils.parser.CronParser;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Human readable descriptions of Quartz cron expressions. The cron-utils parser is shared by the whole process and
+ * descriptions are kept in a bounded, least recently used cache, since the same few cron expressions are described
+ * again for every job listed. The cron expressions found valid are cached the same way, since they are checked again
+ * for every trigger read.
+ */
+final class CronDescriptions {
+
+  static final int CAPACITY = 1000;
+
+  private static final CronParser PARSER = new CronParser( CronDefinitionBuilder.instanceDefinitionFor(
+    CronType.QUARTZ ) );
+
+  private static final Map<Locale, CronDescriptor> DESCRIPTORS = new ConcurrentHashMap<>();
+
+  private static final Map<Key, String> DESCRIPTIONS = newCache();
+
+  private static final Map<String, Boolean> VALID_CRON_STRINGS = newCache();
+
+  private CronDescriptions() {
+  }
+
+  /**
+   * @param cronString a Quartz cron expression
+   * @param locale     the language of the description
+   * @return the description of the cron expression
+   * @throws IllegalArgumentException if the cron expression is not valid
+   */
+  static String describe( String cronString, Locale locale ) {
+    Key key = new Key( cronString, locale );
+    String description;
+    synchronized ( DESCRIPTIONS ) {
+      description = DESCRIPTIONS.get( key );
+    }
+    if ( description == null ) {
+      description = DESCRIPTORS.computeIfAbsent( locale, CronDescriptor::instance ).describe( PARSER.parse(
+        cronString ) );
+      synchronized ( DESCRIPTIONS ) {
+        DESCRIPTIONS.put( key, description );
+      }
+    }
+    return description;
+  }
+
+  /**
+   * Parses a cron expression with the shared parser without describing it, unless it was found valid before.
+   *
+   * @param cronString a Quartz cron expression
+   * @throws IllegalArgumentException if the cron expression is not valid
+   */
+  static void validate( String cronString ) {
+    synchronized ( VALID_CRON_STRINGS ) {
+      if ( VALID_CRON_STRINGS.get( cronString ) != null ) {
+        return;
+      }
+    }
+    PARSER.parse( cronString );
+    synchronized ( VALID_CRON_STRINGS ) {
+      VALID_CRON_STRINGS.put( cronString, Boolean.TRUE );
+    }
+  }
+
+  static int size() {
+    synchronized ( DESCRIPTIONS ) {
+      return DESCRIPTIONS.size();
+    }
+  }
+
+  static boolean isValidated( String cronString ) {
+    synchronized ( VALID_CRON_STRINGS ) {
+      return VALID_CRON_STRINGS.containsKey( cronString );
+    }
+  }
+
+  private static <K, V> Map<K, V> newCache() {
+    return new LinkedHashMap<K, V>( 16, 0.75f, true ) {
+      @Override
+      protected boolean removeEldestEntry( Map.Entry<K, V> eldest ) {
+        return size() > CAPACITY;
+      }
+    };
+  }
+
+  private static final class Key {
+    private final String cronString;
+    private final Locale locale;
+
+    Key( String cronString, Locale locale ) {
+      this.cronString = cronString;
+      this.locale = locale;
+    }
+
+    @Override
+    public boolean equals( Object o ) {
+      if ( this == o ) {
+        return true;
+      }
+      if ( !( o instanceof Key ) ) {
+        return false;
+      }
+      Key key = (Key) o;
+      return cronString.equals( key.cronString ) && locale.equals( key.locale );
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash( cronString, locale );
+    }
+  }
+}
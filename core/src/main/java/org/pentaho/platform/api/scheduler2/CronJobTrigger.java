@@ -28,6 +28,17 @@ public class CronJobTrigger extends JobTrigger implements ICronJobTrigger {
     this.cronString = cronString;
   }
 
+  /**
+   * Creates a copy of a trigger, which can be changed without changing the original.
+   *
+   * @param trigger
+   *          the trigger to copy
+   */
+  public CronJobTrigger( CronJobTrigger trigger ) {
+    super( trigger );
+    this.cronString = trigger.cronString;
+  }
+
   public String getCronString() {
     return cronString;
   }
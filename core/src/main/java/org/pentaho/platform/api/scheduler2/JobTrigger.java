@@ -63,6 +63,25 @@ public abstract class JobTrigger implements Serializable, IJobTrigger {
     this.endTime = endTime;
   }
 
+  /**
+   * Creates a copy of a trigger. The dates are copied, so the copy can be changed without changing the original.
+   */
+  protected JobTrigger( JobTrigger trigger ) {
+    this.startTime = trigger.startTime == null ? null : new Date( trigger.startTime.getTime() );
+    this.endTime = trigger.endTime == null ? null : new Date( trigger.endTime.getTime() );
+    this.uiPassParam = trigger.uiPassParam;
+    this.cronString = trigger.cronString;
+    this.cronDescription = trigger.cronDescription;
+    this.duration = trigger.duration;
+    this.startMin = trigger.startMin;
+    this.startHour = trigger.startHour;
+    this.startYear = trigger.startYear;
+    this.startMonth = trigger.startMonth;
+    this.startDay = trigger.startDay;
+    this.startAmPm = trigger.startAmPm;
+    this.timeZone = trigger.timeZone;
+  }
+
   @Override
   public Date getStartTime() {
     return startTime;
@@ -40,6 +40,18 @@ public class SimpleJobTrigger extends JobTrigger implements ISimpleJobTrigger {
   public SimpleJobTrigger() {
   }
 
+  /**
+   * Creates a copy of a trigger, which can be changed without changing the original.
+   *
+   * @param trigger
+   *          the trigger to copy
+   */
+  public SimpleJobTrigger( SimpleJobTrigger trigger ) {
+    super( trigger );
+    this.repeatCount = trigger.repeatCount;
+    this.repeatInterval = trigger.repeatInterval;
+  }
+
   public int getRepeatCount() {
     return repeatCount;
   }
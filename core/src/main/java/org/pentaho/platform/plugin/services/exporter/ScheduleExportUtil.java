@@ -13,10 +13,10 @@
 
 package org.pentaho.platform.plugin.services.exporter;
 
-import org.apache.commons.lang.ArrayUtils;
 import org.pentaho.platform.api.scheduler2.ComplexJobTrigger;
 import org.pentaho.platform.api.scheduler2.CronJobTrigger;
 import org.pentaho.platform.api.scheduler2.IBlockoutManager;
+import org.pentaho.platform.api.scheduler2.IJob;
 import org.pentaho.platform.api.scheduler2.IScheduler;
 import org.pentaho.platform.api.scheduler2.Job;
 import org.pentaho.platform.api.scheduler2.SchedulerException;
@@ -28,21 +28,35 @@ import org.pentaho.platform.engine.core.system.PentahoSystem;
 import org.pentaho.platform.api.importexport.ExportException;
 import org.pentaho.platform.plugin.services.importexport.exportManifest.ExportManifest;
 import org.pentaho.platform.scheduler2.messsages.Messages;
+import org.pentaho.platform.scheduler2.quartz.QuartzScheduler;
 import org.pentaho.platform.repository.RepositoryFilenameUtils;
 import org.pentaho.platform.web.http.api.resources.JobScheduleParam;
 import org.pentaho.platform.web.http.api.resources.JobScheduleRequest;
 import org.pentaho.platform.web.http.api.resources.RepositoryFileStreamProvider;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 public class ScheduleExportUtil implements IExportHelper {
   public static final String RUN_PARAMETERS_KEY = "parameters";
+  private static final String VERSION_CHECK_JOB_NAME = "PentahoSystemVersionCheck";
+  static final int DEFAULT_BATCH_SIZE = 100;
+  static final int DEFAULT_PARALLELISM = 4;
 
   private ExportManifest exportManifest;
   protected IRepositoryExportLogger log;
+  private int batchSize = DEFAULT_BATCH_SIZE;
+  private int parallelism = DEFAULT_PARALLELISM;
 
   public ScheduleExportUtil() {
     // to get 100% coverage
@@ -52,6 +66,20 @@ public class ScheduleExportUtil implements IExportHelper {
     PentahoSystem.get( IPentahoPlatformExporter.class, "IPentahoPlatformExporter", null ).addExportHelper( this );
   }
 
+  /**
+   * @param batchSize the number of schedules converted by a worker at a time
+   */
+  public void setBatchSize( int batchSize ) {
+    this.batchSize = Math.max( 1, batchSize );
+  }
+
+  /**
+   * @param parallelism the maximum number of batches of schedules converted at the same time
+   */
+  public void setParallelism( int parallelism ) {
+    this.parallelism = Math.max( 1, parallelism );
+  }
+
   public static JobScheduleRequest createJobScheduleRequest( Job job ) throws ExportException {
     if ( job == null ) {
       throw new IllegalArgumentException(
@@ -59,6 +87,18 @@ public class ScheduleExportUtil implements IExportHelper {
     }
     IScheduler scheduler = PentahoSystem.get( IScheduler.class, "IScheduler2", null ); //$NON-NLS-1$
     assert scheduler != null;
+    return createJobScheduleRequest( job, scheduler );
+  }
+
+  /**
+   * Converts a job to the schedule request stored in the export manifest, using the given scheduler to create the
+   * request and its triggers instead of looking the scheduler up for every job.
+   */
+  static JobScheduleRequest createJobScheduleRequest( Job job, IScheduler scheduler ) {
+    if ( job == null ) {
+      throw new IllegalArgumentException(
+          Messages.getInstance().getString( "ScheduleExportUtil.JOB_MUST_NOT_BE_NULL" ) );
+    }
     JobScheduleRequest schedule = (JobScheduleRequest) scheduler.createJobScheduleRequest();
     schedule.setJobName( job.getJobName() );
     schedule.setDuration( job.getJobTrigger().getDuration() );
@@ -67,25 +107,17 @@ public class ScheduleExportUtil implements IExportHelper {
     Map<String, Object> jobParams = job.getJobParams();
 
     Object streamProviderObj = jobParams.get( IScheduler.RESERVEDMAPKEY_STREAMPROVIDER );
-    RepositoryFileStreamProvider streamProvider = null;
+    String[] streamProviderFiles = null;
     if ( streamProviderObj instanceof RepositoryFileStreamProvider ) {
-      streamProvider = (RepositoryFileStreamProvider) streamProviderObj;
+      RepositoryFileStreamProvider streamProvider = (RepositoryFileStreamProvider) streamProviderObj;
+      streamProviderFiles = new String[] { streamProvider.getInputFilePath(), streamProvider.getOutputFilePath() };
     } else if ( streamProviderObj instanceof String ) {
-      String inputFilePath = null;
-      String outputFilePath = null;
-      String inputOutputString = (String) streamProviderObj;
-      String[] tokens = inputOutputString.split( ":" );
-      if ( !ArrayUtils.isEmpty( tokens ) && tokens.length == 2 ) {
-        inputFilePath = tokens[ 0 ].split( "=" )[ 1 ].trim();
-        outputFilePath = tokens[ 1 ].split( "=" )[ 1 ].trim();
-
-        streamProvider = new RepositoryFileStreamProvider( inputFilePath, outputFilePath, true );
-      }
+      streamProviderFiles = parseStreamProvider( (String) streamProviderObj );
     }
 
-    if ( streamProvider != null ) {
-      schedule.setInputFile( streamProvider.getInputFilePath() );
-      schedule.setOutputFile( streamProvider.getOutputFilePath() );
+    if ( streamProviderFiles != null ) {
+      schedule.setInputFile( streamProviderFiles[ 0 ] );
+      schedule.setOutputFile( streamProviderFiles[ 1 ] );
     } else {
       // let's look to see if we can figure out the input and output file
       String directory = (String) jobParams.get( "directory" );
@@ -167,51 +199,232 @@ public class ScheduleExportUtil implements IExportHelper {
     return (JobScheduleRequest) schedule;
   }
 
+  /**
+   * Reads the input and output files of a stream provider saved as "input file = a:output file = b" in a single pass,
+   * without building a stream provider only to read the two paths back.
+   *
+   * @return the input and output file, or null if the string has not exactly one ':' or a part has no '='
+   */
+  static String[] parseStreamProvider( String inputOutputString ) {
+    int separator = inputOutputString.indexOf( ':' );
+    if ( separator == -1 || inputOutputString.indexOf( ':', separator + 1 ) != -1 ) {
+      return null;
+    }
+    String inputFilePath = getStreamProviderValue( inputOutputString, 0, separator );
+    String outputFilePath = getStreamProviderValue( inputOutputString, separator + 1, inputOutputString.length() );
+    if ( inputFilePath == null || outputFilePath == null ) {
+      return null;
+    }
+    return new String[] { inputFilePath, outputFilePath };
+  }
+
+  private static String getStreamProviderValue( String inputOutputString, int start, int end ) {
+    int equals = inputOutputString.indexOf( '=', start );
+    if ( equals == -1 || equals >= end ) {
+      return null;
+    }
+    int valueEnd = inputOutputString.indexOf( '=', equals + 1 );
+    return inputOutputString.substring( equals + 1, valueEnd == -1 || valueEnd > end ? end : valueEnd ).trim();
+  }
+
   private void setRepositoryExportLogger( IRepositoryExportLogger repositoryExportLogger ) {
     this.log = repositoryExportLogger;
   }
+  /**
+   * Exports the schedules without first listing every job: the jobs are streamed from the job store (one job group at
+   * a time for a Quartz scheduler), converted to schedule requests in batches by at most {@link #setParallelism(int)}
+   * workers, and each converted batch is added to the manifest, in job store order, as soon as it is done. The
+   * manifest itself still holds a schedule request per exported job until the exporter writes it out, so the heap
+   * used by an export keeps growing with the number of schedules. The throughput of the export is logged at the end.
+   */
   protected void exportSchedules() throws ExportException {
     log.info( Messages.getString( "PentahoPlatformExporter.INFO_START_EXPORT_SCHEDULE" ) );
 
-    int jobListSize = 0;
-    int successfulJobExportCount = 0;
+    long start = System.currentTimeMillis();
+    ScheduleWriter writer = null;
     try {
       IScheduler scheduler = PentahoSystem.get( IScheduler.class, "IScheduler2", null );
       if ( scheduler == null ) {
         throw new ExportException( " Unable to retrieve scheduler service. Failed to export schedules" );
       }
-      List<Job> jobs = (List<Job>) (List<?>) scheduler.getJobs( null );
-      if ( jobs != null ) {
-        jobListSize = jobs.size();
+      writer = new ScheduleWriter( scheduler );
+      try {
+        forEachJob( scheduler, writer );
+        writer.finish();
+      } catch ( ScheduleWriterException e ) {
+        throw e.getCause();
+      } finally {
+        writer.close();
       }
-      log.info( Messages.getInstance().getString( "PentahoPlatformExporter.INFO_COUNT_SCHEDULE_TO_EXPORT", jobListSize ) );
+      log.info( Messages.getInstance().getString( "PentahoPlatformExporter.INFO_COUNT_SCHEDULE_TO_EXPORT",
+        writer.jobCount ) );
+    } catch ( SchedulerException e ) {
+      throw new ExportException( Messages.getInstance().getString( "PentahoPlatformExporter.ERROR_EXPORTING_JOBS" ), e );
+    } finally {
+      int jobCount = writer == null ? 0 : writer.jobCount;
+      int successfulJobExportCount = writer == null ? 0 : writer.successfulJobExportCount;
+      log.info( Messages.getInstance().getString( "PentahoPlatformExporter.INFO_SUCCESSFUL_SCHEDULE_EXPORT_COUNT", successfulJobExportCount, jobCount ) );
+      logStatistics( jobCount, start );
 
-      for ( Job job : jobs ) {
-        if ( job.getJobName().equals( "PentahoSystemVersionCheck" ) ) {
-          // don't bother exporting the Version Checker schedule, it gets created automatically on server start
-          // if it doesn't exist and fails if you try to import it due to a null ActionClass
-          log.debug( " Skipping the version check schedule [ " + job.getJobName() + " ]" );
-          continue;
+      log.info( Messages.getInstance().getString( "PentahoPlatformExporter.INFO_END_EXPORT_SCHEDULE" ) );
+    }
+  }
+
+  /**
+   * Passes every job to the action as it is read. A Quartz scheduler is read one job group at a time; other schedulers
+   * can only list all their jobs at once.
+   */
+  @SuppressWarnings( "unchecked" )
+  private static void forEachJob( IScheduler scheduler, Consumer<IJob> action ) throws SchedulerException {
+    if ( scheduler instanceof QuartzScheduler ) {
+      ( (QuartzScheduler) scheduler ).forEachJob( null, action );
+      return;
+    }
+    List<IJob> jobs = (List<IJob>) (List<?>) scheduler.getJobs( null );
+    if ( jobs != null ) {
+      jobs.forEach( action );
+    }
+  }
+
+  private void logStatistics( int jobCount, long start ) {
+    long elapsed = Math.max( 1, System.currentTimeMillis() - start );
+    Runtime runtime = Runtime.getRuntime();
+    long usedMemory = ( runtime.totalMemory() - runtime.freeMemory() ) / ( 1024 * 1024 );
+    log.info( Messages.getInstance().getString( "PentahoPlatformExporter.INFO_SCHEDULE_EXPORT_STATISTICS", jobCount,
+      elapsed, jobCount * 1000L / elapsed, usedMemory, runtime.maxMemory() / ( 1024 * 1024 ) ) );
+  }
+
+  /**
+   * Collects the streamed jobs in batches and converts each full batch on the worker pool. When
+   * {@link #parallelism} batches are being converted, the oldest one is waited for and written to the manifest before
+   * the next batch is submitted, so the jobs waiting to be converted are bounded; the manifest entries are not. The
+   * workers do not log; the results are logged by the thread writing them to the manifest.
+   */
+  private class ScheduleWriter implements Consumer<IJob> {
+    private final IScheduler scheduler;
+    private final Deque<Future<List<ConvertedJob>>> pendingBatches = new ArrayDeque<>();
+    private ExecutorService executor;
+    private List<Job> batch = new ArrayList<>( batchSize );
+    private int jobCount;
+    private int successfulJobExportCount;
+
+    ScheduleWriter( IScheduler scheduler ) {
+      this.scheduler = scheduler;
+    }
+
+    @Override
+    public void accept( IJob job ) {
+      jobCount++;
+      if ( VERSION_CHECK_JOB_NAME.equals( job.getJobName() ) ) {
+        // don't bother exporting the Version Checker schedule, it gets created automatically on server start
+        // if it doesn't exist and fails if you try to import it due to a null ActionClass
+        log.debug( " Skipping the version check schedule [ " + job.getJobName() + " ]" );
+        return;
+      }
+      batch.add( (Job) job );
+      if ( batch.size() >= batchSize ) {
+        submit();
+      }
+    }
+
+    void finish() throws ExportException {
+      if ( !batch.isEmpty() ) {
+        if ( pendingBatches.isEmpty() ) {
+          // a single batch is converted on the calling thread
+          write( convert( batch, scheduler ) );
+          batch = new ArrayList<>();
+        } else {
+          submit();
         }
+      }
+      while ( !pendingBatches.isEmpty() ) {
+        writeOldestBatch();
+      }
+    }
+
+    void close() {
+      if ( executor != null ) {
+        executor.shutdownNow();
+      }
+    }
+
+    private void submit() {
+      if ( executor == null ) {
+        executor = Executors.newFixedThreadPool( parallelism );
+      }
+      while ( pendingBatches.size() >= parallelism ) {
         try {
-          log.trace( " Creating a job scheduling request for [ " + job.getJobName() + " ]" );
-          JobScheduleRequest scheduleRequest = ScheduleExportUtil.createJobScheduleRequest( job );
-          log.trace( " Successfully finish creating a job scheduling request for [ " + job.getJobName() + " ]" );
-          exportManifest.addSchedule( scheduleRequest );
-          successfulJobExportCount++;
-          log.trace( " Successfully added job scheduling request to manifest [ " + job.getJobName() + " ]" );
-          log.debug( " Successfully added schedule [ " + job.getJobName() + " ] to the manifest" );
-        } catch ( IllegalArgumentException e ) {
-          log.info( Messages.getInstance().getString( "PentahoPlatformExporter.ERROR_SCHEDULE_EXPORT", job.getJobName(), e.getMessage() ) );
-          log.debug( Messages.getInstance().getString( "PentahoPlatformExporter.ERROR_SCHEDULE_EXPORT", job.getJobName(), e.getMessage(), e ) );
+          writeOldestBatch();
+        } catch ( ExportException e ) {
+          throw new ScheduleWriterException( e );
         }
       }
-    } catch ( SchedulerException e ) {
-      throw new ExportException( Messages.getInstance().getString( "PentahoPlatformExporter.ERROR_EXPORTING_JOBS" ), e );
-    } finally {
-      log.info( Messages.getInstance().getString( "PentahoPlatformExporter.INFO_SUCCESSFUL_SCHEDULE_EXPORT_COUNT", successfulJobExportCount, jobListSize ) );
+      List<Job> jobs = batch;
+      pendingBatches.add( executor.submit( () -> convert( jobs, scheduler ) ) );
+      batch = new ArrayList<>( batchSize );
+    }
 
-      log.info( Messages.getInstance().getString( "PentahoPlatformExporter.INFO_END_EXPORT_SCHEDULE" ) );
+    private void writeOldestBatch() throws ExportException {
+      try {
+        write( pendingBatches.remove().get() );
+      } catch ( InterruptedException e ) {
+        Thread.currentThread().interrupt();
+        throw new ExportException( "Interrupted while exporting the schedules", e );
+      } catch ( ExecutionException e ) {
+        throw new ExportException( Messages.getInstance().getString( "PentahoPlatformExporter.ERROR_EXPORTING_JOBS" ),
+          e.getCause() );
+      }
+    }
+
+    private void write( List<ConvertedJob> convertedJobs ) {
+      for ( ConvertedJob convertedJob : convertedJobs ) {
+        if ( convertedJob.error != null ) {
+          log.info( Messages.getInstance().getString( "PentahoPlatformExporter.ERROR_SCHEDULE_EXPORT", convertedJob.jobName, convertedJob.error.getMessage() ) );
+          log.debug( Messages.getInstance().getString( "PentahoPlatformExporter.ERROR_SCHEDULE_EXPORT", convertedJob.jobName, convertedJob.error.getMessage(), convertedJob.error ) );
+          continue;
+        }
+        exportManifest.addSchedule( convertedJob.scheduleRequest );
+        successfulJobExportCount++;
+        log.debug( " Successfully added schedule [ " + convertedJob.jobName + " ] to the manifest" );
+      }
+    }
+  }
+
+  private static List<ConvertedJob> convert( List<Job> jobs, IScheduler scheduler ) {
+    List<ConvertedJob> convertedJobs = new ArrayList<>( jobs.size() );
+    for ( Job job : jobs ) {
+      ConvertedJob convertedJob = new ConvertedJob( job.getJobName() );
+      try {
+        convertedJob.scheduleRequest = createJobScheduleRequest( job, scheduler );
+      } catch ( IllegalArgumentException e ) {
+        convertedJob.error = e;
+      }
+      convertedJobs.add( convertedJob );
+    }
+    return convertedJobs;
+  }
+
+  private static class ConvertedJob {
+    private final String jobName;
+    private JobScheduleRequest scheduleRequest;
+    private IllegalArgumentException error;
+
+    ConvertedJob( String jobName ) {
+      this.jobName = jobName;
+    }
+  }
+
+  /**
+   * Carries an export failure out of the job stream, which cannot throw checked exceptions.
+   */
+  private static class ScheduleWriterException extends RuntimeException {
+    ScheduleWriterException( ExportException cause ) {
+      super( cause );
+    }
+
+    @Override
+    public synchronized ExportException getCause() {
+      return (ExportException) super.getCause();
     }
   }
 
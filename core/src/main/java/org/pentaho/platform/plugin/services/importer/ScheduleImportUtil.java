@@ -1,6 +1,7 @@
 package org.pentaho.platform.plugin.services.importer;
 
 import org.apache.commons.collections.CollectionUtils;
+import org.pentaho.platform.api.engine.IPentahoSession;
 import org.pentaho.platform.api.importexport.IImportHelper;
 import org.pentaho.platform.api.importexport.ImportException;
 import org.pentaho.platform.api.repository2.unified.RepositoryFile;
@@ -10,22 +11,39 @@ import org.pentaho.platform.api.scheduler2.IJobScheduleParam;
 import org.pentaho.platform.api.scheduler2.IJobScheduleRequest;
 import org.pentaho.platform.api.scheduler2.IScheduler;
 import org.pentaho.platform.api.scheduler2.ISchedulerResource;
+import org.pentaho.platform.api.scheduler2.Job;
 import org.pentaho.platform.api.scheduler2.JobState;
+import org.pentaho.platform.api.scheduler2.SchedulerException;
+import org.pentaho.platform.engine.core.system.PentahoSessionHolder;
 import org.pentaho.platform.engine.core.system.PentahoSystem;
 import org.pentaho.platform.plugin.services.importexport.ImportSession;
 import org.pentaho.platform.plugin.services.messages.Messages;
+import org.pentaho.platform.web.http.api.resources.JobScheduleRequest;
+import org.pentaho.platform.web.http.api.resources.services.ISchedulerServicePlugin;
 
 import javax.ws.rs.core.Response;
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class ScheduleImportUtil implements IImportHelper {
   private static final String RESERVEDMAPKEY_LINEAGE_ID = "lineage-id";
   private static final String SCHEDULE_IMPORT_UTIL_NAME ="schedule-import-util";
+  static final int DEFAULT_BATCH_SIZE = 50;
+  static final int DEFAULT_PARALLELISM = 4;
+
+  private int batchSize = DEFAULT_BATCH_SIZE;
+  private int parallelism = DEFAULT_PARALLELISM;
 
   public ScheduleImportUtil() {
     super();
@@ -35,6 +53,26 @@ public class ScheduleImportUtil implements IImportHelper {
     PentahoSystem.get( SolutionImportHandler.class, "solutionImportHandler", null ).addImportHelper( this );
   }
 
+  /**
+   * @param batchSize the number of schedules created by a worker at a time
+   */
+  public void setBatchSize( int batchSize ) {
+    this.batchSize = Math.max( 1, batchSize );
+  }
+
+  /**
+   * @param parallelism the maximum number of batches of schedules created at the same time
+   */
+  public void setParallelism( int parallelism ) {
+    this.parallelism = Math.max( 1, parallelism );
+  }
+
+  /**
+   * Imports the schedules in phases: the existing schedules are indexed by lineage id once, the schedules being
+   * overwritten are removed, the new schedules are created in batches by a bounded number of workers, and the new
+   * schedules are finally resumed. The new schedules are created paused, a batch at a time, so the scheduler only
+   * stands by while a batch is stored instead of during the whole import, and no new schedule runs before it is over.
+   */
   @Override public void doImport( Object importArg ) throws ImportException {
     SolutionImportHandler solutionImportHandler = (SolutionImportHandler) importArg;
 
@@ -46,143 +84,316 @@ public class ScheduleImportUtil implements IImportHelper {
       if ( solutionImportHandler.isPerformingRestore() ) {
         solutionImportHandler.getLogger().info( Messages.getInstance().getString( "SolutionImportHandler.INFO_COUNT_SCHEDULUE", scheduleList.size() ) );
       }
-      int successfulScheduleImportCount = 0;
       IScheduler scheduler = PentahoSystem.get( IScheduler.class, "IScheduler2", null ); //$NON-NLS-1$
       ISchedulerResource schedulerResource = scheduler.createSchedulerResource();
+
+      long phaseStart = System.currentTimeMillis();
+      Map<Serializable, String> jobIdsByLineageId = indexJobsByLineageId( schedulerResource.getJobsList() );
+      logPhase( solutionImportHandler, "index", jobIdsByLineageId.size(), phaseStart );
+
+      phaseStart = System.currentTimeMillis();
+      List<IJobScheduleRequest> newSchedules =
+        getNewSchedules( solutionImportHandler, scheduler, schedulerResource, scheduleList, jobIdsByLineageId );
+      logPhase( solutionImportHandler, "remove", scheduleList.size(), phaseStart );
+
+      phaseStart = System.currentTimeMillis();
+      List<CreatedSchedule> createdSchedules = createSchedules( solutionImportHandler, newSchedules );
+      logPhase( solutionImportHandler, "create", newSchedules.size(), phaseStart );
+
+      phaseStart = System.currentTimeMillis();
+      for ( CreatedSchedule createdSchedule : createdSchedules ) {
+        // get the schedule job id from the response and add it to the import session
+        ImportSession.getSession().addImportedScheduleJobId( createdSchedule.jobId );
+        if ( createdSchedule.held ) {
+          try {
+            scheduler.resumeJob( createdSchedule.jobId );
+          } catch ( SchedulerException e ) {
+            solutionImportHandler.getLogger().error( "Failed to resume the imported schedule [ " + createdSchedule.jobId + " ]", e );
+          }
+        }
+      }
+      logPhase( solutionImportHandler, "resume", createdSchedules.size(), phaseStart );
+
       if ( solutionImportHandler.isPerformingRestore() ) {
-        solutionImportHandler.getLogger().debug( "Pausing the scheduler before the start of the restore process" );
+        solutionImportHandler.getLogger().info( Messages.getInstance()
+          .getString( "SolutionImportHandler.INFO_SUCCESSFUL_SCHEDULE_IMPORT_COUNT", createdSchedules.size(), scheduleList.size() ) );
       }
-      schedulerResource.pause();
+    }
+    if ( solutionImportHandler.isPerformingRestore() ) {
+      solutionImportHandler.getLogger().info( Messages.getInstance().getString( "SolutionImportHandler.INFO_END_IMPORT_SCHEDULE" ) );
+    }
+  }
+
+  static Map<Serializable, String> indexJobsByLineageId( List<IJob> jobs ) {
+    Map<Serializable, String> jobIdsByLineageId = new HashMap<>();
+    if ( jobs != null ) {
+      for ( IJob job : jobs ) {
+        Object lineageId = job.getJobParams() == null ? null : job.getJobParams().get( RESERVEDMAPKEY_LINEAGE_ID );
+        if ( lineageId instanceof Serializable ) {
+          jobIdsByLineageId.putIfAbsent( (Serializable) lineageId, job.getJobId() );
+        }
+      }
+    }
+    return jobIdsByLineageId;
+  }
+
+  private static Serializable getLineageId( IJobScheduleRequest jobScheduleRequest ) {
+    if ( jobScheduleRequest.getJobParameters() == null ) {
+      return null;
+    }
+    for ( IJobScheduleParam paramRequest : jobScheduleRequest.getJobParameters() ) {
+      if ( RESERVEDMAPKEY_LINEAGE_ID.equals( paramRequest.getName() ) ) {
+        return paramRequest.getValue();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Checks the schedules against the existing ones, removing those being overwritten. A schedule appearing twice in the
+   * import is handled as if the first one already existed.
+   *
+   * @return the schedules to create
+   */
+  private List<IJobScheduleRequest> getNewSchedules( SolutionImportHandler solutionImportHandler, IScheduler scheduler,
+                                                     ISchedulerResource schedulerResource,
+                                                     List<IJobScheduleRequest> scheduleList,
+                                                     Map<Serializable, String> jobIdsByLineageId ) {
+    Map<Object, IJobScheduleRequest> newSchedules = new LinkedHashMap<>();
+    for ( IJobScheduleRequest jobScheduleRequest : scheduleList ) {
       if ( solutionImportHandler.isPerformingRestore() ) {
-        solutionImportHandler.getLogger().debug( "Successfully paused the scheduler" );
+        solutionImportHandler.getLogger().debug( "Restoring schedule name [ " + jobScheduleRequest.getJobName() + "] inputFile [ " + jobScheduleRequest.getInputFile() + " ] outputFile [ " + jobScheduleRequest.getOutputFile() + "]" );
+      }
+      Serializable lineageId = getLineageId( jobScheduleRequest );
+      if ( lineageId == null ) {
+        newSchedules.put( new Object(), jobScheduleRequest );
+        continue;
       }
-      for ( IJobScheduleRequest jobScheduleRequest : scheduleList ) {
+
+      String existingJobId = jobIdsByLineageId.get( lineageId );
+      boolean jobExists = existingJobId != null || newSchedules.containsKey( lineageId );
+      if ( solutionImportHandler.overwriteFile && jobExists ) {
         if ( solutionImportHandler.isPerformingRestore() ) {
-          solutionImportHandler.getLogger().debug( "Restoring schedule name [ " + jobScheduleRequest.getJobName() + "] inputFile [ " + jobScheduleRequest.getInputFile() + " ] outputFile [ " + jobScheduleRequest.getOutputFile() + "]" );
+          solutionImportHandler.getLogger().debug( "Schedule  [ " + jobScheduleRequest.getJobName() + "] already exists and overwrite flag is set to true. Removing the job so we can add it again" );
         }
-        boolean jobExists = false;
+        if ( existingJobId != null ) {
+          IJobRequest jobRequest = scheduler.createJobRequest();
+          jobRequest.setJobId( existingJobId );
+          schedulerResource.removeJob( jobRequest );
+          jobIdsByLineageId.remove( lineageId );
+        }
+        newSchedules.remove( lineageId );
+        jobExists = false;
+      }
 
-        List<IJob> jobs = schedulerResource.getJobsList();
-        if ( jobs != null ) {
+      if ( !jobExists ) {
+        newSchedules.put( lineageId, jobScheduleRequest );
+      } else {
+        solutionImportHandler.getLogger().info( Messages.getInstance()
+          .getString( "DefaultImportHandler.ERROR_0009_OVERWRITE_CONTENT", jobScheduleRequest.toString() ) );
+      }
+    }
+    return new ArrayList<>( newSchedules.values() );
+  }
 
-          //paramRequest to map<String, Serializable>
-          Map<String, Serializable> mapParamsRequest = new HashMap<>();
-          for ( IJobScheduleParam paramRequest : jobScheduleRequest.getJobParameters() ) {
-            mapParamsRequest.put( paramRequest.getName(), paramRequest.getValue() );
-          }
+  /**
+   * Creates the schedules in batches, running at most {@link #setParallelism(int)} batches at the same time. The
+   * workers run with the session of the import.
+   */
+  private List<CreatedSchedule> createSchedules( SolutionImportHandler solutionImportHandler,
+                                                 List<IJobScheduleRequest> newSchedules ) throws ImportException {
+    List<List<IJobScheduleRequest>> batches = new ArrayList<>();
+    for ( int i = 0; i < newSchedules.size(); i += batchSize ) {
+      batches.add( newSchedules.subList( i, Math.min( i + batchSize, newSchedules.size() ) ) );
+    }
+    if ( batches.size() <= 1 || parallelism <= 1 ) {
+      List<CreatedSchedule> createdSchedules = new ArrayList<>();
+      for ( List<IJobScheduleRequest> batch : batches ) {
+        createdSchedules.addAll( createSchedules( solutionImportHandler, batch, null ) );
+      }
+      return createdSchedules;
+    }
 
-          // We will check the existing job in the repository. If the job being imported exists, we will remove it from the repository
-          for ( IJob job : jobs ) {
-
-            if ( ( mapParamsRequest.get( RESERVEDMAPKEY_LINEAGE_ID ) != null )
-              && ( mapParamsRequest.get( RESERVEDMAPKEY_LINEAGE_ID )
-              .equals( job.getJobParams().get( RESERVEDMAPKEY_LINEAGE_ID ) ) ) ) {
-              jobExists = true;
-            }
-
-            if ( solutionImportHandler.overwriteFile && jobExists ) {
-              if ( solutionImportHandler.isPerformingRestore() ) {
-                solutionImportHandler.getLogger().debug( "Schedule  [ " + jobScheduleRequest.getJobName() + "] already exists and overwrite flag is set to true. Removing the job so we can add it again" );
-              }
-              IJobRequest jobRequest = scheduler.createJobRequest();
-              jobRequest.setJobId( job.getJobId() );
-              schedulerResource.removeJob( jobRequest );
-              jobExists = false;
-              break;
-            }
-          }
-        }
+    IPentahoSession session = PentahoSessionHolder.getSession();
+    ExecutorService executor = Executors.newFixedThreadPool( Math.min( parallelism, batches.size() ) );
+    try {
+      List<Future<List<CreatedSchedule>>> futures = new ArrayList<>( batches.size() );
+      for ( List<IJobScheduleRequest> batch : batches ) {
+        futures.add( executor.submit(
+          () -> createSchedules( solutionImportHandler, batch, session ) ) );
+      }
+      List<CreatedSchedule> createdSchedules = new ArrayList<>();
+      for ( Future<List<CreatedSchedule>> future : futures ) {
+        createdSchedules.addAll( future.get() );
+      }
+      return createdSchedules;
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      throw new ImportException( "Interrupted while importing the schedules", e );
+    } catch ( ExecutionException e ) {
+      throw new ImportException( "Failed to import the schedules", e.getCause() );
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 
-        if ( !jobExists ) {
-          try {
-            Response response = createSchedulerJob( schedulerResource, jobScheduleRequest );
-            if ( response.getStatus() == Response.Status.OK.getStatusCode() ) {
-              if ( response.getEntity() != null ) {
-                // get the schedule job id from the response and add it to the import session
-                ImportSession.getSession().addImportedScheduleJobId( response.getEntity().toString() );
-                if ( solutionImportHandler.isPerformingRestore() ) {
-                  solutionImportHandler.getLogger().debug( "Successfully restored schedule [ " + jobScheduleRequest.getJobName() + " ] " );
-                }
-                successfulScheduleImportCount++;
-              }
-            } else {
-              solutionImportHandler.getLogger().error( Messages.getInstance().getString( "SolutionImportHandler.ERROR_IMPORTING_SCHEDULE", jobScheduleRequest.getJobName(), response.getEntity() != null
-                ? response.getEntity().toString() : "" ) );
-            }
-          } catch ( Exception e ) {
-            // there is a scenario where if the file scheduled has a space in the file name, that it won't work. the
-            // di server
-
-            // replaces spaces with underscores and the export mechanism can't determine if it needs this to happen
-            // or not
-            // so, if we failed to import and there is a space in the path, try again but this time with replacing
-            // the space(s)
-            if ( jobScheduleRequest.getInputFile().contains( " " ) || jobScheduleRequest.getOutputFile()
-              .contains( " " ) ) {
-              solutionImportHandler.getLogger().debug( Messages.getInstance()
-                .getString( "SolutionImportHandler.SchedulesWithSpaces", jobScheduleRequest.getInputFile() ) );
-              File inFile = new File( jobScheduleRequest.getInputFile() );
-              File outFile = new File( jobScheduleRequest.getOutputFile() );
-              String inputFileName = inFile.getParent() + RepositoryFile.SEPARATOR
-                + inFile.getName().replace( " ", "_" );
-              String outputFileName = outFile.getParent() + RepositoryFile.SEPARATOR
-                + outFile.getName().replace( " ", "_" );
-              jobScheduleRequest.setInputFile( inputFileName );
-              jobScheduleRequest.setOutputFile( outputFileName );
-              try {
-                if ( !File.separator.equals( RepositoryFile.SEPARATOR ) ) {
-                  // on windows systems, the backslashes will result in the file not being found in the repository
-                  jobScheduleRequest.setInputFile( inputFileName.replace( File.separator, RepositoryFile.SEPARATOR ) );
-                  jobScheduleRequest
-                    .setOutputFile( outputFileName.replace( File.separator, RepositoryFile.SEPARATOR ) );
-                }
-                Response response = createSchedulerJob( schedulerResource, jobScheduleRequest );
-                if ( response.getStatus() == Response.Status.OK.getStatusCode() ) {
-                  if ( response.getEntity() != null ) {
-                    // get the schedule job id from the response and add it to the import session
-                    ImportSession.getSession().addImportedScheduleJobId( response.getEntity().toString() );
-                    successfulScheduleImportCount++;
-                  }
-                }
-              } catch ( Exception ex ) {
-                // log it and keep going. we shouldn't stop processing all schedules just because one fails.
-                solutionImportHandler.getLogger().error( Messages.getInstance()
-                  .getString( "SolutionImportHandler.ERROR_0001_ERROR_CREATING_SCHEDULE", "[ " + jobScheduleRequest.getJobName() + " ] cause [ " + ex.getMessage() + " ]" ), ex );
-              }
-            } else {
-              // log it and keep going. we shouldn't stop processing all schedules just because one fails.
-              solutionImportHandler.getLogger().error( Messages.getInstance()
-                .getString( "SolutionImportHandler.ERROR_0001_ERROR_CREATING_SCHEDULE", "[ " + jobScheduleRequest.getJobName() + " ]" ) );
-            }
+  /**
+   * Creates the schedules of a batch paused, with a single call storing them all. If that fails, e.g. because one of
+   * them is invalid, the schedules are created one by one so that the others are still imported.
+   */
+  private List<CreatedSchedule> createSchedules( SolutionImportHandler solutionImportHandler,
+                                                 List<IJobScheduleRequest> batch, IPentahoSession session ) {
+    if ( session != null ) {
+      PentahoSessionHolder.setSession( session );
+    }
+    try {
+      if ( batch.size() > 1 ) {
+        try {
+          List<Job> jobs = createSchedulerJobs( batch );
+          List<CreatedSchedule> createdSchedules = new ArrayList<>( jobs.size() );
+          for ( int i = 0; i < jobs.size(); i++ ) {
+            createdSchedules.add( created( solutionImportHandler, batch.get( i ), jobs.get( i ) ) );
           }
-        } else {
-          solutionImportHandler.getLogger().info( Messages.getInstance()
-            .getString( "DefaultImportHandler.ERROR_0009_OVERWRITE_CONTENT", jobScheduleRequest.toString() ) );
+          return createdSchedules;
+        } catch ( Exception e ) {
+          solutionImportHandler.getLogger().debug( "Failed to create a batch of " + batch.size()
+            + " schedules at once, creating them one by one", e );
         }
       }
-      if ( solutionImportHandler.isPerformingRestore() ) {
-        solutionImportHandler.getLogger().info( Messages.getInstance()
-          .getString( "SolutionImportHandler.INFO_SUCCESSFUL_SCHEDULE_IMPORT_COUNT", successfulScheduleImportCount, scheduleList.size() ) );
+      List<CreatedSchedule> createdSchedules = new ArrayList<>( batch.size() );
+      for ( IJobScheduleRequest jobScheduleRequest : batch ) {
+        CreatedSchedule createdSchedule = createSchedule( solutionImportHandler, jobScheduleRequest );
+        if ( createdSchedule != null ) {
+          createdSchedules.add( createdSchedule );
+        }
       }
-      schedulerResource.start();
-      if ( solutionImportHandler.isPerformingRestore() ) {
-        solutionImportHandler.getLogger().debug( "Successfully started the scheduler" );
+      return createdSchedules;
+    } finally {
+      if ( session != null ) {
+        PentahoSessionHolder.removeSession();
+      }
+    }
+  }
+
+  /**
+   * @return the created schedule, or null if it could not be created
+   */
+  private CreatedSchedule createSchedule( SolutionImportHandler solutionImportHandler,
+                                          IJobScheduleRequest jobScheduleRequest ) {
+    try {
+      return created( solutionImportHandler, jobScheduleRequest,
+        createSchedulerJobs( Collections.singletonList( jobScheduleRequest ) ).get( 0 ) );
+    } catch ( Exception e ) {
+      // there is a scenario where if the file scheduled has a space in the file name, that it won't work. the
+      // di server
+
+      // replaces spaces with underscores and the export mechanism can't determine if it needs this to happen
+      // or not
+      // so, if we failed to import and there is a space in the path, try again but this time with replacing
+      // the space(s)
+      if ( jobScheduleRequest.getInputFile().contains( " " ) || jobScheduleRequest.getOutputFile()
+        .contains( " " ) ) {
+        solutionImportHandler.getLogger().debug( Messages.getInstance()
+          .getString( "SolutionImportHandler.SchedulesWithSpaces", jobScheduleRequest.getInputFile() ) );
+        File inFile = new File( jobScheduleRequest.getInputFile() );
+        File outFile = new File( jobScheduleRequest.getOutputFile() );
+        String inputFileName = inFile.getParent() + RepositoryFile.SEPARATOR
+          + inFile.getName().replace( " ", "_" );
+        String outputFileName = outFile.getParent() + RepositoryFile.SEPARATOR
+          + outFile.getName().replace( " ", "_" );
+        jobScheduleRequest.setInputFile( inputFileName );
+        jobScheduleRequest.setOutputFile( outputFileName );
+        try {
+          if ( !File.separator.equals( RepositoryFile.SEPARATOR ) ) {
+            // on windows systems, the backslashes will result in the file not being found in the repository
+            jobScheduleRequest.setInputFile( inputFileName.replace( File.separator, RepositoryFile.SEPARATOR ) );
+            jobScheduleRequest
+              .setOutputFile( outputFileName.replace( File.separator, RepositoryFile.SEPARATOR ) );
+          }
+          return created( solutionImportHandler, jobScheduleRequest,
+            createSchedulerJobs( Collections.singletonList( jobScheduleRequest ) ).get( 0 ) );
+        } catch ( Exception ex ) {
+          // log it and keep going. we shouldn't stop processing all schedules just because one fails.
+          solutionImportHandler.getLogger().error( Messages.getInstance()
+            .getString( "SolutionImportHandler.ERROR_0001_ERROR_CREATING_SCHEDULE", "[ " + jobScheduleRequest.getJobName() + " ] cause [ " + ex.getMessage() + " ]" ), ex );
+        }
+      } else {
+        // log it and keep going. we shouldn't stop processing all schedules just because one fails.
+        solutionImportHandler.getLogger().error( Messages.getInstance().getString(
+          "SolutionImportHandler.ERROR_IMPORTING_SCHEDULE", jobScheduleRequest.getJobName(),
+          e.getMessage() != null ? e.getMessage() : "" ) );
       }
     }
+    return null;
+  }
+
+  /**
+   * The schedules are all created paused; those meant to run are held until the import is over, the others stay
+   * paused.
+   */
+  private static CreatedSchedule created( SolutionImportHandler solutionImportHandler,
+                                          IJobScheduleRequest jobScheduleRequest, Job job ) {
     if ( solutionImportHandler.isPerformingRestore() ) {
-      solutionImportHandler.getLogger().info( Messages.getInstance().getString( "SolutionImportHandler.INFO_END_IMPORT_SCHEDULE" ) );
+      solutionImportHandler.getLogger().debug( "Successfully restored schedule [ " + jobScheduleRequest.getJobName() + " ] " );
     }
+    return new CreatedSchedule( job.getJobId(), jobScheduleRequest.getJobState() == JobState.NORMAL );
   }
 
+  private static void logPhase( SolutionImportHandler solutionImportHandler, String phase, int count, long start ) {
+    String message = "Schedule import phase [ " + phase + " ] took " + ( System.currentTimeMillis() - start )
+      + " ms for " + count + " schedules";
+    if ( solutionImportHandler.isPerformingRestore() ) {
+      solutionImportHandler.getLogger().info( message );
+    } else {
+      solutionImportHandler.getLogger().debug( message );
+    }
+  }
+
+  private static class CreatedSchedule {
+    private final String jobId;
+    private final boolean held;
+
+    CreatedSchedule( String jobId, boolean held ) {
+      this.jobId = jobId;
+      this.held = held;
+    }
+  }
+
+  /**
+   * Creates the jobs of the schedules paused, storing them all at once, so that none of them runs before the import
+   * is over.
+   *
+   * @return the created jobs, in the order of the schedules
+   */
+  public List<Job> createSchedulerJobs( List<IJobScheduleRequest> jobScheduleRequests )
+    throws IOException, SchedulerException, IllegalAccessException {
+    List<JobScheduleRequest> scheduleRequests = new ArrayList<>( jobScheduleRequests.size() );
+    for ( IJobScheduleRequest jobScheduleRequest : jobScheduleRequests ) {
+      scheduleRequests.add( (JobScheduleRequest) jobScheduleRequest );
+    }
+    return PentahoSystem.get( ISchedulerServicePlugin.class, "ISchedulerService2", null ) //$NON-NLS-1$
+      .createJobs( scheduleRequests, true );
+  }
+
+  /**
+   * Creates the job of a schedule, paused unless it is meant to run.
+   *
+   * @param scheduler no longer used, the job is created through {@link #createSchedulerJobs(List)}
+   * @return a response carrying the id of the created job, or a server error if it could not be created
+   * @deprecated use {@link #createSchedulerJobs(List)}, which creates all the schedules of an import at once
+   */
+  @Deprecated
   public Response createSchedulerJob( ISchedulerResource scheduler, IJobScheduleRequest jobScheduleRequest )
     throws IOException {
-    Response rs = scheduler != null ? (Response) scheduler.createJob( jobScheduleRequest ) : null;
-    if ( jobScheduleRequest.getJobState() != JobState.NORMAL ) {
-      IJobRequest jobRequest = PentahoSystem.get( IScheduler.class, "IScheduler2", null ).createJobRequest();
-      jobRequest.setJobId( rs.getEntity().toString() );
-      scheduler.pauseJob( jobRequest );
+    try {
+      Job job = createSchedulerJobs( Collections.singletonList( jobScheduleRequest ) ).get( 0 );
+      if ( jobScheduleRequest.getJobState() == JobState.NORMAL ) {
+        PentahoSystem.get( IScheduler.class, "IScheduler2", null ).resumeJob( job.getJobId() ); //$NON-NLS-1$
+      }
+      return Response.ok( job.getJobId() ).build();
+    } catch ( SchedulerException | IllegalAccessException e ) {
+      return Response.serverError().entity( e.getMessage() ).build();
     }
-    return rs;
   }
 
   @Override public String getName() {
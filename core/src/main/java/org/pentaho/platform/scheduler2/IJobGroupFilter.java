@@ -0,0 +1,28 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2;
+
+import org.pentaho.platform.api.scheduler2.IJobFilter;
+
+/**
+ * A job filter that only accepts the jobs of a single job group, so schedulers can read that group alone rather than
+ * passing every job to the filter. The jobs of a user are kept in a group named after the user.
+ */
+public interface IJobGroupFilter extends IJobFilter {
+
+  /**
+   * @return the only group whose jobs may be accepted, or null if jobs of any group may be accepted
+   */
+  String getJobGroup();
+}
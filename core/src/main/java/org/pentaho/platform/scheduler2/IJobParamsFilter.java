@@ -0,0 +1,31 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2;
+
+import org.pentaho.platform.api.scheduler2.IJob;
+import org.pentaho.platform.api.scheduler2.IJobFilter;
+
+/**
+ * A job filter that can tell the scheduler the job parameters are not needed. Reading the parameters means
+ * deserializing the job data of every job, so schedulers listing jobs for such a filter may leave
+ * {@link IJob#getJobParams()} empty, both in the jobs given to the filter and in the jobs returned. The last run of
+ * such jobs still counts the runs started on demand.
+ */
+public interface IJobParamsFilter extends IJobFilter {
+
+  /**
+   * @return false if neither the filter nor the caller look at the job parameters
+   */
+  boolean isJobParamsRequired();
+}
@@ -0,0 +1,31 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2;
+
+import org.pentaho.platform.api.scheduler2.IJob;
+import org.pentaho.platform.api.scheduler2.IJobFilter;
+
+/**
+ * A job filter that can reject a job before its trigger is built. Schedulers call {@link #preAccept(IJob)} with a job
+ * whose id, name, user, parameters, state and run dates are populated but whose trigger is not, and only build the
+ * trigger and call {@link #accept(IJob)} for the jobs it lets through.
+ */
+public interface IJobPreFilter extends IJobFilter {
+
+  /**
+   * @param job the job, without its trigger
+   * @return false if the job is rejected regardless of its trigger
+   */
+  boolean preAccept( IJob job );
+}
@@ -0,0 +1,55 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2;
+
+import org.pentaho.platform.api.scheduler2.IBlockoutManager;
+import org.pentaho.platform.api.scheduler2.IJob;
+
+/**
+ * The jobs a user may see in the job lists. Users allowed to administer or to run schedules see every job except the
+ * blockout jobs; other users only see their own jobs, which all belong to the job group named after them.
+ */
+public class VisibleJobsFilter implements IJobPreFilter, IJobGroupFilter {
+
+  private final String principalName;
+
+  private final boolean allJobsVisible;
+
+  /**
+   * @param principalName  the name of the user
+   * @param allJobsVisible true if the user may see the jobs of every user
+   */
+  public VisibleJobsFilter( String principalName, boolean allJobsVisible ) {
+    this.principalName = principalName;
+    this.allJobsVisible = allJobsVisible;
+  }
+
+  @Override
+  public boolean accept( IJob job ) {
+    if ( allJobsVisible ) {
+      return !IBlockoutManager.BLOCK_OUT_JOB_NAME.equals( job.getJobName() );
+    }
+    return principalName.equals( job.getUserName() );
+  }
+
+  @Override
+  public boolean preAccept( IJob job ) {
+    return accept( job );
+  }
+
+  @Override
+  public String getJobGroup() {
+    return allJobsVisible ? null : principalName;
+  }
+}
@@ -0,0 +1,76 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.blockout;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The blockout windows opened by the blockout jobs that fired. A blockout does not hold a worker thread for its
+ * duration: its job records the window here and returns, and the blocking check looks the windows up. The windows are
+ * also derived from the triggers of the blockout jobs, but the trigger of a blockout is deleted by Quartz as soon as
+ * it fires for the last time, so its last window is only known from here.
+ */
+public class ActiveBlockouts {
+
+  private static final Map<String, long[]> windows = new ConcurrentHashMap<>();
+
+  private ActiveBlockouts() {
+  }
+
+  /**
+   * Records the window opened by a blockout job. A window overlapping the previous one of the same job extends it.
+   *
+   * @param jobId the id of the blockout job
+   * @param start the time the window opens, in milliseconds
+   * @param end   the time the window closes, in milliseconds
+   */
+  public static void activate( String jobId, long start, long end ) {
+    windows.merge( jobId, new long[] { start, end }, ( previous, window ) ->
+      previous[ 1 ] < window[ 0 ] ? window
+        : new long[] { Math.min( previous[ 0 ], window[ 0 ] ), Math.max( previous[ 1 ], window[ 1 ] ) } );
+  }
+
+  /**
+   * Closes the window of a blockout job, e.g. because the job was removed.
+   */
+  public static void deactivate( String jobId ) {
+    windows.remove( jobId );
+  }
+
+  /**
+   * @param time the time to check, in milliseconds
+   * @return true if the window of a blockout job that fired includes the time
+   */
+  public static boolean isActive( long time ) {
+    if ( windows.isEmpty() ) {
+      return false;
+    }
+    long now = System.currentTimeMillis();
+    boolean active = false;
+    for ( Map.Entry<String, long[]> window : windows.entrySet() ) {
+      long[] bounds = window.getValue();
+      if ( bounds[ 1 ] < now ) {
+        windows.remove( window.getKey(), bounds );
+      } else if ( bounds[ 0 ] <= time && time <= bounds[ 1 ] ) {
+        active = true;
+      }
+    }
+    return active;
+  }
+
+  static void clear() {
+    windows.clear();
+  }
+}
@@ -23,14 +23,21 @@ import org.pentaho.platform.api.scheduler2.IBlockoutManager;
 
 /**
  * @author wseyler This is the job that executes when the a block out trigger fires. This job essentially does nothing
- *         more than logging the firing of the trigger.
+ *         more than logging the firing of the trigger and recording the window it opens in {@link ActiveBlockouts};
+ *         the other jobs check the window themselves, so no worker thread is held for the duration of the blockout.
  */
 public class BlockoutAction implements IVarArgsAction {
 
+  /**
+   * The parameter holding the id of the blockout job, passed along with the scheduled fire time.
+   */
+  public static final String BLOCKOUT_JOB_ID_PARAM = "blockoutJobId"; //$NON-NLS-1$
+
   private static final Log logger = LogFactory.getLog( BlockoutAction.class );
 
   long duration;
   Date scheduledFireTime;
+  String jobId;
 
   @Override
   public void execute() throws Exception {
@@ -41,8 +48,9 @@ public class BlockoutAction implements IVarArgsAction {
           + " milliseconds has already expired" );
     } else {
       logger.warn( "Blocking Started at: " + startDate + " and will last: " + effectiveDuration + " milliseconds" ); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-      Thread.sleep( effectiveDuration );
-      logger.warn( "Blockout that started at: " + startDate + " has ended at: " + new Date() ); //$NON-NLS-1$ //$NON-NLS-2$
+      if ( jobId != null ) {
+        ActiveBlockouts.activate( jobId, scheduledFireTime.getTime(), scheduledFireTime.getTime() + duration );
+      }
     }
   }
 
@@ -54,6 +62,9 @@ public class BlockoutAction implements IVarArgsAction {
     if ( args.containsKey( IBlockoutManager.SCHEDULED_FIRE_TIME ) ) {
       this.scheduledFireTime = ( (Date) args.get( IBlockoutManager.SCHEDULED_FIRE_TIME ) );
     }
+    if ( args.containsKey( BLOCKOUT_JOB_ID_PARAM ) ) {
+      this.jobId = (String) args.get( BLOCKOUT_JOB_ID_PARAM );
+    }
   }
 
 }
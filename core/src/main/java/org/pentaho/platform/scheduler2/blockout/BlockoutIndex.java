@@ -0,0 +1,189 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.blockout;
+
+import org.pentaho.platform.api.scheduler2.IBlockoutManager;
+import org.pentaho.platform.api.scheduler2.IJobTrigger;
+import org.pentaho.platform.api.scheduler2.SchedulerException;
+import org.pentaho.platform.scheduler2.quartz.QuartzJobKey;
+import org.pentaho.platform.scheduler2.quartz.QuartzScheduler;
+import org.quartz.CronTrigger;
+import org.quartz.spi.MutableTrigger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The upcoming blockout windows, merged and sorted so that checking whether a time is blocked is a binary search. Every
+ * fired job checks the blockouts, which used to mean loading every job of the scheduler to find the blockout jobs; the
+ * index loads them once, and again only after a blockout job is added, updated or removed ({@link #invalidate()}) or
+ * when the time passes the end of the windows it computed, an hour ahead.
+ * <p>
+ * The windows are the ones {@link BlockoutManagerUtil#shouldFireNow} checks: from each fire time of a blockout trigger
+ * for the duration of the blockout, cut short at the end time of the trigger.
+ */
+public class BlockoutIndex {
+
+  static final long HORIZON_MILLIS = 60 * 60 * 1000L;
+
+  /**
+   * The most windows computed for one blockout; a blockout recurring more often than that in an hour shortens the
+   * horizon instead.
+   */
+  static final int MAX_WINDOWS_PER_BLOCKOUT = 10000;
+
+  private static final BlockoutIndex instance = new BlockoutIndex();
+
+  private final AtomicLong generation = new AtomicLong();
+
+  private volatile Windows windows;
+
+  BlockoutIndex() {
+  }
+
+  public static BlockoutIndex getInstance() {
+    return instance;
+  }
+
+  /**
+   * Drops the windows, so that they are computed again from the blockout jobs on the next check.
+   */
+  public void invalidate() {
+    generation.incrementAndGet();
+    windows = null;
+  }
+
+  /**
+   * Invalidates the index if the job is a blockout.
+   *
+   * @param jobId the id of the job that was added, updated or removed
+   */
+  public void invalidate( String jobId ) {
+    try {
+      if ( IBlockoutManager.BLOCK_OUT_JOB_NAME.equals( QuartzJobKey.parse( jobId ).getJobName() ) ) {
+        invalidate();
+      }
+    } catch ( SchedulerException e ) {
+      invalidate();
+    }
+  }
+
+  /**
+   * @param time             the time to check, in milliseconds
+   * @param blockOutTriggers loads the triggers of the blockout jobs, with their duration, if the windows covering the
+   *                         time are not known
+   * @return true if the time falls within a blockout window
+   * @throws SchedulerException if the fire times of a blockout trigger cannot be computed
+   */
+  public boolean isBlocked( long time, Supplier<List<IJobTrigger>> blockOutTriggers ) throws SchedulerException {
+    Windows current = windows;
+    if ( !covers( current, time ) ) {
+      // one thread rebuilds while the jobs firing at the same time wait for its windows
+      synchronized ( this ) {
+        current = windows;
+        if ( !covers( current, time ) ) {
+          long expectedGeneration = generation.get();
+          current = build( blockOutTriggers.get(), time );
+          if ( generation.get() == expectedGeneration ) {
+            windows = current;
+          }
+        }
+      }
+    }
+    return current.includes( time );
+  }
+
+  private static boolean covers( Windows current, long time ) {
+    return current != null && time >= current.from && time < current.until;
+  }
+
+  static Windows build( List<IJobTrigger> blockOutTriggers, long from ) throws SchedulerException {
+    long until = from + HORIZON_MILLIS;
+    List<long[]> bounds = new ArrayList<>();
+    for ( IJobTrigger blockOutTrigger : blockOutTriggers ) {
+      long duration = blockOutTrigger.getDuration();
+      long end = blockOutTrigger.getEndTime() == null ? Long.MAX_VALUE : blockOutTrigger.getEndTime().getTime();
+      MutableTrigger trigger = QuartzScheduler.createQuartzTrigger( blockOutTrigger,
+        new QuartzJobKey( "blockout", "blockout" ) ); //$NON-NLS-1$ //$NON-NLS-2$
+
+      // start far enough back to find the window open at the time; cron triggers otherwise start when created
+      if ( trigger instanceof CronTrigger && end > from - duration ) {
+        long start = blockOutTrigger.getStartTime() == null ? 0 : blockOutTrigger.getStartTime().getTime();
+        trigger.setStartTime( new Date( Math.max( start, from - duration - 1 ) ) );
+      }
+      Date fireTime = trigger.getFireTimeAfter( new Date( from - duration - 1 ) );
+      int count = 0;
+      while ( fireTime != null && fireTime.getTime() < until && fireTime.getTime() <= end ) {
+        if ( ++count > MAX_WINDOWS_PER_BLOCKOUT ) {
+          until = fireTime.getTime();
+          break;
+        }
+        bounds.add( new long[] { fireTime.getTime(), Math.min( fireTime.getTime() + duration, end ) } );
+        fireTime = trigger.getFireTimeAfter( fireTime );
+      }
+    }
+    return new Windows( from, until, bounds );
+  }
+
+  /**
+   * Blockout windows merged into disjoint, sorted ranges, known to be complete from a time until another.
+   */
+  static class Windows {
+
+    private final long from;
+
+    private final long until;
+
+    private final long[] starts;
+
+    private final long[] ends;
+
+    Windows( long from, long until, List<long[]> bounds ) {
+      this.from = from;
+      this.until = until;
+      bounds.sort( ( a, b ) -> Long.compare( a[ 0 ], b[ 0 ] ) );
+      long[] mergedStarts = new long[ bounds.size() ];
+      long[] mergedEnds = new long[ bounds.size() ];
+      int size = 0;
+      for ( long[] window : bounds ) {
+        if ( size > 0 && window[ 0 ] <= mergedEnds[ size - 1 ] ) {
+          mergedEnds[ size - 1 ] = Math.max( mergedEnds[ size - 1 ], window[ 1 ] );
+        } else {
+          mergedStarts[ size ] = window[ 0 ];
+          mergedEnds[ size ] = window[ 1 ];
+          size++;
+        }
+      }
+      this.starts = Arrays.copyOf( mergedStarts, size );
+      this.ends = Arrays.copyOf( mergedEnds, size );
+    }
+
+    boolean includes( long time ) {
+      int index = Arrays.binarySearch( starts, time );
+      if ( index < 0 ) {
+        // the last window starting before the time
+        index = -index - 2;
+      }
+      return index >= 0 && time <= ends[ index ];
+    }
+
+    int size() {
+      return starts.length;
+    }
+  }
+}
@@ -0,0 +1,430 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.blockout;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import org.pentaho.platform.api.scheduler2.IJobTrigger;
+import org.pentaho.platform.api.scheduler2.SchedulerException;
+import org.pentaho.platform.api.scheduler2.SimpleJobTrigger;
+import org.pentaho.platform.scheduler2.quartz.QuartzJobKey;
+import org.pentaho.platform.scheduler2.quartz.QuartzScheduler;
+import org.quartz.spi.MutableTrigger;
+
+/**
+ * Computes how blockouts overlap schedules on epoch milliseconds. Two simple triggers are compared in closed form:
+ * the fire times of one and the window starts of the other are arithmetic progressions, so the offsets of the fire
+ * times within the windows repeat with a period of <code>B / gcd( R, B )</code> fires and the answer is exact for
+ * any horizon. Other triggers are walked with lazy fire-time iterators for at most {@link #MAX_FIRE_TIMES} fires
+ * over {@link #HORIZON_MILLIS}, and each fire time is checked against the other trigger with a single
+ * <code>getFireTimeAfter</code>.
+ */
+final class BlockoutOverlap {
+
+  static final long HORIZON_MILLIS = 4 * BlockoutManagerUtil.TIME.YEAR.time;
+
+  static final int MAX_FIRE_TIMES = 1000;
+
+  private BlockoutOverlap() {
+  }
+
+  /**
+   * @return whether a blockout window holds a fire time of the schedule at or after the time
+   */
+  static boolean willBlock( TriggerTimes schedule, TriggerTimes blockOut, long from ) {
+    if ( schedule.isSimple() && blockOut.isSimple() ) {
+      return new Residues( schedule, blockOut ).anyBlocked( from );
+    }
+
+    long until = from + HORIZON_MILLIS;
+    if ( !schedule.isSimple() ) {
+      PrimitiveIterator.OfLong fireTimes = schedule.fireTimes( from, until, MAX_FIRE_TIMES );
+      while ( fireTimes.hasNext() ) {
+        if ( blockOut.blocks( fireTimes.nextLong() ) ) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    // walk the windows of the blockout, the window open at the time included
+    PrimitiveIterator.OfLong windowStarts = blockOut.fireTimes( from - blockOut.duration, until, MAX_FIRE_TIMES );
+    while ( windowStarts.hasNext() ) {
+      long windowStart = windowStarts.nextLong();
+      long windowEnd = Math.min( saturatedAdd( windowStart, blockOut.duration ), blockOut.end );
+      if ( schedule.firesWithin( Math.max( windowStart, from ), windowEnd ) ) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return whether the schedule will fire at or after the time despite the blockouts. A schedule no blockout
+   *         overlaps always fires; otherwise it fires if a simple blockout does not block every fire time and the
+   *         blockouts together leave a fire time free within the horizon.
+   */
+  static boolean willFire( TriggerTimes schedule, List<TriggerTimes> blockOuts, long from ) {
+    return willFireDespite( schedule, getBlocking( schedule, blockOuts, from ), from );
+  }
+
+  /**
+   * @return the blockouts which block a fire time of the schedule at or after the time
+   */
+  static List<TriggerTimes> getBlocking( TriggerTimes schedule, List<TriggerTimes> blockOuts, long from ) {
+    List<TriggerTimes> blocking = new ArrayList<>();
+    for ( TriggerTimes blockOut : blockOuts ) {
+      if ( willBlock( schedule, blockOut, from ) ) {
+        blocking.add( blockOut );
+      }
+    }
+    return blocking;
+  }
+
+  /**
+   * Same as {@link #willFire(TriggerTimes, List, long)}, for blockouts already known to block the schedule.
+   */
+  static boolean willFireDespite( TriggerTimes schedule, List<TriggerTimes> blocking, long from ) {
+    if ( blocking.isEmpty() ) {
+      return true;
+    }
+    for ( TriggerTimes blockOut : blocking ) {
+      if ( schedule.isSimple() && blockOut.isSimple() && new Residues( schedule, blockOut ).allBlocked( from ) ) {
+        return false;
+      }
+    }
+
+    PrimitiveIterator.OfLong fireTimes = schedule.fireTimes( from, from + HORIZON_MILLIS, MAX_FIRE_TIMES );
+    while ( fireTimes.hasNext() ) {
+      if ( !isBlocked( fireTimes.nextLong(), blocking ) ) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  static boolean isBlocked( long time, List<TriggerTimes> blockOuts ) {
+    for ( TriggerTimes blockOut : blockOuts ) {
+      if ( blockOut.blocks( time ) ) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  static long saturatedAdd( long a, long b ) {
+    long sum = a + b;
+    return ( ( a ^ sum ) & ( b ^ sum ) ) < 0 ? ( a < 0 ? Long.MIN_VALUE : Long.MAX_VALUE ) : sum;
+  }
+
+  static long gcd( long a, long b ) {
+    while ( b != 0 ) {
+      long t = a % b;
+      a = b;
+      b = t;
+    }
+    return a;
+  }
+
+  /**
+   * @return a * b mod m, for 0 &lt;= a, b &lt; m
+   */
+  static long mulMod( long a, long b, long m ) {
+    if ( Math.multiplyHigh( a, b ) == 0 && a * b >= 0 ) {
+      return ( a * b ) % m;
+    }
+    return BigInteger.valueOf( a ).multiply( BigInteger.valueOf( b ) ).mod( BigInteger.valueOf( m ) ).longValue();
+  }
+
+  /**
+   * @return the inverse of a mod m, for a coprime with m
+   */
+  static long modInverse( long a, long m ) {
+    return BigInteger.valueOf( a ).modInverse( BigInteger.valueOf( m ) ).longValue();
+  }
+
+  /**
+   * The fire times of a job trigger, or the window starts of a blockout trigger, in epoch milliseconds. A simple
+   * trigger fires every repeat interval from its start time, as the blockout manager has always assumed, and a
+   * complex trigger fires as the Quartz trigger built from it. Nothing changes once it is built, so the threads
+   * checking a batch of schedules share the same blockouts.
+   */
+  static class TriggerTimes {
+
+    final long start;
+
+    final long end;
+
+    final long duration;
+
+    /** the repeat interval of a simple trigger in milliseconds */
+    final long interval;
+
+    private final MutableTrigger quartzTrigger;
+
+    TriggerTimes( IJobTrigger jobTrigger ) {
+      start = jobTrigger.getStartTime() == null ? 0 : jobTrigger.getStartTime().getTime();
+      end = jobTrigger.getEndTime() == null ? Long.MAX_VALUE : jobTrigger.getEndTime().getTime();
+      duration = Math.max( 0, jobTrigger.getDuration() );
+      if ( BlockoutManagerUtil.isComplexTrigger( jobTrigger ) ) {
+        interval = -1;
+        try {
+          quartzTrigger = QuartzScheduler.createQuartzTrigger( jobTrigger,
+            new QuartzJobKey( "test", "test" ) ); //$NON-NLS-1$ //$NON-NLS-2$
+        } catch ( SchedulerException e ) {
+          throw new RuntimeException( e );
+        }
+        // cron triggers start when they are created, which would hide the fire times before then
+        if ( quartzTrigger.getEndTime() == null || !quartzTrigger.getEndTime().before( new Date( start ) ) ) {
+          quartzTrigger.setStartTime( new Date( start ) );
+        }
+      } else {
+        interval = Math.max( 0, ( (SimpleJobTrigger) jobTrigger ).getRepeatInterval() * 1000 );
+        quartzTrigger = null;
+      }
+    }
+
+    boolean isSimple() {
+      return quartzTrigger == null;
+    }
+
+    /**
+     * @return the first fire time after the time, or -1 if there is none
+     */
+    long nextFireTime( long after ) {
+      if ( isSimple() ) {
+        long index = after < start ? 0 : ( interval == 0 ? 1 : ( after - start ) / interval + 1 );
+        return index <= lastIndex() ? start + index * interval : -1;
+      }
+      if ( after < start ) {
+        after = start - 1;
+      }
+      Date fireTime = quartzTrigger.getFireTimeAfter( new Date( after ) );
+      return fireTime == null || fireTime.getTime() > end ? -1 : fireTime.getTime();
+    }
+
+    /**
+     * @return whether the trigger fires in the inclusive range
+     */
+    boolean firesWithin( long from, long to ) {
+      if ( from > to ) {
+        return false;
+      }
+      long fireTime = nextFireTime( from - 1 );
+      return fireTime >= 0 && fireTime <= to;
+    }
+
+    /**
+     * @return whether the time falls within a window of this blockout, bounds included
+     */
+    boolean blocks( long time ) {
+      return start <= time && time <= end && firesWithin( time - duration, time );
+    }
+
+    /**
+     * @return the index of the last fire time of a simple trigger, {@link Long#MAX_VALUE} if it repeats forever or
+     *         -1 if it never fires
+     */
+    long lastIndex() {
+      if ( end < start ) {
+        return -1;
+      }
+      if ( interval == 0 ) {
+        return 0;
+      }
+      return end == Long.MAX_VALUE ? Long.MAX_VALUE : ( end - start ) / interval;
+    }
+
+    /**
+     * @return the index of the first fire time of a simple trigger at or after the time, or -1 if there is none
+     */
+    long firstIndexAtOrAfter( long time ) {
+      long index = time <= start ? 0 : ( interval == 0 ? 1 : ( time - start - 1 ) / interval + 1 );
+      return index <= lastIndex() ? index : -1;
+    }
+
+    /**
+     * @return the index of the last fire time of a simple trigger at or before the time, or -1 if there is none
+     */
+    long lastIndexAtOrBefore( long time ) {
+      if ( time < start ) {
+        return -1;
+      }
+      return Math.min( lastIndex(), interval == 0 ? 0 : ( time - start ) / interval );
+    }
+
+    long fireTime( long index ) {
+      return start + index * interval;
+    }
+
+    /**
+     * Lazily iterates the fire times from a time, inclusive, until another, exclusive.
+     */
+    PrimitiveIterator.OfLong fireTimes( long from, long until, int max ) {
+      return new PrimitiveIterator.OfLong() {
+        private long next = nextFireTime( from - 1 );
+        private int count;
+
+        @Override
+        public boolean hasNext() {
+          return next >= 0 && next < until && count < max;
+        }
+
+        @Override
+        public long nextLong() {
+          if ( !hasNext() ) {
+            throw new NoSuchElementException();
+          }
+          long fireTime = next;
+          count++;
+          next = nextFireTime( fireTime );
+          return fireTime;
+        }
+      };
+    }
+  }
+
+  /**
+   * The offsets of the fire times of a simple schedule within the recurrence of a simple blockout. Fire k of the
+   * schedule falls <code>( c + k * R ) mod B</code> after the start of a blockout window, and is blocked when that
+   * offset is at most the duration D. The offsets step by R mod B and take every value <code>c mod g + i * g</code>
+   * with g = gcd( R, B ) once per period of <code>B / g</code> fires.
+   */
+  static class Residues {
+
+    private final TriggerTimes schedule;
+
+    private final TriggerTimes blockOut;
+
+    private final long recurrence;
+
+    private final long offset;
+
+    private final long step;
+
+    private final long gcd;
+
+    private final long period;
+
+    Residues( TriggerTimes schedule, TriggerTimes blockOut ) {
+      this.schedule = schedule;
+      this.blockOut = blockOut;
+      recurrence = blockOut.interval;
+      if ( recurrence > 0 ) {
+        offset = Math.floorMod( schedule.start - blockOut.start, recurrence );
+        step = schedule.interval % recurrence;
+        gcd = gcd( step, recurrence );
+        period = recurrence / gcd;
+      } else {
+        offset = step = gcd = period = 0;
+      }
+    }
+
+    long offset( long index ) {
+      return ( offset + mulMod( index % period, step, recurrence ) ) % recurrence;
+    }
+
+    /**
+     * @return whether a fire time at or after the time is blocked
+     */
+    boolean anyBlocked( long from ) {
+      long lo = Math.max( from, blockOut.start );
+      long hi = Math.min( schedule.end, blockOut.end );
+      if ( recurrence == 0 ) {
+        hi = Math.min( hi, saturatedAdd( blockOut.start, blockOut.duration ) );
+        return schedule.firesWithin( lo, hi );
+      }
+      long first = schedule.firstIndexAtOrAfter( lo );
+      long last = schedule.lastIndexAtOrBefore( hi );
+      if ( first < 0 || last < first ) {
+        return false;
+      }
+      long duration = blockOut.duration;
+      if ( duration >= recurrence ) {
+        return true;
+      }
+      long smallest = offset % gcd;
+      if ( smallest > duration ) {
+        return false;
+      }
+      long count = last == Long.MAX_VALUE ? Long.MAX_VALUE : last - first + 1;
+      if ( count >= period ) {
+        return true;
+      }
+
+      long blockedOffsets = Math.min( period, ( duration - smallest ) / gcd + 1 );
+      if ( count <= blockedOffsets ) {
+        long current = offset( first );
+        for ( long i = 0; i < count; i++ ) {
+          if ( current <= duration ) {
+            return true;
+          }
+          current = ( current + step ) % recurrence;
+        }
+        return false;
+      }
+
+      // solve k * step = offset' - offset (mod B) for each blocked offset and look for a solution in range
+      long inverse = modInverse( ( step / gcd ) % period, period );
+      for ( long i = 0; i < blockedOffsets; i++ ) {
+        long target = smallest + i * gcd;
+        long index = mulMod( Math.floorMod( ( target - offset ) / gcd, period ), inverse, period );
+        if ( first + Math.floorMod( index - first, period ) <= last ) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * @return whether every fire time at or after the time is blocked, or there is none
+     */
+    boolean allBlocked( long from ) {
+      long first = schedule.firstIndexAtOrAfter( from );
+      if ( first < 0 ) {
+        return true;
+      }
+      long last = schedule.lastIndex();
+      if ( schedule.fireTime( first ) < blockOut.start
+        || ( last == Long.MAX_VALUE ? blockOut.end != Long.MAX_VALUE : schedule.fireTime( last ) > blockOut.end ) ) {
+        return false;
+      }
+      long duration = blockOut.duration;
+      if ( recurrence == 0 ) {
+        return last != Long.MAX_VALUE
+          && schedule.fireTime( last ) <= saturatedAdd( blockOut.start, duration );
+      }
+      if ( duration >= recurrence ) {
+        return true;
+      }
+      long count = last == Long.MAX_VALUE ? Long.MAX_VALUE : last - first + 1;
+      if ( count >= period ) {
+        return offset % gcd + ( period - 1 ) * gcd <= duration;
+      }
+      long current = offset( first );
+      for ( long i = 0; i < count; i++ ) {
+        if ( current > duration ) {
+          return false;
+        }
+        current = ( current + step ) % recurrence;
+      }
+      return true;
+    }
+  }
+}
@@ -16,17 +16,23 @@ package org.pentaho.platform.scheduler2.blockout;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.pentaho.platform.api.scheduler2.IBlockoutManager;
 import org.pentaho.platform.api.scheduler2.IJob;
 import org.pentaho.platform.api.scheduler2.IJobFilter;
 import org.pentaho.platform.api.scheduler2.IJobTrigger;
 import org.pentaho.platform.api.scheduler2.IScheduler;
+import org.pentaho.platform.api.scheduler2.Job;
 import org.pentaho.platform.api.scheduler2.SchedulerException;
 import org.pentaho.platform.engine.core.system.PentahoSystem;
 import org.pentaho.platform.scheduler2.quartz.BlockingQuartzJob;
+import org.pentaho.platform.scheduler2.quartz.QuartzScheduler;
 
 public class PentahoBlockoutManager implements IBlockoutManager {
 
+  private static final Log logger = LogFactory.getLog( PentahoBlockoutManager.class );
+
   private IScheduler scheduler;
 
   public PentahoBlockoutManager() {
@@ -35,27 +41,37 @@ public class PentahoBlockoutManager implements IBlockoutManager {
 
   public IJobTrigger getBlockOut( String blockOutJobId ) {
     try {
-      IJob blockOutJob = this.scheduler.getJob( blockOutJobId );
-      IJobTrigger blockOutJobTrigger = blockOutJob.getJobTrigger();
-      blockOutJobTrigger.setDuration( ( (Number) blockOutJob.getJobParams().get( DURATION_PARAM ) ).longValue() );
-      return blockOutJobTrigger;
+      return getBlockOutTrigger( this.scheduler.getJob( blockOutJobId ) );
     } catch ( SchedulerException e ) {
       throw new RuntimeException( e );
     }
   }
 
+  /**
+   * @return a copy of the trigger of a blockout job, with the duration of the blockout. The trigger of the job may be
+   * shared with the job catalog of the scheduler, so it is left as it is.
+   */
+  private static IJobTrigger getBlockOutTrigger( IJob blockOutJob ) {
+    IJobTrigger blockOutJobTrigger = QuartzScheduler.copyOf( blockOutJob.getJobTrigger() );
+    blockOutJobTrigger.setDuration( ( (Number) blockOutJob.getJobParams().get( DURATION_PARAM ) ).longValue() );
+    return blockOutJobTrigger;
+  }
+
   @Override
   public List<IJob> getBlockOutJobs() {
     try {
       List<IJob> jobs = scheduler.getJobs( new IJobFilter() {
         @Override public boolean accept( IJob job ) {
-          if ( BLOCK_OUT_JOB_NAME.equals( job.getJobName() ) ) {
-            job.getJobTrigger().setDuration( ( (Number) job.getJobParams().get( DURATION_PARAM ) ).longValue() );
-            return true;
-          }
-          return false;
+          return BLOCK_OUT_JOB_NAME.equals( job.getJobName() );
         }
       } );
+      for ( IJob job : jobs ) {
+        if ( job instanceof Job ) {
+          ( (Job) job ).setJobTrigger( getBlockOutTrigger( job ) );
+        } else {
+          job.getJobTrigger().setDuration( ( (Number) job.getJobParams().get( DURATION_PARAM ) ).longValue() );
+        }
+      }
       return jobs;
     } catch ( SchedulerException e ) {
       throw new RuntimeException( e );
@@ -70,6 +86,17 @@ public class PentahoBlockoutManager implements IBlockoutManager {
 
   @Override
   public boolean shouldFireNow() {
+    long now = System.currentTimeMillis();
+    if ( ActiveBlockouts.isActive( now ) ) {
+      return false;
+    }
+    if ( this.scheduler instanceof QuartzScheduler ) {
+      try {
+        return !BlockoutIndex.getInstance().isBlocked( now, this::getBlockOutJobTriggers );
+      } catch ( SchedulerException e ) {
+        logger.warn( "Unable to index the blockout windows, checking every blockout", e ); //$NON-NLS-1$
+      }
+    }
     return BlockoutManagerUtil.shouldFireNow( getBlockOutJobTriggers(), this.scheduler );
   }
 
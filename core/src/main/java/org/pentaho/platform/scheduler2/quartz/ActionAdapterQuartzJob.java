@@ -167,6 +167,9 @@ public class ActionAdapterQuartzJob implements Job {
 
     if ( actionBean instanceof BlockoutAction ) {
       params.put( IBlockoutManager.SCHEDULED_FIRE_TIME, context.getScheduledFireTime() );
+      if ( context.getJobDetail() != null ) {
+        params.put( BlockoutAction.BLOCKOUT_JOB_ID_PARAM, context.getJobDetail().getKey().getName() );
+      }
     }
 
     // Invoke the action and get the status of the invocation
@@ -26,7 +26,13 @@ import org.quartz.Job;
 import org.quartz.JobDataMap;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
 import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+
+import java.util.Date;
+import java.util.UUID;
 
 /**
  * A Quartz job that checks if execution is currently suspended before passing on to the underlying job
@@ -34,6 +40,46 @@ import org.quartz.SchedulerException;
  * @author kwalker
  */
 public class BlockingQuartzJob implements Job {
+
+  /**
+   * How long a fire that found its bulkhead full, or had to wait for its turn, waits before it tries again. It
+   * waits as a one-off trigger of the job, so it holds no worker thread meanwhile.
+   */
+  static final long REQUEUE_DELAY_MILLIS = 5000;
+
+  /**
+   * Job data of the trigger re-queuing a fire: the time the job first fired
+   */
+  static final String FIRST_FIRED_AT_KEY = "firstFiredAt"; //$NON-NLS-1$
+
+  /**
+   * Job data of the trigger re-queuing a fire: whether the fire has a place in the queue of its bulkhead
+   */
+  static final String BULKHEAD_QUEUED_KEY = "bulkheadQueued"; //$NON-NLS-1$
+
+  /**
+   * Job data of the trigger re-queuing a fire: the ticket of its place in the queue of the fair share dispatcher
+   */
+  static final String FAIR_SHARE_TICKET_KEY = "fairShareTicket"; //$NON-NLS-1$
+
+  /**
+   * What became of a fire of the underlying job
+   */
+  enum FireOutcome {
+    /**
+     * The job ran, or failed while running
+     */
+    RAN,
+    /**
+     * The fire was re-queued, to wait for room in its bulkhead or for the turn of its user
+     */
+    REQUEUED,
+    /**
+     * The fire misfired, the queue it had to wait in being full or out of reach
+     */
+    REJECTED
+  }
+
   public void execute( final JobExecutionContext jobExecutionContext ) throws JobExecutionException {
     JobDataMap jobDataMap = null;
     if ( jobExecutionContext.getJobDetail() != null && jobExecutionContext.getJobDetail().getJobDataMap() != null ) {
@@ -48,12 +94,15 @@ public class BlockingQuartzJob implements Job {
     String messageType = jobRestarted ? MessageTypes.RECREATED_INSTANCE_START : MessageTypes.INSTANCE_START;
     long start = System.currentTimeMillis();
     long end = start;
+    // a fire that was re-queued or rejected did not run, and gets no audit record
+    FireOutcome outcome = FireOutcome.RAN;
     try {
       if ( getBlockoutManager().shouldFireNow() || isBlockoutAction( jobExecutionContext ) ) { // We should always let the blockouts fire //$NON-NLS-1$
-        makeAuditRecord( 0, messageType, jobExecutionContext );
-        createUnderlyingJob().execute( jobExecutionContext );
-        end = System.currentTimeMillis();
-        messageType = jobRestarted ? MessageTypes.RECREATED_INSTANCE_END : MessageTypes.INSTANCE_END;
+        outcome = executeUnderlyingJob( jobExecutionContext, jobDataMap, messageType );
+        if ( outcome == FireOutcome.RAN ) {
+          end = System.currentTimeMillis();
+          messageType = jobRestarted ? MessageTypes.RECREATED_INSTANCE_END : MessageTypes.INSTANCE_END;
+        }
       } else {
         getLogger().warn(
             "Job '" + jobExecutionContext.getJobDetail().getKey().getName()
@@ -70,14 +119,185 @@ public class BlockingQuartzJob implements Job {
       getLogger().warn(
           "Got Exception retrieving the Blockout Manager for job '" + jobExecutionContext.getJobDetail().getKey().getName()
               + "'. Executing the underlying job anyway", e );
-      createUnderlyingJob().execute( jobExecutionContext );
+      outcome = executeUnderlyingJob( jobExecutionContext, jobDataMap, null );
       end = System.currentTimeMillis();
-      messageType = jobRestarted ? MessageTypes.RECREATED_INSTANCE_END : MessageTypes.INSTANCE_END;
+      if ( outcome == FireOutcome.RAN ) {
+        messageType = jobRestarted ? MessageTypes.RECREATED_INSTANCE_END : MessageTypes.INSTANCE_END;
+      }
     } finally {
-      makeAuditRecord( ( (float) ( end - start ) / 1000 ), messageType, jobExecutionContext );
+      if ( outcome == FireOutcome.RAN ) {
+        makeAuditRecord( ( (float) ( end - start ) / 1000 ), messageType, jobExecutionContext );
+      }
     }
   }
 
+  /**
+   * Runs the underlying job through the bulkhead of its action, if any, then through the fair share dispatcher, if
+   * on. Blockouts always run right away.
+   *
+   * @param startMessageType the audit message of the start of the job, recorded once it runs, or null for none
+   * @return whether the job ran, or its fire was re-queued or misfired
+   */
+  private FireOutcome executeUnderlyingJob( JobExecutionContext jobExecutionContext, JobDataMap jobDataMap,
+                                        String startMessageType ) throws JobExecutionException {
+    QuartzJobBulkheads.Bulkhead bulkhead = getJobBulkheads().getBulkhead( jobDataMap );
+    QuartzFairShareDispatcher dispatcher = getFairShareDispatcher();
+    if ( ( bulkhead == null && dispatcher == null ) || isBlockoutAction( jobExecutionContext ) ) {
+      auditStart( startMessageType, jobExecutionContext );
+      createUnderlyingJob().execute( jobExecutionContext );
+      return FireOutcome.RAN;
+    }
+    if ( bulkhead != null ) {
+      FireOutcome admission = enterBulkhead( jobExecutionContext, bulkhead );
+      if ( admission != FireOutcome.RAN ) {
+        return admission;
+      }
+    }
+    String userName = jobExecutionContext.getJobDetail().getKey().getGroup();
+    boolean inTurn = false;
+    try {
+      FireOutcome turn = dispatcher == null ? FireOutcome.RAN : takeTurn( jobExecutionContext, dispatcher, userName );
+      inTurn = turn == FireOutcome.RAN;
+      if ( !inTurn ) {
+        return turn;
+      }
+      auditStart( startMessageType, jobExecutionContext );
+      try {
+        createUnderlyingJob().execute( jobExecutionContext );
+      } finally {
+        if ( dispatcher != null ) {
+          dispatcher.release( userName );
+        }
+      }
+      return FireOutcome.RAN;
+    } finally {
+      if ( bulkhead != null ) {
+        if ( inTurn ) {
+          bulkhead.release();
+        } else {
+          bulkhead.releaseUnused();
+        }
+      }
+    }
+  }
+
+  private void auditStart( String startMessageType, JobExecutionContext jobExecutionContext ) {
+    if ( startMessageType != null ) {
+      makeAuditRecord( 0, startMessageType, jobExecutionContext );
+    }
+  }
+
+  /**
+   * Lets the job into the bulkhead of its action if it has room. Otherwise the fire is re-queued, to try again in
+   * {@link #REQUEUE_DELAY_MILLIS} instead of holding the worker thread, or misfires if the queue is full.
+   *
+   * @return {@link FireOutcome#RAN} if the job may run, and must release the bulkhead once done
+   */
+  private FireOutcome enterBulkhead( JobExecutionContext jobExecutionContext, QuartzJobBulkheads.Bulkhead bulkhead ) {
+    Long firstFiredAt = getFirstFiredAt( jobExecutionContext );
+    long firedAt = firstFiredAt != null ? firstFiredAt : System.currentTimeMillis();
+    QuartzJobBulkheads.Admission admission = bulkhead.tryAcquire( firedAt, isBulkheadQueued( jobExecutionContext ) );
+    if ( admission == QuartzJobBulkheads.Admission.RUN ) {
+      return FireOutcome.RAN;
+    }
+    String jobName = jobExecutionContext.getJobDetail().getKey().getName();
+    if ( admission == QuartzJobBulkheads.Admission.REJECT ) {
+      getLogger().warn( "Job '" + jobName + "' misfired, bulkhead '" + bulkhead.getName() + "' already has "
+          + bulkhead.getMaxQueue() + " jobs waiting" );
+      return FireOutcome.REJECTED;
+    }
+    try {
+      requeue( jobExecutionContext, firedAt, true, getFairShareTicket( jobExecutionContext ) );
+    } catch ( SchedulerException e ) {
+      bulkhead.cancel();
+      getLogger().warn( "Job '" + jobName + "' misfired, it could not wait for bulkhead '" + bulkhead.getName() + "'",
+          e );
+      return FireOutcome.REJECTED;
+    }
+    return FireOutcome.REQUEUED;
+  }
+
+  /**
+   * @return when the job first fired, if this fire re-queues an earlier one, null otherwise
+   */
+  private static Long getFirstFiredAt( JobExecutionContext jobExecutionContext ) {
+    Trigger trigger = jobExecutionContext.getTrigger();
+    if ( trigger == null || !trigger.getJobDataMap().containsKey( FIRST_FIRED_AT_KEY ) ) {
+      return null;
+    }
+    return trigger.getJobDataMap().getLong( FIRST_FIRED_AT_KEY );
+  }
+
+  private static boolean isBulkheadQueued( JobExecutionContext jobExecutionContext ) {
+    Trigger trigger = jobExecutionContext.getTrigger();
+    return trigger != null && trigger.getJobDataMap().containsKey( BULKHEAD_QUEUED_KEY )
+      && trigger.getJobDataMap().getBoolean( BULKHEAD_QUEUED_KEY );
+  }
+
+  /**
+   * @return the ticket of the place of the fire in the queue of the fair share dispatcher, 0 if it has none
+   */
+  private static long getFairShareTicket( JobExecutionContext jobExecutionContext ) {
+    Trigger trigger = jobExecutionContext.getTrigger();
+    if ( trigger == null || !trigger.getJobDataMap().containsKey( FAIR_SHARE_TICKET_KEY ) ) {
+      return 0;
+    }
+    return trigger.getJobDataMap().getLong( FAIR_SHARE_TICKET_KEY );
+  }
+
+  /**
+   * Fires the job again in {@link #REQUEUE_DELAY_MILLIS}, with a one-off trigger named like the triggers of manual
+   * runs, so that it is not taken for the trigger of the job.
+   *
+   * @param bulkheadQueued  whether the fire has a place in the queue of its bulkhead
+   * @param fairShareTicket the ticket of its place in the queue of the fair share dispatcher, 0 if it has none
+   */
+  void requeue( JobExecutionContext jobExecutionContext, long firstFiredAt, boolean bulkheadQueued,
+                long fairShareTicket ) throws SchedulerException {
+    JobKey jobKey = jobExecutionContext.getJobDetail().getKey();
+    jobExecutionContext.getScheduler().scheduleJob( TriggerBuilder.newTrigger()
+        .withIdentity( "MT_" + UUID.randomUUID(), jobKey.getGroup() ) //$NON-NLS-1$
+        .forJob( jobKey )
+        .startAt( new Date( System.currentTimeMillis() + REQUEUE_DELAY_MILLIS ) )
+        .usingJobData( FIRST_FIRED_AT_KEY, firstFiredAt )
+        .usingJobData( BULKHEAD_QUEUED_KEY, bulkheadQueued )
+        .usingJobData( FAIR_SHARE_TICKET_KEY, fairShareTicket )
+        .build() );
+  }
+
+  /**
+   * Lets the job run if it is the turn of its user, i.e. the group of the job. Otherwise the fire is re-queued with
+   * the ticket of its place in the queue of the user, instead of holding the worker thread until its turn.
+   *
+   * @return {@link FireOutcome#RAN} if the job may run, and must release the dispatcher once done
+   */
+  private FireOutcome takeTurn( JobExecutionContext jobExecutionContext, QuartzFairShareDispatcher dispatcher,
+                            String userName ) {
+    Long firstFiredAt = getFirstFiredAt( jobExecutionContext );
+    long firedAt = firstFiredAt != null ? firstFiredAt : System.currentTimeMillis();
+    long ticket = dispatcher.tryAcquire( userName, getFairShareTicket( jobExecutionContext ), firedAt );
+    if ( ticket == 0 ) {
+      return FireOutcome.RAN;
+    }
+    try {
+      requeue( jobExecutionContext, firedAt, false, ticket );
+    } catch ( SchedulerException e ) {
+      dispatcher.cancel( ticket );
+      getLogger().warn( "Job '" + jobExecutionContext.getJobDetail().getKey().getName()
+          + "' misfired, it could not wait for the turn of user '" + userName + "'", e );
+      return FireOutcome.REJECTED;
+    }
+    return FireOutcome.REQUEUED;
+  }
+
+  QuartzJobBulkheads getJobBulkheads() {
+    return QuartzJobBulkheads.getInstance();
+  }
+
+  QuartzFairShareDispatcher getFairShareDispatcher() {
+    return QuartzFairShareDispatcher.getInstance();
+  }
+
   IBlockoutManager getBlockoutManager() throws SchedulerException {
     return new PentahoBlockoutManager();
   }
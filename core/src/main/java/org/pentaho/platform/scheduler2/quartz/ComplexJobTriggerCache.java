@@ -0,0 +1,116 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.quartz;
+
+import org.pentaho.platform.api.scheduler2.ComplexJobTrigger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, least recently used cache of the {@link ComplexJobTrigger}s converted from Quartz cron triggers. Parsing
+ * the recurrences and describing the cron expression of a trigger costs far more than reading it, and most jobs share
+ * a handful of schedules, so job listings convert each distinct schedule once and hand every job its own copy.
+ * <p>
+ * The cached triggers are never handed out; {@link #get(Key, Supplier)} returns a copy that callers are free to change.
+ */
+class ComplexJobTriggerCache {
+
+  static final int DEFAULT_CAPACITY = 1000;
+
+  private final Map<Key, ComplexJobTrigger> triggers;
+
+  ComplexJobTriggerCache() {
+    this( DEFAULT_CAPACITY );
+  }
+
+  /**
+   * @param capacity the number of distinct schedules to keep
+   */
+  ComplexJobTriggerCache( int capacity ) {
+    this.triggers = new LinkedHashMap<Key, ComplexJobTrigger>( 16, 0.75f, true ) {
+      @Override
+      protected boolean removeEldestEntry( Map.Entry<Key, ComplexJobTrigger> eldest ) {
+        return size() > capacity;
+      }
+    };
+  }
+
+  /**
+   * @param key       the schedule
+   * @param converter converts the schedule when it is not cached
+   * @return a copy of the trigger converted from the schedule
+   */
+  ComplexJobTrigger get( Key key, Supplier<ComplexJobTrigger> converter ) {
+    ComplexJobTrigger trigger;
+    synchronized ( triggers ) {
+      trigger = triggers.get( key );
+    }
+    if ( trigger == null ) {
+      // converted outside of the lock; two threads converting the same schedule at once is harmless
+      trigger = converter.get();
+      synchronized ( triggers ) {
+        triggers.put( key, trigger );
+      }
+    }
+    return new ComplexJobTrigger( trigger );
+  }
+
+  int size() {
+    synchronized ( triggers ) {
+      return triggers.size();
+    }
+  }
+
+  /**
+   * Everything a converted trigger depends on: the cron expression and time zone of the Quartz trigger, the
+   * availability window of its calendar, if any, and the uiPassParam of the job.
+   */
+  static final class Key {
+    private final String cronExpression;
+    private final String timeZone;
+    private final Long windowStart;
+    private final Long windowEnd;
+    private final String uiPassParam;
+
+    Key( String cronExpression, String timeZone, Long windowStart, Long windowEnd, String uiPassParam ) {
+      this.cronExpression = cronExpression;
+      this.timeZone = timeZone;
+      this.windowStart = windowStart;
+      this.windowEnd = windowEnd;
+      this.uiPassParam = uiPassParam;
+    }
+
+    @Override
+    public boolean equals( Object o ) {
+      if ( this == o ) {
+        return true;
+      }
+      if ( !( o instanceof Key ) ) {
+        return false;
+      }
+      Key key = (Key) o;
+      return Objects.equals( cronExpression, key.cronExpression ) && Objects.equals( timeZone, key.timeZone )
+        && Objects.equals( windowStart, key.windowStart ) && Objects.equals( windowEnd, key.windowEnd )
+        && Objects.equals( uiPassParam, key.uiPassParam );
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash( cronExpression, timeZone, windowStart, windowEnd, uiPassParam );
+    }
+  }
+}
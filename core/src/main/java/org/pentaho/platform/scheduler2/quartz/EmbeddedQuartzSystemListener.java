@@ -34,6 +34,7 @@ import org.pentaho.platform.api.data.DBDatasourceServiceException;
 import org.pentaho.platform.api.data.IDBDatasourceService;
 import org.pentaho.platform.api.engine.IPentahoSession;
 import org.pentaho.platform.api.engine.IPluginLifecycleListener;
+import org.pentaho.platform.api.engine.IPluginResourceLoader;
 import org.pentaho.platform.api.engine.ObjectFactoryException;
 import org.pentaho.platform.api.engine.PluginLifecycleException;
 import org.pentaho.platform.api.scheduler2.IScheduler;
@@ -43,6 +44,7 @@ import org.pentaho.platform.engine.core.system.PentahoSystemPublisher;
 import org.pentaho.platform.engine.services.connection.datasource.dbcp.JndiDatasourceService;
 import org.pentaho.platform.scheduler2.messsages.Messages;
 import org.quartz.SchedulerException;
+import org.quartz.impl.jdbcjobstore.JobStoreSupport;
 
 public class EmbeddedQuartzSystemListener implements IPluginLifecycleListener {
 
@@ -56,6 +58,24 @@ public class EmbeddedQuartzSystemListener implements IPluginLifecycleListener {
 
   private static final String DEFAULT_QUARTZ_PROPERTIES_FILE = "scheduler-plugin/quartz/quartz.properties"; //$NON-NLS-1$
 
+  private static final String JOB_STORE_CLASS = "org.quartz.jobStore.class"; //$NON-NLS-1$
+
+  private static final String JOB_STORE_TABLE_PREFIX = "org.quartz.jobStore.tablePrefix"; //$NON-NLS-1$
+
+  private static final String THREAD_POOL_CLASS = "org.quartz.threadPool.class"; //$NON-NLS-1$
+
+  private static final String THREAD_POOL_THREAD_COUNT = "org.quartz.threadPool.threadCount"; //$NON-NLS-1$
+
+  private static final String THREAD_POOL_MAX_CONCURRENCY = "org.quartz.threadPool.maxConcurrency"; //$NON-NLS-1$
+
+  private static final String JOB_CATALOG_SETTING_KEY = "settings/job-catalog"; //$NON-NLS-1$
+
+  private static final String JOB_CHANGE_LOG_SETTING_KEY = "settings/job-change-log"; //$NON-NLS-1$
+
+  private static final String JOB_BULKHEADS_SETTING_KEY = "settings/job-bulkheads"; //$NON-NLS-1$
+
+  private static final String JOB_FAIR_SHARE_SETTING_KEY = "settings/job-fair-share"; //$NON-NLS-1$
+
   Properties quartzProperties;
 
   String quartzPropertiesFile = DEFAULT_QUARTZ_PROPERTIES_FILE;
@@ -95,6 +115,7 @@ public class EmbeddedQuartzSystemListener implements IPluginLifecycleListener {
         result = false;
       } else {
         String dsName = quartzProps.getProperty( "org.quartz.dataSource.myDS.jndiURL" ); //$NON-NLS-1$
+        QuartzJdbcJobStoreReader jobStoreReader = null;
         if ( dsName != null ) {
           IDBDatasourceService datasourceService = getQuartzDatasourceService( session );
           String boundDsName = datasourceService.getDSBoundName( dsName );
@@ -105,8 +126,17 @@ public class EmbeddedQuartzSystemListener implements IPluginLifecycleListener {
 
           DataSource ds = datasourceService.getDataSource( dsName );
           result = verifyQuartzIsConfigured( ds );
+          if ( isJdbcJobStore( quartzProps ) ) {
+            jobStoreReader = new QuartzJdbcJobStoreReader( ds, quartzProps.getProperty( JOB_STORE_TABLE_PREFIX,
+              QuartzJdbcJobStoreReader.DEFAULT_TABLE_PREFIX ) );
+          }
         }
         QuartzScheduler scheduler = (QuartzScheduler) PentahoSystem.get( IScheduler.class, "IScheduler2", null ); //$NON-NLS-1$
+        scheduler.setJobStoreReader( jobStoreReader );
+        scheduler.setJobCatalogEnabled( isJobCatalogEnabled() );
+        scheduler.setJobChangeLogEnabled( isJobChangeLogEnabled() );
+        configureJobBulkheads( getThreadPoolSize( quartzProps ) );
+        configureFairShareDispatcher( getThreadPoolSize( quartzProps ) );
         if ( logger.isDebugEnabled() ) {
           logger.debug( "Quartz configured with properties" ); //$NON-NLS-1$
           quartzProps.store( System.out, "debugging" ); //$NON-NLS-1$
@@ -217,6 +247,101 @@ public class EmbeddedQuartzSystemListener implements IPluginLifecycleListener {
     }
   }
 
+  /**
+   * The set-based job listing reads the Quartz tables directly, so it is only enabled for the JDBC job stores.
+   */
+  protected boolean isJdbcJobStore( Properties quartzProps ) {
+    String jobStoreClass = quartzProps.getProperty( JOB_STORE_CLASS );
+    if ( StringUtils.isEmpty( jobStoreClass ) ) {
+      return false;
+    }
+    try {
+      return JobStoreSupport.class.isAssignableFrom( Class.forName( jobStoreClass ) );
+    } catch ( ClassNotFoundException | LinkageError e ) {
+      logger.debug( "Unable to load job store class " + jobStoreClass, e ); //$NON-NLS-1$
+      return false;
+    }
+  }
+
+  /**
+   * @return the number of jobs the configured Quartz thread pool runs at once, or -1 if it is not known
+   */
+  protected int getThreadPoolSize( Properties quartzProps ) {
+    String size = quartzProps.getProperty( THREAD_POOL_MAX_CONCURRENCY,
+      quartzProps.getProperty( THREAD_POOL_THREAD_COUNT ) );
+    if ( StringUtils.isBlank( size ) ) {
+      return QuartzVirtualThreadPool.class.getName().equals( quartzProps.getProperty( THREAD_POOL_CLASS, "" ).trim() )
+        ? QuartzVirtualThreadPool.DEFAULT_MAX_CONCURRENCY : -1;
+    }
+    try {
+      return Integer.parseInt( size.trim() );
+    } catch ( NumberFormatException e ) {
+      return -1;
+    }
+  }
+
+  /**
+   * The job catalog is opt-in through the job-catalog plugin setting.
+   */
+  protected boolean isJobCatalogEnabled() {
+    IPluginResourceLoader resourceLoader = PentahoSystem.get( IPluginResourceLoader.class, null );
+    if ( resourceLoader == null ) {
+      return false;
+    }
+    return Boolean.parseBoolean(
+      resourceLoader.getPluginSetting( EmbeddedQuartzSystemListener.class, JOB_CATALOG_SETTING_KEY, "false" ) );
+  }
+
+  /**
+   * The job change log is on unless the job-change-log plugin setting turns it off.
+   */
+  protected boolean isJobChangeLogEnabled() {
+    IPluginResourceLoader resourceLoader = PentahoSystem.get( IPluginResourceLoader.class, null );
+    if ( resourceLoader == null ) {
+      return true;
+    }
+    return Boolean.parseBoolean(
+      resourceLoader.getPluginSetting( EmbeddedQuartzSystemListener.class, JOB_CHANGE_LOG_SETTING_KEY, "true" ) );
+  }
+
+  /**
+   * Sets up the bulkheads defined by the job-bulkheads plugin setting. A malformed setting is logged and leaves the
+   * jobs without bulkheads rather than keeping the scheduler from starting.
+   *
+   * @param threadPoolSize the number of jobs the Quartz thread pool runs at once, or -1 if it is not known
+   */
+  protected void configureJobBulkheads( int threadPoolSize ) {
+    IPluginResourceLoader resourceLoader = PentahoSystem.get( IPluginResourceLoader.class, null );
+    String setting =
+      resourceLoader == null ? null : resourceLoader.getPluginSetting( EmbeddedQuartzSystemListener.class,
+        JOB_BULKHEADS_SETTING_KEY, null );
+    try {
+      QuartzJobBulkheads.configure( setting, threadPoolSize );
+    } catch ( IllegalArgumentException e ) {
+      logger.error( "Unable to configure the job bulkheads, jobs will run without them", e ); //$NON-NLS-1$
+      QuartzJobBulkheads.configure( null );
+    }
+  }
+
+  /**
+   * Turns on the fair share dispatcher if the job-fair-share plugin setting defines it. A malformed setting is logged
+   * and leaves the dispatcher off.
+   *
+   * @param threadPoolSize the number of jobs the Quartz thread pool runs at once, or -1 if it is not known
+   */
+  protected void configureFairShareDispatcher( int threadPoolSize ) {
+    IPluginResourceLoader resourceLoader = PentahoSystem.get( IPluginResourceLoader.class, null );
+    String setting =
+      resourceLoader == null ? null : resourceLoader.getPluginSetting( EmbeddedQuartzSystemListener.class,
+        JOB_FAIR_SHARE_SETTING_KEY, null );
+    try {
+      QuartzFairShareDispatcher.configure( setting, threadPoolSize );
+    } catch ( IllegalArgumentException e ) {
+      logger.error( "Unable to configure the fair share dispatcher, jobs will run as they fire", e ); //$NON-NLS-1$
+      QuartzFairShareDispatcher.configure( null );
+    }
+  }
+
   protected boolean verifyQuartzIsConfigured( DataSource ds ) throws SQLException {
     boolean quartzIsConfigured = false;
     Connection conn = ds.getConnection();
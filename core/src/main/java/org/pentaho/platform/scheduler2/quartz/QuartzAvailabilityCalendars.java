@@ -0,0 +1,223 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.quartz;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.quartz.JobPersistenceException;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+import org.quartz.impl.matchers.GroupMatcher;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shares the availability calendars of the jobs. A calendar is named after its availability window, so every job with
+ * the same window uses the same stored calendar, and the calendar is reference counted so it is deleted along with the
+ * last trigger using it.
+ * <p>
+ * The counts are kept in memory and only cover the calendars used since the scheduler started, so they are only a
+ * hint for deleting calendars: a calendar is stored every time it is acquired, and one with an unknown or zero count
+ * is offered for deletion, which the job store refuses while a trigger still references it, so
+ * a count that is off never deletes a calendar in use. The calendars named after a job id, stored before the calendars
+ * were shared, are released the same way, and {@link #compact(Scheduler)} deletes those left behind by removed jobs.
+ * <p>
+ * The jobs which are not blockouts also skip the blockout windows: a job without an availability window uses the
+ * {@link QuartzBlockoutCalendar} stored as {@link #BLOCKOUT_CALENDAR_NAME}, and a job with one uses an availability
+ * calendar based on it, named with {@link #EXCLUDING_BLOCKOUTS_SUFFIX}. Blockout jobs use the plain availability
+ * calendars, as a blockout would otherwise exclude its own fire times.
+ */
+class QuartzAvailabilityCalendars {
+
+  static final String CALENDAR_NAME_PREFIX = "availability:";
+
+  static final String BLOCKOUT_CALENDAR_NAME = "blockouts";
+
+  static final String EXCLUDING_BLOCKOUTS_SUFFIX = ";" + BLOCKOUT_CALENDAR_NAME;
+
+  private static final Log logger = LogFactory.getLog( QuartzAvailabilityCalendars.class );
+
+  private final Map<String, Integer> referenceCounts = new HashMap<>();
+
+  /**
+   * @return the name shared by every calendar with the availability window of this one
+   */
+  static String getCalendarName( QuartzSchedulerAvailability calendar ) {
+    return CALENDAR_NAME_PREFIX + toString( calendar.getStartTime() ) + "_" + toString( calendar.getEndTime() );
+  }
+
+  /**
+   * @param excludeBlockouts true for the calendar of a job which is not a blockout, based on the blockout calendar
+   * @return the name shared by every calendar with the availability window of this one
+   */
+  static String getCalendarName( QuartzSchedulerAvailability calendar, boolean excludeBlockouts ) {
+    return getCalendarName( calendar ) + ( excludeBlockouts ? EXCLUDING_BLOCKOUTS_SUFFIX : "" );
+  }
+
+  /**
+   * @return true if the calendar excludes the blockout windows, i.e. is the blockout calendar or is based on it
+   */
+  static boolean isExcludingBlockouts( String calendarName ) {
+    return BLOCKOUT_CALENDAR_NAME.equals( calendarName )
+      || calendarName != null && calendarName.endsWith( EXCLUDING_BLOCKOUTS_SUFFIX );
+  }
+
+  /**
+   * Rebuilds a shared calendar from its name, which holds its whole content, without reading it from the job store.
+   *
+   * @return the calendar, or null if the name is not the name of a shared calendar
+   */
+  static QuartzSchedulerAvailability fromCalendarName( String calendarName ) {
+    if ( calendarName == null || !calendarName.startsWith( CALENDAR_NAME_PREFIX ) ) {
+      return null;
+    }
+    String window = calendarName.substring( CALENDAR_NAME_PREFIX.length(),
+      calendarName.length() - ( calendarName.endsWith( EXCLUDING_BLOCKOUTS_SUFFIX )
+        ? EXCLUDING_BLOCKOUTS_SUFFIX.length() : 0 ) );
+    int separator = window.indexOf( '_' );
+    if ( separator == -1 ) {
+      return null;
+    }
+    try {
+      return new QuartzSchedulerAvailability( toDate( window.substring( 0, separator ) ),
+        toDate( window.substring( separator + 1 ) ) );
+    } catch ( NumberFormatException e ) {
+      return null;
+    }
+  }
+
+  /**
+   * Stores the calendar and counts a reference to it.
+   *
+   * @return the name of the shared calendar, for the trigger to use
+   */
+  String acquire( Scheduler scheduler, QuartzSchedulerAvailability calendar ) throws SchedulerException {
+    return acquire( scheduler, calendar, false );
+  }
+
+  /**
+   * Stores the calendar and counts a reference to it. The calendar is stored even when this node already counts a
+   * reference to it, as another node of a cluster may have deleted it since; storing it again does not change it, as
+   * the name is the content.
+   *
+   * @param excludeBlockouts true for the calendar of a job which is not a blockout, which is based on the stored
+   *                         blockout calendar
+   * @return the name of the shared calendar, for the trigger to use
+   */
+  synchronized String acquire( Scheduler scheduler, QuartzSchedulerAvailability calendar, boolean excludeBlockouts )
+    throws SchedulerException {
+    String calendarName = getCalendarName( calendar, excludeBlockouts );
+    if ( excludeBlockouts ) {
+      calendar.setBaseCalendar( scheduler.getCalendar( BLOCKOUT_CALENDAR_NAME ) );
+    }
+    scheduler.addCalendar( calendarName, calendar, true, false );
+    referenceCounts.merge( calendarName, 1, Integer::sum );
+    return calendarName;
+  }
+
+  /**
+   * Drops a reference to a calendar, and deletes the calendar if no trigger uses it any more.
+   *
+   * @param calendarName the calendar of a trigger which was deleted or moved to another calendar, or null
+   */
+  synchronized void release( Scheduler scheduler, String calendarName ) throws SchedulerException {
+    if ( calendarName == null || BLOCKOUT_CALENDAR_NAME.equals( calendarName ) ) {
+      return;
+    }
+    Integer referenceCount = referenceCounts.get( calendarName );
+    if ( referenceCount != null && referenceCount > 1 ) {
+      referenceCounts.put( calendarName, referenceCount - 1 );
+      return;
+    }
+    referenceCounts.remove( calendarName );
+    delete( scheduler, calendarName );
+  }
+
+  /**
+   * Stores the blockout calendar, and bases every availability calendar excluding the blockouts on it. Quartz moves
+   * the next fire times of the triggers using these calendars past the new blockout windows.
+   */
+  synchronized void setBlockoutCalendar( Scheduler scheduler, QuartzBlockoutCalendar blockoutCalendar )
+    throws SchedulerException {
+    scheduler.addCalendar( BLOCKOUT_CALENDAR_NAME, blockoutCalendar, true, true );
+    for ( String calendarName : scheduler.getCalendarNames() ) {
+      QuartzSchedulerAvailability calendar = calendarName.endsWith( EXCLUDING_BLOCKOUTS_SUFFIX )
+        ? fromCalendarName( calendarName ) : null;
+      if ( calendar != null ) {
+        calendar.setBaseCalendar( blockoutCalendar );
+        scheduler.addCalendar( calendarName, calendar, true, true );
+      }
+    }
+  }
+
+  /**
+   * Deletes every calendar no trigger references, e.g. the calendars of removed jobs that were left behind when jobs
+   * did not delete their calendar, and resets the reference counts to the references found.
+   *
+   * @return the number of calendars deleted
+   */
+  synchronized int compact( Scheduler scheduler ) throws SchedulerException {
+    Map<String, Integer> references = new HashMap<>();
+    for ( String triggerGroup : scheduler.getTriggerGroupNames() ) {
+      for ( TriggerKey triggerKey : scheduler.getTriggerKeys( GroupMatcher.triggerGroupEquals( triggerGroup ) ) ) {
+        Trigger trigger = scheduler.getTrigger( triggerKey );
+        if ( trigger != null && trigger.getCalendarName() != null ) {
+          references.merge( trigger.getCalendarName(), 1, Integer::sum );
+        }
+      }
+    }
+
+    int deleted = 0;
+    for ( String calendarName : scheduler.getCalendarNames() ) {
+      // the blockout calendar is kept for the next job, whether or not a trigger uses it yet
+      if ( !references.containsKey( calendarName ) && !BLOCKOUT_CALENDAR_NAME.equals( calendarName )
+        && delete( scheduler, calendarName ) ) {
+        deleted++;
+      }
+    }
+    referenceCounts.clear();
+    referenceCounts.putAll( references );
+    logger.info( "Deleted " + deleted + " unreferenced scheduler calendar(s)" ); //$NON-NLS-1$
+    return deleted;
+  }
+
+  synchronized int getReferenceCount( String calendarName ) {
+    return referenceCounts.getOrDefault( calendarName, 0 );
+  }
+
+  /**
+   * @return true if the calendar was deleted, false if it did not exist or a trigger still references it
+   */
+  private static boolean delete( Scheduler scheduler, String calendarName ) throws SchedulerException {
+    try {
+      return scheduler.deleteCalendar( calendarName );
+    } catch ( JobPersistenceException e ) {
+      // the job store refuses to delete a calendar a trigger references
+      logger.debug( "Kept calendar " + calendarName + ": " + e.getMessage() ); //$NON-NLS-1$
+      return false;
+    }
+  }
+
+  private static String toString( Date date ) {
+    return date == null ? "" : String.valueOf( date.getTime() );
+  }
+
+  private static Date toDate( String time ) {
+    return time.isEmpty() ? null : new Date( Long.parseLong( time ) );
+  }
+}
@@ -0,0 +1,138 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.quartz;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.quartz.Trigger;
+import org.quartz.impl.calendar.BaseCalendar;
+
+/**
+ * Implementation of a Quartz calendar which excludes the windows of the blockouts, so that Quartz skips the fire
+ * times a blockout would block instead of firing the job for {@link BlockingQuartzJob} to drop it. A window starts
+ * at a fire time of the trigger of a blockout job and lasts for the duration of the blockout, both bounds included.
+ * <p>
+ * The calendar keeps a copy of the triggers of the blockouts, so it only changes when the blockouts change, and
+ * finds the window holding a time with one <code>getFireTimeAfter</code> per blockout.
+ */
+public class QuartzBlockoutCalendar extends BaseCalendar {
+  private static final long serialVersionUID = -4526718234306528197L;
+
+  /**
+   * Bounds the windows {@link #getNextIncludedTime(long)} jumps over, for blockouts which leave no time free.
+   */
+  static final int MAX_WINDOWS_SKIPPED = 10000;
+
+  private final List<Blockout> blockouts;
+
+  public QuartzBlockoutCalendar( List<Blockout> blockouts ) {
+    this.blockouts = Collections.unmodifiableList( new ArrayList<>( blockouts ) );
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean isTimeIncluded( long timeStamp ) {
+    return super.isTimeIncluded( timeStamp ) && getWindowEnd( timeStamp ) < 0;
+  }
+
+  /**
+   * Jumps to the end of every window holding the time, rather than trying the times one at a time.
+   *
+   * @return the first time at or after the time which neither a blockout nor the base calendar excludes, or 0 if
+   *         there is none within {@link #MAX_WINDOWS_SKIPPED} windows
+   */
+  @Override
+  public long getNextIncludedTime( long timeStamp ) {
+    long time = timeStamp;
+    for ( int i = 0; i < MAX_WINDOWS_SKIPPED && time > 0; i++ ) {
+      time = super.getNextIncludedTime( time );
+      long windowEnd = time > 0 ? getWindowEnd( time ) : -1;
+      if ( windowEnd < 0 ) {
+        return time;
+      }
+      time = windowEnd == Long.MAX_VALUE ? 0 : windowEnd + 1;
+    }
+    return 0;
+  }
+
+  /**
+   * @return the end of a blockout window holding the time, or -1 if no window holds it
+   */
+  long getWindowEnd( long time ) {
+    long windowEnd = -1;
+    for ( Blockout blockout : blockouts ) {
+      windowEnd = Math.max( windowEnd, blockout.getWindowEnd( time ) );
+    }
+    return windowEnd;
+  }
+
+  public List<Blockout> getBlockouts() {
+    return blockouts;
+  }
+
+  /**
+   * The trigger of a blockout job, with the duration of the blockout and the times the trigger may fire between.
+   */
+  public static class Blockout implements Serializable {
+    private static final long serialVersionUID = 2208591376049935712L;
+
+    private final Trigger trigger;
+
+    private final long duration;
+
+    private final long startTime;
+
+    private final long endTime;
+
+    /**
+     * @param trigger   the trigger of the blockout job, which is copied
+     * @param duration  the duration of a window in milliseconds
+     * @param startTime the earliest fire time, e.g. the start of the availability calendar of the trigger, or null
+     * @param endTime   the last fire time, or null
+     */
+    public Blockout( Trigger trigger, long duration, Date startTime, Date endTime ) {
+      this.trigger = (Trigger) trigger.clone();
+      this.duration = Math.max( 0, duration );
+      this.startTime = startTime == null ? Long.MIN_VALUE : startTime.getTime();
+      long triggerEnd = trigger.getEndTime() == null ? Long.MAX_VALUE : trigger.getEndTime().getTime();
+      this.endTime = Math.min( triggerEnd, endTime == null ? Long.MAX_VALUE : endTime.getTime() );
+    }
+
+    /**
+     * @return the end of the window of this blockout holding the time, or -1 if no window holds it
+     */
+    long getWindowEnd( long time ) {
+      long after = Math.max( time - duration, startTime ) - 1;
+      Date fireTime = trigger.getFireTimeAfter( new Date( after ) );
+      if ( fireTime == null || fireTime.getTime() > time || fireTime.getTime() > endTime ) {
+        return -1;
+      }
+      long windowEnd = fireTime.getTime() + duration;
+      windowEnd = Math.min( windowEnd < fireTime.getTime() ? Long.MAX_VALUE : windowEnd, endTime );
+      return windowEnd >= time ? windowEnd : -1;
+    }
+
+    public Trigger getTrigger() {
+      return trigger;
+    }
+
+    public long getDuration() {
+      return duration;
+    }
+  }
+}
@@ -0,0 +1,508 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.quartz;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Shares the scheduler between the users whose jobs fire at the same time. Every fired job waits in the queue of its
+ * user (the group of the job) for one of {@link #getMaxConcurrency()} slots; when a slot frees up, it goes to the next
+ * user in turn rather than to the job that fired first, so a user firing hundreds of jobs at once does not hold back
+ * the jobs of the others. A user gets as many slots in a row as its weight, and never more than
+ * {@link #getMaxConcurrencyPerUser()} at once.
+ * <p>
+ * The dispatcher is off unless the job-fair-share plugin setting defines it:
+ * <pre>
+ *   maxConcurrency = 8; maxConcurrencyPerUser = 3; weights = admin:2, reporting:3
+ * </pre>
+ * A waiting job does not keep its Quartz worker thread: {@link BlockingQuartzJob} re-queues its fire as a one-off
+ * trigger of the job, with the ticket of its place in the queue. The slot freed for a user is kept for the next fire
+ * of the user that comes back with a ticket, for {@link #WAITER_TIMEOUT_MILLIS} at most. The running jobs do keep
+ * their thread, so the dispatcher runs fewer jobs at once than the thread pool has threads, leaving at least one for
+ * the jobs coming back to take their turn.
+ */
+public class QuartzFairShareDispatcher {
+
+  /**
+   * How long a waiting fire keeps its place in the queue, or the slot kept for it, without coming back.
+   */
+  static final long WAITER_TIMEOUT_MILLIS = 60000;
+
+  private static final Log logger = LogFactory.getLog( QuartzFairShareDispatcher.class );
+
+  private static volatile QuartzFairShareDispatcher instance;
+
+  private final int maxConcurrency;
+
+  private final int maxConcurrencyPerUser;
+
+  private final Map<String, Integer> weights;
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  /**
+   * The users with running or waiting jobs; a user is dropped once it has neither.
+   */
+  private final Map<String, UserQueue> users = new LinkedHashMap<>();
+
+  /**
+   * The users with jobs waiting for a slot, in turn order; the head is served next.
+   */
+  private final Deque<UserQueue> turns = new ArrayDeque<>();
+
+  private final Map<Long, Waiter> waiters = new HashMap<>();
+
+  private long nextTicket = 1;
+
+  private long lastExpiredAt;
+
+  private int running;
+
+  QuartzFairShareDispatcher( int maxConcurrency, int maxConcurrencyPerUser, Map<String, Integer> weights ) {
+    if ( maxConcurrency < 1 || maxConcurrencyPerUser < 1 ) {
+      throw new IllegalArgumentException( "The maximum concurrency must be positive" ); //$NON-NLS-1$
+    }
+    this.maxConcurrency = maxConcurrency;
+    this.maxConcurrencyPerUser = maxConcurrencyPerUser;
+    this.weights = weights;
+  }
+
+  /**
+   * @return the dispatcher the fired jobs go through, or null if it is off
+   */
+  public static QuartzFairShareDispatcher getInstance() {
+    return instance;
+  }
+
+  /**
+   * Replaces the dispatcher with the one defined by the setting. The jobs already dispatched finish in the dispatcher
+   * they went through.
+   *
+   * @param setting the value of the job-fair-share plugin setting; the dispatcher is off if it is empty
+   * @throws IllegalArgumentException if the setting is malformed
+   */
+  public static void configure( String setting ) {
+    configure( setting, -1 );
+  }
+
+  /**
+   * Replaces the dispatcher with the one defined by the setting, running fewer jobs at once than the thread pool.
+   *
+   * @param setting        the value of the job-fair-share plugin setting; the dispatcher is off if it is empty
+   * @param threadPoolSize the number of jobs the Quartz thread pool runs at once, or a negative value if unknown
+   * @throws IllegalArgumentException if the setting is malformed
+   */
+  public static void configure( String setting, int threadPoolSize ) {
+    instance = parse( setting, threadPoolSize );
+  }
+
+  static QuartzFairShareDispatcher parse( String setting ) {
+    return parse( setting, -1 );
+  }
+
+  static QuartzFairShareDispatcher parse( String setting, int threadPoolSize ) {
+    if ( StringUtils.isBlank( setting ) ) {
+      return null;
+    }
+    int maxConcurrency = -1;
+    int maxConcurrencyPerUser = -1;
+    Map<String, Integer> weights = new HashMap<>();
+    try {
+      for ( String option : setting.split( "[;\\r\\n]+" ) ) {
+        if ( StringUtils.isBlank( option ) ) {
+          continue;
+        }
+        int equals = option.indexOf( '=' );
+        String name = equals < 0 ? option.trim() : option.substring( 0, equals ).trim();
+        String value = equals < 0 ? "" : option.substring( equals + 1 ).trim();
+        if ( "maxConcurrency".equals( name ) ) { //$NON-NLS-1$
+          maxConcurrency = Integer.parseInt( value );
+        } else if ( "maxConcurrencyPerUser".equals( name ) ) { //$NON-NLS-1$
+          maxConcurrencyPerUser = Integer.parseInt( value );
+        } else if ( "weights".equals( name ) ) { //$NON-NLS-1$
+          for ( String weight : value.split( "," ) ) {
+            int colon = weight.lastIndexOf( ':' );
+            if ( colon <= 0 || Integer.parseInt( weight.substring( colon + 1 ).trim() ) < 1 ) {
+              throw new IllegalArgumentException( "Invalid weight: " + weight ); //$NON-NLS-1$
+            }
+            weights.put( weight.substring( 0, colon ).trim(),
+              Integer.parseInt( weight.substring( colon + 1 ).trim() ) );
+          }
+        } else {
+          throw new IllegalArgumentException( "Unknown fair share option: " + option ); //$NON-NLS-1$
+        }
+      }
+    } catch ( NumberFormatException e ) {
+      throw new IllegalArgumentException( "Invalid fair share setting: " + setting, e ); //$NON-NLS-1$
+    }
+    if ( maxConcurrency < 0 ) {
+      throw new IllegalArgumentException( "The fair share setting has no maxConcurrency" ); //$NON-NLS-1$
+    }
+    if ( threadPoolSize > 1 && maxConcurrency >= threadPoolSize ) {
+      logger.warn( "The fair share dispatcher would run as many jobs as the thread pool, it runs " //$NON-NLS-1$
+        + ( threadPoolSize - 1 ) + " at most" ); //$NON-NLS-1$
+      maxConcurrency = threadPoolSize - 1;
+    }
+    return new QuartzFairShareDispatcher( maxConcurrency,
+      maxConcurrencyPerUser < 0 ? maxConcurrency : Math.min( maxConcurrencyPerUser, maxConcurrency ), weights );
+  }
+
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  public int getMaxConcurrencyPerUser() {
+    return maxConcurrencyPerUser;
+  }
+
+  /**
+   * Lets a job of the user run if it is the user's turn, without waiting. A new fire runs right away only when no
+   * other job is waiting; otherwise it takes a place in the queue of its user and must come back with the ticket of
+   * that place until a slot is kept for it.
+   *
+   * @param userName     the user running the job
+   * @param ticket       the ticket of the fire, if it waited before, 0 for a new fire
+   * @param firstFiredAt when the job first fired, for the queue wait
+   * @return 0 if the job may run, and must {@link #release(String)} the slot once done, otherwise the ticket of its
+   * place in the queue
+   */
+  public long tryAcquire( String userName, long ticket, long firstFiredAt ) {
+    lock.lock();
+    try {
+      long now = System.currentTimeMillis();
+      expireWaiters( now );
+      Waiter waiter = ticket == 0 ? null : waiters.get( ticket );
+      if ( waiter == null || !waiter.user.name.equals( userName ) ) {
+        UserQueue user =
+          users.computeIfAbsent( userName, name -> new UserQueue( name, weights.getOrDefault( name, 1 ) ) );
+        if ( turns.isEmpty() && running < maxConcurrency && user.running < maxConcurrencyPerUser ) {
+          running++;
+          user.running++;
+          user.recordStart( now - firstFiredAt );
+          return 0;
+        }
+        waiter = new Waiter( nextTicket++, user, firstFiredAt );
+        waiters.put( waiter.ticket, waiter );
+        user.waiters.add( waiter );
+        if ( user.waiters.size() == 1 ) {
+          turns.add( user );
+        }
+        dispatch();
+      }
+      waiter.lastSeenAt = now;
+      if ( !waiter.reserved ) {
+        return waiter.ticket;
+      }
+      waiters.remove( waiter.ticket );
+      waiter.user.reserved--;
+      waiter.user.recordStart( now - waiter.queuedAt );
+      return 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Gives up the place in the queue of a fire that could not come back after all, which then misfires.
+   */
+  public void cancel( long ticket ) {
+    lock.lock();
+    try {
+      Waiter waiter = waiters.remove( ticket );
+      if ( waiter != null ) {
+        remove( waiter );
+        dispatch();
+        prune( waiter.user );
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Frees the slot of a job of the user and passes it on to the next user in turn.
+   */
+  public void release( String userName ) {
+    lock.lock();
+    try {
+      UserQueue user = users.get( userName );
+      if ( user != null && user.running > user.reserved ) {
+        user.completed++;
+        running--;
+        user.running--;
+        dispatch();
+        prune( user );
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Keeps the free slots for the waiting jobs, taking the users in turn. A user stays at the head of the turns for as
+   * many jobs as its weight, and is skipped while it runs as many jobs as it may.
+   */
+  private void dispatch() {
+    int skipped = 0;
+    while ( running < maxConcurrency && skipped < turns.size() ) {
+      UserQueue user = turns.peek();
+      if ( user.running >= maxConcurrencyPerUser ) {
+        user.credit = 0;
+        turns.add( turns.poll() );
+        skipped++;
+        continue;
+      }
+      skipped = 0;
+      Waiter waiter = user.waiters.poll();
+      waiter.reserved = true;
+      waiter.lastSeenAt = System.currentTimeMillis();
+      running++;
+      user.running++;
+      user.reserved++;
+      user.credit++;
+      if ( user.waiters.isEmpty() ) {
+        user.credit = 0;
+        turns.poll();
+      } else if ( user.credit >= user.weight ) {
+        user.credit = 0;
+        turns.add( turns.poll() );
+      }
+    }
+  }
+
+  /**
+   * Drops the fires that did not come back in time, e.g. because their job was paused or deleted, along with the
+   * slots kept for them. Runs at most once a second.
+   */
+  private void expireWaiters( long now ) {
+    if ( now - lastExpiredAt < 1000 ) {
+      return;
+    }
+    lastExpiredAt = now;
+    List<UserQueue> touched = new ArrayList<>();
+    for ( Iterator<Waiter> iterator = waiters.values().iterator(); iterator.hasNext(); ) {
+      Waiter waiter = iterator.next();
+      if ( now - waiter.lastSeenAt > WAITER_TIMEOUT_MILLIS ) {
+        iterator.remove();
+        remove( waiter );
+        touched.add( waiter.user );
+      }
+    }
+    if ( !touched.isEmpty() ) {
+      dispatch();
+      touched.forEach( this::prune );
+    }
+  }
+
+  private void remove( Waiter waiter ) {
+    UserQueue user = waiter.user;
+    if ( waiter.reserved ) {
+      running--;
+      user.running--;
+      user.reserved--;
+    } else if ( user.waiters.remove( waiter ) && user.waiters.isEmpty() ) {
+      user.credit = 0;
+      turns.remove( user );
+    }
+  }
+
+  private void prune( UserQueue user ) {
+    if ( user.running == 0 && user.waiters.isEmpty() ) {
+      users.remove( user.name );
+    }
+  }
+
+  /**
+   * @return a snapshot of the running and waiting jobs of every user that has any
+   */
+  public List<UserStatus> getStatus() {
+    lock.lock();
+    try {
+      long now = System.currentTimeMillis();
+      List<UserStatus> status = new ArrayList<>( users.size() );
+      for ( UserQueue user : users.values() ) {
+        status.add( user.getStatus( now ) );
+      }
+      return status;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of jobs of the user waiting for their turn, including those a slot is kept for
+   */
+  public int getQueuedCount( String userName ) {
+    lock.lock();
+    try {
+      UserQueue user = users.get( userName );
+      return user == null ? 0 : user.waiters.size() + user.reserved;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of users with running or waiting jobs
+   */
+  int getUserCount() {
+    lock.lock();
+    try {
+      return users.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  Map<String, Integer> getWeights() {
+    return Collections.unmodifiableMap( weights );
+  }
+
+  private static class Waiter {
+
+    private final long ticket;
+
+    private final UserQueue user;
+
+    private final long queuedAt;
+
+    private long lastSeenAt;
+
+    /**
+     * Whether a slot is kept for the fire, counted as running until it comes back
+     */
+    private boolean reserved;
+
+    Waiter( long ticket, UserQueue user, long queuedAt ) {
+      this.ticket = ticket;
+      this.user = user;
+      this.queuedAt = queuedAt;
+    }
+  }
+
+  private static class UserQueue {
+
+    private final String name;
+
+    private final int weight;
+
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+
+    private int running;
+
+    private int reserved;
+
+    private int credit;
+
+    private long started;
+
+    private long completed;
+
+    private long totalWaitMillis;
+
+    private long maxWaitMillis;
+
+    UserQueue( String name, int weight ) {
+      this.name = name;
+      this.weight = weight;
+    }
+
+    void recordStart( long waitMillis ) {
+      waitMillis = Math.max( 0, waitMillis );
+      started++;
+      totalWaitMillis += waitMillis;
+      maxWaitMillis = Math.max( maxWaitMillis, waitMillis );
+    }
+
+    UserStatus getStatus( long now ) {
+      return new UserStatus( name, weight, running - reserved, waiters.size() + reserved, completed,
+        started == 0 ? 0 : totalWaitMillis / started, maxWaitMillis,
+        waiters.isEmpty() ? 0 : now - waiters.peek().queuedAt );
+    }
+  }
+
+  /**
+   * A snapshot of the running and waiting jobs of a user
+   */
+  public static class UserStatus {
+    private final String userName;
+    private final int weight;
+    private final int running;
+    private final int queued;
+    private final long completed;
+    private final long averageQueueWaitMillis;
+    private final long maxQueueWaitMillis;
+    private final long oldestQueueWaitMillis;
+
+    UserStatus( String userName, int weight, int running, int queued, long completed, long averageQueueWaitMillis,
+                long maxQueueWaitMillis, long oldestQueueWaitMillis ) {
+      this.userName = userName;
+      this.weight = weight;
+      this.running = running;
+      this.queued = queued;
+      this.completed = completed;
+      this.averageQueueWaitMillis = averageQueueWaitMillis;
+      this.maxQueueWaitMillis = maxQueueWaitMillis;
+      this.oldestQueueWaitMillis = oldestQueueWaitMillis;
+    }
+
+    public String getUserName() {
+      return userName;
+    }
+
+    public int getWeight() {
+      return weight;
+    }
+
+    public int getRunning() {
+      return running;
+    }
+
+    /**
+     * @return the jobs of the user waiting for their turn, including those a slot is kept for
+     */
+    public int getQueued() {
+      return queued;
+    }
+
+    public long getCompleted() {
+      return completed;
+    }
+
+    public long getAverageQueueWaitMillis() {
+      return averageQueueWaitMillis;
+    }
+
+    public long getMaxQueueWaitMillis() {
+      return maxQueueWaitMillis;
+    }
+
+    public long getOldestQueueWaitMillis() {
+      return oldestQueueWaitMillis;
+    }
+  }
+}
@@ -0,0 +1,485 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.quartz;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.quartz.Calendar;
+import org.quartz.DateBuilder;
+import org.quartz.JobDataMap;
+import org.quartz.JobKey;
+import org.quartz.JobPersistenceException;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+import org.quartz.impl.jdbcjobstore.Constants;
+import org.quartz.impl.triggers.AbstractTrigger;
+import org.quartz.impl.triggers.CalendarIntervalTriggerImpl;
+import org.quartz.impl.triggers.CronTriggerImpl;
+import org.quartz.impl.triggers.SimpleTriggerImpl;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * Reads jobs, their triggers, trigger states and calendars straight from the Quartz JDBC job store tables using a
+ * handful of set-based queries, instead of the several round trips per job that the {@link org.quartz.Scheduler} API
+ * requires. Only the trigger types the plugin creates (cron, calendar interval and legacy simple triggers) are
+ * rebuilt from the rows; any other trigger type is returned without a trigger so the caller can resolve it through
+ * the scheduler.
+ */
+public class QuartzJdbcJobStoreReader {
+
+  public static final String DEFAULT_TABLE_PREFIX = "QRTZ_";
+
+  private static final String MANUAL_TRIGGER_PREFIX = "MT_";
+
+  /**
+   * The key of the time of the latest manual run, as it shows in a serialized job data map
+   */
+  private static final byte[] PREVIOUS_TRIGGER_NOW_BYTES =
+    QuartzScheduler.PREVIOUS_TRIGGER_NOW_KEY.getBytes( StandardCharsets.UTF_8 );
+
+  private static final String SELECT_TRIGGERS =
+    "SELECT T.TRIGGER_NAME, T.TRIGGER_GROUP, T.JOB_NAME, T.JOB_GROUP, T.DESCRIPTION, T.NEXT_FIRE_TIME, "
+      + "T.PREV_FIRE_TIME, T.PRIORITY, T.TRIGGER_STATE, T.TRIGGER_TYPE, T.START_TIME, T.END_TIME, T.CALENDAR_NAME, "
+      + "T.MISFIRE_INSTR, C.CRON_EXPRESSION, C.TIME_ZONE_ID, S.REPEAT_COUNT, S.REPEAT_INTERVAL, S.TIMES_TRIGGERED, "
+      + "P.STR_PROP_1, P.STR_PROP_2, P.INT_PROP_1, P.INT_PROP_2, P.BOOL_PROP_1, P.BOOL_PROP_2, J.JOB_DATA "
+      + "FROM {0}TRIGGERS T "
+      + "INNER JOIN {0}JOB_DETAILS J ON J.SCHED_NAME = T.SCHED_NAME AND J.JOB_NAME = T.JOB_NAME "
+      + "AND J.JOB_GROUP = T.JOB_GROUP "
+      + "LEFT OUTER JOIN {0}CRON_TRIGGERS C ON C.SCHED_NAME = T.SCHED_NAME AND C.TRIGGER_NAME = T.TRIGGER_NAME "
+      + "AND C.TRIGGER_GROUP = T.TRIGGER_GROUP "
+      + "LEFT OUTER JOIN {0}SIMPLE_TRIGGERS S ON S.SCHED_NAME = T.SCHED_NAME AND S.TRIGGER_NAME = T.TRIGGER_NAME "
+      + "AND S.TRIGGER_GROUP = T.TRIGGER_GROUP "
+      + "LEFT OUTER JOIN {0}SIMPROP_TRIGGERS P ON P.SCHED_NAME = T.SCHED_NAME AND P.TRIGGER_NAME = T.TRIGGER_NAME "
+      + "AND P.TRIGGER_GROUP = T.TRIGGER_GROUP "
+      + "WHERE T.SCHED_NAME = ?";
+
+  private static final String SELECT_CALENDARS =
+    "SELECT CALENDAR_NAME, CALENDAR FROM {0}CALENDARS WHERE SCHED_NAME = ? AND CALENDAR_NAME IN "
+      + "(SELECT CALENDAR_NAME FROM {0}TRIGGERS WHERE SCHED_NAME = ?";
+
+  private static final String AND_JOB_GROUP = " AND JOB_GROUP = ?";
+
+  private static final String AND_TRIGGER_JOB_GROUP = " AND T.JOB_GROUP = ?";
+
+  private static final String ORDER_TRIGGERS = " ORDER BY T.JOB_GROUP, T.JOB_NAME";
+
+  /**
+   * The number of rows fetched at a time, for the drivers that would otherwise fetch the whole result set at once
+   */
+  private static final int FETCH_SIZE = 100;
+
+  private final DataSource dataSource;
+
+  private final String tablePrefix;
+
+  private final Log logger = LogFactory.getLog( QuartzJdbcJobStoreReader.class );
+
+  /**
+   * @param dataSource  the data source backing the Quartz JDBC job store
+   * @param tablePrefix the value of <code>org.quartz.jobStore.tablePrefix</code>, e.g. <code>QRTZ6_</code>
+   */
+  public QuartzJdbcJobStoreReader( DataSource dataSource, String tablePrefix ) {
+    this.dataSource = dataSource;
+    this.tablePrefix = tablePrefix != null ? tablePrefix : DEFAULT_TABLE_PREFIX;
+  }
+
+  public String getTablePrefix() {
+    return tablePrefix;
+  }
+
+  /**
+   * Loads every job of the scheduler, or of a single job group, together with its (first non-manual) trigger, the
+   * trigger state and the calendar the trigger is bound to. Jobs without a trigger are not returned, the same as the
+   * per-key listing in {@link QuartzScheduler#getJobs(org.pentaho.platform.api.scheduler2.IJobFilter)}.
+   *
+   * @param schedulerName the Quartz scheduler name, used as <code>SCHED_NAME</code>
+   * @param groupName     the job group to restrict the read to, or <code>null</code> for all groups
+   * @return the job entries ordered by group and job name
+   * @throws JobPersistenceException if any of the queries fail or a stored blob cannot be read
+   */
+  public List<JobStoreEntry> readJobs( String schedulerName, String groupName ) throws JobPersistenceException {
+    return readJobs( schedulerName, groupName, true );
+  }
+
+  /**
+   * Loads the jobs the same way as {@link #readJobs(String, String)}, optionally without their job data. The job data
+   * is a serialized blob per job, and deserializing it is by far the most expensive part of the read. Without job
+   * data, a job still gets the time of its latest manual run, which its last run depends on; the blob is only
+   * deserialized for the jobs that hold one.
+   *
+   * @param schedulerName the Quartz scheduler name, used as <code>SCHED_NAME</code>
+   * @param groupName     the job group to restrict the read to, or <code>null</code> for all groups
+   * @param withJobData   false to return every job with no job data but the time of its latest manual run
+   * @return the job entries ordered by group and job name
+   * @throws JobPersistenceException if any of the queries fail or a stored blob cannot be read
+   */
+  public List<JobStoreEntry> readJobs( String schedulerName, String groupName, boolean withJobData )
+    throws JobPersistenceException {
+    List<JobStoreEntry> entries = new ArrayList<>();
+    try ( JobStoreCursor cursor = openJobs( schedulerName, groupName, withJobData ) ) {
+      for ( JobStoreEntry entry = cursor.next(); entry != null; entry = cursor.next() ) {
+        entries.add( entry );
+      }
+    }
+    return entries;
+  }
+
+  /**
+   * Opens a cursor over the jobs read the same way as {@link #readJobs(String, String, boolean)}, one row at a time:
+   * only the calendars of the jobs are read up front, so the memory needed does not grow with the number of jobs. The
+   * cursor holds a connection of the data source until it is closed.
+   *
+   * @param schedulerName the Quartz scheduler name, used as <code>SCHED_NAME</code>
+   * @param groupName     the job group to restrict the read to, or <code>null</code> for all groups
+   * @param withJobData   false to return every job with no job data but the time of its latest manual run
+   * @return the cursor, giving the job entries ordered by group and job name
+   * @throws JobPersistenceException if the queries fail or a calendar cannot be read
+   */
+  public JobStoreCursor openJobs( String schedulerName, String groupName, boolean withJobData )
+    throws JobPersistenceException {
+    Connection conn = null;
+    PreparedStatement ps = null;
+    try {
+      conn = dataSource.getConnection();
+      Map<String, Calendar> calendars = selectCalendars( conn, schedulerName, groupName );
+      ps = conn.prepareStatement( rtp( SELECT_TRIGGERS ) + ( groupName != null ? AND_TRIGGER_JOB_GROUP : "" )
+        + ORDER_TRIGGERS );
+      ps.setFetchSize( FETCH_SIZE );
+      ps.setString( 1, schedulerName );
+      if ( groupName != null ) {
+        ps.setString( 2, groupName );
+      }
+      return new JobStoreCursor( conn, ps, ps.executeQuery(), calendars, withJobData );
+    } catch ( SQLException | IOException | ClassNotFoundException e ) {
+      closeQuietly( ps );
+      closeQuietly( conn );
+      throw new JobPersistenceException( "Failed to read jobs from the job store: " + e.getMessage(), e );
+    }
+  }
+
+  private void closeQuietly( AutoCloseable closeable ) {
+    if ( closeable != null ) {
+      try {
+        closeable.close();
+      } catch ( Exception e ) {
+        logger.debug( "Unable to close " + closeable, e );
+      }
+    }
+  }
+
+  /**
+   * Reads the time of the latest manual run of a job out of its job data. Most jobs are never run by hand, so the
+   * blob is only deserialized if the key shows in its bytes.
+   *
+   * @return a job data map holding the time of the latest manual run, if any, and nothing else
+   */
+  private JobDataMap getManualRunData( ResultSet rs, int column ) throws SQLException, IOException,
+    ClassNotFoundException {
+    JobDataMap jobDataMap = new JobDataMap();
+    byte[] blob;
+    try ( InputStream binaryInput = rs.getBinaryStream( column ) ) {
+      blob = binaryInput != null ? IOUtils.toByteArray( binaryInput ) : null;
+    }
+    if ( blob == null || !contains( blob, PREVIOUS_TRIGGER_NOW_BYTES ) ) {
+      return jobDataMap;
+    }
+    try ( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( blob ) ) ) {
+      Object previousTriggerNow = toJobDataMap( in.readObject() ).get( QuartzScheduler.PREVIOUS_TRIGGER_NOW_KEY );
+      if ( previousTriggerNow != null ) {
+        jobDataMap.put( QuartzScheduler.PREVIOUS_TRIGGER_NOW_KEY, previousTriggerNow );
+      }
+    }
+    return jobDataMap;
+  }
+
+  private static boolean contains( byte[] bytes, byte[] part ) {
+    for ( int i = 0; i <= bytes.length - part.length; i++ ) {
+      int j = 0;
+      while ( j < part.length && bytes[ i + j ] == part[ j ] ) {
+        j++;
+      }
+      if ( j == part.length ) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private Map<String, Calendar> selectCalendars( Connection conn, String schedulerName, String groupName )
+    throws SQLException, IOException, ClassNotFoundException {
+    Map<String, Calendar> calendars = new HashMap<>();
+    String sql = rtp( SELECT_CALENDARS ) + ( groupName != null ? AND_JOB_GROUP : "" ) + ")";
+    try ( PreparedStatement ps = conn.prepareStatement( sql ) ) {
+      ps.setString( 1, schedulerName );
+      ps.setString( 2, schedulerName );
+      if ( groupName != null ) {
+        ps.setString( 3, groupName );
+      }
+      try ( ResultSet rs = ps.executeQuery() ) {
+        while ( rs.next() ) {
+          Object calendar = getObjectFromBlob( rs, 2 );
+          if ( calendar instanceof Calendar ) {
+            calendars.put( rs.getString( 1 ), (Calendar) calendar );
+          }
+        }
+      }
+    }
+    return calendars;
+  }
+
+  private Trigger buildTrigger( ResultSet rs, TriggerKey triggerKey, JobKey jobKey ) throws SQLException {
+    String type = rs.getString( "TRIGGER_TYPE" );
+    AbstractTrigger<?> trigger;
+    try {
+      if ( Constants.TTYPE_CRON.equals( type ) ) {
+        CronTriggerImpl cronTrigger = new CronTriggerImpl();
+        String timeZoneId = rs.getString( "TIME_ZONE_ID" );
+        if ( timeZoneId != null ) {
+          cronTrigger.setTimeZone( TimeZone.getTimeZone( timeZoneId ) );
+        }
+        cronTrigger.setCronExpression( rs.getString( "CRON_EXPRESSION" ) );
+        trigger = cronTrigger;
+      } else if ( Constants.TTYPE_CAL_INT.equals( type ) ) {
+        CalendarIntervalTriggerImpl calendarIntervalTrigger = new CalendarIntervalTriggerImpl();
+        calendarIntervalTrigger.setRepeatIntervalUnit( DateBuilder.IntervalUnit.valueOf( rs.getString( "STR_PROP_1" ) ) );
+        calendarIntervalTrigger.setRepeatInterval( rs.getInt( "INT_PROP_1" ) );
+        calendarIntervalTrigger.setTimesTriggered( rs.getInt( "INT_PROP_2" ) );
+        String timeZoneId = rs.getString( "STR_PROP_2" );
+        if ( timeZoneId != null ) {
+          calendarIntervalTrigger.setTimeZone( TimeZone.getTimeZone( timeZoneId ) );
+        }
+        calendarIntervalTrigger.setPreserveHourOfDayAcrossDaylightSavings( getBoolean( rs, "BOOL_PROP_1" ) );
+        calendarIntervalTrigger.setSkipDayIfHourDoesNotExist( getBoolean( rs, "BOOL_PROP_2" ) );
+        trigger = calendarIntervalTrigger;
+      } else if ( Constants.TTYPE_SIMPLE.equals( type ) ) {
+        SimpleTriggerImpl simpleTrigger = new SimpleTriggerImpl();
+        simpleTrigger.setRepeatCount( rs.getInt( "REPEAT_COUNT" ) );
+        simpleTrigger.setRepeatInterval( rs.getLong( "REPEAT_INTERVAL" ) );
+        simpleTrigger.setTimesTriggered( rs.getInt( "TIMES_TRIGGERED" ) );
+        trigger = simpleTrigger;
+      } else {
+        return null;
+      }
+
+      trigger.setKey( triggerKey );
+      trigger.setJobKey( jobKey );
+      trigger.setDescription( rs.getString( "DESCRIPTION" ) );
+      trigger.setPriority( rs.getInt( "PRIORITY" ) );
+      trigger.setMisfireInstruction( rs.getInt( "MISFIRE_INSTR" ) );
+      trigger.setCalendarName( rs.getString( "CALENDAR_NAME" ) );
+      trigger.setStartTime( new Date( rs.getLong( "START_TIME" ) ) );
+      long endTime = rs.getLong( "END_TIME" );
+      if ( endTime > 0 ) {
+        trigger.setEndTime( new Date( endTime ) );
+      }
+      long nextFireTime = rs.getLong( "NEXT_FIRE_TIME" );
+      trigger.setNextFireTime( nextFireTime > 0 ? new Date( nextFireTime ) : null );
+      long previousFireTime = rs.getLong( "PREV_FIRE_TIME" );
+      trigger.setPreviousFireTime( previousFireTime > 0 ? new Date( previousFireTime ) : null );
+      return trigger;
+    } catch ( ParseException | IllegalArgumentException e ) {
+      // leave it to the scheduler to load whatever we could not rebuild from the row
+      logger.debug( "Unable to rebuild trigger " + triggerKey + " from the job store row", e );
+      return null;
+    }
+  }
+
+  /**
+   * Maps a <code>TRIGGER_STATE</code> column value the same way {@link org.quartz.impl.jdbcjobstore.JobStoreSupport}
+   * does for {@link org.quartz.Scheduler#getTriggerState(TriggerKey)}.
+   */
+  static Trigger.TriggerState toTriggerState( String state ) {
+    if ( state == null || Constants.STATE_DELETED.equals( state ) ) {
+      return Trigger.TriggerState.NONE;
+    } else if ( Constants.STATE_COMPLETE.equals( state ) ) {
+      return Trigger.TriggerState.COMPLETE;
+    } else if ( Constants.STATE_PAUSED.equals( state ) || Constants.STATE_PAUSED_BLOCKED.equals( state ) ) {
+      return Trigger.TriggerState.PAUSED;
+    } else if ( Constants.STATE_ERROR.equals( state ) ) {
+      return Trigger.TriggerState.ERROR;
+    } else if ( Constants.STATE_BLOCKED.equals( state ) ) {
+      return Trigger.TriggerState.BLOCKED;
+    }
+    return Trigger.TriggerState.NORMAL;
+  }
+
+  private static boolean getBoolean( ResultSet rs, String column ) throws SQLException {
+    Object value = rs.getObject( column );
+    if ( value instanceof Boolean ) {
+      return (Boolean) value;
+    } else if ( value instanceof Number ) {
+      return ( (Number) value ).intValue() != 0;
+    } else if ( value != null ) {
+      return "1".equals( value.toString() ) || Boolean.parseBoolean( value.toString() );
+    }
+    return false;
+  }
+
+  @SuppressWarnings( "unchecked" )
+  private static JobDataMap toJobDataMap( Object data ) {
+    if ( data instanceof JobDataMap ) {
+      return (JobDataMap) data;
+    } else if ( data instanceof Map ) {
+      return new JobDataMap( (Map<?, ?>) data );
+    }
+    return new JobDataMap();
+  }
+
+  protected Object getObjectFromBlob( ResultSet rs, int column ) throws SQLException, IOException,
+    ClassNotFoundException {
+    try ( InputStream binaryInput = rs.getBinaryStream( column ) ) {
+      if ( binaryInput == null ) {
+        return null;
+      }
+      try ( ObjectInputStream in = new ObjectInputStream( binaryInput ) ) {
+        return in.readObject();
+      }
+    }
+  }
+
+  private String rtp( String query ) {
+    return MessageFormat.format( query, tablePrefix );
+  }
+
+  /**
+   * Reads the jobs of the job store one row at a time, for {@link #openJobs(String, String, boolean)}.
+   */
+  public class JobStoreCursor implements AutoCloseable {
+    private final Connection conn;
+    private final PreparedStatement ps;
+    private final ResultSet rs;
+    private final Map<String, Calendar> calendars;
+    private final boolean withJobData;
+    private JobKey lastJobKey;
+
+    JobStoreCursor( Connection conn, PreparedStatement ps, ResultSet rs, Map<String, Calendar> calendars,
+                    boolean withJobData ) {
+      this.conn = conn;
+      this.ps = ps;
+      this.rs = rs;
+      this.calendars = calendars;
+      this.withJobData = withJobData;
+    }
+
+    /**
+     * @return the next job entry, or <code>null</code> once every job was read
+     * @throws JobPersistenceException if the row cannot be read or its job data cannot be deserialized
+     */
+    public JobStoreEntry next() throws JobPersistenceException {
+      try {
+        while ( rs.next() ) {
+          TriggerKey triggerKey =
+            TriggerKey.triggerKey( rs.getString( "TRIGGER_NAME" ), rs.getString( "TRIGGER_GROUP" ) );
+          JobKey jobKey = JobKey.jobKey( rs.getString( "JOB_NAME" ), rs.getString( "JOB_GROUP" ) );
+          // manual triggers are created by triggerJob calls and are not the schedule of the job; the rows of a job
+          // follow each other, and the first other trigger is taken for its schedule
+          if ( triggerKey.getName().startsWith( MANUAL_TRIGGER_PREFIX ) || jobKey.equals( lastJobKey ) ) {
+            continue;
+          }
+          lastJobKey = jobKey;
+          int jobDataColumn = rs.findColumn( "JOB_DATA" );
+          JobDataMap jobDataMap = withJobData ? toJobDataMap( getObjectFromBlob( rs, jobDataColumn ) )
+            : getManualRunData( rs, jobDataColumn );
+          String calendarName = rs.getString( "CALENDAR_NAME" );
+          return new JobStoreEntry( jobKey, triggerKey, jobDataMap, buildTrigger( rs, triggerKey, jobKey ),
+            toTriggerState( rs.getString( "TRIGGER_STATE" ) ),
+            calendarName != null ? calendars.get( calendarName ) : null );
+        }
+        return null;
+      } catch ( SQLException | IOException | ClassNotFoundException e ) {
+        throw new JobPersistenceException( "Failed to read jobs from the job store: " + e.getMessage(), e );
+      }
+    }
+
+    /**
+     * Closes the result set and gives the connection back to the data source. The jobs are read by then, so a failure
+     * to close is only logged.
+     */
+    @Override
+    public void close() {
+      closeQuietly( rs );
+      closeQuietly( ps );
+      closeQuietly( conn );
+    }
+  }
+
+  /**
+   * A job as stored in the job store, with everything needed to build a
+   * {@link org.pentaho.platform.api.scheduler2.Job} without going back to the scheduler.
+   */
+  public static class JobStoreEntry {
+    private final JobKey jobKey;
+    private final TriggerKey triggerKey;
+    private final JobDataMap jobDataMap;
+    private final Trigger trigger;
+    private final Trigger.TriggerState triggerState;
+    private final Calendar calendar;
+
+    public JobStoreEntry( JobKey jobKey, TriggerKey triggerKey, JobDataMap jobDataMap, Trigger trigger,
+                          Trigger.TriggerState triggerState, Calendar calendar ) {
+      this.jobKey = jobKey;
+      this.triggerKey = triggerKey;
+      this.jobDataMap = jobDataMap;
+      this.trigger = trigger;
+      this.triggerState = triggerState;
+      this.calendar = calendar;
+    }
+
+    public JobKey getJobKey() {
+      return jobKey;
+    }
+
+    public TriggerKey getTriggerKey() {
+      return triggerKey;
+    }
+
+    public JobDataMap getJobDataMap() {
+      return jobDataMap;
+    }
+
+    /**
+     * @return the trigger rebuilt from the job store row, or <code>null</code> if its type is not supported
+     */
+    public Trigger getTrigger() {
+      return trigger;
+    }
+
+    public Trigger.TriggerState getTriggerState() {
+      return triggerState;
+    }
+
+    public Calendar getCalendar() {
+      return calendar;
+    }
+  }
+}
@@ -0,0 +1,402 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.quartz;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.quartz.JobDataMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Named bulkheads the scheduled actions run through, so that one kind of slow work cannot take every worker thread
+ * of the scheduler. Each bulkhead runs at most a given number of actions at once and lets a given number more wait
+ * for their turn; the fires beyond that misfire. The actions are assigned to a bulkhead by their action id (e.g.
+ * ktr.backgroundExecution) or action class; the actions no bulkhead lists run as soon as Quartz fires them.
+ * <p>
+ * The bulkheads are defined by the job-bulkheads plugin setting, one per line or separated by semicolons:
+ * <pre>
+ *   etl = 4/20 : ktr.backgroundExecution, kjb.backgroundExecution
+ *   maintenance = 1 : org.pentaho.platform.admin.GeneratedContentCleaner
+ * </pre>
+ * that is the name, the maximum number of running actions, optionally the maximum number of waiting ones
+ * ({@link #DEFAULT_QUEUE_PER_ACTION} per running action if omitted) and the action ids and classes.
+ * <p>
+ * A waiting action does not keep its Quartz worker thread: {@link BlockingQuartzJob} re-queues its fire as a one-off
+ * trigger of the job, which tries the bulkhead again later. The running actions do keep theirs, so a bulkhead runs
+ * fewer actions at once than the thread pool has threads, leaving at least one for the other jobs.
+ */
+public class QuartzJobBulkheads {
+
+  /**
+   * The number of actions a bulkhead lets wait for each action it runs, unless its definition says otherwise.
+   */
+  static final int DEFAULT_QUEUE_PER_ACTION = 10;
+
+  private static final Log logger = LogFactory.getLog( QuartzJobBulkheads.class );
+
+  private static final QuartzJobBulkheads NONE = new QuartzJobBulkheads( Collections.emptyList() );
+
+  private static volatile QuartzJobBulkheads instance = NONE;
+
+  private final List<Bulkhead> bulkheads;
+
+  private final Map<String, Bulkhead> bulkheadsByAction = new HashMap<>();
+
+  QuartzJobBulkheads( List<Bulkhead> bulkheads ) {
+    this.bulkheads = bulkheads;
+    for ( Bulkhead bulkhead : bulkheads ) {
+      for ( String action : bulkhead.actions ) {
+        if ( bulkheadsByAction.putIfAbsent( action, bulkhead ) != null ) {
+          throw new IllegalArgumentException( "Action " + action + " is in more than one bulkhead" ); //$NON-NLS-1$
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the bulkheads the scheduled actions currently run through
+   */
+  public static QuartzJobBulkheads getInstance() {
+    return instance;
+  }
+
+  /**
+   * Replaces the bulkheads with the ones defined by the setting. The actions already running finish in the bulkheads
+   * they entered.
+   *
+   * @param setting the value of the job-bulkheads plugin setting, may be empty
+   * @throws IllegalArgumentException if the setting is malformed
+   */
+  public static void configure( String setting ) {
+    configure( setting, -1 );
+  }
+
+  /**
+   * Replaces the bulkheads with the ones defined by the setting, running fewer actions at once than the thread pool.
+   *
+   * @param setting        the value of the job-bulkheads plugin setting, may be empty
+   * @param threadPoolSize the number of jobs the Quartz thread pool runs at once, or a negative value if unknown
+   * @throws IllegalArgumentException if the setting is malformed
+   */
+  public static void configure( String setting, int threadPoolSize ) {
+    instance = parse( setting, threadPoolSize );
+  }
+
+  static QuartzJobBulkheads parse( String setting ) {
+    return parse( setting, -1 );
+  }
+
+  static QuartzJobBulkheads parse( String setting, int threadPoolSize ) {
+    if ( StringUtils.isBlank( setting ) ) {
+      return NONE;
+    }
+    Map<String, Bulkhead> bulkheads = new LinkedHashMap<>();
+    for ( String definition : setting.split( "[;\\r\\n]+" ) ) {
+      if ( StringUtils.isBlank( definition ) ) {
+        continue;
+      }
+      Bulkhead bulkhead = parseBulkhead( definition.trim(), threadPoolSize );
+      if ( bulkheads.put( bulkhead.getName(), bulkhead ) != null ) {
+        throw new IllegalArgumentException( "Duplicate bulkhead " + bulkhead.getName() ); //$NON-NLS-1$
+      }
+    }
+    return new QuartzJobBulkheads( new ArrayList<>( bulkheads.values() ) );
+  }
+
+  private static Bulkhead parseBulkhead( String definition, int threadPoolSize ) {
+    int equals = definition.indexOf( '=' );
+    int colon = definition.indexOf( ':', equals + 1 );
+    if ( equals <= 0 || colon < 0 ) {
+      throw new IllegalArgumentException( "Invalid bulkhead: " + definition ); //$NON-NLS-1$
+    }
+    String name = definition.substring( 0, equals ).trim();
+    String[] limits = definition.substring( equals + 1, colon ).split( "/" );
+    List<String> actions = new ArrayList<>();
+    for ( String action : definition.substring( colon + 1 ).split( "," ) ) {
+      if ( StringUtils.isNotBlank( action ) ) {
+        actions.add( action.trim() );
+      }
+    }
+    try {
+      int maxConcurrency = Integer.parseInt( limits[ 0 ].trim() );
+      int maxQueue = limits.length > 1 ? Integer.parseInt( limits[ 1 ].trim() )
+        : maxConcurrency * DEFAULT_QUEUE_PER_ACTION;
+      if ( name.isEmpty() || actions.isEmpty() || limits.length > 2 || maxConcurrency < 1 || maxQueue < 0 ) {
+        throw new IllegalArgumentException( "Invalid bulkhead: " + definition ); //$NON-NLS-1$
+      }
+      if ( threadPoolSize > 1 && maxConcurrency >= threadPoolSize ) {
+        logger.warn( "Bulkhead " + name + " would run as many jobs as the thread pool, it runs " //$NON-NLS-1$
+          + ( threadPoolSize - 1 ) + " at most" ); //$NON-NLS-1$
+        maxConcurrency = threadPoolSize - 1;
+      }
+      return new Bulkhead( name, maxConcurrency, maxQueue, actions );
+    } catch ( NumberFormatException e ) {
+      throw new IllegalArgumentException( "Invalid bulkhead: " + definition, e ); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * @param jobDataMap the data of the fired job
+   * @return the bulkhead of the job's action id or, failing that, action class; null if neither is in a bulkhead
+   */
+  public Bulkhead getBulkhead( JobDataMap jobDataMap ) {
+    if ( bulkheadsByAction.isEmpty() || jobDataMap == null ) {
+      return null;
+    }
+    Bulkhead bulkhead = getBulkhead( jobDataMap.get( QuartzScheduler.RESERVEDMAPKEY_ACTIONID ) );
+    return bulkhead != null ? bulkhead : getBulkhead( jobDataMap.get( QuartzScheduler.RESERVEDMAPKEY_ACTIONCLASS ) );
+  }
+
+  private Bulkhead getBulkhead( Object action ) {
+    return action == null ? null : bulkheadsByAction.get( action.toString() );
+  }
+
+  public List<Bulkhead> getBulkheads() {
+    return Collections.unmodifiableList( bulkheads );
+  }
+
+  /**
+   * @return a snapshot of the utilization and queue wait of every bulkhead
+   */
+  public List<BulkheadStatus> getStatus() {
+    List<BulkheadStatus> status = new ArrayList<>( bulkheads.size() );
+    for ( Bulkhead bulkhead : bulkheads ) {
+      status.add( bulkhead.getStatus() );
+    }
+    return status;
+  }
+
+  /**
+   * What becomes of a fire trying to enter a bulkhead
+   */
+  public enum Admission {
+    /**
+     * The action runs, and releases the bulkhead once done
+     */
+    RUN,
+    /**
+     * The fire waits for its turn, off the worker threads, and tries again
+     */
+    QUEUE,
+    /**
+     * Too many fires are waiting already, the fire misfires
+     */
+    REJECT
+  }
+
+  public static class Bulkhead {
+
+    private final String name;
+
+    private final int maxConcurrency;
+
+    private final int maxQueue;
+
+    private final List<String> actions;
+
+    private final Semaphore permits;
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final LongAdder completed = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder totalQueueWaitMillis = new LongAdder();
+
+    private final AtomicLong maxQueueWaitMillis = new AtomicLong();
+
+    Bulkhead( String name, int maxConcurrency, int maxQueue, List<String> actions ) {
+      this.name = name;
+      this.maxConcurrency = maxConcurrency;
+      this.maxQueue = maxQueue;
+      this.actions = actions;
+      this.permits = new Semaphore( maxConcurrency, true );
+    }
+
+    /**
+     * Lets the action run if the bulkhead has room, without waiting. A new fire only runs right away when no fire is
+     * waiting, so the waiting fires go first; otherwise it takes a place in the queue, if there is one left.
+     *
+     * @param firstFiredAt when the job first fired, for the queue wait
+     * @param requeued     true for a fire the bulkhead queued before, which gives back its place in the queue
+     * @return {@link Admission#RUN} if the action may run and must {@link #release()} the bulkhead when done,
+     * {@link Admission#QUEUE} if its fire must try again later, {@link Admission#REJECT} if the queue is full
+     */
+    public Admission tryAcquire( long firstFiredAt, boolean requeued ) {
+      if ( requeued ) {
+        queued.updateAndGet( count -> Math.max( 0, count - 1 ) );
+      }
+      if ( ( requeued || queued.get() == 0 ) && permits.tryAcquire() ) {
+        recordQueueWait( Math.max( 0, System.currentTimeMillis() - firstFiredAt ) );
+        return Admission.RUN;
+      }
+      if ( queued.incrementAndGet() > maxQueue && !requeued ) {
+        queued.decrementAndGet();
+        rejected.increment();
+        return Admission.REJECT;
+      }
+      return Admission.QUEUE;
+    }
+
+    /**
+     * Gives back the place in the queue of a fire that could not be queued after all, which then misfires.
+     */
+    public void cancel() {
+      queued.updateAndGet( count -> Math.max( 0, count - 1 ) );
+      rejected.increment();
+    }
+
+    public void release() {
+      completed.increment();
+      permits.release();
+    }
+
+    /**
+     * Gives back the slot of an action that was let in but did not run, e.g. because it waits for the turn of its
+     * user in the fair share dispatcher.
+     */
+    public void releaseUnused() {
+      permits.release();
+    }
+
+    private void recordQueueWait( long waitMillis ) {
+      totalQueueWaitMillis.add( waitMillis );
+      maxQueueWaitMillis.accumulateAndGet( waitMillis, Math::max );
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public int getMaxConcurrency() {
+      return maxConcurrency;
+    }
+
+    /**
+     * @return the maximum number of waiting actions
+     */
+    public int getMaxQueue() {
+      return maxQueue;
+    }
+
+    public List<String> getActions() {
+      return Collections.unmodifiableList( actions );
+    }
+
+    public int getRunningCount() {
+      return maxConcurrency - permits.availablePermits();
+    }
+
+    public int getQueuedCount() {
+      return queued.get();
+    }
+
+    BulkheadStatus getStatus() {
+      int running = getRunningCount();
+      long completedCount = completed.sum();
+      long started = completedCount + running;
+      return new BulkheadStatus( name, maxConcurrency, maxQueue, running, getQueuedCount(), completedCount,
+        rejected.sum(), started == 0 ? 0 : totalQueueWaitMillis.sum() / started, maxQueueWaitMillis.get() );
+    }
+
+    @Override
+    public String toString() {
+      return "Bulkhead[" + name + ", running=" + getRunningCount() + "/" + maxConcurrency + ", queued=" //$NON-NLS-1$
+        + getQueuedCount() + "]"; //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * A snapshot of the utilization and queue wait of a bulkhead
+   */
+  public static class BulkheadStatus {
+    private final String name;
+    private final int maxConcurrency;
+    private final int maxQueue;
+    private final int running;
+    private final int queued;
+    private final long completed;
+    private final long rejected;
+    private final long averageQueueWaitMillis;
+    private final long maxQueueWaitMillis;
+
+    BulkheadStatus( String name, int maxConcurrency, int maxQueue, int running, int queued, long completed,
+                    long rejected, long averageQueueWaitMillis, long maxQueueWaitMillis ) {
+      this.name = name;
+      this.maxConcurrency = maxConcurrency;
+      this.maxQueue = maxQueue;
+      this.running = running;
+      this.queued = queued;
+      this.completed = completed;
+      this.rejected = rejected;
+      this.averageQueueWaitMillis = averageQueueWaitMillis;
+      this.maxQueueWaitMillis = maxQueueWaitMillis;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public int getMaxConcurrency() {
+      return maxConcurrency;
+    }
+
+    public int getMaxQueue() {
+      return maxQueue;
+    }
+
+    public int getRunning() {
+      return running;
+    }
+
+    public int getQueued() {
+      return queued;
+    }
+
+    /**
+     * @return the share of the bulkhead's slots in use, between 0 and 1
+     */
+    public double getUtilization() {
+      return (double) running / maxConcurrency;
+    }
+
+    public long getCompleted() {
+      return completed;
+    }
+
+    public long getRejected() {
+      return rejected;
+    }
+
+    public long getAverageQueueWaitMillis() {
+      return averageQueueWaitMillis;
+    }
+
+    public long getMaxQueueWaitMillis() {
+      return maxQueueWaitMillis;
+    }
+  }
+}
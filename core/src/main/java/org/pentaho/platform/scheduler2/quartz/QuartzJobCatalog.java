@@ -0,0 +1,342 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.quartz;
+
+import org.pentaho.platform.api.scheduler2.IJob;
+import org.pentaho.platform.api.scheduler2.Job;
+import org.pentaho.platform.api.scheduler2.JobTrigger;
+import org.pentaho.platform.api.scheduler2.SchedulerException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Read-through catalog of the jobs known to a {@link QuartzScheduler}. The catalog keeps a fully built {@link Job}
+ * snapshot per job id, loaded from the job store the first time it is read, and listens to the Quartz scheduler so
+ * that every change to a job or its trigger marks the affected snapshots as stale. Stale snapshots are reloaded one
+ * job at a time on the next read; reads of up-to-date snapshots are plain map lookups.
+ * <p>
+ * Callers receive copies of the snapshots, so the job parameters may be modified freely. The {@link JobTrigger} is
+ * shared between copies and must be treated as read-only.
+ * <p>
+ * Only the events of the local scheduler instance are observed. In a clustered job store, changes made on other nodes
+ * are not seen until the catalog is {@link #rebuild() rebuilt}.
+ */
+public class QuartzJobCatalog extends QuartzJobEventListener {
+
+  public static final String NAME = "PentahoJobCatalog"; //$NON-NLS-1$
+
+  private final QuartzScheduler scheduler;
+
+  private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+  private final Set<String> staleJobIds = ConcurrentHashMap.newKeySet();
+
+  private final AtomicLong generation = new AtomicLong();
+
+  private volatile boolean loaded;
+
+  public QuartzJobCatalog( QuartzScheduler scheduler ) {
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * @param jobId the id of the job
+   * @return a copy of the job snapshot, or null if there is no such job
+   */
+  public Job getJob( String jobId ) throws SchedulerException {
+    ensureLoaded();
+    if ( staleJobIds.contains( jobId ) ) {
+      refresh( jobId );
+    }
+    Job job = jobs.get( jobId );
+    return job == null ? null : copyOf( job );
+  }
+
+  /**
+   * @return copies of all the job snapshots
+   */
+  public List<Job> getJobs() throws SchedulerException {
+    List<Job> copies = new ArrayList<>( jobs.size() );
+    forEachJob( copies::add );
+    return copies;
+  }
+
+  /**
+   * Passes a copy of every job snapshot to the action. Each copy is made just before it is passed on, so only the
+   * snapshots themselves are held in memory.
+   */
+  public void forEachJob( Consumer<? super Job> action ) throws SchedulerException {
+    forEachJob( job -> true, action );
+  }
+
+  /**
+   * Passes a copy of the job snapshots the filter accepts to the action. The filter is given the snapshots
+   * themselves, so the rejected ones are never copied; it must not change them.
+   */
+  public void forEachJob( Predicate<? super Job> filter, Consumer<? super Job> action ) throws SchedulerException {
+    ensureLoaded();
+    if ( !staleJobIds.isEmpty() ) {
+      for ( String jobId : new ArrayList<>( staleJobIds ) ) {
+        refresh( jobId );
+      }
+    }
+    for ( Job job : jobs.values() ) {
+      if ( filter.test( job ) ) {
+        action.accept( copyOf( job ) );
+      }
+    }
+  }
+
+  /**
+   * Marks the snapshot of a job as stale, so it is reloaded on the next read.
+   */
+  public void invalidate( String jobId ) {
+    if ( jobId != null ) {
+      staleJobIds.add( jobId );
+    }
+  }
+
+  /**
+   * Marks the snapshots of all the jobs of a group as stale. A null group invalidates the whole catalog.
+   */
+  public void invalidateGroup( String groupName ) {
+    if ( groupName == null ) {
+      invalidateAll();
+      return;
+    }
+    for ( Job job : jobs.values() ) {
+      if ( groupName.equals( job.getGroupName() ) ) {
+        staleJobIds.add( job.getJobId() );
+      }
+    }
+  }
+
+  /**
+   * Discards the whole catalog, so it is reloaded from the job store on the next read.
+   */
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    loaded = false;
+  }
+
+  /**
+   * Reloads every job from the job store.
+   *
+   * @return the state of the catalog after the reload
+   */
+  public synchronized Status rebuild() throws SchedulerException {
+    long loadedGeneration = generation.get();
+    staleJobIds.clear();
+
+    Map<String, Job> storedJobs = loadStoredJobs();
+    jobs.keySet().retainAll( storedJobs.keySet() );
+    jobs.putAll( storedJobs );
+
+    // an invalidation of the whole catalog while loading means the result may already be outdated
+    loaded = generation.get() == loadedGeneration;
+
+    return new Status( jobs.size(), storedJobs.size(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>() );
+  }
+
+  /**
+   * Compares the catalog with the job store. Jobs changed while the check runs may be reported as outdated.
+   *
+   * @return the jobs missing from the catalog, the catalog entries with no stored job and the outdated entries
+   */
+  public Status verify() throws SchedulerException {
+    getJobs();
+    Map<String, Job> cachedJobs = new HashMap<>( jobs );
+    Map<String, Job> storedJobs = loadStoredJobs();
+
+    List<String> missingJobIds = new ArrayList<>();
+    List<String> unexpectedJobIds = new ArrayList<>();
+    List<String> outdatedJobIds = new ArrayList<>();
+    for ( Map.Entry<String, Job> entry : storedJobs.entrySet() ) {
+      Job cachedJob = cachedJobs.get( entry.getKey() );
+      if ( cachedJob == null ) {
+        missingJobIds.add( entry.getKey() );
+      } else if ( !isSameJob( cachedJob, entry.getValue() ) ) {
+        outdatedJobIds.add( entry.getKey() );
+      }
+    }
+    for ( String jobId : cachedJobs.keySet() ) {
+      if ( !storedJobs.containsKey( jobId ) ) {
+        unexpectedJobIds.add( jobId );
+      }
+    }
+    return new Status( cachedJobs.size(), storedJobs.size(), missingJobIds, unexpectedJobIds, outdatedJobIds );
+  }
+
+  private void ensureLoaded() throws SchedulerException {
+    if ( !loaded ) {
+      synchronized ( this ) {
+        if ( !loaded ) {
+          rebuild();
+        }
+      }
+    }
+  }
+
+  private void refresh( String jobId ) throws SchedulerException {
+    // removed before loading, so an event received while loading marks the job stale again
+    if ( !staleJobIds.remove( jobId ) ) {
+      return;
+    }
+    Job job;
+    try {
+      job = scheduler.loadJob( jobId );
+    } catch ( SchedulerException | RuntimeException e ) {
+      staleJobIds.add( jobId );
+      throw e;
+    }
+    if ( job == null ) {
+      jobs.remove( jobId );
+    } else {
+      jobs.put( jobId, job );
+    }
+  }
+
+  private Map<String, Job> loadStoredJobs() throws SchedulerException {
+    Map<String, Job> storedJobs = new HashMap<>();
+    for ( IJob job : scheduler.loadJobs() ) {
+      storedJobs.put( job.getJobId(), (Job) job );
+    }
+    return storedJobs;
+  }
+
+  private static boolean isSameJob( Job cachedJob, Job storedJob ) {
+    JobTrigger cachedTrigger = cachedJob.getJobTrigger();
+    JobTrigger storedTrigger = storedJob.getJobTrigger();
+    if ( cachedTrigger == null || storedTrigger == null ) {
+      if ( cachedTrigger != storedTrigger ) {
+        return false;
+      }
+    } else if ( cachedTrigger.getClass() != storedTrigger.getClass()
+      || !Objects.equals( cachedTrigger.getCronString(), storedTrigger.getCronString() )
+      || !Objects.equals( cachedTrigger.getUiPassParam(), storedTrigger.getUiPassParam() ) ) {
+      return false;
+    }
+    return cachedJob.getState() == storedJob.getState()
+      && Objects.equals( cachedJob.getUserName(), storedJob.getUserName() )
+      && Objects.equals( cachedJob.getLastRun(), storedJob.getLastRun() )
+      && Objects.equals( cachedJob.getNextRun(), storedJob.getNextRun() )
+      && Objects.equals( new HashSet<>( cachedJob.getJobParams().keySet() ), storedJob.getJobParams().keySet() );
+  }
+
+  static Job copyOf( Job job ) {
+    Job copy = new Job();
+    copy.setJobId( job.getJobId() );
+    copy.setJobName( job.getJobName() );
+    copy.setUserName( job.getUserName() );
+    copy.setGroupName( job.getGroupName() );
+    copy.setSchedulableClass( job.getSchedulableClass() );
+    copy.setState( job.getState() );
+    copy.setJobTrigger( job.getJobTrigger() );
+    copy.setJobParams( job.getJobParams() );
+    copy.setLastRun( copyOf( job.getLastRun() ) );
+    copy.setNextRun( copyOf( job.getNextRun() ) );
+    return copy;
+  }
+
+  private static Date copyOf( Date date ) {
+    return date == null ? null : new Date( date.getTime() );
+  }
+
+  // QuartzJobEventListener
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  protected void jobChanged( String jobId ) {
+    invalidate( jobId );
+  }
+
+  @Override
+  protected void groupChanged( String groupName ) {
+    invalidateGroup( groupName );
+  }
+
+  @Override
+  protected void allJobsChanged() {
+    invalidateAll();
+  }
+
+  /**
+   * The result of a check or a reload of the catalog against the job store
+   */
+  public static class Status {
+    private final int cachedJobCount;
+    private final int storedJobCount;
+    private final List<String> missingJobIds;
+    private final List<String> unexpectedJobIds;
+    private final List<String> outdatedJobIds;
+
+    Status( int cachedJobCount, int storedJobCount, List<String> missingJobIds, List<String> unexpectedJobIds,
+            List<String> outdatedJobIds ) {
+      this.cachedJobCount = cachedJobCount;
+      this.storedJobCount = storedJobCount;
+      this.missingJobIds = missingJobIds;
+      this.unexpectedJobIds = unexpectedJobIds;
+      this.outdatedJobIds = outdatedJobIds;
+    }
+
+    public boolean isConsistent() {
+      return missingJobIds.isEmpty() && unexpectedJobIds.isEmpty() && outdatedJobIds.isEmpty();
+    }
+
+    public int getCachedJobCount() {
+      return cachedJobCount;
+    }
+
+    public int getStoredJobCount() {
+      return storedJobCount;
+    }
+
+    /**
+     * @return the stored jobs the catalog does not hold
+     */
+    public List<String> getMissingJobIds() {
+      return Collections.unmodifiableList( missingJobIds );
+    }
+
+    /**
+     * @return the jobs the catalog holds which are not stored
+     */
+    public List<String> getUnexpectedJobIds() {
+      return Collections.unmodifiableList( unexpectedJobIds );
+    }
+
+    /**
+     * @return the jobs the catalog holds differently from the job store
+     */
+    public List<String> getOutdatedJobIds() {
+      return Collections.unmodifiableList( outdatedJobIds );
+    }
+  }
+}
@@ -0,0 +1,138 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.quartz;
+
+import org.quartz.JobDetail;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bounded log of the job changes reported by a Quartz scheduler, numbered by a version that grows by one with every
+ * change. Clients holding a job list read at some version can ask for the ids of the jobs changed since then rather
+ * than reading the whole list again.
+ * <p>
+ * Versions are a counter, not a clock, so they never go back when the system time does. The counter starts at a
+ * random epoch in its upper 32 bits, drawn when the log is created, so that versions handed out by a previous run of
+ * the server fall outside the versions this log knows about. Changes to a whole job group or to the scheduler
+ * are not tracked per job; they make every older version unusable, the same as changes dropped from a full log.
+ */
+public class QuartzJobChangeLog extends QuartzJobEventListener {
+
+  public static final String NAME = "PentahoJobChangeLog"; //$NON-NLS-1$
+
+  public static final int DEFAULT_CAPACITY = 10000;
+
+  private final int capacity;
+
+  private final Deque<Change> changes = new ArrayDeque<>();
+
+  private long version;
+
+  /**
+   * The oldest version changes can still be listed from.
+   */
+  private long oldestVersion;
+
+  public QuartzJobChangeLog() {
+    this( DEFAULT_CAPACITY );
+  }
+
+  /**
+   * @param capacity the number of changes to keep
+   */
+  public QuartzJobChangeLog( int capacity ) {
+    this.capacity = capacity;
+    this.version = (long) ThreadLocalRandom.current().nextInt( 1, Integer.MAX_VALUE ) << 32;
+    this.oldestVersion = version;
+  }
+
+  /**
+   * @return the version of the latest change
+   */
+  public synchronized long getVersion() {
+    return version;
+  }
+
+  /**
+   * Lists the jobs changed after a version, in the order they first changed.
+   *
+   * @param since the version the client is up to date with
+   * @return the ids of the changed jobs, mapped to true for the jobs added after that version; null if the version is
+   * too old, or newer than the latest change, for the changes to be known
+   */
+  public synchronized Map<String, Boolean> getChangedJobIds( long since ) {
+    if ( since < oldestVersion || since > version ) {
+      return null;
+    }
+    Map<String, Boolean> changedJobIds = new LinkedHashMap<>();
+    for ( Change change : changes ) {
+      if ( change.version > since ) {
+        // the earliest change of a job after the version decides whether the job was added
+        changedJobIds.putIfAbsent( change.jobId, change.added );
+      }
+    }
+    return changedJobIds;
+  }
+
+  private synchronized void record( String jobId, boolean added ) {
+    changes.addLast( new Change( ++version, jobId, added ) );
+    if ( changes.size() > capacity ) {
+      oldestVersion = changes.removeFirst().version;
+    }
+  }
+
+  // QuartzJobEventListener
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public void jobAdded( JobDetail jobDetail ) {
+    record( jobDetail.getKey().getName(), true );
+  }
+
+  @Override
+  protected void jobChanged( String jobId ) {
+    record( jobId, false );
+  }
+
+  @Override
+  protected void groupChanged( String groupName ) {
+    allJobsChanged();
+  }
+
+  @Override
+  protected synchronized void allJobsChanged() {
+    changes.clear();
+    oldestVersion = ++version;
+  }
+
+  private static class Change {
+    private final long version;
+    private final String jobId;
+    private final boolean added;
+
+    Change( long version, String jobId, boolean added ) {
+      this.version = version;
+      this.jobId = jobId;
+      this.added = added;
+    }
+  }
+}
@@ -0,0 +1,207 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.quartz;
+
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerListener;
+import org.quartz.Trigger;
+import org.quartz.Trigger.CompletedExecutionInstruction;
+import org.quartz.TriggerKey;
+import org.quartz.TriggerListener;
+
+/**
+ * Translates the events of a Quartz scheduler into changes of Pentaho jobs. Every event that may change how a job is
+ * listed (its trigger, state, or last and next run) is reported for the id of the job; events on a whole group or on
+ * the scheduler are reported for the group or for all the jobs. Manual triggers, created when a job is run now, are
+ * not the schedule of their job, so only their firing is reported.
+ */
+public abstract class QuartzJobEventListener implements SchedulerListener, TriggerListener {
+
+  /**
+   * Starts listening to the events of the given Quartz scheduler.
+   */
+  public void register( Scheduler quartzScheduler ) throws org.quartz.SchedulerException {
+    quartzScheduler.getListenerManager().addSchedulerListener( this );
+    quartzScheduler.getListenerManager().addTriggerListener( this );
+    allJobsChanged();
+  }
+
+  public void unregister( Scheduler quartzScheduler ) throws org.quartz.SchedulerException {
+    quartzScheduler.getListenerManager().removeSchedulerListener( this );
+    quartzScheduler.getListenerManager().removeTriggerListener( getName() );
+    allJobsChanged();
+  }
+
+  /**
+   * @param jobId the id of a job that was added, changed or removed; never null
+   */
+  protected abstract void jobChanged( String jobId );
+
+  /**
+   * @param groupName the group whose jobs may all have changed; never null
+   */
+  protected abstract void groupChanged( String groupName );
+
+  protected abstract void allJobsChanged();
+
+  private void jobChanged( Trigger trigger ) {
+    if ( trigger.getJobKey() != null ) {
+      jobChanged( trigger.getJobKey().getName() );
+    }
+  }
+
+  private void jobChanged( TriggerKey triggerKey ) {
+    // the trigger of a job is named after the job; triggers added by a manual run are not
+    if ( triggerKey != null && triggerKey.getName() != null && !triggerKey.getName().startsWith( "MT_" ) ) {
+      jobChanged( triggerKey.getName() );
+    }
+  }
+
+  private void groupOrAllChanged( String groupName ) {
+    if ( groupName == null ) {
+      allJobsChanged();
+    } else {
+      groupChanged( groupName );
+    }
+  }
+
+  // TriggerListener
+
+  @Override
+  public void triggerFired( Trigger trigger, JobExecutionContext context ) {
+    jobChanged( trigger );
+  }
+
+  @Override
+  public boolean vetoJobExecution( Trigger trigger, JobExecutionContext context ) {
+    return false;
+  }
+
+  @Override
+  public void triggerMisfired( Trigger trigger ) {
+    jobChanged( trigger );
+  }
+
+  @Override
+  public void triggerComplete( Trigger trigger, JobExecutionContext context,
+                               CompletedExecutionInstruction triggerInstructionCode ) {
+    jobChanged( trigger );
+  }
+
+  // SchedulerListener
+
+  @Override
+  public void jobScheduled( Trigger trigger ) {
+    jobChanged( trigger );
+  }
+
+  @Override
+  public void jobUnscheduled( TriggerKey triggerKey ) {
+    jobChanged( triggerKey );
+  }
+
+  @Override
+  public void triggerFinalized( Trigger trigger ) {
+    jobChanged( trigger );
+  }
+
+  @Override
+  public void triggerPaused( TriggerKey triggerKey ) {
+    jobChanged( triggerKey );
+  }
+
+  @Override
+  public void triggersPaused( String triggerGroup ) {
+    groupOrAllChanged( triggerGroup );
+  }
+
+  @Override
+  public void triggerResumed( TriggerKey triggerKey ) {
+    jobChanged( triggerKey );
+  }
+
+  @Override
+  public void triggersResumed( String triggerGroup ) {
+    groupOrAllChanged( triggerGroup );
+  }
+
+  @Override
+  public void jobAdded( JobDetail jobDetail ) {
+    jobChanged( jobDetail.getKey().getName() );
+  }
+
+  @Override
+  public void jobDeleted( JobKey jobKey ) {
+    jobChanged( jobKey.getName() );
+  }
+
+  @Override
+  public void jobPaused( JobKey jobKey ) {
+    jobChanged( jobKey.getName() );
+  }
+
+  @Override
+  public void jobsPaused( String jobGroup ) {
+    groupOrAllChanged( jobGroup );
+  }
+
+  @Override
+  public void jobResumed( JobKey jobKey ) {
+    jobChanged( jobKey.getName() );
+  }
+
+  @Override
+  public void jobsResumed( String jobGroup ) {
+    groupOrAllChanged( jobGroup );
+  }
+
+  @Override
+  public void schedulerError( String msg, org.quartz.SchedulerException cause ) {
+    // errors do not change the stored jobs
+  }
+
+  @Override
+  public void schedulerInStandbyMode() {
+    // standby does not change the stored jobs
+  }
+
+  @Override
+  public void schedulerStarted() {
+    // the next fire times of misfired triggers are updated while starting
+    allJobsChanged();
+  }
+
+  @Override
+  public void schedulerStarting() {
+    // nothing to do until the scheduler has started
+  }
+
+  @Override
+  public void schedulerShutdown() {
+    allJobsChanged();
+  }
+
+  @Override
+  public void schedulerShuttingdown() {
+    // nothing to do until the scheduler has shut down
+  }
+
+  @Override
+  public void schedulingDataCleared() {
+    allJobsChanged();
+  }
+}
@@ -22,6 +22,7 @@ import org.pentaho.platform.api.engine.IPentahoSession;
 import org.pentaho.platform.api.repository2.unified.IUnifiedRepository;
 import org.pentaho.platform.api.repository2.unified.RepositoryFile;
 import org.pentaho.platform.api.scheduler2.ComplexJobTrigger;
+import org.pentaho.platform.api.scheduler2.IBlockoutManager;
 import org.pentaho.platform.api.scheduler2.CronJobTrigger;
 import org.pentaho.platform.api.scheduler2.IBackgroundExecutionStreamProvider;
 import org.pentaho.platform.api.scheduler2.IComplexJobTrigger;
@@ -46,6 +47,12 @@ import org.pentaho.platform.api.scheduler2.SimpleJobTrigger;
 import org.pentaho.platform.engine.core.system.PentahoSessionHolder;
 import org.pentaho.platform.engine.core.system.PentahoSystem;
 import org.pentaho.platform.engine.security.SecurityHelper;
+import org.pentaho.platform.scheduler2.IJobGroupFilter;
+import org.pentaho.platform.scheduler2.IJobParamsFilter;
+import org.pentaho.platform.scheduler2.IJobPreFilter;
+import org.pentaho.platform.scheduler2.blockout.ActiveBlockouts;
+import org.pentaho.platform.scheduler2.blockout.BlockoutIndex;
+import org.pentaho.platform.scheduler2.blockout.BlockoutManagerUtil;
 import org.pentaho.platform.scheduler2.messsages.Messages;
 import org.pentaho.platform.scheduler2.recur.ITimeRecurrence;
 import org.pentaho.platform.scheduler2.recur.IncrementalRecurrence;
@@ -55,6 +62,7 @@ import org.pentaho.platform.scheduler2.recur.QualifiedDayOfWeek.DayOfWeek;
 import org.pentaho.platform.scheduler2.recur.QualifiedDayOfWeek.DayOfWeekQualifier;
 import org.pentaho.platform.scheduler2.recur.RecurrenceList;
 import org.pentaho.platform.scheduler2.recur.SequentialRecurrence;
+import org.pentaho.platform.web.http.api.resources.JobChanges;
 import org.pentaho.platform.web.http.api.resources.JobRequest;
 import org.pentaho.platform.web.http.api.resources.JobScheduleParam;
 import org.pentaho.platform.web.http.api.resources.JobScheduleRequest;
@@ -69,6 +77,7 @@ import org.quartz.JobBuilder;
 import org.quartz.JobDataMap;
 import org.quartz.JobDetail;
 import org.quartz.JobKey;
+import org.quartz.JobPersistenceException;
 import org.quartz.Scheduler;
 import org.quartz.SchedulerFactory;
 import org.quartz.SimpleTrigger;
@@ -80,6 +89,7 @@ import org.quartz.impl.matchers.GroupMatcher;
 import org.quartz.impl.triggers.CalendarIntervalTriggerImpl;
 import org.quartz.impl.triggers.CronTriggerImpl;
 import org.quartz.spi.MutableTrigger;
+import org.quartz.spi.OperableTrigger;
 
 import java.io.Serializable;
 import java.security.Principal;
@@ -91,10 +101,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TimeZone;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 /**
@@ -123,6 +136,7 @@ public class QuartzScheduler implements IScheduler {
   public static final String QUARTZ_SCHEDULER_ERROR_0006_FAILED_TO_GET_SCHEDULER_STATUS = "QuartzScheduler.ERROR_0006_FAILED_TO_GET_SCHEDULER_STATUS";
   public static final String QUARTZ_SCHEDULER_ERROR_0007_FAILED_TO_GET_JOB = "QuartzScheduler.ERROR_0007_FAILED_TO_GET_JOB";
   public static final String QUARTZ_SCHEDULER_ERROR_0008_SCHEDULING_IS_NOT_ALLOWED = "QuartzScheduler.ERROR_0008_SCHEDULING_IS_NOT_ALLOWED";
+  public static final String QUARTZ_SCHEDULER_ERROR_0017_FAILED_TO_REMOVE_JOBS = "QuartzScheduler.ERROR_0017_FAILED_TO_REMOVE_JOBS";
 
   private Log logger;
 
@@ -132,6 +146,25 @@ public class QuartzScheduler implements IScheduler {
 
   private final ArrayList<ISchedulerListener> listeners = new ArrayList<>();
 
+  private QuartzJdbcJobStoreReader jobStoreReader;
+
+  private final ComplexJobTriggerCache complexJobTriggerCache = new ComplexJobTriggerCache();
+
+  private final QuartzAvailabilityCalendars availabilityCalendars = new QuartzAvailabilityCalendars();
+
+  private QuartzJobCatalog jobCatalog;
+
+  private QuartzJobChangeLog jobChangeLog;
+
+  /**
+   * Guards the standby of the scheduler while batches store paused jobs, see {@link JobBatch#schedulePaused()}
+   */
+  private final Object standbyLock = new Object();
+
+  private int standbyHolds;
+
+  private boolean startAfterStandby;
+
   private static final Pattern listPattern = Pattern.compile( "\\d+" );
 
   private static final Pattern dayOfWeekRangePattern = Pattern.compile( ".*-.*" );
@@ -144,6 +177,21 @@ public class QuartzScheduler implements IScheduler {
 
   private static final Pattern lastDayPattern = Pattern.compile( "\\d+L" );
 
+  /**
+   * Accepts the blockout jobs, without building the triggers of the other jobs.
+   */
+  private static final IJobPreFilter BLOCK_OUT_JOBS = new IJobPreFilter() {
+    @Override
+    public boolean preAccept( IJob job ) {
+      return IBlockoutManager.BLOCK_OUT_JOB_NAME.equals( job.getJobName() );
+    }
+
+    @Override
+    public boolean accept( IJob job ) {
+      return preAccept( job );
+    }
+  };
+
   public QuartzScheduler( SchedulerFactory schedulerFactory ) {
     this.quartzSchedulerFactory = schedulerFactory;
   }
@@ -172,6 +220,10 @@ public class QuartzScheduler implements IScheduler {
       this.shutdown();
       quartzSchedulerInstance = null;
     }
+    if ( jobCatalog != null ) {
+      jobCatalog.invalidateAll();
+    }
+    BlockoutIndex.getInstance().invalidate();
   }
 
   public Scheduler getQuartzScheduler() throws org.quartz.SchedulerException {
@@ -183,12 +235,248 @@ public class QuartzScheduler implements IScheduler {
        * us in that regard.
        */
       quartzSchedulerInstance = quartzSchedulerFactory.getScheduler();
+      if ( jobCatalog != null ) {
+        jobCatalog.register( quartzSchedulerInstance );
+      }
+      if ( jobChangeLog != null ) {
+        jobChangeLog.register( quartzSchedulerInstance );
+      }
     }
 
     logger.debug( "Using quartz scheduler " + quartzSchedulerInstance );
     return quartzSchedulerInstance;
   }
 
+  /**
+   * Enables set-based job listing for JDBC job stores. When not set, or when the bulk read fails, jobs are listed
+   * through the {@link Scheduler} API one key at a time.
+   *
+   * @param jobStoreReader reader over the tables of the JDBC job store backing this scheduler
+   */
+  public void setJobStoreReader( QuartzJdbcJobStoreReader jobStoreReader ) {
+    this.jobStoreReader = jobStoreReader;
+  }
+
+  public QuartzJdbcJobStoreReader getJobStoreReader() {
+    return jobStoreReader;
+  }
+
+  /**
+   * Enables the in-memory {@link QuartzJobCatalog}, which serves {@link #getJob(String)} and
+   * {@link #getJobs(IJobFilter)} from job snapshots kept up to date by the Quartz scheduler events.
+   *
+   * @param jobCatalogEnabled true to read jobs through the catalog, false to always read them from the job store
+   */
+  public void setJobCatalogEnabled( boolean jobCatalogEnabled ) throws SchedulerException {
+    try {
+      if ( jobCatalogEnabled && jobCatalog == null ) {
+        jobCatalog = new QuartzJobCatalog( this );
+        if ( quartzSchedulerInstance != null ) {
+          jobCatalog.register( quartzSchedulerInstance );
+        }
+      } else if ( !jobCatalogEnabled && jobCatalog != null ) {
+        if ( quartzSchedulerInstance != null ) {
+          jobCatalog.unregister( quartzSchedulerInstance );
+        }
+        jobCatalog = null;
+      }
+    } catch ( org.quartz.SchedulerException e ) {
+      throw new SchedulerException( e );
+    }
+  }
+
+  /**
+   * @return the job catalog, or null when it is not enabled
+   */
+  public QuartzJobCatalog getJobCatalog() {
+    return jobCatalog;
+  }
+
+  /**
+   * Enables the {@link QuartzJobChangeLog}, which lets clients list the jobs changed since they last read them.
+   *
+   * @param jobChangeLogEnabled true to keep track of job changes
+   */
+  public void setJobChangeLogEnabled( boolean jobChangeLogEnabled ) throws SchedulerException {
+    try {
+      if ( jobChangeLogEnabled && jobChangeLog == null ) {
+        jobChangeLog = new QuartzJobChangeLog();
+        if ( quartzSchedulerInstance != null ) {
+          jobChangeLog.register( quartzSchedulerInstance );
+        }
+      } else if ( !jobChangeLogEnabled && jobChangeLog != null ) {
+        if ( quartzSchedulerInstance != null ) {
+          jobChangeLog.unregister( quartzSchedulerInstance );
+        }
+        jobChangeLog = null;
+      }
+    } catch ( org.quartz.SchedulerException e ) {
+      throw new SchedulerException( e );
+    }
+  }
+
+  /**
+   * @return the job change log, or null when it is not enabled
+   */
+  public QuartzJobChangeLog getJobChangeLog() {
+    return jobChangeLog;
+  }
+
+  private void invalidateJob( String jobId ) {
+    if ( jobCatalog != null ) {
+      jobCatalog.invalidate( jobId );
+    }
+    BlockoutIndex.getInstance().invalidate( jobId );
+    if ( isBlockoutJob( jobId ) ) {
+      try {
+        refreshBlockoutCalendar( getQuartzScheduler() );
+      } catch ( org.quartz.SchedulerException e ) {
+        // the blockouts are still checked when the jobs fire
+        logger.warn( "Failed to refresh the blockout calendar", e ); //$NON-NLS-1$
+      }
+    }
+  }
+
+  /**
+   * @return true unless the job is a blockout, whose trigger would otherwise skip its own windows
+   */
+  private static boolean isExcludingBlockouts( String jobName ) {
+    return !IBlockoutManager.BLOCK_OUT_JOB_NAME.equals( jobName );
+  }
+
+  private static boolean isBlockoutJob( String jobId ) {
+    try {
+      return IBlockoutManager.BLOCK_OUT_JOB_NAME.equals( QuartzJobKey.parse( jobId ).getJobName() );
+    } catch ( SchedulerException e ) {
+      return false;
+    }
+  }
+
+  /**
+   * Quartz refuses to schedule a trigger whose calendar excludes every fire time, once it has looked for one up to the
+   * year 2299, so the fire times of a trigger the blockouts block entirely are only blocked when they fire, by
+   * {@link BlockingQuartzJob}.
+   *
+   * @param blockOutTriggers the triggers of the blockout jobs, see {@link #getBlockOutTriggers()}
+   * @return true if the trigger of the job should use a calendar excluding the blockout windows
+   */
+  private boolean isExcludingBlockouts( String jobName, IJobTrigger trigger, List<IJobTrigger> blockOutTriggers ) {
+    return isExcludingBlockouts( jobName ) && BlockoutManagerUtil.willFire( trigger, blockOutTriggers, this );
+  }
+
+  /**
+   * @return copies of the triggers of the blockout jobs, with the duration of their blockout. The triggers of the
+   * jobs may be shared with the job catalog, so they are left as they are.
+   */
+  private List<IJobTrigger> getBlockOutTriggers() throws SchedulerException {
+    List<IJobTrigger> blockOutTriggers = new ArrayList<>();
+    for ( IJob job : getJobs( BLOCK_OUT_JOBS ) ) {
+      Object duration = job.getJobParams().get( IBlockoutManager.DURATION_PARAM );
+      if ( job.getJobTrigger() != null && duration instanceof Number ) {
+        JobTrigger blockOutTrigger = copyOf( job.getJobTrigger() );
+        blockOutTrigger.setDuration( ( (Number) duration ).longValue() );
+        blockOutTriggers.add( blockOutTrigger );
+      }
+    }
+    return blockOutTriggers;
+  }
+
+  /**
+   * @return a copy of a trigger of the types this scheduler builds, which can be changed without changing the original
+   */
+  public static JobTrigger copyOf( IJobTrigger trigger ) {
+    if ( trigger instanceof ComplexJobTrigger ) {
+      return new ComplexJobTrigger( (ComplexJobTrigger) trigger );
+    } else if ( trigger instanceof SimpleJobTrigger ) {
+      return new SimpleJobTrigger( (SimpleJobTrigger) trigger );
+    } else if ( trigger instanceof CronJobTrigger ) {
+      return new CronJobTrigger( (CronJobTrigger) trigger );
+    }
+    throw new IllegalArgumentException( "Cannot copy a trigger of type " + trigger.getClass().getName() );
+  }
+
+  /**
+   * Stores the calendar excluding the blockout windows, unless it is stored already, for the triggers of the jobs
+   * which are not blockouts to use.
+   */
+  private void ensureBlockoutCalendar( Scheduler scheduler ) throws org.quartz.SchedulerException {
+    if ( scheduler.getCalendar( QuartzAvailabilityCalendars.BLOCKOUT_CALENDAR_NAME ) == null ) {
+      refreshBlockoutCalendar( scheduler );
+    }
+  }
+
+  /**
+   * Rebuilds the calendar excluding the blockout windows from the triggers of the blockout jobs, so Quartz skips the
+   * blocked fire times of the other jobs instead of firing them. Jobs scheduled before the calendar existed are
+   * still blocked when they fire, by {@link BlockingQuartzJob}, and so are the jobs the new blockouts block entirely,
+   * see {@link #detachBlockedTriggers(Scheduler)}.
+   */
+  void refreshBlockoutCalendar( Scheduler scheduler ) throws org.quartz.SchedulerException {
+    List<QuartzBlockoutCalendar.Blockout> blockouts = new ArrayList<>();
+    for ( JobKey jobKey : scheduler.getJobKeys( GroupMatcher.anyJobGroup() ) ) {
+      if ( !isBlockoutJob( jobKey.getName() ) ) {
+        continue;
+      }
+      JobDetail jobDetail = scheduler.getJobDetail( jobKey );
+      Object duration = jobDetail == null ? null : jobDetail.getJobDataMap().get( IBlockoutManager.DURATION_PARAM );
+      if ( !( duration instanceof Number ) ) {
+        continue;
+      }
+      for ( Trigger trigger : scheduler.getTriggersOfJob( jobKey ) ) {
+        Calendar calendar = getCalendar( scheduler, trigger );
+        QuartzSchedulerAvailability availability =
+          calendar instanceof QuartzSchedulerAvailability ? (QuartzSchedulerAvailability) calendar : null;
+        blockouts.add( new QuartzBlockoutCalendar.Blockout( trigger, ( (Number) duration ).longValue(),
+          availability != null ? availability.getStartTime() : null,
+          availability != null ? availability.getEndTime() : null ) );
+      }
+    }
+    detachBlockedTriggers( scheduler );
+    availabilityCalendars.setBlockoutCalendar( scheduler, new QuartzBlockoutCalendar( blockouts ) );
+  }
+
+  /**
+   * Moves the triggers the blockouts leave no fire time off the calendars excluding the blockout windows, before these
+   * calendars change. Quartz would otherwise look for a fire time of these triggers up to the year 2299, and then
+   * never fire them again, even once the blockouts are removed.
+   */
+  private void detachBlockedTriggers( Scheduler scheduler ) throws org.quartz.SchedulerException {
+    try {
+      List<IJobTrigger> blockOutTriggers = getBlockOutTriggers();
+      if ( blockOutTriggers.isEmpty() ) {
+        return;
+      }
+      for ( IJob job : getJobs( job -> isExcludingBlockouts( job.getJobName() ) ) ) {
+        if ( job.getJobTrigger() == null
+          || BlockoutManagerUtil.willFire( job.getJobTrigger(), blockOutTriggers, this ) ) {
+          continue;
+        }
+        TriggerKey triggerKey = new TriggerKey( job.getJobId(), QuartzJobKey.parse( job.getJobId() ).getUserName() );
+        Trigger trigger = scheduler.getTrigger( triggerKey );
+        if ( trigger == null || trigger.getNextFireTime() == null
+          || !QuartzAvailabilityCalendars.isExcludingBlockouts( trigger.getCalendarName() ) ) {
+          continue;
+        }
+        QuartzSchedulerAvailability availability =
+          QuartzAvailabilityCalendars.fromCalendarName( trigger.getCalendarName() );
+        OperableTrigger detached = (OperableTrigger) trigger.clone();
+        detached.setCalendarName(
+          availability != null ? availabilityCalendars.acquire( scheduler, availability ) : null );
+        // Quartz computes the fire times again from the start, which would fire the times already past at once
+        detached.setStartTime( trigger.getNextFireTime() );
+        boolean paused = scheduler.getTriggerState( triggerKey ) == Trigger.TriggerState.PAUSED;
+        scheduler.rescheduleJob( triggerKey, detached );
+        if ( paused ) {
+          scheduler.pauseTrigger( triggerKey );
+        }
+        releaseCalendar( scheduler, trigger.getCalendarName() );
+        logger.debug( MessageFormat.format( "The blockouts block every fire time of job {0}", job.getJobId() ) );
+      }
+    } catch ( SchedulerException e ) {
+      throw new org.quartz.SchedulerException( e.getMessage(), e );
+    }
+  }
+
   private void setQuartzScheduler( Scheduler quartzScheduler ) {
     this.quartzSchedulerInstance = quartzScheduler;
   }
@@ -393,8 +681,8 @@ public class QuartzScheduler implements IScheduler {
      .build();
   }
 
-  private Calendar createQuartzCalendar( ComplexJobTrigger complexJobTrigger ) {
-    Calendar triggerCalendar = null;
+  private QuartzSchedulerAvailability createQuartzCalendar( ComplexJobTrigger complexJobTrigger ) {
+    QuartzSchedulerAvailability triggerCalendar = null;
     if ( complexJobTrigger.getStartHour() > -1 ) {
       java.util.Calendar startDateCal = getStartDateCalFromTrigger( complexJobTrigger );
       if ( complexJobTrigger.getEndTime() != null ) {
@@ -410,6 +698,21 @@ public class QuartzScheduler implements IScheduler {
     return triggerCalendar;
   }
 
+  /**
+   * Starts the trigger when its availability window opens. A cron trigger otherwise starts when it is created, and
+   * Quartz works through every fire time before the window only to have the calendar exclude them one by one.
+   */
+  static void startAtAvailability( MutableTrigger quartzTrigger, QuartzSchedulerAvailability triggerCalendar ) {
+    if ( triggerCalendar == null || triggerCalendar.getStartTime() == null ) {
+      return;
+    }
+    Date windowStart = triggerCalendar.getStartTime();
+    if ( ( quartzTrigger.getStartTime() == null || quartzTrigger.getStartTime().before( windowStart ) )
+      && ( quartzTrigger.getEndTime() == null || !quartzTrigger.getEndTime().before( windowStart ) ) ) {
+      quartzTrigger.setStartTime( windowStart );
+    }
+  }
+
   private static java.util.Calendar getStartDateCalFromTrigger( IJobTrigger jobTrigger ) {
     java.util.Calendar startDateCal = java.util.Calendar.getInstance();
     startDateCal.clear();
@@ -441,6 +744,42 @@ public class QuartzScheduler implements IScheduler {
    */
   protected Job createJob( String jobName, Map<String, Object> jobParams, IJobTrigger trigger,
                            IBackgroundExecutionStreamProvider outputStreamProvider ) throws SchedulerException {
+    PreparedJob preparedJob = prepareJob( jobName, jobParams, trigger, outputStreamProvider,
+      isExcludingBlockouts( jobName ) ? getBlockOutTriggers() : Collections.emptyList() );
+
+    try {
+      Scheduler scheduler = getQuartzScheduler();
+      if ( preparedJob.isExcludingBlockouts() ) {
+        ensureBlockoutCalendar( scheduler );
+      }
+      if ( preparedJob.calendar != null ) {
+        availabilityCalendars.acquire( scheduler, preparedJob.calendar, preparedJob.isExcludingBlockouts() );
+      }
+      try {
+        scheduler.scheduleJob( preparedJob.jobDetail, preparedJob.quartzTrigger );
+      } catch ( org.quartz.SchedulerException e ) {
+        releaseCalendar( scheduler, preparedJob.quartzTrigger.getCalendarName() );
+        throw e;
+      }
+      invalidateJob( preparedJob.jobId.toString() );
+
+      logger.debug( MessageFormat.format( "Scheduled job {0} successfully", preparedJob.jobId ) );
+    } catch ( org.quartz.SchedulerException e ) {
+      throw new SchedulerException( Messages.getInstance().getString(
+        QUARTZ_SCHEDULER_ERROR_0001_FAILED_TO_SCHEDULE_JOB, jobName ), e );
+    }
+
+    return preparedJob.toJob();
+  }
+
+  /**
+   * Builds the Quartz job, trigger and calendar of a new job without storing them.
+   *
+   * @param blockOutTriggers the triggers of the blockout jobs, see {@link #getBlockOutTriggers()}
+   */
+  private PreparedJob prepareJob( String jobName, Map<String, Object> jobParams, IJobTrigger trigger,
+                                  IBackgroundExecutionStreamProvider outputStreamProvider,
+                                  List<IJobTrigger> blockOutTriggers ) throws SchedulerException {
 
     String curUser = getCurrentUser();
 
@@ -455,8 +794,9 @@ public class QuartzScheduler implements IScheduler {
 
     MutableTrigger quartzTrigger = createQuartzTrigger( trigger, jobId );
 
-    Calendar triggerCalendar =
+    QuartzSchedulerAvailability triggerCalendar =
       quartzTrigger instanceof CronTrigger ? createQuartzCalendar( (ComplexJobTrigger) trigger ) : null;
+    startAtAvailability( quartzTrigger, triggerCalendar );
 
     if ( outputStreamProvider != null ) {
       jobParams.put( RESERVEDMAPKEY_STREAMPROVIDER, outputStreamProvider );
@@ -473,42 +813,279 @@ public class QuartzScheduler implements IScheduler {
 
     JobDetail jobDetail = createJobDetails( jobId, jobParams );
 
-    try {
-      Scheduler scheduler = getQuartzScheduler();
-      if ( triggerCalendar != null ) {
-        scheduler.addCalendar( jobId.toString(), triggerCalendar, false, false );
-        quartzTrigger.setCalendarName( jobId.toString() );
+    boolean excludeBlockouts = isExcludingBlockouts( jobName, trigger, blockOutTriggers );
+    if ( triggerCalendar != null ) {
+      quartzTrigger.setCalendarName( QuartzAvailabilityCalendars.getCalendarName( triggerCalendar, excludeBlockouts ) );
+    } else if ( excludeBlockouts ) {
+      quartzTrigger.setCalendarName( QuartzAvailabilityCalendars.BLOCKOUT_CALENDAR_NAME );
+    }
+    logger.debug(
+      MessageFormat.format( "Scheduling job {0} with trigger {1} and job parameters [ {2} ]", jobId,
+        trigger, prettyPrintMap( jobParams ) ) );
+
+    if ( quartzTrigger instanceof CronTrigger ) {
+      Serializable timezone = (Serializable) jobParams.get( "timezone" );
+      if ( timezone != null ) {
+        setTimezone( (CronTrigger) quartzTrigger, timezone.toString() );
       }
-      logger.debug(
-        MessageFormat.format( "Scheduling job {0} with trigger {1} and job parameters [ {2} ]", jobId,
-          trigger, prettyPrintMap( jobParams ) ) );
+    }
 
-      if ( quartzTrigger instanceof CronTrigger ) {
-        Serializable timezone = (Serializable) jobParams.get( "timezone" );
-        if ( timezone != null ) {
-          setTimezone( (CronTrigger) quartzTrigger, timezone.toString() );
+    return new PreparedJob( jobId, jobName, curUser, jobParams, trigger, jobDetail, quartzTrigger, triggerCalendar,
+      excludeBlockouts );
+  }
+
+  /**
+   * A new job whose Quartz job, trigger and calendar are built but not stored yet.
+   */
+  private class PreparedJob {
+    private final QuartzJobKey jobId;
+    private final String jobName;
+    private final String userName;
+    private final Map<String, Object> jobParams;
+    private final IJobTrigger trigger;
+    private final JobDetail jobDetail;
+    private final MutableTrigger quartzTrigger;
+    private final QuartzSchedulerAvailability calendar;
+    private final boolean excludeBlockouts;
+
+    PreparedJob( QuartzJobKey jobId, String jobName, String userName, Map<String, Object> jobParams,
+                 IJobTrigger trigger, JobDetail jobDetail, MutableTrigger quartzTrigger,
+                 QuartzSchedulerAvailability calendar, boolean excludeBlockouts ) {
+      this.jobId = jobId;
+      this.jobName = jobName;
+      this.userName = userName;
+      this.jobParams = jobParams;
+      this.trigger = trigger;
+      this.jobDetail = jobDetail;
+      this.quartzTrigger = quartzTrigger;
+      this.calendar = calendar;
+      this.excludeBlockouts = excludeBlockouts;
+    }
+
+    boolean isExcludingBlockouts() {
+      return excludeBlockouts;
+    }
+
+    /**
+     * @return the job, once the trigger has been scheduled and its first fire time computed
+     */
+    Job toJob() {
+      Job job = new Job();
+      job.setJobParams( jobParams );
+      job.setJobTrigger( (JobTrigger) trigger );
+      job.setNextRun( quartzTrigger.getNextFireTime() );
+      job.setLastRun( getLastRun( quartzTrigger ) );
+      job.setJobId( jobId.toString() );
+      job.setJobName( jobName );
+      job.setUserName( userName );
+      job.setState( JobState.NORMAL );
+      return job;
+    }
+  }
+
+  /**
+   * @return a new batch of jobs, to be scheduled all at once
+   */
+  public JobBatch newJobBatch() {
+    return new JobBatch();
+  }
+
+  /**
+   * Jobs created through a batch are only built, and {@link #schedule()} then stores all their jobs and triggers with
+   * a single {@link Scheduler#scheduleJobs(Map, boolean)} call, i.e. in a single transaction of a JDBC job store. No
+   * job of the batch is scheduled if any of them cannot be built.
+   */
+  public class JobBatch {
+    private final List<PreparedJob> preparedJobs = new ArrayList<>();
+    private List<IJobTrigger> blockOutTriggers;
+
+    private JobBatch() {
+    }
+
+    /**
+     * Adds a job to the batch. The job is only scheduled, and its next run known, once the batch is.
+     *
+     * @see QuartzScheduler#createJob(String, Class, Map, IJobTrigger, IBackgroundExecutionStreamProvider)
+     */
+    public Job createJob( String jobName, Class<? extends IAction> action, Map<String, Object> jobParams,
+                          IJobTrigger trigger, IBackgroundExecutionStreamProvider outputStreamProvider )
+      throws SchedulerException {
+      if ( action == null ) {
+        throw new SchedulerException(
+          Messages.getString( QUARTZ_SCHEDULER_ERROR_0003_ACTION_IS_NULL ) );
+      }
+
+      if ( jobParams == null ) {
+        jobParams = new HashMap<>();
+      }
+
+      jobParams.put( IScheduler.RESERVEDMAPKEY_ACTIONCLASS, action.getName() );
+      Job job = add( jobName, jobParams, trigger, outputStreamProvider );
+      job.setSchedulableClass( action.getName() );
+      return job;
+    }
+
+    /**
+     * Adds a job to the batch. The job is only scheduled, and its next run known, once the batch is.
+     *
+     * @see QuartzScheduler#createJob(String, String, Map, IJobTrigger, IBackgroundExecutionStreamProvider)
+     */
+    public Job createJob( String jobName, String actionId, Map<String, Object> jobParams, IJobTrigger trigger,
+                          IBackgroundExecutionStreamProvider outputStreamProvider ) throws SchedulerException {
+      if ( StringUtils.isEmpty( actionId ) ) {
+        throw new SchedulerException(
+          Messages.getString( QUARTZ_SCHEDULER_ERROR_0003_ACTION_IS_NULL ) );
+      }
+
+      if ( jobParams == null ) {
+        jobParams = new HashMap<>();
+      }
+
+      jobParams.put( RESERVEDMAPKEY_ACTIONID, actionId );
+      Job job = add( jobName, jobParams, trigger, outputStreamProvider );
+      job.setSchedulableClass( "" );
+      return job;
+    }
+
+    private Job add( String jobName, Map<String, Object> jobParams, IJobTrigger trigger,
+                     IBackgroundExecutionStreamProvider outputStreamProvider ) throws SchedulerException {
+      if ( blockOutTriggers == null && isExcludingBlockouts( jobName ) ) {
+        // read once for the whole batch
+        blockOutTriggers = getBlockOutTriggers();
+      }
+      PreparedJob preparedJob = prepareJob( jobName, jobParams, trigger, outputStreamProvider,
+        blockOutTriggers != null ? blockOutTriggers : Collections.emptyList() );
+      preparedJobs.add( preparedJob );
+      return preparedJob.toJob();
+    }
+
+    public int size() {
+      return preparedJobs.size();
+    }
+
+    /**
+     * Schedules all the jobs of the batch. Quartz has no call to store several calendars at once, so the calendars are
+     * stored first, each distinct availability window once, for the triggers to find them.
+     *
+     * @return the scheduled jobs, in the order they were added
+     * @throws SchedulerException if Quartz failed to schedule the jobs; the calendars stored for them are released then
+     */
+    public List<Job> schedule() throws SchedulerException {
+      Map<JobDetail, Set<? extends Trigger>> triggersAndJobs = new LinkedHashMap<>();
+      for ( PreparedJob preparedJob : preparedJobs ) {
+        triggersAndJobs.put( preparedJob.jobDetail, Collections.singleton( preparedJob.quartzTrigger ) );
+      }
+
+      Scheduler scheduler = null;
+      List<String> calendarNames = new ArrayList<>();
+      boolean scheduled = false;
+      try {
+        scheduler = getQuartzScheduler();
+        if ( preparedJobs.stream().anyMatch( PreparedJob::isExcludingBlockouts ) ) {
+          ensureBlockoutCalendar( scheduler );
         }
+        for ( PreparedJob preparedJob : preparedJobs ) {
+          if ( preparedJob.calendar != null ) {
+            calendarNames.add( availabilityCalendars.acquire( scheduler, preparedJob.calendar,
+              preparedJob.isExcludingBlockouts() ) );
+          }
+        }
+        if ( !triggersAndJobs.isEmpty() ) {
+          scheduler.scheduleJobs( triggersAndJobs, false );
+        }
+        scheduled = true;
+      } catch ( org.quartz.SchedulerException e ) {
+        List<String> jobNames = new ArrayList<>( preparedJobs.size() );
+        preparedJobs.forEach( preparedJob -> jobNames.add( preparedJob.jobName ) );
+        throw new SchedulerException( Messages.getInstance().getString(
+          QUARTZ_SCHEDULER_ERROR_0001_FAILED_TO_SCHEDULE_JOB, String.join( ", ", jobNames ) ), e );
+      } finally {
+        if ( !scheduled ) {
+          // no trigger of the batch was stored, so none of them references the calendars acquired so far
+          for ( String calendarName : calendarNames ) {
+            releaseCalendar( scheduler, calendarName );
+          }
+        }
+        preparedJobs.forEach( preparedJob -> invalidateJob( preparedJob.jobId.toString() ) );
       }
 
-      scheduler.scheduleJob( jobDetail, quartzTrigger );
+      List<Job> jobs = new ArrayList<>( preparedJobs.size() );
+      for ( PreparedJob preparedJob : preparedJobs ) {
+        jobs.add( preparedJob.toJob() );
+      }
+      logger.debug( MessageFormat.format( "Scheduled {0} jobs successfully", jobs.size() ) );
+      return jobs;
+    }
 
-      logger.debug( MessageFormat.format( "Scheduled job {0} successfully", jobId ) );
-    } catch ( org.quartz.SchedulerException e ) {
-      throw new SchedulerException( Messages.getInstance().getString(
-        QUARTZ_SCHEDULER_ERROR_0001_FAILED_TO_SCHEDULE_JOB, jobName ), e );
+    /**
+     * Schedules all the jobs of the batch with their triggers paused, e.g. for imported schedules, which must not run
+     * before the import is over. Quartz cannot store a trigger paused, so the scheduler stands by while the triggers
+     * are stored and paused: none of them fires in between, not even one starting in the past.
+     *
+     * @return the scheduled jobs, paused, in the order they were added
+     * @throws SchedulerException if Quartz failed to schedule or to pause the jobs; none of them is kept then
+     */
+    public List<Job> schedulePaused() throws SchedulerException {
+      Scheduler scheduler;
+      try {
+        scheduler = getQuartzScheduler();
+        holdFiring( scheduler );
+      } catch ( org.quartz.SchedulerException e ) {
+        throw new SchedulerException( e );
+      }
+      try {
+        List<Job> jobs = schedule();
+        try {
+          for ( PreparedJob preparedJob : preparedJobs ) {
+            scheduler.pauseTrigger( preparedJob.quartzTrigger.getKey() );
+          }
+        } catch ( org.quartz.SchedulerException e ) {
+          for ( Job job : jobs ) {
+            try {
+              removeJob( job.getJobId() );
+            } catch ( SchedulerException removeFailure ) {
+              logger.warn( "Failed to remove job " + job.getJobId(), removeFailure ); //$NON-NLS-1$
+            }
+          }
+          throw new SchedulerException( Messages.getString( QUARTZ_SCHEDULER_ERROR_0005_FAILED_TO_PAUSE_JOBS ), e );
+        }
+        for ( Job job : jobs ) {
+          job.setState( JobState.PAUSED );
+          invalidateJob( job.getJobId() );
+        }
+        return jobs;
+      } finally {
+        resumeFiring( scheduler );
+      }
     }
+  }
 
-    Job job = new Job();
-    job.setJobParams( jobParams );
-    job.setJobTrigger( (JobTrigger) trigger );
-    job.setNextRun( quartzTrigger.getNextFireTime() );
-    job.setLastRun( getLastRun( quartzTrigger ) );
-    job.setJobId( jobId.toString() );
-    job.setJobName( jobName );
-    job.setUserName( curUser );
-    job.setState( JobState.NORMAL );
+  /**
+   * Puts the scheduler on standby until every {@link #holdFiring(Scheduler)} is matched by a
+   * {@link #resumeFiring(Scheduler)}. A scheduler already standing by is left so.
+   */
+  private void holdFiring( Scheduler scheduler ) throws org.quartz.SchedulerException {
+    synchronized ( standbyLock ) {
+      if ( standbyHolds == 0 ) {
+        startAfterStandby = scheduler.isStarted() && !scheduler.isInStandbyMode();
+        if ( startAfterStandby ) {
+          scheduler.standby();
+        }
+      }
+      standbyHolds++;
+    }
+  }
 
-    return job;
+  private void resumeFiring( Scheduler scheduler ) {
+    synchronized ( standbyLock ) {
+      if ( --standbyHolds == 0 && startAfterStandby ) {
+        try {
+          scheduler.start();
+        } catch ( org.quartz.SchedulerException e ) {
+          logger.error( "Failed to restart the scheduler after storing paused jobs", e ); //$NON-NLS-1$
+        }
+      }
+    }
   }
 
   @Override
@@ -519,8 +1096,11 @@ public class QuartzScheduler implements IScheduler {
     MutableTrigger quartzTrigger = createQuartzTrigger( trigger, jobKey );
     quartzTrigger.setJobKey( JobKey.jobKey( jobId, jobKey.getUserName() ) );
 
-    Calendar triggerCalendar =
+    QuartzSchedulerAvailability triggerCalendar =
       quartzTrigger instanceof CronTrigger ? createQuartzCalendar( (ComplexJobTrigger) trigger ) : null;
+    startAtAvailability( quartzTrigger, triggerCalendar );
+    boolean excludeBlockouts = isExcludingBlockouts( jobKey.getJobName(), trigger,
+      isExcludingBlockouts( jobKey.getJobName() ) ? getBlockOutTriggers() : Collections.emptyList() );
 
     try {
       Scheduler scheduler = getQuartzScheduler();
@@ -545,9 +1125,14 @@ public class QuartzScheduler implements IScheduler {
 
       JobDetail jobDetail = createJobDetails( jobKey, jobParams );
       scheduler.addJob( jobDetail, true );
+      Trigger origTrigger = scheduler.getTrigger( new TriggerKey( jobId, jobKey.getUserName() ) );
+      if ( excludeBlockouts ) {
+        ensureBlockoutCalendar( scheduler );
+      }
       if ( triggerCalendar != null ) {
-        scheduler.addCalendar( jobId, triggerCalendar, true, true );
-        quartzTrigger.setCalendarName( jobId );
+        quartzTrigger.setCalendarName( availabilityCalendars.acquire( scheduler, triggerCalendar, excludeBlockouts ) );
+      } else if ( excludeBlockouts ) {
+        quartzTrigger.setCalendarName( QuartzAvailabilityCalendars.BLOCKOUT_CALENDAR_NAME );
       }
 
       if ( quartzTrigger instanceof CronTrigger ) {
@@ -557,8 +1142,11 @@ public class QuartzScheduler implements IScheduler {
         }
       }
 
-      new TriggerKey( jobId, jobKey.getUserName() );
       scheduler.rescheduleJob( new TriggerKey( jobId, jobKey.getUserName() ), quartzTrigger );
+      if ( origTrigger != null ) {
+        releaseCalendar( scheduler, origTrigger.getCalendarName() );
+      }
+      invalidateJob( jobId );
       logger
         .debug( MessageFormat
           .format(
@@ -591,52 +1179,78 @@ public class QuartzScheduler implements IScheduler {
    */
   public void triggerNow( String jobId ) throws SchedulerException {
     try {
-      QuartzJobKey quartzJobKey = QuartzJobKey.parse( jobId );
-      JobKey jobKey = new JobKey( jobId, quartzJobKey.getUserName() );
-
-      saveTriggerNowDate( jobKey );
-
-      // Execute the job
-      getQuartzScheduler().triggerJob( jobKey );
+      triggerNow( getQuartzScheduler(), jobId, new Date() );
     } catch ( org.quartz.SchedulerException e ) {
       throw new SchedulerException( Messages.getInstance().getString(
         QUARTZ_SCHEDULER_ERROR_0007_FAILED_TO_GET_JOB, jobId ), e );
     }
   }
 
-  private void saveTriggerNowDate( JobKey jobKey ) throws org.quartz.SchedulerException {
-    JobDetail jobDetail = getQuartzScheduler().getJobDetail( jobKey );
-    JobDataMap jobDataMap = jobDetail.getJobDataMap();
-    jobDataMap.put( PREVIOUS_TRIGGER_NOW_KEY, new Date() );
+  /**
+   * Runs several jobs now, recording the same manual run time for all of them. Quartz has no call to fire several
+   * jobs at once, so each job is still fired on its own; a job that cannot be fired does not stop the others.
+   *
+   * @param jobIds the ids of the jobs to run
+   * @return the ids of the jobs that could not be fired
+   * @throws SchedulerException if the scheduler cannot be reached, before any job is fired
+   */
+  public List<String> triggerNow( List<String> jobIds ) throws SchedulerException {
+    Scheduler scheduler;
+    try {
+      scheduler = getQuartzScheduler();
+    } catch ( org.quartz.SchedulerException e ) {
+      throw new SchedulerException( Messages.getInstance().getString(
+        QUARTZ_SCHEDULER_ERROR_0007_FAILED_TO_GET_JOB, String.join( ", ", jobIds ) ), e );
+    }
+    Date now = new Date();
+    List<String> failedJobIds = new ArrayList<>();
+    for ( String jobId : jobIds ) {
+      try {
+        triggerNow( scheduler, jobId, now );
+      } catch ( org.quartz.SchedulerException | SchedulerException e ) {
+        logger.warn( Messages.getInstance().getString( QUARTZ_SCHEDULER_ERROR_0007_FAILED_TO_GET_JOB, jobId ), e );
+        failedJobIds.add( jobId );
+      }
+    }
+    return failedJobIds;
+  }
+
+  private void triggerNow( Scheduler scheduler, String jobId, Date now )
+    throws SchedulerException, org.quartz.SchedulerException {
+    QuartzJobKey quartzJobKey = QuartzJobKey.parse( jobId );
+    JobKey jobKey = new JobKey( jobId, quartzJobKey.getUserName() );
 
-    // Update the job with the time of this manual trigger
-    updateJobData( jobKey, jobDataMap );
+    saveTriggerNowDate( scheduler, jobKey, now );
+
+    // Execute the job
+    scheduler.triggerJob( jobKey );
+    invalidateJob( jobId );
   }
 
-  private void updateJobData( JobKey jobKey, JobDataMap newJobData ) throws org.quartz.SchedulerException {
-    // Retrieve the existing job and its triggers
-    JobDetail existingJobDetail = getQuartzScheduler().getJobDetail( jobKey );
-    if ( existingJobDetail == null )  {
+  /**
+   * Records the time of a manual run in the job data. The stored job detail is replaced in place, so the job and its
+   * triggers are left as they are.
+   */
+  private void saveTriggerNowDate( Scheduler scheduler, JobKey jobKey, Date now )
+    throws org.quartz.SchedulerException {
+    JobDetail jobDetail = scheduler.getJobDetail( jobKey );
+    if ( jobDetail == null ) {
       throw new org.quartz.SchedulerException( "Job not found: " + jobKey );
     }
-    Trigger trigger = getSingleJobTrigger( jobKey );
-    if ( trigger == null ) {
-      return; // Should never happen, but just in case
-    }
+    JobDataMap jobDataMap = jobDetail.getJobDataMap();
+    jobDataMap.put( PREVIOUS_TRIGGER_NOW_KEY, now );
 
-    // Create a new JobDetail with the durable property set to true
-    JobDetail newJobDetail = JobBuilder.newJob( existingJobDetail.getJobClass() )
+    JobDetail newJobDetail = JobBuilder.newJob( jobDetail.getJobClass() )
       .withIdentity( jobKey )
-      .usingJobData( newJobData )
+      .withDescription( jobDetail.getDescription() )
+      .storeDurably( jobDetail.isDurable() )
+      .requestRecovery( jobDetail.requestsRecovery() )
+      .usingJobData( jobDataMap )
       .build();
-
-    // Delete the existing job
-    getQuartzScheduler().deleteJob( jobKey );
-    // Reschedule the job with the new JobDetail
-    getQuartzScheduler().scheduleJob( newJobDetail, trigger );
+    // non-durable jobs can only be stored without a trigger when asked to; the job keeps its triggers anyway
+    scheduler.addJob( newJobDetail, true, true );
   }
 
-
   /**
    * Indicates if this trigger was created by quartz internally as a result of a triggerJob call
    * @param trigger the trigger to check
@@ -656,6 +1270,39 @@ public class QuartzScheduler implements IScheduler {
    */
   @SuppressWarnings( "unchecked" )
   public Job getJob( String jobId ) throws SchedulerException {
+    if ( jobCatalog != null ) {
+      return jobCatalog.getJob( jobId );
+    }
+    return readJob( jobId );
+  }
+
+  /**
+   * Loads a job from the job store, bypassing the job catalog. The job is built the same way as the entries of
+   * {@link #getJobs(IJobFilter)}.
+   */
+  Job loadJob( String jobId ) throws SchedulerException {
+    try {
+      Scheduler scheduler = getQuartzScheduler();
+      JobKey jobKey = new JobKey( jobId, QuartzJobKey.parse( jobId ).getUserName() );
+      Trigger trigger = getSingleJobTrigger( jobKey );
+      if ( trigger == null ) {
+        return null;
+      }
+      return buildJob( scheduler, jobKey, trigger, null );
+    } catch ( org.quartz.SchedulerException e ) {
+      throw new SchedulerException( Messages.getInstance().getString(
+        QUARTZ_SCHEDULER_ERROR_0007_FAILED_TO_GET_JOB, jobId ), e );
+    }
+  }
+
+  /**
+   * Loads all the jobs from the job store, bypassing the job catalog.
+   */
+  List<IJob> loadJobs() throws SchedulerException {
+    return listJobs( null );
+  }
+
+  private Job readJob( String jobId ) throws SchedulerException {
     try {
       Scheduler scheduler = getQuartzScheduler();
       QuartzJobKey quartzJobKey = QuartzJobKey.parse( jobId );
@@ -709,35 +1356,162 @@ public class QuartzScheduler implements IScheduler {
    */
   @SuppressWarnings( "unchecked" )
   public List<IJob> getJobs( IJobFilter filter ) throws SchedulerException {
-    ArrayList<IJob> jobs = new ArrayList<>();
+    if ( jobCatalog != null ) {
+      ArrayList<IJob> jobs = new ArrayList<>();
+      forEachCatalogJob( filter, jobs::add );
+      return jobs;
+    }
+    return listJobs( filter );
+  }
+
+  /**
+   * Passes the jobs accepted by the filter to the action one at a time, as they are read. Unlike
+   * {@link #getJobs(IJobFilter)} the jobs are not collected, and a JDBC job store is read through a cursor, one job
+   * group at a time, so the memory needed does not grow with the number of jobs in the scheduler or in a group.
+   *
+   * @param filter the filter the jobs must pass, or null for all the jobs
+   * @param action receives each accepted job
+   * @throws SchedulerException if the jobs cannot be read
+   */
+  public void forEachJob( IJobFilter filter, Consumer<? super IJob> action ) throws SchedulerException {
+    if ( jobCatalog != null ) {
+      forEachCatalogJob( filter, action );
+      return;
+    }
     try {
       Scheduler scheduler = getQuartzScheduler();
+      String jobGroup = getJobGroup( filter );
+      if ( jobGroup != null ) {
+        visitJobs( scheduler, jobGroup, filter, action );
+        return;
+      }
       for ( String groupName : scheduler.getJobGroupNames() ) {
-        scheduler.getJobKeys( GroupMatcher.jobGroupEquals( groupName ) );
-        for ( JobKey jobKey : scheduler.getJobKeys( GroupMatcher.jobGroupEquals( groupName ) ) ) {
-          String jobId = jobKey.getName();
-          Trigger trigger = getSingleJobTrigger( jobKey );
-          if ( trigger == null ) {
-            continue;
-          }
-          Job job = new Job();
-          job.setGroupName( groupName );
-          JobDetail jobDetail = scheduler.getJobDetail( jobKey );
-          if ( jobDetail != null ) {
-            job.setUserName( jobDetail.getKey().getGroup() );
-            job.setJobParams( jobDetail.getJobDataMap().getWrappedMap() );
-          }
+        visitJobs( scheduler, groupName, filter, action );
+      }
+    } catch ( org.quartz.SchedulerException e ) {
+      throw new SchedulerException(
+        Messages.getString( QUARTZ_SCHEDULER_ERROR_0004_FAILED_TO_LIST_JOBS ), e );
+    }
+  }
 
-          job.setJobId( jobId );
-          setJobTrigger( scheduler, job, trigger );
-          job.setJobName( QuartzJobKey.parse( jobId ).getJobName() );
-          setJobNextRun( job, trigger );
-          job.setLastRun( getLastRun( trigger ) );
-          if ( ( filter == null ) || filter.accept( job ) ) {
-            jobs.add( job );
-          }
+  private void forEachCatalogJob( IJobFilter filter, Consumer<? super IJob> action ) throws SchedulerException {
+    jobCatalog.forEachJob( job -> ( filter == null ) || filter.accept( job ), action );
+  }
+
+  /**
+   * Lists the jobs the filter pre-accepts without building their triggers: they carry their id, name, user, state and
+   * run dates, and their parameters if the filter requires them. Sorting and paging these before reading the jobs of
+   * a page with {@link #getJob(String)} spares building the triggers of all the other jobs. The job catalog already
+   * holds whole jobs, so with it the jobs are listed with their triggers.
+   *
+   * @param filter the filter the jobs must pass, judging them by the properties set before the trigger is built
+   * @return the accepted jobs, most of them without a trigger
+   * @throws SchedulerException if the jobs cannot be read
+   */
+  public List<IJob> getJobsWithoutTriggers( IJobPreFilter filter ) throws SchedulerException {
+    List<IJob> jobs = new ArrayList<>();
+    if ( jobCatalog != null ) {
+      forEachCatalogJob( filter, jobs::add );
+    } else {
+      forEachJob( new PreAcceptedJobs( filter, jobs ), job -> { } );
+    }
+    return jobs;
+  }
+
+  /**
+   * Collects the jobs a filter pre-accepts, and then rejects them so their triggers are never built.
+   */
+  private static class PreAcceptedJobs implements IJobPreFilter, IJobGroupFilter, IJobParamsFilter {
+    private final IJobPreFilter filter;
+    private final List<IJob> jobs;
+
+    PreAcceptedJobs( IJobPreFilter filter, List<IJob> jobs ) {
+      this.filter = filter;
+      this.jobs = jobs;
+    }
+
+    @Override
+    public boolean preAccept( IJob job ) {
+      if ( filter.preAccept( job ) ) {
+        jobs.add( job );
+      }
+      return false;
+    }
+
+    @Override
+    public boolean accept( IJob job ) {
+      return false;
+    }
+
+    @Override
+    public String getJobGroup() {
+      return QuartzScheduler.getJobGroup( filter );
+    }
+
+    @Override
+    public boolean isJobParamsRequired() {
+      return QuartzScheduler.isJobParamsRequired( filter );
+    }
+  }
+
+  /**
+   * Lists the jobs accepted by the filter that were added, changed or removed since a version of the job list. A
+   * removed job is only listed if the filter would have accepted it, judging by its id alone.
+   *
+   * @param since  the version of the job list the caller holds
+   * @param filter the filter the jobs must pass, or null for all the jobs
+   * @return the changes, which ask for the whole list to be read again when the changes since that version are not
+   * known
+   */
+  public JobChanges getJobChanges( long since, IJobFilter filter ) throws SchedulerException {
+    JobChanges changes = new JobChanges();
+    if ( jobChangeLog == null ) {
+      changes.setReset( true );
+      return changes;
+    }
+    changes.setVersion( jobChangeLog.getVersion() );
+    Map<String, Boolean> changedJobIds = jobChangeLog.getChangedJobIds( since );
+    if ( changedJobIds == null ) {
+      changes.setReset( true );
+      return changes;
+    }
+    for ( Map.Entry<String, Boolean> entry : changedJobIds.entrySet() ) {
+      String jobId = entry.getKey();
+      boolean added = entry.getValue();
+      Job job = jobCatalog != null ? jobCatalog.getJob( jobId ) : loadJob( jobId );
+      if ( job != null ) {
+        if ( ( filter == null ) || filter.accept( job ) ) {
+          ( added ? changes.getAddedJobs() : changes.getChangedJobs() ).add( job );
         }
+      } else if ( !added && isRemovedJobAccepted( jobId, filter ) ) {
+        changes.getRemovedJobIds().add( jobId );
       }
+    }
+    return changes;
+  }
+
+  private boolean isRemovedJobAccepted( String jobId, IJobFilter filter ) {
+    if ( filter == null ) {
+      return true;
+    }
+    try {
+      QuartzJobKey jobKey = QuartzJobKey.parse( jobId );
+      Job job = new Job();
+      job.setJobId( jobId );
+      job.setJobName( jobKey.getJobName() );
+      job.setUserName( jobKey.getUserName() );
+      job.setGroupName( jobKey.getUserName() );
+      return filter.accept( job );
+    } catch ( SchedulerException e ) {
+      // not the id of a Pentaho job
+      return false;
+    }
+  }
+
+  private List<IJob> listJobs( IJobFilter filter ) throws SchedulerException {
+    ArrayList<IJob> jobs = new ArrayList<>();
+    try {
+      visitJobs( getQuartzScheduler(), getJobGroup( filter ), filter, jobs::add );
     } catch ( org.quartz.SchedulerException e ) {
       throw new SchedulerException(
         Messages.getString( QUARTZ_SCHEDULER_ERROR_0004_FAILED_TO_LIST_JOBS ), e );
@@ -745,8 +1519,159 @@ public class QuartzScheduler implements IScheduler {
     return jobs;
   }
 
+  /**
+   * @return the only job group the filter accepts jobs from, or null if it may accept jobs of any group
+   */
+  private static String getJobGroup( IJobFilter filter ) {
+    return filter instanceof IJobGroupFilter ? ( (IJobGroupFilter) filter ).getJobGroup() : null;
+  }
+
+  private static boolean isJobParamsRequired( IJobFilter filter ) {
+    return !( filter instanceof IJobParamsFilter ) || ( (IJobParamsFilter) filter ).isJobParamsRequired();
+  }
+
+  /**
+   * Reads the jobs of a job group, or of every group when the group name is null, and passes the ones accepted by
+   * the filter to the action.
+   */
+  private void visitJobs( Scheduler scheduler, String groupName, IJobFilter filter, Consumer<? super IJob> action )
+    throws SchedulerException, org.quartz.SchedulerException {
+    if ( jobStoreReader != null ) {
+      try {
+        visitJobsFromJobStore( scheduler, groupName, filter, action );
+        return;
+      } catch ( JobPersistenceException e ) {
+        logger.warn( "Bulk job listing failed, falling back to listing jobs one at a time", e );
+      }
+    }
+    List<String> groupNames = groupName != null ? Collections.singletonList( groupName ) : scheduler.getJobGroupNames();
+    for ( String group : groupNames ) {
+      for ( JobKey jobKey : scheduler.getJobKeys( GroupMatcher.jobGroupEquals( group ) ) ) {
+        Trigger trigger = getSingleJobTrigger( jobKey );
+        if ( trigger == null ) {
+          continue;
+        }
+        Job job = buildJob( scheduler, jobKey, trigger, filter );
+        if ( job != null && ( ( filter == null ) || filter.accept( job ) ) ) {
+          action.accept( job );
+        }
+      }
+    }
+  }
+
+  /**
+   * Builds a job from its Quartz key and trigger.
+   *
+   * @return the job, or null if an {@link IJobPreFilter} rejected it before its trigger was built
+   */
+  private Job buildJob( Scheduler scheduler, JobKey jobKey, Trigger trigger, IJobFilter filter )
+    throws SchedulerException, org.quartz.SchedulerException {
+    String jobId = jobKey.getName();
+    Job job = new Job();
+    job.setGroupName( jobKey.getGroup() );
+    JobDataMap jobDataMap = null;
+    // the job data is read even when the parameters are not needed, for the time of the latest manual run
+    JobDetail jobDetail = scheduler.getJobDetail( jobKey );
+    if ( jobDetail != null ) {
+      job.setUserName( jobDetail.getKey().getGroup() );
+      jobDataMap = jobDetail.getJobDataMap();
+      if ( isJobParamsRequired( filter ) ) {
+        job.setJobParams( jobDataMap.getWrappedMap() );
+      }
+    }
+
+    job.setJobId( jobId );
+    Trigger.TriggerState triggerState =
+      scheduler.getTriggerState( new TriggerKey( jobId, QuartzJobKey.parse( jobId ).getUserName() ) );
+    Date lastRun = getLastRun( trigger, jobDataMap );
+    if ( !preAccept( filter, job, trigger, triggerState, lastRun ) ) {
+      return null;
+    }
+    setJobTrigger( job, trigger, getCalendar( scheduler, trigger ), triggerState, lastRun );
+    setJobNextRun( job, trigger );
+    return job;
+  }
+
+  /**
+   * Gives an {@link IJobPreFilter} the chance to reject a job before its trigger is built.
+   */
+  private boolean preAccept( IJobFilter filter, Job job, Trigger trigger, Trigger.TriggerState triggerState,
+                             Date lastRun ) throws SchedulerException {
+    if ( !( filter instanceof IJobPreFilter ) ) {
+      return true;
+    }
+    job.setJobName( QuartzJobKey.parse( job.getJobId() ).getJobName() );
+    job.setState( toJobState( triggerState ) );
+    job.setLastRun( lastRun );
+    setJobNextRun( job, trigger );
+    return ( (IJobPreFilter) filter ).preAccept( job );
+  }
+
+  /**
+   * Lists the jobs with a few set-based queries against the JDBC job store rather than several scheduler calls per
+   * job. The jobs are read through a cursor and passed on one at a time, so a job group is never held in memory as a
+   * whole. Triggers the reader could not rebuild from their rows are loaded through the scheduler.
+   *
+   * @throws JobPersistenceException if the job store could not be read before any job was passed on, in which case
+   *                                 the jobs can still be listed one at a time
+   */
+  private void visitJobsFromJobStore( Scheduler scheduler, String groupName, IJobFilter filter,
+                                      Consumer<? super IJob> action )
+    throws SchedulerException, org.quartz.SchedulerException {
+    boolean visited = false;
+    try ( QuartzJdbcJobStoreReader.JobStoreCursor cursor = jobStoreReader.openJobs( scheduler.getSchedulerName(),
+      groupName, isJobParamsRequired( filter ) ) ) {
+      for ( QuartzJdbcJobStoreReader.JobStoreEntry entry = cursor.next(); entry != null; entry = cursor.next() ) {
+        visited = true;
+        visitJobStoreEntry( scheduler, entry, filter, action );
+      }
+    } catch ( JobPersistenceException e ) {
+      if ( visited ) {
+        // listing the jobs again would give the filter and the action the jobs already visited a second time
+        throw new org.quartz.SchedulerException( "Failed to read the jobs from the job store", e );
+      }
+      throw e;
+    }
+  }
+
+  private void visitJobStoreEntry( Scheduler scheduler, QuartzJdbcJobStoreReader.JobStoreEntry entry,
+                                      IJobFilter filter, Consumer<? super IJob> action )
+    throws SchedulerException, org.quartz.SchedulerException {
+    Trigger trigger = entry.getTrigger();
+    if ( trigger == null ) {
+      trigger = scheduler.getTrigger( entry.getTriggerKey() );
+      if ( trigger == null ) {
+        return;
+      }
+    }
+    String jobId = entry.getJobKey().getName();
+    Job job = new Job();
+    job.setGroupName( entry.getJobKey().getGroup() );
+    job.setUserName( entry.getJobKey().getGroup() );
+    if ( isJobParamsRequired( filter ) ) {
+      job.setJobParams( entry.getJobDataMap().getWrappedMap() );
+    }
+    job.setJobId( jobId );
+    Date lastRun = getLastRun( trigger, entry.getJobDataMap() );
+    if ( !preAccept( filter, job, trigger, entry.getTriggerState(), lastRun ) ) {
+      return;
+    }
+    setJobTrigger( job, trigger, entry.getCalendar(), entry.getTriggerState(), lastRun );
+    setJobNextRun( job, trigger );
+    if ( ( filter == null ) || filter.accept( job ) ) {
+      action.accept( job );
+    }
+  }
+
   protected Date getLastRun( Trigger trigger ) {
-    Date previousTriggerNow = getPreviousTriggerNow( trigger );
+    return getLastRun( trigger, getPreviousTriggerNow( trigger ) );
+  }
+
+  protected Date getLastRun( Trigger trigger, JobDataMap jobDataMap ) {
+    return getLastRun( trigger, getPreviousTriggerNow( jobDataMap ) );
+  }
+
+  private Date getLastRun( Trigger trigger, Date previousTriggerNow ) {
     Date previousFireTime = trigger.getPreviousFireTime();
 
     if ( previousTriggerNow == null ) {
@@ -767,8 +1692,11 @@ public class QuartzScheduler implements IScheduler {
       return null;
     }
 
-    JobDataMap jobDataMap = jobDetail.getJobDataMap();
-    if ( !jobDetail.getJobDataMap().containsKey( PREVIOUS_TRIGGER_NOW_KEY ) ) {
+    return getPreviousTriggerNow( jobDetail.getJobDataMap() );
+  }
+
+  private Date getPreviousTriggerNow( JobDataMap jobDataMap ) {
+    if ( jobDataMap == null || !jobDataMap.containsKey( PREVIOUS_TRIGGER_NOW_KEY ) ) {
       return null;
     }
 
@@ -794,6 +1722,25 @@ public class QuartzScheduler implements IScheduler {
     QuartzJobKey jobKey = QuartzJobKey.parse( job.getJobId() );
     String groupName = jobKey.getUserName();
 
+    Trigger.TriggerState triggerState = scheduler.getTriggerState( new TriggerKey( job.getJobId(), groupName ) );
+    setJobTrigger( job, trigger, getCalendar( scheduler, trigger ), triggerState, getLastRun( trigger ) );
+  }
+
+  private Calendar getCalendar( Scheduler scheduler, Trigger trigger ) throws org.quartz.SchedulerException {
+    if ( trigger instanceof CronTrigger && trigger.getCalendarName() != null ) {
+      // a shared calendar is named after its content, so it does not need to be read and deserialized
+      Calendar calendar = QuartzAvailabilityCalendars.fromCalendarName( trigger.getCalendarName() );
+      return calendar != null ? calendar : scheduler.getCalendar( trigger.getCalendarName() );
+    }
+    return null;
+  }
+
+  /**
+   * Populates the trigger, state, name and run dates of a job from Quartz objects that have already been loaded, so
+   * the caller decides how (and how often) the job store is queried.
+   */
+  private void setJobTrigger( Job job, Trigger trigger, Calendar calendar, Trigger.TriggerState triggerState,
+                              Date lastRun ) throws SchedulerException {
     if ( trigger instanceof SimpleTrigger ) {
       // handle the legacy case where there were still simple triggers in the DB
       SimpleTrigger simpleTrigger = (SimpleTrigger) trigger;
@@ -855,62 +1802,72 @@ public class QuartzScheduler implements IScheduler {
 
     } else if ( trigger instanceof CronTrigger ) {
       CronTrigger cronTrigger = (CronTrigger) trigger;
-      IComplexJobTrigger complexJobTrigger = createComplexTrigger( cronTrigger.getCronExpression() );
-      complexJobTrigger.setUiPassParam( (String) job.getJobParams().get( RESERVEDMAPKEY_UIPASSPARAM ) );
-      complexJobTrigger.setCronString( cronTrigger.getCronExpression() );
-      List<ITimeRecurrence> timeRecurrences = parseRecurrence( complexJobTrigger.getCronString(), 3 );
-      if ( !timeRecurrences.isEmpty() ) {
-        ITimeRecurrence recurrence = timeRecurrences.get( 0 );
-        if ( recurrence instanceof IncrementalRecurrence ) {
-          IncrementalRecurrence incrementalRecurrence = (IncrementalRecurrence) recurrence;
-          complexJobTrigger.setRepeatInterval( incrementalRecurrence.getIncrement() * 86400L );
-        }
-      } else if ( UI_PASS_PARAM_DAILY.equals( job.getJobParams().get( RESERVEDMAPKEY_UIPASSPARAM ) ) ) {
-        // this is a special case; we know we have a daily schedule and the day of month field was *
-        complexJobTrigger.setRepeatInterval( 86400 );
-      }
-      job.setJobTrigger( complexJobTrigger );
-      if ( trigger.getCalendarName() != null ) {
-        Calendar calendar = scheduler.getCalendar( trigger.getCalendarName() );
-        if ( calendar instanceof QuartzSchedulerAvailability ) {
-          QuartzSchedulerAvailability quartzSchedulerAvailability = (QuartzSchedulerAvailability) calendar;
-
-          setPentahoTriggerDates( complexJobTrigger,
-            quartzSchedulerAvailability.getStartTime(),
-            quartzSchedulerAvailability.getEndTime(),
-            cronTrigger.getTimeZone() );
-        }
+      String uiPassParam = (String) job.getJobParams().get( RESERVEDMAPKEY_UIPASSPARAM );
+      QuartzSchedulerAvailability availability = trigger.getCalendarName() != null
+        && calendar instanceof QuartzSchedulerAvailability ? (QuartzSchedulerAvailability) calendar : null;
+      ComplexJobTriggerCache.Key key = new ComplexJobTriggerCache.Key( cronTrigger.getCronExpression(),
+        cronTrigger.getTimeZone().getID(), availability == null ? null : getTime( availability.getStartTime() ),
+        availability == null ? null : getTime( availability.getEndTime() ), uiPassParam );
+      job.setJobTrigger( complexJobTriggerCache.get( key,
+        () -> toComplexJobTrigger( cronTrigger, availability, uiPassParam ) ) );
+    }
+
+    job.setState( toJobState( triggerState ) );
+    job.setJobName( QuartzJobKey.parse( job.getJobId() ).getJobName() );
+    job.setNextRun( trigger.getNextFireTime() );
+    job.setLastRun( lastRun );
+
+  }
+
+  /**
+   * Converts a Quartz cron trigger. The result only depends on the arguments, so it can be shared by every job with the
+   * same schedule.
+   */
+  private ComplexJobTrigger toComplexJobTrigger( CronTrigger cronTrigger, QuartzSchedulerAvailability availability,
+                                                 String uiPassParam ) {
+    ComplexJobTrigger complexJobTrigger = (ComplexJobTrigger) createComplexTrigger( cronTrigger.getCronExpression() );
+    complexJobTrigger.setUiPassParam( uiPassParam );
+    complexJobTrigger.setCronString( cronTrigger.getCronExpression() );
+    List<ITimeRecurrence> timeRecurrences = parseRecurrence( complexJobTrigger.getCronString(), 3 );
+    if ( !timeRecurrences.isEmpty() ) {
+      ITimeRecurrence recurrence = timeRecurrences.get( 0 );
+      if ( recurrence instanceof IncrementalRecurrence ) {
+        IncrementalRecurrence incrementalRecurrence = (IncrementalRecurrence) recurrence;
+        complexJobTrigger.setRepeatInterval( incrementalRecurrence.getIncrement() * 86400L );
       }
-      complexJobTrigger.setCronString( ( (CronTrigger) trigger ).getCronExpression() );
-      complexJobTrigger.setTimeZone( cronTrigger.getTimeZone().toZoneId().getId() );
+    } else if ( UI_PASS_PARAM_DAILY.equals( uiPassParam ) ) {
+      // this is a special case; we know we have a daily schedule and the day of month field was *
+      complexJobTrigger.setRepeatInterval( 86400 );
+    }
+    if ( availability != null ) {
+      setPentahoTriggerDates( complexJobTrigger,
+        availability.getStartTime(),
+        availability.getEndTime(),
+        cronTrigger.getTimeZone() );
     }
+    complexJobTrigger.setTimeZone( cronTrigger.getTimeZone().toZoneId().getId() );
+    return complexJobTrigger;
+  }
 
-    Trigger.TriggerState triggerState = scheduler.getTriggerState( new TriggerKey( job.getJobId(), groupName ) );
+  private static Long getTime( Date date ) {
+    return date == null ? null : date.getTime();
+  }
+
+  private static JobState toJobState( Trigger.TriggerState triggerState ) {
     switch ( triggerState ) {
       case NORMAL:
-        job.setState( JobState.NORMAL );
-        break;
+        return JobState.NORMAL;
       case BLOCKED:
-        job.setState( JobState.BLOCKED );
-        break;
+        return JobState.BLOCKED;
       case COMPLETE:
-        job.setState( JobState.COMPLETE );
-        break;
+        return JobState.COMPLETE;
       case ERROR:
-        job.setState( JobState.ERROR );
-        break;
+        return JobState.ERROR;
       case PAUSED:
-        job.setState( JobState.PAUSED );
-        break;
+        return JobState.PAUSED;
       default:
-        job.setState( JobState.UNKNOWN );
-        break;
+        return JobState.UNKNOWN;
     }
-
-    job.setJobName( QuartzJobKey.parse( job.getJobId() ).getJobName() );
-    job.setNextRun( trigger.getNextFireTime() );
-    job.setLastRun( getLastRun( trigger ) );
-
   }
 
   private void setPentahoTriggerDates( IJobTrigger trigger, Date start, Date end, TimeZone timeZone ) {
@@ -969,6 +1926,7 @@ public class QuartzScheduler implements IScheduler {
     try {
       Scheduler scheduler = getQuartzScheduler();
       scheduler.pauseJob( new JobKey( jobId, QuartzJobKey.parse( jobId ).getUserName() ) );
+      invalidateJob( jobId );
     } catch ( org.quartz.SchedulerException e ) {
       throw new SchedulerException( Messages
         .getString( QUARTZ_SCHEDULER_ERROR_0005_FAILED_TO_PAUSE_JOBS ), e );
@@ -981,13 +1939,133 @@ public class QuartzScheduler implements IScheduler {
   public void removeJob( String jobId ) throws SchedulerException {
     try {
       Scheduler scheduler = getQuartzScheduler();
-      scheduler.deleteJob( new JobKey( jobId, QuartzJobKey.parse( jobId ).getUserName() ) );
+      String userName = QuartzJobKey.parse( jobId ).getUserName();
+      Trigger trigger = scheduler.getTrigger( new TriggerKey( jobId, userName ) );
+      scheduler.deleteJob( new JobKey( jobId, userName ) );
+      if ( trigger != null ) {
+        releaseCalendar( scheduler, trigger.getCalendarName() );
+      }
+      ActiveBlockouts.deactivate( jobId );
+      invalidateJob( jobId );
     } catch ( org.quartz.SchedulerException e ) {
       throw new SchedulerException( Messages
         .getString( QUARTZ_SCHEDULER_ERROR_0005_FAILED_TO_PAUSE_JOBS ), e );
     }
   }
 
+  /**
+   * Removes several jobs at once. Quartz deletes all the jobs and their triggers with a single call, i.e. in a single
+   * transaction of a JDBC job store, instead of one transaction per job. If that call fails, the jobs are removed one
+   * by one so that a job which cannot be removed does not keep the others. The availability calendars of the removed
+   * jobs are released once their triggers are gone, and deleted if no other job uses them.
+   *
+   * @param jobIds the ids of the jobs to remove
+   * @return the ids of the jobs which are no longer scheduled; malformed ids and the jobs that could not be removed
+   * are left out
+   * @throws SchedulerException if the scheduler cannot be reached, before any job is removed
+   */
+  public List<String> removeJobs( List<String> jobIds ) throws SchedulerException {
+    List<JobKey> jobKeys = new ArrayList<>( jobIds.size() );
+    for ( String jobId : jobIds ) {
+      try {
+        jobKeys.add( new JobKey( jobId, QuartzJobKey.parse( jobId ).getUserName() ) );
+      } catch ( SchedulerException e ) {
+        logger.warn( e.getMessage() );
+      }
+    }
+    if ( jobKeys.isEmpty() ) {
+      return new ArrayList<>();
+    }
+
+    Scheduler scheduler;
+    try {
+      scheduler = getQuartzScheduler();
+    } catch ( org.quartz.SchedulerException e ) {
+      throw new SchedulerException( Messages.getInstance().getString(
+        QUARTZ_SCHEDULER_ERROR_0017_FAILED_TO_REMOVE_JOBS, String.join( ", ", jobIds ) ), e );
+    }
+
+    // the calendar of each job, or null if it has none
+    Map<JobKey, String> calendarNames = new LinkedHashMap<>();
+    for ( JobKey jobKey : jobKeys ) {
+      try {
+        Trigger trigger = scheduler.getTrigger( new TriggerKey( jobKey.getName(), jobKey.getGroup() ) );
+        calendarNames.put( jobKey, trigger != null ? trigger.getCalendarName() : null );
+      } catch ( org.quartz.SchedulerException e ) {
+        logger.warn( Messages.getInstance().getString( QUARTZ_SCHEDULER_ERROR_0017_FAILED_TO_REMOVE_JOBS,
+          jobKey.getName() ), e );
+      }
+    }
+
+    List<JobKey> deletedJobKeys = new ArrayList<>( calendarNames.keySet() );
+    try {
+      scheduler.deleteJobs( deletedJobKeys );
+    } catch ( org.quartz.SchedulerException e ) {
+      logger.warn( Messages.getInstance().getString( QUARTZ_SCHEDULER_ERROR_0017_FAILED_TO_REMOVE_JOBS,
+        String.join( ", ", jobIds ) ), e );
+      deletedJobKeys = deleteJobsOneByOne( scheduler, deletedJobKeys );
+    } finally {
+      calendarNames.keySet().forEach( jobKey -> invalidateJob( jobKey.getName() ) );
+    }
+
+    List<String> removedJobIds = new ArrayList<>( deletedJobKeys.size() );
+    for ( JobKey jobKey : deletedJobKeys ) {
+      // the trigger is gone, so its calendar is no longer referenced by this job
+      String calendarName = calendarNames.get( jobKey );
+      if ( calendarName != null ) {
+        releaseCalendar( scheduler, calendarName );
+      }
+      ActiveBlockouts.deactivate( jobKey.getName() );
+      removedJobIds.add( jobKey.getName() );
+    }
+    return removedJobIds;
+  }
+
+  /**
+   * @return the keys of the jobs which are no longer scheduled
+   */
+  private List<JobKey> deleteJobsOneByOne( Scheduler scheduler, List<JobKey> jobKeys ) {
+    List<JobKey> deletedJobKeys = new ArrayList<>( jobKeys.size() );
+    for ( JobKey jobKey : jobKeys ) {
+      try {
+        // a job which is not found was removed anyway
+        scheduler.deleteJob( jobKey );
+        deletedJobKeys.add( jobKey );
+      } catch ( org.quartz.SchedulerException e ) {
+        logger.warn( Messages.getInstance().getString( QUARTZ_SCHEDULER_ERROR_0017_FAILED_TO_REMOVE_JOBS,
+          jobKey.getName() ), e );
+      }
+    }
+    return deletedJobKeys;
+  }
+
+  /**
+   * Drops the reference of a removed or changed trigger to its calendar. Failing to delete a calendar does not fail
+   * the change of the job; the calendar is left for {@link #compactCalendars()}.
+   */
+  private void releaseCalendar( Scheduler scheduler, String calendarName ) {
+    try {
+      availabilityCalendars.release( scheduler, calendarName );
+    } catch ( org.quartz.SchedulerException e ) {
+      logger.warn( MessageFormat.format( "Failed to delete calendar {0}", calendarName ), e );
+    }
+  }
+
+  /**
+   * Deletes the calendars no trigger references any more, such as the calendars left behind by jobs removed before
+   * the calendars were shared and released with their jobs.
+   *
+   * @return the number of calendars deleted
+   * @throws SchedulerException if the triggers or calendars cannot be read
+   */
+  public int compactCalendars() throws SchedulerException {
+    try {
+      return availabilityCalendars.compact( getQuartzScheduler() );
+    } catch ( org.quartz.SchedulerException e ) {
+      throw new SchedulerException( e );
+    }
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -1006,6 +2084,7 @@ public class QuartzScheduler implements IScheduler {
     try {
       Scheduler scheduler = getQuartzScheduler();
       scheduler.resumeJob( new JobKey( jobId, QuartzJobKey.parse( jobId ).getUserName() ) );
+      invalidateJob( jobId );
     } catch ( org.quartz.SchedulerException e ) {
       throw new SchedulerException( Messages.getString(
         QUARTZ_SCHEDULER_ERROR_0005_FAILED_TO_RESUME_JOBS ), e );
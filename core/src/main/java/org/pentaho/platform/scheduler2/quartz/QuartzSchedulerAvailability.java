@@ -42,42 +42,35 @@ public class QuartzSchedulerAvailability extends BaseCalendar {
     this.endTime = endTime;
   }
 
-  /** {@inheritDoc} */
-  public long getNextIncludedTime( long arg0 ) {
-    long nextIncludedDate = 0;
-    Date date = new Date( arg0 );
-    if ( ( startTime != null ) && ( endTime != null ) ) {
-      if ( !date.before( startTime ) && date.before( endTime ) ) {
-        nextIncludedDate = arg0 + 1;
-      } else if ( date.before( startTime ) ) {
-        nextIncludedDate = startTime.getTime();
-      }
-    } else if ( startTime != null ) {
-      if ( date.before( startTime ) ) {
-        nextIncludedDate = startTime.getTime();
-      } else {
-        nextIncludedDate = arg0 + 1;
-      }
-    } else if ( endTime != null ) {
-      if ( date.before( endTime ) ) {
-        nextIncludedDate = arg0 + 1;
-      }
+  /**
+   * Finds the next included time without stepping through the window: it is the start of the window when the time is
+   * before it, the next millisecond when the time is inside it, and the first time the base calendar, if any,
+   * includes from there.
+   *
+   * @return the first included time after the given time, or 0 if there is none before the end of the window
+   */
+  @Override
+  public long getNextIncludedTime( long timeStamp ) {
+    long nextIncludedTime = timeStamp + 1;
+    if ( startTime != null && nextIncludedTime < startTime.getTime() ) {
+      nextIncludedTime = startTime.getTime();
+    }
+    if ( getBaseCalendar() != null && nextIncludedTime > 0 ) {
+      nextIncludedTime = getBaseCalendar().getNextIncludedTime( nextIncludedTime );
     }
-    return nextIncludedDate;
+    return nextIncludedTime > 0 && ( endTime == null || nextIncludedTime <= endTime.getTime() ) ? nextIncludedTime : 0;
   }
 
-  /** {@inheritDoc} */
-  public boolean isTimeIncluded( long arg0 ) {
-    boolean isIncluded = false;
-    Date date = new Date( arg0 );
-    if ( ( startTime != null ) && ( endTime != null ) ) {
-      isIncluded = !date.before( startTime ) && !date.after( endTime );
-    } else if ( startTime != null ) {
-      isIncluded = !date.before( startTime );
-    } else if ( endTime != null ) {
-      isIncluded = !date.after( endTime );
+  /**
+   * @return true if the time is within the window, both ends included, and the base calendar, if any, includes it
+   */
+  @Override
+  public boolean isTimeIncluded( long timeStamp ) {
+    if ( ( startTime != null && timeStamp < startTime.getTime() )
+      || ( endTime != null && timeStamp > endTime.getTime() ) ) {
+      return false;
     }
-    return isIncluded;
+    return getBaseCalendar() == null || getBaseCalendar().isTimeIncluded( timeStamp );
   }
 
   public Date getStartTime() {
@@ -0,0 +1,301 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.quartz;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.quartz.SchedulerConfigException;
+import org.quartz.spi.ThreadPool;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Quartz thread pool running every job on a thread of its own: a virtual thread when the JVM has them (Java 21 and
+ * later), a pooled platform thread otherwise. Jobs spend most of their time waiting on the repository, JDBC, mail and
+ * file streams, which ties up a platform thread but not a virtual one, so the number of jobs running at once is
+ * capped by a semaphore ({@link #setMaxConcurrency(int)}) rather than by a number of threads.
+ * <p>
+ * Quartz's SimpleThreadPool stays the default; this pool is an opt-in, configured in quartz.properties like the
+ * other pools:
+ * <pre>
+ *   org.quartz.threadPool.class = org.pentaho.platform.scheduler2.quartz.QuartzVirtualThreadPool
+ *   org.quartz.threadPool.maxConcurrency = 10
+ * </pre>
+ * The threadCount of a SimpleThreadPool configuration is taken as the maxConcurrency, so switching pools only takes
+ * changing the class.
+ */
+public class QuartzVirtualThreadPool implements ThreadPool {
+
+  public static final int DEFAULT_MAX_CONCURRENCY = 10;
+
+  private static final long WAIT_INTERVAL_MILLIS = 500;
+
+  private static final Log logger = LogFactory.getLog( QuartzVirtualThreadPool.class );
+
+  private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+  private boolean useVirtualThreads = true;
+
+  private boolean makeThreadsDaemons;
+
+  private int threadPriority = Thread.NORM_PRIORITY;
+
+  private boolean threadsInheritContextClassLoaderOfInitializingThread;
+
+  private String instanceName = "QuartzScheduler"; //$NON-NLS-1$
+
+  private Semaphore permits;
+
+  private final AtomicInteger blockedCallers = new AtomicInteger();
+
+  private final AtomicInteger threadNumber = new AtomicInteger();
+
+  private ThreadFactory virtualThreadFactory;
+
+  private ExecutorService platformThreads;
+
+  private ClassLoader contextClassLoader;
+
+  private volatile boolean shutdown;
+
+  /**
+   * @param maxConcurrency the maximum number of jobs running at once
+   */
+  public void setMaxConcurrency( int maxConcurrency ) {
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  /**
+   * Alias of {@link #setMaxConcurrency(int)}, for the org.quartz.threadPool.threadCount of a SimpleThreadPool
+   * configuration.
+   *
+   * @param threadCount the maximum number of jobs running at once
+   */
+  public void setThreadCount( int threadCount ) {
+    setMaxConcurrency( threadCount );
+  }
+
+  /**
+   * @param useVirtualThreads false to run the jobs on platform threads even when the JVM has virtual threads
+   */
+  public void setUseVirtualThreads( boolean useVirtualThreads ) {
+    this.useVirtualThreads = useVirtualThreads;
+  }
+
+  /**
+   * @return true if the jobs run on virtual threads, once the pool is initialized
+   */
+  public boolean isVirtual() {
+    return virtualThreadFactory != null;
+  }
+
+  /**
+   * @param makeThreadsDaemons true for daemon platform threads; virtual threads always are
+   */
+  public void setMakeThreadsDaemons( boolean makeThreadsDaemons ) {
+    this.makeThreadsDaemons = makeThreadsDaemons;
+  }
+
+  /**
+   * @param threadPriority the priority of the platform threads; virtual threads ignore it
+   */
+  public void setThreadPriority( int threadPriority ) {
+    this.threadPriority = threadPriority;
+  }
+
+  public void setThreadsInheritContextClassLoaderOfInitializingThread( boolean inheritLoader ) {
+    this.threadsInheritContextClassLoaderOfInitializingThread = inheritLoader;
+  }
+
+  /**
+   * @return the number of jobs running
+   */
+  public int getInFlightCount() {
+    return permits == null ? 0 : maxConcurrency - permits.availablePermits();
+  }
+
+  /**
+   * Quartz only calls {@link #runInThread(Runnable)} and {@link #blockForAvailableThreads()} from its scheduler
+   * thread, so this is 1 while the scheduler thread waits for a running job to end and 0 otherwise. Jobs are not
+   * queued in the pool: the triggers due meanwhile wait in the job store.
+   *
+   * @return the number of threads blocked in runInThread or blockForAvailableThreads
+   */
+  public int getBlockedCallerCount() {
+    return blockedCallers.get();
+  }
+
+  @Override
+  public void initialize() throws SchedulerConfigException {
+    if ( maxConcurrency <= 0 ) {
+      throw new SchedulerConfigException( "Thread pool maxConcurrency must be > 0" );
+    }
+    if ( threadPriority < Thread.MIN_PRIORITY || threadPriority > Thread.MAX_PRIORITY ) {
+      throw new SchedulerConfigException( "Thread priority must be > 0 and <= 10" );
+    }
+    permits = new Semaphore( maxConcurrency, true );
+    if ( threadsInheritContextClassLoaderOfInitializingThread ) {
+      contextClassLoader = Thread.currentThread().getContextClassLoader();
+    }
+    virtualThreadFactory = useVirtualThreads ? createVirtualThreadFactory() : null;
+    if ( virtualThreadFactory == null ) {
+      platformThreads = Executors.newCachedThreadPool( this::newPlatformThread );
+    }
+    logger.info( "Quartz jobs of " + instanceName + " run on " + ( isVirtual() ? "virtual" : "platform" )
+      + " threads, at most " + maxConcurrency + " at once" );
+  }
+
+  /**
+   * Runs the job as soon as fewer than {@link #getMaxConcurrency()} jobs are running. Once the pool is shut down, the
+   * job runs on a thread of its own right away, the same as with Quartz's SimpleThreadPool.
+   */
+  @Override
+  public boolean runInThread( Runnable runnable ) {
+    if ( runnable == null ) {
+      return false;
+    }
+    if ( shutdown ) {
+      newThread( runnable ).start();
+      return true;
+    }
+
+    blockedCallers.incrementAndGet();
+    try {
+      permits.acquire();
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      return false;
+    } finally {
+      blockedCallers.decrementAndGet();
+    }
+
+    Runnable job = () -> {
+      try {
+        runnable.run();
+      } finally {
+        permits.release();
+      }
+    };
+    try {
+      if ( platformThreads != null ) {
+        platformThreads.execute( job );
+      } else {
+        newThread( job ).start();
+      }
+    } catch ( RuntimeException | OutOfMemoryError e ) {
+      permits.release();
+      logger.error( "Failed to start a job thread", e );
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public int blockForAvailableThreads() {
+    blockedCallers.incrementAndGet();
+    try {
+      while ( !shutdown ) {
+        if ( permits.tryAcquire( WAIT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS ) ) {
+          permits.release();
+          return Math.max( 1, permits.availablePermits() );
+        }
+      }
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+    } finally {
+      blockedCallers.decrementAndGet();
+    }
+    return permits.availablePermits();
+  }
+
+  @Override
+  public void shutdown( boolean waitForJobsToComplete ) {
+    shutdown = true;
+    if ( waitForJobsToComplete && permits != null ) {
+      permits.acquireUninterruptibly( maxConcurrency );
+      permits.release( maxConcurrency );
+    }
+    if ( platformThreads != null ) {
+      platformThreads.shutdown();
+    }
+  }
+
+  @Override
+  public int getPoolSize() {
+    return maxConcurrency;
+  }
+
+  @Override
+  public void setInstanceId( String schedInstId ) {
+    // the threads are named after the scheduler name only
+  }
+
+  @Override
+  public void setInstanceName( String schedName ) {
+    this.instanceName = schedName;
+  }
+
+  @Override
+  public String toString() {
+    return "QuartzVirtualThreadPool[inFlight=" + getInFlightCount() + ", blockedCallers=" + getBlockedCallerCount()
+      + ", maxConcurrency=" + maxConcurrency + ", virtual=" + isVirtual() + "]";
+  }
+
+  private Thread newThread( Runnable runnable ) {
+    if ( virtualThreadFactory == null ) {
+      return newPlatformThread( runnable );
+    }
+    Thread thread = virtualThreadFactory.newThread( runnable );
+    thread.setName( instanceName + "_VirtualWorker-" + threadNumber.incrementAndGet() );
+    if ( contextClassLoader != null ) {
+      thread.setContextClassLoader( contextClassLoader );
+    }
+    return thread;
+  }
+
+  private Thread newPlatformThread( Runnable runnable ) {
+    Thread thread = new Thread( runnable, instanceName + "_Worker-" + threadNumber.incrementAndGet() );
+    thread.setDaemon( makeThreadsDaemons );
+    thread.setPriority( threadPriority );
+    if ( contextClassLoader != null ) {
+      thread.setContextClassLoader( contextClassLoader );
+    }
+    return thread;
+  }
+
+  /**
+   * Looks virtual threads up by reflection, as the plugin is built for Java versions that do not have them.
+   *
+   * @return a factory of virtual threads, or null if the JVM cannot create them
+   */
+  static ThreadFactory createVirtualThreadFactory() {
+    try {
+      Object builder = Thread.class.getMethod( "ofVirtual" ).invoke( null );
+      return (ThreadFactory) Class.forName( "java.lang.Thread$Builder" ).getMethod( "factory" )
+        .invoke( builder );
+    } catch ( ReflectiveOperationException | RuntimeException e ) {
+      // before Java 21, or Java 19 and 20 without preview features
+      return null;
+    }
+  }
+}
@@ -19,7 +19,6 @@ import org.apache.commons.logging.LogFactory;
 import org.pentaho.platform.api.engine.IAuthorizationPolicy;
 import org.pentaho.platform.api.engine.IPentahoSession;
 import org.pentaho.platform.api.scheduler2.ComplexJobTrigger;
-import org.pentaho.platform.api.scheduler2.IBlockoutManager;
 import org.pentaho.platform.api.scheduler2.IJob;
 import org.pentaho.platform.api.scheduler2.IScheduler;
 import org.pentaho.platform.api.scheduler2.Job;
@@ -28,6 +27,7 @@ import org.pentaho.platform.api.scheduler2.SchedulerException;
 import org.pentaho.platform.api.scheduler2.SimpleJobTrigger;
 import org.pentaho.platform.engine.core.system.PentahoSessionHolder;
 import org.pentaho.platform.engine.core.system.PentahoSystem;
+import org.pentaho.platform.scheduler2.VisibleJobsFilter;
 import org.pentaho.platform.security.policy.rolebased.actions.SchedulerAction;
 import org.pentaho.platform.security.policy.rolebased.actions.SchedulerExecuteAction;
 
@@ -105,18 +105,17 @@ public class DefaultSchedulerService implements ISchedulerService {
 
   /**
    * {@inheritDoc}
+   * <p>
+   * The web service contract returns the jobs as an array, which JAX-WS marshals as a whole, so this listing is not
+   * streamed. Large job lists are best read from the <code>/getJobs/stream</code> REST endpoint.
    */
   public Job[] getJobs() throws SchedulerException {
     String principalName = getPentahoSession().getName();
     boolean canAdminister = getAuthorizationPolicy().isAllowed( ADMIN_PERM );
     boolean canExecuteScheduler = getAuthorizationPolicy().isAllowed( SchedulerExecuteAction.NAME );
 
-    return getScheduler2().getJobs( job -> {
-      if ( canAdminister || canExecuteScheduler ) {
-        return !IBlockoutManager.BLOCK_OUT_JOB_NAME.equals( job.getJobName() );
-      }
-      return principalName.equals( job.getUserName() );
-    } ).toArray( new Job[ 0 ] );
+    return getScheduler2().getJobs( new VisibleJobsFilter( principalName, canAdminister || canExecuteScheduler ) )
+      .toArray( new Job[ 0 ] );
   }
 
   /**
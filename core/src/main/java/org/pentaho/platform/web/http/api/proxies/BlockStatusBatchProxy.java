@@ -0,0 +1,41 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.web.http.api.proxies;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The block statuses of a batch of schedules, in the order of the request.
+ */
+@XmlRootElement
+public class BlockStatusBatchProxy {
+  List<JobBlockStatusProxy> blockStatuses = new ArrayList<>();
+
+  public BlockStatusBatchProxy() {
+  }
+
+  public BlockStatusBatchProxy( List<JobBlockStatusProxy> blockStatuses ) {
+    this.blockStatuses = blockStatuses;
+  }
+
+  public List<JobBlockStatusProxy> getBlockStatuses() {
+    return blockStatuses;
+  }
+
+  public void setBlockStatuses( List<JobBlockStatusProxy> blockStatuses ) {
+    this.blockStatuses = blockStatuses;
+  }
+}
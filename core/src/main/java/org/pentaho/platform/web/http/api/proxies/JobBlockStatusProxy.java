@@ -0,0 +1,90 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.web.http.api.proxies;
+
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.apache.commons.lang.builder.ToStringBuilder;
+
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * The block status of one schedule of a batch, with the id and name of its job.
+ */
+@XmlRootElement
+public class JobBlockStatusProxy extends BlockStatusProxy {
+  String jobId;
+  String jobName;
+
+  public JobBlockStatusProxy() {
+    super();
+  }
+
+  public JobBlockStatusProxy( String jobId, String jobName, Boolean totallyBlocked, Boolean partiallyBlocked ) {
+    super( totallyBlocked, partiallyBlocked );
+    this.jobId = jobId;
+    this.jobName = jobName;
+  }
+
+  public String getJobId() {
+    return jobId;
+  }
+
+  public void setJobId( String jobId ) {
+    this.jobId = jobId;
+  }
+
+  public String getJobName() {
+    return jobName;
+  }
+
+  public void setJobName( String jobName ) {
+    this.jobName = jobName;
+  }
+
+  @Override public boolean equals( Object o ) {
+    if ( this == o ) {
+      return true;
+    }
+
+    if ( o == null || getClass() != o.getClass() ) {
+      return false;
+    }
+
+    JobBlockStatusProxy that = (JobBlockStatusProxy) o;
+
+    return new EqualsBuilder()
+      .appendSuper( super.equals( o ) )
+      .append( jobId, that.jobId )
+      .append( jobName, that.jobName )
+      .isEquals();
+  }
+
+  @Override public int hashCode() {
+    return new HashCodeBuilder( 17, 37 )
+      .appendSuper( super.hashCode() )
+      .append( jobId )
+      .append( jobName )
+      .toHashCode();
+  }
+
+  @Override public String toString() {
+    return new ToStringBuilder( this )
+      .append( "jobId", jobId )
+      .append( "jobName", jobName )
+      .append( "partiallyBlocked", partiallyBlocked )
+      .append( "totallyBlocked", totallyBlocked )
+      .toString();
+  }
+}
@@ -0,0 +1,57 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.web.http.api.resources;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The schedules to check against the blockouts in one request: schedules being edited, given as schedule requests,
+ * and existing jobs, given by id. When neither is given every schedule the user can see is checked. The schedules
+ * are checked against the current blockouts, or only against the given blockout to see which schedules a new
+ * blockout would affect.
+ */
+@XmlRootElement
+public class BlockStatusBatchRequest implements Serializable {
+  private static final long serialVersionUID = 3878526447263196263L;
+  private List<JobScheduleRequest> jobScheduleRequests = new ArrayList<>();
+  private List<String> jobIds = new ArrayList<>();
+  private JobScheduleRequest blockout;
+
+  public List<JobScheduleRequest> getJobScheduleRequests() {
+    return jobScheduleRequests;
+  }
+
+  public void setJobScheduleRequests( List<JobScheduleRequest> jobScheduleRequests ) {
+    this.jobScheduleRequests = jobScheduleRequests;
+  }
+
+  public List<String> getJobIds() {
+    return jobIds;
+  }
+
+  public void setJobIds( List<String> jobIds ) {
+    this.jobIds = jobIds;
+  }
+
+  public JobScheduleRequest getBlockout() {
+    return blockout;
+  }
+
+  public void setBlockout( JobScheduleRequest blockout ) {
+    this.blockout = blockout;
+  }
+}
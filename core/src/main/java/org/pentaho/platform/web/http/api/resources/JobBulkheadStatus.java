@@ -0,0 +1,112 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.web.http.api.resources;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import java.io.Serializable;
+
+@XmlRootElement
+public class JobBulkheadStatus implements Serializable {
+  private static final long serialVersionUID = -5180743362921741735L;
+  private String name;
+  private int maxConcurrency;
+  private int maxQueue;
+  private int running;
+  private int queued;
+  private double utilization;
+  private long completed;
+  private long rejected;
+  private long averageQueueWaitMillis;
+  private long maxQueueWaitMillis;
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName( String name ) {
+    this.name = name;
+  }
+
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  public void setMaxConcurrency( int maxConcurrency ) {
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  public int getMaxQueue() {
+    return maxQueue;
+  }
+
+  public void setMaxQueue( int maxQueue ) {
+    this.maxQueue = maxQueue;
+  }
+
+  public int getRunning() {
+    return running;
+  }
+
+  public void setRunning( int running ) {
+    this.running = running;
+  }
+
+  public int getQueued() {
+    return queued;
+  }
+
+  public void setQueued( int queued ) {
+    this.queued = queued;
+  }
+
+  public double getUtilization() {
+    return utilization;
+  }
+
+  public void setUtilization( double utilization ) {
+    this.utilization = utilization;
+  }
+
+  public long getCompleted() {
+    return completed;
+  }
+
+  public void setCompleted( long completed ) {
+    this.completed = completed;
+  }
+
+  public long getRejected() {
+    return rejected;
+  }
+
+  public void setRejected( long rejected ) {
+    this.rejected = rejected;
+  }
+
+  public long getAverageQueueWaitMillis() {
+    return averageQueueWaitMillis;
+  }
+
+  public void setAverageQueueWaitMillis( long averageQueueWaitMillis ) {
+    this.averageQueueWaitMillis = averageQueueWaitMillis;
+  }
+
+  public long getMaxQueueWaitMillis() {
+    return maxQueueWaitMillis;
+  }
+
+  public void setMaxQueueWaitMillis( long maxQueueWaitMillis ) {
+    this.maxQueueWaitMillis = maxQueueWaitMillis;
+  }
+}
@@ -0,0 +1,87 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.web.http.api.resources;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+@XmlRootElement
+public class JobCatalogStatus implements Serializable {
+  private static final long serialVersionUID = 3816514526018370249L;
+  private boolean enabled;
+  private boolean consistent;
+  private int cachedJobCount;
+  private int storedJobCount;
+  private List<String> missingJobIds = new ArrayList<>();
+  private List<String> unexpectedJobIds = new ArrayList<>();
+  private List<String> outdatedJobIds = new ArrayList<>();
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled( boolean enabled ) {
+    this.enabled = enabled;
+  }
+
+  public boolean isConsistent() {
+    return consistent;
+  }
+
+  public void setConsistent( boolean consistent ) {
+    this.consistent = consistent;
+  }
+
+  public int getCachedJobCount() {
+    return cachedJobCount;
+  }
+
+  public void setCachedJobCount( int cachedJobCount ) {
+    this.cachedJobCount = cachedJobCount;
+  }
+
+  public int getStoredJobCount() {
+    return storedJobCount;
+  }
+
+  public void setStoredJobCount( int storedJobCount ) {
+    this.storedJobCount = storedJobCount;
+  }
+
+  public List<String> getMissingJobIds() {
+    return missingJobIds;
+  }
+
+  public void setMissingJobIds( List<String> missingJobIds ) {
+    this.missingJobIds = missingJobIds;
+  }
+
+  public List<String> getUnexpectedJobIds() {
+    return unexpectedJobIds;
+  }
+
+  public void setUnexpectedJobIds( List<String> unexpectedJobIds ) {
+    this.unexpectedJobIds = unexpectedJobIds;
+  }
+
+  public List<String> getOutdatedJobIds() {
+    return outdatedJobIds;
+  }
+
+  public void setOutdatedJobIds( List<String> outdatedJobIds ) {
+    this.outdatedJobIds = outdatedJobIds;
+  }
+}
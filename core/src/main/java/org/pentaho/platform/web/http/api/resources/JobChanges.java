@@ -0,0 +1,75 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.web.http.api.resources;
+
+import org.pentaho.platform.api.scheduler2.Job;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The jobs added, changed and removed since a version of the job list. When <code>reset</code> is set the changes
+ * since that version are not known, and the whole list has to be read again.
+ */
+@XmlRootElement
+public class JobChanges implements Serializable {
+  private static final long serialVersionUID = -6243137563214805190L;
+  private long version;
+  private boolean reset;
+  private List<Job> addedJobs = new ArrayList<>();
+  private List<Job> changedJobs = new ArrayList<>();
+  private List<String> removedJobIds = new ArrayList<>();
+
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion( long version ) {
+    this.version = version;
+  }
+
+  public boolean isReset() {
+    return reset;
+  }
+
+  public void setReset( boolean reset ) {
+    this.reset = reset;
+  }
+
+  public List<Job> getAddedJobs() {
+    return addedJobs;
+  }
+
+  public void setAddedJobs( List<Job> addedJobs ) {
+    this.addedJobs = addedJobs;
+  }
+
+  public List<Job> getChangedJobs() {
+    return changedJobs;
+  }
+
+  public void setChangedJobs( List<Job> changedJobs ) {
+    this.changedJobs = changedJobs;
+  }
+
+  public List<String> getRemovedJobIds() {
+    return removedJobIds;
+  }
+
+  public void setRemovedJobIds( List<String> removedJobIds ) {
+    this.removedJobIds = removedJobIds;
+  }
+}
@@ -0,0 +1,94 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.web.http.api.resources;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import java.io.Serializable;
+
+@XmlRootElement
+public class JobFairShareStatus implements Serializable {
+  private static final long serialVersionUID = 2248571920378419665L;
+  private String userName;
+  private int weight;
+  private int running;
+  private int queued;
+  private long completed;
+  private long averageQueueWaitMillis;
+  private long maxQueueWaitMillis;
+  private long oldestQueueWaitMillis;
+
+  public String getUserName() {
+    return userName;
+  }
+
+  public void setUserName( String userName ) {
+    this.userName = userName;
+  }
+
+  public int getWeight() {
+    return weight;
+  }
+
+  public void setWeight( int weight ) {
+    this.weight = weight;
+  }
+
+  public int getRunning() {
+    return running;
+  }
+
+  public void setRunning( int running ) {
+    this.running = running;
+  }
+
+  public int getQueued() {
+    return queued;
+  }
+
+  public void setQueued( int queued ) {
+    this.queued = queued;
+  }
+
+  public long getCompleted() {
+    return completed;
+  }
+
+  public void setCompleted( long completed ) {
+    this.completed = completed;
+  }
+
+  public long getAverageQueueWaitMillis() {
+    return averageQueueWaitMillis;
+  }
+
+  public void setAverageQueueWaitMillis( long averageQueueWaitMillis ) {
+    this.averageQueueWaitMillis = averageQueueWaitMillis;
+  }
+
+  public long getMaxQueueWaitMillis() {
+    return maxQueueWaitMillis;
+  }
+
+  public void setMaxQueueWaitMillis( long maxQueueWaitMillis ) {
+    this.maxQueueWaitMillis = maxQueueWaitMillis;
+  }
+
+  public long getOldestQueueWaitMillis() {
+    return oldestQueueWaitMillis;
+  }
+
+  public void setOldestQueueWaitMillis( long oldestQueueWaitMillis ) {
+    this.oldestQueueWaitMillis = oldestQueueWaitMillis;
+  }
+}
@@ -0,0 +1,173 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.web.http.api.resources;
+
+import org.pentaho.platform.api.scheduler2.ComplexJobTrigger;
+import org.pentaho.platform.api.scheduler2.IJob;
+import org.pentaho.platform.api.scheduler2.IJobTrigger;
+import org.pentaho.platform.api.scheduler2.JobState;
+import org.pentaho.platform.api.scheduler2.JobTrigger;
+import org.pentaho.platform.api.scheduler2.SimpleJobTrigger;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * The part of a job the schedules table shows: its id, name, owner, state, run dates and a summary of its trigger.
+ * Unlike {@link org.pentaho.platform.api.scheduler2.Job} it has no job parameters, which are by far the largest part
+ * of a job; the full job is available from "GET pentaho/api/scheduler/jobinfo".
+ */
+@XmlRootElement( name = "job" )
+public class JobSummary implements Serializable {
+  private static final long serialVersionUID = 2930378716543907342L;
+  private String jobId;
+  private String jobName;
+  private String userName;
+  private JobState state;
+  private Date nextRun;
+  private Date lastRun;
+  private String cronString;
+  private String cronDescription;
+  private long repeatInterval;
+  private Date startTime;
+  private Date endTime;
+  private String timeZone;
+
+  public JobSummary() {
+  }
+
+  public JobSummary( IJob job ) {
+    jobId = job.getJobId();
+    jobName = job.getJobName();
+    userName = job.getUserName();
+    state = job.getState();
+    nextRun = job.getNextRun();
+    lastRun = job.getLastRun();
+    IJobTrigger trigger = job.getJobTrigger();
+    if ( trigger != null ) {
+      cronString = trigger.getCronString();
+      startTime = trigger.getStartTime();
+      endTime = trigger.getEndTime();
+      timeZone = trigger.getTimeZone();
+      if ( trigger instanceof JobTrigger ) {
+        cronDescription = ( (JobTrigger) trigger ).getCronDescription();
+      }
+      if ( trigger instanceof ComplexJobTrigger ) {
+        repeatInterval = ( (ComplexJobTrigger) trigger ).getRepeatInterval();
+      } else if ( trigger instanceof SimpleJobTrigger ) {
+        repeatInterval = ( (SimpleJobTrigger) trigger ).getRepeatInterval();
+      }
+    }
+  }
+
+  public String getJobId() {
+    return jobId;
+  }
+
+  public void setJobId( String jobId ) {
+    this.jobId = jobId;
+  }
+
+  public String getJobName() {
+    return jobName;
+  }
+
+  public void setJobName( String jobName ) {
+    this.jobName = jobName;
+  }
+
+  public String getUserName() {
+    return userName;
+  }
+
+  public void setUserName( String userName ) {
+    this.userName = userName;
+  }
+
+  public JobState getState() {
+    return state;
+  }
+
+  public void setState( JobState state ) {
+    this.state = state;
+  }
+
+  public Date getNextRun() {
+    return nextRun;
+  }
+
+  public void setNextRun( Date nextRun ) {
+    this.nextRun = nextRun;
+  }
+
+  public Date getLastRun() {
+    return lastRun;
+  }
+
+  public void setLastRun( Date lastRun ) {
+    this.lastRun = lastRun;
+  }
+
+  public String getCronString() {
+    return cronString;
+  }
+
+  public void setCronString( String cronString ) {
+    this.cronString = cronString;
+  }
+
+  public String getCronDescription() {
+    return cronDescription;
+  }
+
+  public void setCronDescription( String cronDescription ) {
+    this.cronDescription = cronDescription;
+  }
+
+  /**
+   * @return the number of seconds between runs, or 0 if the trigger does not repeat at a fixed interval
+   */
+  public long getRepeatInterval() {
+    return repeatInterval;
+  }
+
+  public void setRepeatInterval( long repeatInterval ) {
+    this.repeatInterval = repeatInterval;
+  }
+
+  public Date getStartTime() {
+    return startTime;
+  }
+
+  public void setStartTime( Date startTime ) {
+    this.startTime = startTime;
+  }
+
+  public Date getEndTime() {
+    return endTime;
+  }
+
+  public void setEndTime( Date endTime ) {
+    this.endTime = endTime;
+  }
+
+  public String getTimeZone() {
+    return timeZone;
+  }
+
+  public void setTimeZone( String timeZone ) {
+    this.timeZone = timeZone;
+  }
+}
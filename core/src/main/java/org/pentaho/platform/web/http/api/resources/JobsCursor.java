@@ -0,0 +1,32 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.web.http.api.resources;
+
+import org.pentaho.platform.api.scheduler2.IJob;
+import org.pentaho.platform.api.scheduler2.SchedulerException;
+
+import java.util.function.Consumer;
+
+/**
+ * A single forward pass over a list of jobs that reads the jobs one at a time as they are passed on, rather than
+ * collecting them first.
+ */
+public interface JobsCursor {
+
+  /**
+   * @param action receives each job, in the order they are read
+   * @throws SchedulerException if the jobs cannot be read
+   */
+  void forEach( Consumer<? super IJob> action ) throws SchedulerException;
+}
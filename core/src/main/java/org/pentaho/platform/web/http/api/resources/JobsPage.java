@@ -0,0 +1,39 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.web.http.api.resources;
+
+import org.pentaho.platform.api.scheduler2.IJob;
+
+import java.util.List;
+
+/**
+ * One page of the jobs matching a {@link JobsQuery}, together with the number of jobs matching it across all pages.
+ */
+public class JobsPage {
+  private final List<IJob> jobs;
+  private final int totalCount;
+
+  public JobsPage( List<IJob> jobs, int totalCount ) {
+    this.jobs = jobs;
+    this.totalCount = totalCount;
+  }
+
+  public List<IJob> getJobs() {
+    return jobs;
+  }
+
+  public int getTotalCount() {
+    return totalCount;
+  }
+}
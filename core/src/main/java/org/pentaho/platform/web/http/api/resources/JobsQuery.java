@@ -0,0 +1,278 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.web.http.api.resources;
+
+import org.apache.commons.lang.StringUtils;
+import org.pentaho.platform.api.scheduler2.IJob;
+import org.pentaho.platform.api.scheduler2.IScheduler;
+
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Filtering, sorting and paging criteria for a list of jobs. All the criteria are optional; an empty query matches
+ * every job and returns them unsorted and unpaged.
+ */
+public class JobsQuery implements Serializable {
+  private static final long serialVersionUID = -3302738185245227318L;
+
+  static final String STREAM_PROVIDER_INPUT_FILE_PARAM = "ActionAdapterQuartzJob-StreamProvider-InputFile"; //$NON-NLS-1$
+  private static final String INPUT_FILE_SEPARATOR = "input file ="; //$NON-NLS-1$
+  private static final String OUTPUT_FILE_SEPARATOR = ":output file\\s*=|:outputFile\\s*="; //$NON-NLS-1$
+
+  public enum SortKey {
+    JOB_ID( IJob::getJobId ),
+    JOB_NAME( IJob::getJobName ),
+    RESOURCE( JobsQuery::getShortResourcePath ),
+    USER_NAME( IJob::getUserName ),
+    STATE( job -> job.getState() == null ? null : job.getState().name() ),
+    NEXT_RUN( IJob::getNextRun ),
+    LAST_RUN( IJob::getLastRun );
+
+    private final Comparator<IJob> comparator;
+
+    <T extends Comparable<? super T>> SortKey( Function<IJob, T> key ) {
+      this.comparator = Comparator.comparing( key, Comparator.nullsFirst( Comparator.naturalOrder() ) );
+    }
+
+    public Comparator<IJob> getComparator() {
+      return comparator;
+    }
+
+    /**
+     * @param name the name of the sort key, case and separator insensitive (e.g. "nextRun" or "NEXT_RUN")
+     * @return the sort key, or null if the name is empty
+     */
+    public static SortKey parse( String name ) {
+      if ( StringUtils.isEmpty( name ) ) {
+        return null;
+      }
+      String normalized = name.replace( "_", "" ).replace( "-", "" );
+      for ( SortKey sortKey : values() ) {
+        if ( sortKey.name().replace( "_", "" ).equalsIgnoreCase( normalized ) ) {
+          return sortKey;
+        }
+      }
+      throw new IllegalArgumentException( "Unknown sort key: " + name ); //$NON-NLS-1$
+    }
+  }
+
+  private int offset;
+  private int limit = -1;
+  private SortKey sortKey;
+  private boolean ascending = true;
+  private String userName;
+  private String state;
+  private String scheduleType;
+  private String resourceName;
+  private Date nextRunAfter;
+  private Date nextRunBefore;
+  private boolean jobParamsRequired = true;
+
+  public int getOffset() {
+    return offset;
+  }
+
+  public void setOffset( int offset ) {
+    if ( offset < 0 ) {
+      throw new IllegalArgumentException( "Invalid offset!" );
+    }
+    this.offset = offset;
+  }
+
+  /**
+   * @return the maximum number of jobs to return, or a negative value for no limit
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  public void setLimit( int limit ) {
+    this.limit = limit;
+  }
+
+  public SortKey getSortKey() {
+    return sortKey;
+  }
+
+  public void setSortKey( SortKey sortKey ) {
+    this.sortKey = sortKey;
+  }
+
+  public boolean isAscending() {
+    return ascending;
+  }
+
+  public void setAscending( boolean ascending ) {
+    this.ascending = ascending;
+  }
+
+  public String getUserName() {
+    return userName;
+  }
+
+  public void setUserName( String userName ) {
+    this.userName = userName;
+  }
+
+  public String getState() {
+    return state;
+  }
+
+  public void setState( String state ) {
+    this.state = state;
+  }
+
+  public String getScheduleType() {
+    return scheduleType;
+  }
+
+  public void setScheduleType( String scheduleType ) {
+    this.scheduleType = scheduleType;
+  }
+
+  public String getResourceName() {
+    return resourceName;
+  }
+
+  public void setResourceName( String resourceName ) {
+    this.resourceName = resourceName;
+  }
+
+  public Date getNextRunAfter() {
+    return nextRunAfter;
+  }
+
+  public void setNextRunAfter( Date nextRunAfter ) {
+    this.nextRunAfter = nextRunAfter;
+  }
+
+  public Date getNextRunBefore() {
+    return nextRunBefore;
+  }
+
+  public void setNextRunBefore( Date nextRunBefore ) {
+    this.nextRunBefore = nextRunBefore;
+  }
+
+  /**
+   * @return true if the job parameters are needed, by the caller or by the filters and sort key of this query
+   */
+  public boolean isJobParamsRequired() {
+    return jobParamsRequired || isJobParamsMatched();
+  }
+
+  /**
+   * @return true if the filters or the sort key of this query look at the job parameters. The last run is not one of
+   * them: jobs listed without their parameters still get the time of their latest manual run, so they sort by the
+   * same last run they show.
+   */
+  public boolean isJobParamsMatched() {
+    return StringUtils.isNotEmpty( scheduleType ) || StringUtils.isNotEmpty( resourceName )
+      || sortKey == SortKey.RESOURCE;
+  }
+
+  /**
+   * @param jobParamsRequired false if the caller does not use the job parameters, e.g. to list {@link JobSummary}s
+   */
+  public void setJobParamsRequired( boolean jobParamsRequired ) {
+    this.jobParamsRequired = jobParamsRequired;
+  }
+
+  /**
+   * @return true if the query neither filters, sorts nor pages the jobs
+   */
+  public boolean isEmpty() {
+    return offset == 0 && limit < 0 && sortKey == null && !hasFilter();
+  }
+
+  public boolean hasFilter() {
+    return StringUtils.isNotEmpty( userName ) || StringUtils.isNotEmpty( state )
+      || StringUtils.isNotEmpty( scheduleType ) || StringUtils.isNotEmpty( resourceName )
+      || nextRunAfter != null || nextRunBefore != null;
+  }
+
+  /**
+   * Checks the job against the filters of this query. Only the job id, name, user, parameters, state and next run
+   * are used, so jobs can be checked before their trigger is built. The schedule type is matched against the
+   * uiPassParam job parameter set when the job is scheduled from the user console.
+   *
+   * @param job the job to check
+   * @return true if the job matches every filter
+   */
+  public boolean matches( IJob job ) {
+    if ( StringUtils.isNotEmpty( userName ) && !userName.equalsIgnoreCase( job.getUserName() ) ) {
+      return false;
+    }
+    if ( StringUtils.isNotEmpty( state ) && ( job.getState() == null || !state.equalsIgnoreCase( job.getState()
+      .name() ) ) ) {
+      return false;
+    }
+    if ( StringUtils.isNotEmpty( scheduleType ) && !scheduleType.equalsIgnoreCase( getParam( job,
+      IScheduler.RESERVEDMAPKEY_UIPASSPARAM ) ) ) {
+      return false;
+    }
+    if ( StringUtils.isNotEmpty( resourceName ) && !getShortResourcePath( job ).toLowerCase( Locale.ROOT ).contains(
+      resourceName.toLowerCase( Locale.ROOT ) ) ) {
+      return false;
+    }
+    if ( nextRunAfter != null && ( job.getNextRun() == null || !job.getNextRun().after( nextRunAfter ) ) ) {
+      return false;
+    }
+    return nextRunBefore == null || ( job.getNextRun() != null && job.getNextRun().before( nextRunBefore ) );
+  }
+
+  /**
+   * @return the order of the jobs, or null if the jobs are not sorted
+   */
+  public Comparator<IJob> getComparator() {
+    if ( sortKey == null ) {
+      return null;
+    }
+    return ascending ? sortKey.getComparator() : sortKey.getComparator().reversed();
+  }
+
+  /**
+   * The path of the scheduled resource, the same way the schedules perspective shows it.
+   */
+  public static String getResourcePath( IJob job ) {
+    String inputFile = getParam( job, STREAM_PROVIDER_INPUT_FILE_PARAM );
+    if ( StringUtils.isNotEmpty( inputFile ) ) {
+      return inputFile;
+    }
+    String streamProvider = getParam( job, IScheduler.RESERVEDMAPKEY_STREAMPROVIDER );
+    if ( StringUtils.isEmpty( streamProvider ) ) {
+      return job.getJobName();
+    }
+    String inputPart = streamProvider.split( OUTPUT_FILE_SEPARATOR )[ 0 ];
+    int inputStart = inputPart.indexOf( INPUT_FILE_SEPARATOR );
+    if ( inputStart == -1 ) {
+      return job.getJobName();
+    }
+    return inputPart.substring( inputStart + INPUT_FILE_SEPARATOR.length() ).trim();
+  }
+
+  static String getShortResourcePath( IJob job ) {
+    String resource = StringUtils.defaultString( getResourcePath( job ) );
+    return resource.substring( resource.lastIndexOf( '/' ) + 1 );
+  }
+
+  private static String getParam( IJob job, String name ) {
+    Object value = job.getJobParams() == null ? null : job.getJobParams().get( name );
+    return value == null ? null : value.toString();
+  }
+}
@@ -0,0 +1,148 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.web.http.api.resources;
+
+import com.sun.jersey.api.json.JSONJAXBContext;
+import com.sun.jersey.api.json.JSONMarshaller;
+import org.pentaho.platform.api.scheduler2.IJob;
+import org.pentaho.platform.api.scheduler2.SchedulerException;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import java.io.BufferedWriter;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Writes the jobs of a {@link JobsCursor} to the response as they are read, in the same JSON or XML form the
+ * non-streaming job list endpoints produce. Only the job being written is held in memory, so the memory needed per
+ * request does not grow with the number of jobs.
+ */
+public class JobsStreamingOutput implements StreamingOutput {
+
+  private static final String JOB_ELEMENT = "job"; //$NON-NLS-1$
+  private static final String JOBS_ELEMENT = "jobs"; //$NON-NLS-1$
+  private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"; //$NON-NLS-1$
+
+  private final JobsCursor cursor;
+  private final JAXBContext context;
+  private final boolean json;
+  private final Function<? super IJob, ?> projection;
+
+  /**
+   * @param cursor  the jobs to write
+   * @param context the JAXB context for {@link org.pentaho.platform.api.scheduler2.Job}; a {@link JSONJAXBContext} when
+   *                writing JSON
+   * @param json    true to write JSON, false to write XML
+   */
+  public JobsStreamingOutput( JobsCursor cursor, JAXBContext context, boolean json ) {
+    this( cursor, context, json, Function.identity() );
+  }
+
+  /**
+   * @param cursor     the jobs to write
+   * @param context    the JAXB context for the objects the jobs are projected to; a {@link JSONJAXBContext} when
+   *                   writing JSON
+   * @param json       true to write JSON, false to write XML
+   * @param projection maps each job to the object written for it, e.g. a {@link JobSummary}
+   */
+  public JobsStreamingOutput( JobsCursor cursor, JAXBContext context, boolean json,
+                              Function<? super IJob, ?> projection ) {
+    this.cursor = cursor;
+    this.context = context;
+    this.json = json;
+    this.projection = projection;
+  }
+
+  @Override
+  public void write( OutputStream output ) throws IOException {
+    Writer writer = new BufferedWriter( new OutputStreamWriter( output, StandardCharsets.UTF_8 ) );
+    // the marshallers must not close the response stream between jobs
+    Writer jobWriter = new FilterWriter( writer ) {
+      @Override
+      public void close() throws IOException {
+        flush();
+      }
+    };
+    try {
+      if ( json ) {
+        writeJson( writer, jobWriter );
+      } else {
+        writeXml( writer, jobWriter );
+      }
+    } catch ( JAXBException | SchedulerException e ) {
+      throw new WebApplicationException( e );
+    } catch ( UncheckedIOException e ) {
+      throw e.getCause();
+    } catch ( JobWriteException e ) {
+      throw new WebApplicationException( e.getCause() );
+    }
+    writer.flush();
+  }
+
+  private void writeJson( Writer writer, Writer jobWriter ) throws IOException, JAXBException, SchedulerException {
+    JSONMarshaller marshaller = JSONJAXBContext.getJSONMarshaller( context.createMarshaller(), context );
+    boolean[] first = { true };
+    writer.write( "{\"" + JOB_ELEMENT + "\":[" ); //$NON-NLS-1$ //$NON-NLS-2$
+    cursor.forEach( job -> {
+      try {
+        if ( !first[ 0 ] ) {
+          writer.write( ',' );
+        }
+        first[ 0 ] = false;
+        marshaller.marshallToJSON( projection.apply( job ), jobWriter );
+      } catch ( IOException e ) {
+        throw new UncheckedIOException( e );
+      } catch ( JAXBException e ) {
+        throw new JobWriteException( e );
+      }
+    } );
+    writer.write( "]}" ); //$NON-NLS-1$
+  }
+
+  private void writeXml( Writer writer, Writer jobWriter ) throws IOException, JAXBException, SchedulerException {
+    Marshaller marshaller = context.createMarshaller();
+    marshaller.setProperty( Marshaller.JAXB_FRAGMENT, Boolean.TRUE );
+    writer.write( XML_DECLARATION );
+    writer.write( "<" + JOBS_ELEMENT + ">" ); //$NON-NLS-1$ //$NON-NLS-2$
+    cursor.forEach( job -> {
+      try {
+        marshaller.marshal( projection.apply( job ), jobWriter );
+      } catch ( JAXBException e ) {
+        throw new JobWriteException( e );
+      }
+    } );
+    writer.write( "</" + JOBS_ELEMENT + ">" ); //$NON-NLS-1$ //$NON-NLS-2$
+  }
+
+  /**
+   * Carries a marshalling failure out of the cursor callback.
+   */
+  private static class JobWriteException extends RuntimeException {
+    private static final long serialVersionUID = 4517082735018911237L;
+
+    JobWriteException( JAXBException cause ) {
+      super( cause );
+    }
+  }
+}
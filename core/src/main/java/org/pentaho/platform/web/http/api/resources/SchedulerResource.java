@@ -20,6 +20,8 @@ import org.apache.commons.logging.LogFactory;
 import org.codehaus.enunciate.Facet;
 import org.codehaus.enunciate.jaxrs.ResponseCode;
 import org.codehaus.enunciate.jaxrs.StatusCodes;
+import org.pentaho.platform.JaxbContextResolver;
+import org.pentaho.platform.api.engine.IPentahoSession;
 import org.pentaho.platform.api.repository2.unified.UnifiedRepositoryException;
 import org.pentaho.platform.api.repository2.unified.webservices.RepositoryFileDto;
 import org.pentaho.platform.api.scheduler2.IJob;
@@ -30,7 +32,9 @@ import org.pentaho.platform.api.scheduler2.ISchedulerResource;
 import org.pentaho.platform.api.scheduler2.Job;
 import org.pentaho.platform.api.scheduler2.JobState;
 import org.pentaho.platform.api.scheduler2.SchedulerException;
+import org.pentaho.platform.engine.core.system.PentahoSessionHolder;
 import org.pentaho.platform.engine.core.system.PentahoSystem;
+import org.pentaho.platform.web.http.api.proxies.BlockStatusBatchProxy;
 import org.pentaho.platform.web.http.api.proxies.BlockStatusProxy;
 import org.pentaho.platform.web.http.api.resources.services.ISchedulerServicePlugin;
 import org.pentaho.platform.web.http.messages.Messages;
@@ -39,17 +43,26 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.xml.bind.JAXBContext;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
@@ -69,6 +82,15 @@ public class SchedulerResource implements ISchedulerResource {
   protected static final Log logger = LogFactory.getLog( SchedulerResource.class );
   public static final String REMOVED_JOB_STATE = "REMOVED";
   public static final String ERROR_JOB_STATE = "UNKNOWN_ERROR";
+  public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+  public static final String JOBS_VERSION_HEADER = "X-Jobs-Version";
+
+  public static final String VIEW_FULL = "full";
+  public static final String VIEW_SUMMARY = "summary";
+
+  private static JAXBContext jobJaxbContext;
+
+  private static JAXBContext jobSummaryJaxbContext;
 
   public SchedulerResource() {
     this( PentahoSystem.get( ISchedulerServicePlugin.class, "ISchedulerService2", null ) ); // TODO don't pass in key
@@ -150,6 +172,68 @@ public class SchedulerResource implements ISchedulerResource {
     }
   }
 
+  /**
+   * Creates several new scheduled jobs at once. The requests are all validated before any job is created, and either
+   * all the jobs are created or none is.
+   *
+   * <p><b>Example Request:</b><br />
+   * POST pentaho/api/scheduler/jobs/batch
+   * </p>
+   * <br /><b>POST data:</b>
+   * <pre function="syntax.xml">
+   *   &lt;jobScheduleRequests&gt;
+   *     &lt;jobScheduleRequest&gt;
+   *       &lt;jobName&gt;JobName&lt;/jobName&gt;
+   *       &lt;simpleJobTrigger&gt;
+   *         &lt;uiPassParam&gt;MINUTES&lt;/uiPassParam&gt;
+   *         &lt;repeatInterval&gt;1800&lt;/repeatInterval&gt;
+   *         &lt;repeatCount&gt;-1&lt;/repeatCount&gt;
+   *         &lt;startTime&gt;2014-08-14T11:46:00.000-04:00&lt;/startTime&gt;
+   *         &lt;endTime /&gt;
+   *       &lt;/simpleJobTrigger&gt;
+   *       &lt;inputFile&gt;/public/Steel Wheels/Top Customers (report).prpt&lt;/inputFile&gt;
+   *       &lt;outputFile&gt;/public/output&lt;/outputFile&gt;
+   *     &lt;/jobScheduleRequest&gt;
+   *   &lt;/jobScheduleRequests&gt;
+   * </pre>
+   *
+   * <p><b>Example Response:</b></p>
+   * <pre function="syntax.xml">
+   *   &lt;jobs&gt;
+   *     &lt;job&gt;
+   *       &lt;jobId&gt;admin JobName 1410786491777&lt;/jobId&gt;
+   *       &lt;jobName&gt;JobName&lt;/jobName&gt;
+   *       ...
+   *     &lt;/job&gt;
+   *   &lt;/jobs&gt;
+   * </pre>
+   *
+   * @param scheduleRequests The JobScheduleRequest objects defining the jobs being created.
+   * @return A jax-rs Response object with the created jobs, in the order of the requests.
+   */
+  @POST
+  @Path( "/jobs/batch" )
+  @Consumes( { APPLICATION_JSON, APPLICATION_XML } )
+  @Produces( { APPLICATION_JSON, APPLICATION_XML } )
+  @StatusCodes( {
+    @ResponseCode( code = 200, condition = "Schedules created successfully." ),
+    @ResponseCode( code = 401, condition = "User is not allowed to create schedules." ),
+    @ResponseCode( code = 403, condition = "Cannot create schedules for one of the specified files." ),
+    @ResponseCode( code = 500, condition = "An error occurred while creating the schedules." )
+  } )
+  public Response createJobs( List<JobScheduleRequest> scheduleRequests ) {
+    try {
+      List<Job> jobs = schedulerService.createJobs( scheduleRequests );
+      return Response.ok( new GenericEntity<List<Job>>( jobs ) { } ).build();
+    } catch ( SchedulerException | IOException e ) {
+      return buildServerErrorResponse( getErrorMessage( e ) );
+    } catch ( SecurityException e ) {
+      return buildStatusResponse( UNAUTHORIZED );
+    } catch ( IllegalAccessException e ) {
+      return buildStatusResponse( FORBIDDEN );
+    }
+  }
+
   /**
    * Changes an existing job by creating an instance with new content (picked from {@code scheduleRequest}) and
    * removing the current instance.
@@ -431,12 +515,19 @@ public class SchedulerResource implements ISchedulerResource {
   }
 
   /**
-   * Retrieve the all the scheduled job(s) visible to the current users.
+   * Retrieve the all the scheduled job(s) visible to the current users. The jobs can optionally be filtered, sorted and
+   * paged on the server; the number of jobs matching the filters across all pages is returned in the X-Total-Count
+   * header. The response is tagged with the version of the job list, so a request sending the tag back in an
+   * If-None-Match header gets a 304 response while no job has changed.
    *
    * <p><b>Example Request:</b><br />
    * GET pentaho/api/scheduler/getJobs
    * </p>
    *
+   * <p><b>Example Request:</b><br />
+   * GET pentaho/api/scheduler/getJobs?offset=50&amp;limit=25&amp;sortBy=nextRun&amp;sortOrder=desc&amp;state=NORMAL
+   * </p>
+   *
    * <p><b>Example Response:</b></p>
    * <pre function="syntax.xml">
    *   &lt;jobs&gt;
@@ -522,6 +613,22 @@ public class SchedulerResource implements ISchedulerResource {
    *   &lt;/jobs&gt;
    * </pre>
    *
+   * @param ifNoneMatch   The ETag of a previous response for the same request (Optional).
+   * @param offset        The number of matching jobs to skip (Optional).
+   * @param limit         The maximum number of jobs to return, all of them when negative (Optional).
+   * @param sortBy        The property to sort the jobs by: jobId, jobName, resource, userName, state, nextRun or
+   *                      lastRun (Optional).
+   * @param sortOrder     asc or desc (Optional).
+   * @param user          Only return the jobs of this user (Optional).
+   * @param state         Only return the jobs in this state, e.g. NORMAL or PAUSED (Optional).
+   * @param scheduleType  Only return the jobs with this schedule type, e.g. DAILY or WEEKLY (Optional).
+   * @param resourceName  Only return the jobs whose scheduled file name contains this text (Optional).
+   * @param nextRunAfter  Only return the jobs next running after this time, in milliseconds since the epoch
+   *                      (Optional).
+   * @param nextRunBefore Only return the jobs next running before this time, in milliseconds since the epoch
+   *                      (Optional).
+   * @param view          full, the default, or summary to return each job without its parameters, as a
+   *                      {@link JobSummary} (Optional).
    * @return A list of jobs that are visible to the current users.
    */
   @GET
@@ -529,8 +636,267 @@ public class SchedulerResource implements ISchedulerResource {
   @Produces( { APPLICATION_JSON, APPLICATION_XML } )
   @StatusCodes( {
     @ResponseCode( code = 200, condition = "Jobs retrieved successfully." ),
+    @ResponseCode( code = 304, condition = "No job changed since the list sent in If-None-Match." ),
+    @ResponseCode( code = 400, condition = "Invalid paging, sorting or view parameters." ),
+    @ResponseCode( code = 500, condition = "Error while retrieving jobs." ),
+  } )
+  public Response getAllJobs( @HeaderParam( HttpHeaders.IF_NONE_MATCH ) String ifNoneMatch,
+                              @DefaultValue( "0" ) @QueryParam( "offset" ) int offset,
+                              @DefaultValue( "-1" ) @QueryParam( "limit" ) int limit,
+                              @QueryParam( "sortBy" ) String sortBy,
+                              @DefaultValue( "asc" ) @QueryParam( "sortOrder" ) String sortOrder,
+                              @QueryParam( "user" ) String user,
+                              @QueryParam( "state" ) String state,
+                              @QueryParam( "scheduleType" ) String scheduleType,
+                              @QueryParam( "resourceName" ) String resourceName,
+                              @QueryParam( "nextRunAfter" ) Long nextRunAfter,
+                              @QueryParam( "nextRunBefore" ) Long nextRunBefore,
+                              @QueryParam( "view" ) String view ) {
+    if ( !isValidView( view ) ) {
+      return buildStatusResponse( Status.BAD_REQUEST );
+    }
+    boolean summary = VIEW_SUMMARY.equalsIgnoreCase( view );
+    JobsQuery query = new JobsQuery();
+    query.setJobParamsRequired( !summary );
+    try {
+      query.setOffset( offset );
+      query.setLimit( limit );
+      query.setSortKey( JobsQuery.SortKey.parse( sortBy ) );
+      query.setAscending( !"desc".equalsIgnoreCase( sortOrder ) );
+    } catch ( IllegalArgumentException e ) {
+      return buildStatusResponse( Status.BAD_REQUEST );
+    }
+    query.setUserName( user );
+    query.setState( state );
+    query.setScheduleType( scheduleType );
+    query.setResourceName( resourceName );
+    query.setNextRunAfter( nextRunAfter == null ? null : new Date( nextRunAfter ) );
+    query.setNextRunBefore( nextRunBefore == null ? null : new Date( nextRunBefore ) );
+
+    try {
+      // read before the jobs, so a change made while they are read makes the next request miss the tag
+      long version = schedulerService.getJobsVersion();
+      EntityTag entityTag = null;
+      if ( version >= 0 ) {
+        entityTag = new EntityTag( version + "-" + toQueryString( "session", getSessionName(), "offset", offset,
+          "limit", limit, "sortBy", sortBy, "sortOrder", sortOrder, "user", user, "state", state, "scheduleType",
+          scheduleType, "resourceName", resourceName, "nextRunAfter", nextRunAfter, "nextRunBefore", nextRunBefore,
+          "view", summary ? VIEW_SUMMARY : VIEW_FULL ) );
+        if ( matchesEntityTag( ifNoneMatch, entityTag ) ) {
+          return Response.notModified( entityTag ).header( JOBS_VERSION_HEADER, version ).build();
+        }
+      }
+
+      JobsPage page = schedulerService.getJobs( query );
+      Response.ResponseBuilder builder;
+      if ( summary ) {
+        List<JobSummary> summaries = new ArrayList<>( page.getJobs().size() );
+        for ( IJob job : page.getJobs() ) {
+          summaries.add( new JobSummary( job ) );
+        }
+        builder = Response.ok( new GenericEntity<List<JobSummary>>( summaries ) { } );
+      } else {
+        List<Job> jobs = (List<Job>) (List<?>) page.getJobs();
+        builder = Response.ok( new GenericEntity<List<Job>>( jobs ) { } );
+      }
+      builder.header( TOTAL_COUNT_HEADER, page.getTotalCount() );
+      if ( entityTag != null ) {
+        builder.tag( entityTag ).header( JOBS_VERSION_HEADER, version );
+      }
+      return builder.build();
+    } catch ( Exception e ) {
+      throw new RuntimeException( e );
+    }
+  }
+
+  /**
+   * Lists the scheduled job(s) visible to the current user that were added, changed or removed since a version of
+   * the job list. The version of a job list is returned in the X-Jobs-Version header of "GET
+   * pentaho/api/scheduler/getJobs" and in the response of this endpoint. When the changes since that version are no
+   * longer known, the response is marked as a reset and the whole list has to be read again.
+   *
+   * <p><b>Example Request:</b><br />
+   * GET pentaho/api/scheduler/jobs/changes?since=1724162400123
+   * </p>
+   *
+   * <p><b>Example Response:</b></p>
+   * <pre function="syntax.xml">
+   *   &lt;jobChanges&gt;
+   *     &lt;changedJobs&gt;
+   *       &lt;jobId&gt;admin  UpdateAuditData 1408373019115&lt;/jobId&gt;
+   *       &lt;jobName&gt;UpdateAuditData&lt;/jobName&gt;
+   *       &lt;state&gt;PAUSED&lt;/state&gt;
+   *       &lt;userName&gt;admin&lt;/userName&gt;
+   *     &lt;/changedJobs&gt;
+   *     &lt;removedJobIds&gt;admin  PentahoSystemVersionCheck 1408369303507&lt;/removedJobIds&gt;
+   *     &lt;reset&gt;false&lt;/reset&gt;
+   *     &lt;version&gt;1724162400131&lt;/version&gt;
+   *   &lt;/jobChanges&gt;
+   * </pre>
+   *
+   * @param since The version of the job list held by the caller.
+   * @return The jobs added, changed and removed since that version.
+   */
+  @GET
+  @Path( "/jobs/changes" )
+  @Produces( { APPLICATION_JSON, APPLICATION_XML } )
+  @StatusCodes( {
+    @ResponseCode( code = 200, condition = "Job changes retrieved successfully." ),
+    @ResponseCode( code = 403, condition = "User is not allowed to view schedules." ),
+    @ResponseCode( code = 500, condition = "Error while retrieving job changes." )
+  } )
+  public Response getJobChanges( @QueryParam( "since" ) long since ) {
+    try {
+      return buildOkResponse( schedulerService.getJobChanges( since ) );
+    } catch ( IllegalAccessException e ) {
+      return buildStatusResponse( FORBIDDEN );
+    } catch ( SchedulerException e ) {
+      throw new RuntimeException( e );
+    }
+  }
+
+  /**
+   * Streams the scheduled job(s) visible to the current user. The jobs are written to the response as they are read
+   * from the job store rather than collected first, so the memory needed does not grow with the number of schedules.
+   * The response has the same form as "GET pentaho/api/scheduler/getJobs"; the jobs are neither sorted nor paged.
+   *
+   * <p><b>Example Request:</b><br />
+   * GET pentaho/api/scheduler/getJobs/stream?state=PAUSED
+   * </p>
+   *
+   * @param accept        The Accept header; XML is written when it asks for XML but not JSON.
+   * @param user          Only return the jobs of this user (Optional).
+   * @param state         Only return the jobs in this state, e.g. NORMAL or PAUSED (Optional).
+   * @param scheduleType  Only return the jobs with this schedule type, e.g. DAILY or WEEKLY (Optional).
+   * @param resourceName  Only return the jobs whose scheduled file name contains this text (Optional).
+   * @param nextRunAfter  Only return the jobs next running after this time, in milliseconds since the epoch
+   *                      (Optional).
+   * @param nextRunBefore Only return the jobs next running before this time, in milliseconds since the epoch
+   *                      (Optional).
+   * @param view          full, the default, or summary to return each job without its parameters, as a
+   *                      {@link JobSummary} (Optional).
+   * @return The jobs that are visible to the current user.
+   */
+  @GET
+  @Path( "/getJobs/stream" )
+  @Produces( { APPLICATION_JSON, APPLICATION_XML } )
+  @StatusCodes( {
+    @ResponseCode( code = 200, condition = "Jobs retrieved successfully." ),
+    @ResponseCode( code = 400, condition = "Invalid view." ),
+    @ResponseCode( code = 403, condition = "User is not allowed to view schedules." ),
     @ResponseCode( code = 500, condition = "Error while retrieving jobs." ),
   } )
+  public Response streamJobs( @HeaderParam( HttpHeaders.ACCEPT ) String accept,
+                              @QueryParam( "user" ) String user,
+                              @QueryParam( "state" ) String state,
+                              @QueryParam( "scheduleType" ) String scheduleType,
+                              @QueryParam( "resourceName" ) String resourceName,
+                              @QueryParam( "nextRunAfter" ) Long nextRunAfter,
+                              @QueryParam( "nextRunBefore" ) Long nextRunBefore,
+                              @QueryParam( "view" ) String view ) {
+    if ( !isValidView( view ) ) {
+      return buildStatusResponse( Status.BAD_REQUEST );
+    }
+    boolean summary = VIEW_SUMMARY.equalsIgnoreCase( view );
+    JobsQuery query = new JobsQuery();
+    query.setJobParamsRequired( !summary );
+    query.setUserName( user );
+    query.setState( state );
+    query.setScheduleType( scheduleType );
+    query.setResourceName( resourceName );
+    query.setNextRunAfter( nextRunAfter == null ? null : new Date( nextRunAfter ) );
+    query.setNextRunBefore( nextRunBefore == null ? null : new Date( nextRunBefore ) );
+
+    boolean json = accept == null || accept.contains( APPLICATION_JSON ) || !accept.contains( "xml" );
+    try {
+      JobsCursor cursor = schedulerService.getJobsCursor( query );
+      JobsStreamingOutput output = summary
+        ? new JobsStreamingOutput( cursor, getJobSummaryJaxbContext(), json, JobSummary::new )
+        : new JobsStreamingOutput( cursor, getJobJaxbContext(), json );
+      return Response.ok( output, json ? MediaType.APPLICATION_JSON_TYPE : MediaType.APPLICATION_XML_TYPE ).build();
+    } catch ( IllegalAccessException e ) {
+      return buildStatusResponse( FORBIDDEN );
+    } catch ( Exception e ) {
+      throw new RuntimeException( e );
+    }
+  }
+
+  private static boolean isValidView( String view ) {
+    return view == null || VIEW_FULL.equalsIgnoreCase( view ) || VIEW_SUMMARY.equalsIgnoreCase( view );
+  }
+
+  protected String getSessionName() {
+    IPentahoSession session = PentahoSessionHolder.getSession();
+    return session == null ? null : session.getName();
+  }
+
+  /**
+   * Writes the parameters a response depends on as a query string, with every value URL-encoded so it holds no quote
+   * or comma and can go in an entity tag. Null values are left empty.
+   *
+   * @param namesAndValues each parameter name followed by its value
+   */
+  static String toQueryString( Object... namesAndValues ) {
+    StringBuilder queryString = new StringBuilder();
+    try {
+      for ( int i = 0; i < namesAndValues.length; i += 2 ) {
+        if ( i > 0 ) {
+          queryString.append( '&' );
+        }
+        Object value = namesAndValues[ i + 1 ];
+        queryString.append( namesAndValues[ i ] ).append( '=' )
+          .append( value == null ? "" : URLEncoder.encode( value.toString(), StandardCharsets.UTF_8.name() ) );
+      }
+    } catch ( UnsupportedEncodingException e ) {
+      // UTF-8 is always supported
+      throw new IllegalStateException( e );
+    }
+    return queryString.toString();
+  }
+
+  /**
+   * Checks an If-None-Match header, which may list several tags, weak or not, against a tag.
+   */
+  static boolean matchesEntityTag( String ifNoneMatch, EntityTag entityTag ) {
+    if ( ifNoneMatch == null ) {
+      return false;
+    }
+    for ( String value : ifNoneMatch.split( "," ) ) {
+      String tag = value.trim();
+      if ( tag.startsWith( "W/" ) ) {
+        tag = tag.substring( 2 );
+      }
+      if ( tag.equals( "\"" + entityTag.getValue() + "\"" ) ) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * The JAXB context the job list endpoints marshal jobs with.
+   */
+  protected JAXBContext getJobJaxbContext() throws Exception {
+    synchronized ( SchedulerResource.class ) {
+      if ( jobJaxbContext == null ) {
+        jobJaxbContext = new JaxbContextResolver().getContext( Job.class );
+      }
+      return jobJaxbContext;
+    }
+  }
+
+  /**
+   * The JAXB context the job list endpoints marshal job summaries with.
+   */
+  protected JAXBContext getJobSummaryJaxbContext() throws Exception {
+    synchronized ( SchedulerResource.class ) {
+      if ( jobSummaryJaxbContext == null ) {
+        jobSummaryJaxbContext = new JaxbContextResolver().getContext( JobSummary.class );
+      }
+      return jobSummaryJaxbContext;
+    }
+  }
+
   public List<Job> getAllJobs() {
     try {
       return (List<Job>) (List<?>) schedulerService.getJobs();
@@ -756,6 +1122,210 @@ public class SchedulerResource implements ISchedulerResource {
     }
   }
 
+  /**
+   * Compares the in-memory job catalog with the jobs stored by the scheduler. The catalog is only used when the
+   * job-catalog plugin setting is enabled; otherwise the response reports it as disabled.
+   *
+   * <p><b>Example Request:</b><br />
+   * GET pentaho/api/scheduler/jobCatalog/verify
+   * </p>
+   *
+   * <p><b>Example Response:</b></p>
+   * <pre function="syntax.xml">
+   *   &lt;jobCatalogStatus&gt;
+   *     &lt;cachedJobCount&gt;2&lt;/cachedJobCount&gt;
+   *     &lt;consistent&gt;false&lt;/consistent&gt;
+   *     &lt;enabled&gt;true&lt;/enabled&gt;
+   *     &lt;missingJobIds&gt;admin  JobName 1410786491777&lt;/missingJobIds&gt;
+   *     &lt;storedJobCount&gt;3&lt;/storedJobCount&gt;
+   *   &lt;/jobCatalogStatus&gt;
+   * </pre>
+   *
+   * @return A JobCatalogStatus object listing the differences between the catalog and the stored jobs.
+   */
+  @GET
+  @Path( "/jobCatalog/verify" )
+  @Produces( { APPLICATION_XML, APPLICATION_JSON } )
+  @StatusCodes( {
+    @ResponseCode( code = 200, condition = "Successfully compared the job catalog with the stored jobs." ),
+    @ResponseCode( code = 403, condition = "User is not authorized to administer the scheduler." ),
+    @ResponseCode( code = 500, condition = "An error occurred while reading the stored jobs." )
+  } )
+  public Response verifyJobCatalog() {
+    try {
+      return buildOkResponse( schedulerService.verifyJobCatalog() );
+    } catch ( IllegalAccessException e ) {
+      return buildStatusResponse( FORBIDDEN );
+    } catch ( SchedulerException e ) {
+      throw new RuntimeException( e );
+    }
+  }
+
+  /**
+   * Discards the in-memory job catalog and reloads it from the jobs stored by the scheduler.
+   *
+   * <p><b>Example Request:</b><br />
+   * POST pentaho/api/scheduler/jobCatalog/rebuild
+   * </p>
+   * <br /><b>POST data:</b>
+   * <pre function="syntax.xml">
+   *   This POST body does not contain data.
+   * </pre>
+   *
+   * <p><b>Example Response:</b></p>
+   * <pre function="syntax.xml">
+   *   &lt;jobCatalogStatus&gt;
+   *     &lt;cachedJobCount&gt;3&lt;/cachedJobCount&gt;
+   *     &lt;consistent&gt;true&lt;/consistent&gt;
+   *     &lt;enabled&gt;true&lt;/enabled&gt;
+   *     &lt;storedJobCount&gt;3&lt;/storedJobCount&gt;
+   *   &lt;/jobCatalogStatus&gt;
+   * </pre>
+   *
+   * @return A JobCatalogStatus object with the number of jobs loaded into the catalog.
+   */
+  @POST
+  @Path( "/jobCatalog/rebuild" )
+  @Produces( { APPLICATION_XML, APPLICATION_JSON } )
+  @StatusCodes( {
+    @ResponseCode( code = 200, condition = "Successfully rebuilt the job catalog." ),
+    @ResponseCode( code = 403, condition = "User is not authorized to administer the scheduler." ),
+    @ResponseCode( code = 500, condition = "An error occurred while reading the stored jobs." )
+  } )
+  public Response rebuildJobCatalog() {
+    try {
+      return buildOkResponse( schedulerService.rebuildJobCatalog() );
+    } catch ( IllegalAccessException e ) {
+      return buildStatusResponse( FORBIDDEN );
+    } catch ( SchedulerException e ) {
+      throw new RuntimeException( e );
+    }
+  }
+
+  /**
+   * Deletes the scheduler calendars no schedule uses any more. Schedules with the same availability window share a
+   * calendar, which is deleted along with the last schedule using it; this removes the calendars left behind by
+   * schedules removed before the calendars were shared.
+   *
+   * <p><b>Example Request:</b><br />
+   * POST pentaho/api/scheduler/calendars/compact
+   * </p>
+   * <br /><b>POST data:</b>
+   * <pre function="syntax.xml">
+   *   This POST body does not contain data.
+   * </pre>
+   *
+   * <p><b>Example Response:</b></p>
+   * <pre function="syntax.xml">
+   *   42
+   * </pre>
+   *
+   * @return A jax-rs Response object containing the number of calendars deleted.
+   */
+  @POST
+  @Path( "/calendars/compact" )
+  @Produces( "text/plain" )
+  @StatusCodes( {
+    @ResponseCode( code = 200, condition = "Successfully deleted the unused calendars." ),
+    @ResponseCode( code = 403, condition = "User is not authorized to administer the scheduler." ),
+    @ResponseCode( code = 500, condition = "An error occurred while reading the triggers or calendars." )
+  } )
+  public Response compactCalendars() {
+    try {
+      return buildPlainTextOkResponse( String.valueOf( schedulerService.compactCalendars() ) );
+    } catch ( IllegalAccessException e ) {
+      return buildStatusResponse( FORBIDDEN );
+    } catch ( SchedulerException e ) {
+      throw new RuntimeException( e );
+    }
+  }
+
+  /**
+   * Reports how busy the bulkheads the scheduled actions run through are. The bulkheads are defined by the
+   * job-bulkheads plugin setting; the response is empty when there are none.
+   *
+   * <p><b>Example Request:</b><br />
+   * GET pentaho/api/scheduler/bulkheads
+   * </p>
+   *
+   * <p><b>Example Response:</b></p>
+   * <pre function="syntax.xml">
+   *   &lt;jobBulkheadStatuses&gt;
+   *     &lt;jobBulkheadStatus&gt;
+   *       &lt;averageQueueWaitMillis&gt;1250&lt;/averageQueueWaitMillis&gt;
+   *       &lt;completed&gt;118&lt;/completed&gt;
+   *       &lt;maxConcurrency&gt;4&lt;/maxConcurrency&gt;
+   *       &lt;maxQueue&gt;20&lt;/maxQueue&gt;
+   *       &lt;maxQueueWaitMillis&gt;30412&lt;/maxQueueWaitMillis&gt;
+   *       &lt;name&gt;etl&lt;/name&gt;
+   *       &lt;queued&gt;3&lt;/queued&gt;
+   *       &lt;rejected&gt;0&lt;/rejected&gt;
+   *       &lt;running&gt;4&lt;/running&gt;
+   *       &lt;utilization&gt;1.0&lt;/utilization&gt;
+   *     &lt;/jobBulkheadStatus&gt;
+   *   &lt;/jobBulkheadStatuses&gt;
+   * </pre>
+   *
+   * @return A jax-rs Response object with the utilization and queue wait of every bulkhead.
+   */
+  @GET
+  @Path( "/bulkheads" )
+  @Produces( { APPLICATION_XML, APPLICATION_JSON } )
+  @StatusCodes( {
+    @ResponseCode( code = 200, condition = "Successfully read the state of the bulkheads." ),
+    @ResponseCode( code = 403, condition = "User is not authorized to administer the scheduler." )
+  } )
+  public Response getJobBulkheads() {
+    try {
+      return Response.ok( new GenericEntity<List<JobBulkheadStatus>>( schedulerService.getJobBulkheads() ) { } )
+        .build();
+    } catch ( IllegalAccessException e ) {
+      return buildStatusResponse( FORBIDDEN );
+    }
+  }
+
+  /**
+   * Reports the running and waiting jobs of every user, as shared out by the fair share dispatcher. The dispatcher is
+   * turned on by the job-fair-share plugin setting; the response is empty when it is off.
+   *
+   * <p><b>Example Request:</b><br />
+   * GET pentaho/api/scheduler/fairshare
+   * </p>
+   *
+   * <p><b>Example Response:</b></p>
+   * <pre function="syntax.xml">
+   *   &lt;jobFairShareStatuses&gt;
+   *     &lt;jobFairShareStatus&gt;
+   *       &lt;averageQueueWaitMillis&gt;8400&lt;/averageQueueWaitMillis&gt;
+   *       &lt;completed&gt;57&lt;/completed&gt;
+   *       &lt;maxQueueWaitMillis&gt;61200&lt;/maxQueueWaitMillis&gt;
+   *       &lt;oldestQueueWaitMillis&gt;12050&lt;/oldestQueueWaitMillis&gt;
+   *       &lt;queued&gt;212&lt;/queued&gt;
+   *       &lt;running&gt;3&lt;/running&gt;
+   *       &lt;userName&gt;suzy&lt;/userName&gt;
+   *       &lt;weight&gt;1&lt;/weight&gt;
+   *     &lt;/jobFairShareStatus&gt;
+   *   &lt;/jobFairShareStatuses&gt;
+   * </pre>
+   *
+   * @return A jax-rs Response object with the queue depth and queue wait of every user.
+   */
+  @GET
+  @Path( "/fairshare" )
+  @Produces( { APPLICATION_XML, APPLICATION_JSON } )
+  @StatusCodes( {
+    @ResponseCode( code = 200, condition = "Successfully read the state of the user queues." ),
+    @ResponseCode( code = 403, condition = "User is not authorized to administer the scheduler." )
+  } )
+  public Response getFairShareStatus() {
+    try {
+      return Response.ok( new GenericEntity<List<JobFairShareStatus>>( schedulerService.getFairShareStatus() ) { } )
+        .build();
+    } catch ( IllegalAccessException e ) {
+      return buildStatusResponse( FORBIDDEN );
+    }
+  }
+
   /**
    * Checks the state of the selected scheduled job.
    *
@@ -1014,14 +1584,165 @@ public class SchedulerResource implements ISchedulerResource {
     }
   }
 
-  private JobsResponse removeJobs( List<String> jobIds ) {
+  private JobsResponse removeJobs( List<String> jobIds ) throws SchedulerException {
+    return schedulerService.removeJobs( jobIds );
+  }
+
+  /**
+   * Pauses all the specified scheduled jobs in a single request.
+   *
+   * <p><b>Example Request:</b><br />
+   * POST pentaho/api/scheduler/pauseJobs
+   * </p>
+   * <br /><b>POST data:</b>
+   * <pre function="syntax.json">
+   *   &lt;jobsRequest&gt;
+   *     &lt;jobIds&gt;
+   *       &lt;jobId&gt;admin  JobName 1410786491503&lt;/jobId&gt;
+   *     &lt;/jobIds&gt;
+   *   &lt;/jobsRequest&gt;
+   * </pre>
+   *
+   * <p><b>Example Response:</b></p>
+   * <pre function="syntax.xml">
+   *   &lt;JobsResponse&gt;
+   *     &lt;changes&gt;
+   *       &lt;entry&gt;
+   *         &lt;key&gt;admin  JobName 1410786491503&lt;/key&gt;
+   *         &lt;value&gt;PAUSED&lt;/value&gt;
+   *       &lt;/entry&gt;
+   *     &lt;/changes&gt;
+   *   &lt;/JobsResponse&gt;
+   * </pre>
+   *
+   * @param jobsRequest A JobsRequest object containing a list of jobIds.
+   * @return A jax-rs Response object containing all the jobs ids and their new state, UNKNOWN_ERROR for the jobs
+   * that could not be paused.
+   */
+  @POST
+  @Path( "/pauseJobs" )
+  @Produces( { APPLICATION_XML, APPLICATION_JSON } )
+  @Consumes( { APPLICATION_XML, APPLICATION_JSON } )
+  @StatusCodes( {
+    @ResponseCode( code = 200, condition = "Successfully returned the all the jobs new states." ),
+    @ResponseCode( code = 500, condition = "Invalid request or server error." )
+  } )
+  public JobsResponse pauseJobs( JobsRequest jobsRequest ) {
+    return applyToJobs( jobsRequest.getJobIds(), jobId -> schedulerService.pauseJob( jobId ).name() );
+  }
+
+  /**
+   * Resumes all the specified scheduled jobs in a single request.
+   *
+   * <p><b>Example Request:</b><br />
+   * POST pentaho/api/scheduler/resumeJobs
+   * </p>
+   * <br /><b>POST data:</b>
+   * <pre function="syntax.json">
+   *   &lt;jobsRequest&gt;
+   *     &lt;jobIds&gt;
+   *       &lt;jobId&gt;admin  JobName 1410786491503&lt;/jobId&gt;
+   *     &lt;/jobIds&gt;
+   *   &lt;/jobsRequest&gt;
+   * </pre>
+   *
+   * <p><b>Example Response:</b></p>
+   * <pre function="syntax.xml">
+   *   &lt;JobsResponse&gt;
+   *     &lt;changes&gt;
+   *       &lt;entry&gt;
+   *         &lt;key&gt;admin  JobName 1410786491503&lt;/key&gt;
+   *         &lt;value&gt;NORMAL&lt;/value&gt;
+   *       &lt;/entry&gt;
+   *     &lt;/changes&gt;
+   *   &lt;/JobsResponse&gt;
+   * </pre>
+   *
+   * @param jobsRequest A JobsRequest object containing a list of jobIds.
+   * @return A jax-rs Response object containing all the jobs ids and their new state, UNKNOWN_ERROR for the jobs
+   * that could not be resumed.
+   */
+  @POST
+  @Path( "/resumeJobs" )
+  @Produces( { APPLICATION_XML, APPLICATION_JSON } )
+  @Consumes( { APPLICATION_XML, APPLICATION_JSON } )
+  @StatusCodes( {
+    @ResponseCode( code = 200, condition = "Successfully returned the all the jobs new states." ),
+    @ResponseCode( code = 500, condition = "Invalid request or server error." )
+  } )
+  public JobsResponse resumeJobs( JobsRequest jobsRequest ) {
+    return applyToJobs( jobsRequest.getJobIds(), jobId -> schedulerService.resumeJob( jobId ).name() );
+  }
+
+  /**
+   * Executes all the specified scheduled jobs in a single request.
+   *
+   * <p><b>Example Request:</b><br />
+   * POST pentaho/api/scheduler/triggerNowJobs
+   * </p>
+   * <br /><b>POST data:</b>
+   * <pre function="syntax.json">
+   *   &lt;jobsRequest&gt;
+   *     &lt;jobIds&gt;
+   *       &lt;jobId&gt;admin  JobName 1410786491503&lt;/jobId&gt;
+   *     &lt;/jobIds&gt;
+   *   &lt;/jobsRequest&gt;
+   * </pre>
+   *
+   * <p><b>Example Response:</b></p>
+   * <pre function="syntax.xml">
+   *   &lt;JobsResponse&gt;
+   *     &lt;changes&gt;
+   *       &lt;entry&gt;
+   *         &lt;key&gt;admin  JobName 1410786491503&lt;/key&gt;
+   *         &lt;value&gt;NORMAL&lt;/value&gt;
+   *       &lt;/entry&gt;
+   *     &lt;/changes&gt;
+   *   &lt;/JobsResponse&gt;
+   * </pre>
+   *
+   * @param jobsRequest A JobsRequest object containing a list of jobIds.
+   * @return A jax-rs Response object containing all the jobs ids and their new state, UNKNOWN_ERROR for the jobs
+   * that could not be executed.
+   */
+  @POST
+  @Path( "/triggerNowJobs" )
+  @Produces( { APPLICATION_XML, APPLICATION_JSON } )
+  @Consumes( { APPLICATION_XML, APPLICATION_JSON } )
+  @StatusCodes( {
+    @ResponseCode( code = 200, condition = "Successfully returned the all the jobs new states." ),
+    @ResponseCode( code = 500, condition = "Invalid request or server error." )
+  } )
+  public JobsResponse triggerNowJobs( JobsRequest jobsRequest ) {
+    try {
+      return schedulerService.triggerNow( jobsRequest.getJobIds() );
+    } catch ( SchedulerException e ) {
+      JobsResponse response = new JobsResponse();
+      for ( String jobId : jobsRequest.getJobIds() ) {
+        response.addChanges( jobId, ERROR_JOB_STATE );
+      }
+      return response;
+    }
+  }
+
+  private interface JobOperation {
+    /**
+     * @return the new state of the job
+     */
+    String apply( String jobId ) throws Exception;
+  }
+
+  /**
+   * Applies the operation to each job, so that a job which fails does not stop the others.
+   */
+  private JobsResponse applyToJobs( List<String> jobIds, JobOperation operation ) {
     JobsResponse response = new JobsResponse();
 
     for ( String jobId : jobIds ) {
       String newState;
 
       try {
-        newState = deleteJob( jobId );
+        newState = operation.apply( jobId );
       } catch ( Exception e ) {
         newState = ERROR_JOB_STATE;
       }
@@ -1524,6 +2245,66 @@ public class SchedulerResource implements ISchedulerResource {
     }
   }
 
+  /**
+   * Check the status of many schedules against the blockouts in a single request. The schedules are given as
+   * schedule requests, as job ids, or not at all to check every schedule the user can see. With a blockout in the
+   * request, the schedules are only checked against it, which shows the schedules a new blockout would affect.
+   *
+   * <p><b>Example Request:</b><br />
+   * POST pentaho/api/scheduler/blockout/blockstatus/batch
+   * </p>
+   * <br /><b>POST data:</b>
+   * <pre function="syntax.xml">
+   *   &lt;blockStatusBatchRequest&gt;
+   *     &lt;jobIds&gt;admin  SalesReport 1410786491503&lt;/jobIds&gt;
+   *     &lt;blockout&gt;
+   *       &lt;complexJobTrigger&gt;
+   *         &lt;uiPassParam&gt;DAILY&lt;/uiPassParam&gt;
+   *         &lt;daysOfWeek&gt;1&lt;/daysOfWeek&gt;
+   *         &lt;startTime&gt;2014-08-19T10:51:00.000-04:00&lt;/startTime&gt;
+   *       &lt;/complexJobTrigger&gt;
+   *       &lt;duration&gt;7740000&lt;/duration&gt;
+   *       &lt;timeZone&gt;America/New_York&lt;/timeZone&gt;
+   *     &lt;/blockout&gt;
+   *   &lt;/blockStatusBatchRequest&gt;
+   * </pre>
+   *
+   * <p><b>Example Response:</b></p>
+   * <pre function="syntax.xml">
+   *   &lt;blockStatusBatchProxy&gt;
+   *     &lt;blockStatuses&gt;
+   *       &lt;partiallyBlocked&gt;true&lt;/partiallyBlocked&gt;
+   *       &lt;totallyBlocked&gt;false&lt;/totallyBlocked&gt;
+   *       &lt;jobId&gt;admin  SalesReport 1410786491503&lt;/jobId&gt;
+   *       &lt;jobName&gt;SalesReport&lt;/jobName&gt;
+   *     &lt;/blockStatuses&gt;
+   *   &lt;/blockStatusBatchProxy&gt;
+   * </pre>
+   *
+   * @param blockStatusBatchRequest The schedules to check, and optionally the blockout to check them against.
+   * @return A Response object which contains a BlockStatusBatchProxy with the totallyBlocked and partiallyBlocked
+   * flags of each schedule.
+   */
+  @POST
+  @Path( "/blockout/blockstatus/batch" )
+  @Consumes( { APPLICATION_JSON, APPLICATION_XML } )
+  @Produces( { APPLICATION_JSON, APPLICATION_XML } )
+  @StatusCodes( {
+    @ResponseCode( code = 200, condition = "Successfully got the blockout statuses." ),
+    @ResponseCode( code = 401, condition = "User is not authorized to get the blockout statuses." ),
+    @ResponseCode( code = 403, condition = "User may not see the schedules to check." )
+  } )
+  public Response getBlockStatuses( BlockStatusBatchRequest blockStatusBatchRequest ) {
+    try {
+      BlockStatusBatchProxy blockStatusBatchProxy = schedulerService.getBlockStatuses( blockStatusBatchRequest );
+      return buildOkResponse( blockStatusBatchProxy );
+    } catch ( SchedulerException e ) {
+      return buildStatusResponse( Status.UNAUTHORIZED );
+    } catch ( IllegalAccessException e ) {
+      return buildStatusResponse( Status.FORBIDDEN );
+    }
+  }
+
   /**
    * Retrieve the list of execute content by lineage id.
    *
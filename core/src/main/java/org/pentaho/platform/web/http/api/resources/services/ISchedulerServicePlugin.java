@@ -20,9 +20,19 @@ import org.pentaho.platform.api.scheduler2.IScheduler;
 import org.pentaho.platform.api.scheduler2.Job;
 import org.pentaho.platform.api.scheduler2.JobState;
 import org.pentaho.platform.api.scheduler2.SchedulerException;
+import org.pentaho.platform.web.http.api.proxies.BlockStatusBatchProxy;
 import org.pentaho.platform.web.http.api.proxies.BlockStatusProxy;
+import org.pentaho.platform.web.http.api.resources.BlockStatusBatchRequest;
+import org.pentaho.platform.web.http.api.resources.JobBulkheadStatus;
+import org.pentaho.platform.web.http.api.resources.JobCatalogStatus;
+import org.pentaho.platform.web.http.api.resources.JobFairShareStatus;
+import org.pentaho.platform.web.http.api.resources.JobChanges;
 import org.pentaho.platform.web.http.api.resources.JobRequest;
 import org.pentaho.platform.web.http.api.resources.JobScheduleRequest;
+import org.pentaho.platform.web.http.api.resources.JobsCursor;
+import org.pentaho.platform.web.http.api.resources.JobsPage;
+import org.pentaho.platform.web.http.api.resources.JobsQuery;
+import org.pentaho.platform.web.http.api.resources.JobsResponse;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -47,14 +57,51 @@ public interface ISchedulerServicePlugin {
    */
   Job createJob( JobScheduleRequest jobScheduleRequest ) throws IOException, SchedulerException, IllegalAccessException;
 
+  List<Job> createJobs( List<JobScheduleRequest> jobScheduleRequests )
+    throws IOException, SchedulerException, IllegalAccessException;
+
+  List<Job> createJobs( List<JobScheduleRequest> jobScheduleRequests, boolean paused )
+    throws IOException, SchedulerException, IllegalAccessException;
+
   Job updateJob( JobScheduleRequest jobScheduleRequest ) throws IllegalAccessException, IOException, SchedulerException;
 
   Job triggerNow( String jobId ) throws SchedulerException;
 
+  /**
+   * Runs the jobs the current user may run now, reading the jobs once for the whole batch and firing them with a
+   * single scheduler call.
+   *
+   * @return the new state of each job
+   */
+  JobsResponse triggerNow( List<String> jobIds ) throws SchedulerException;
+
   Job getContentCleanerJob() throws SchedulerException;
 
   List<IJob> getJobs() throws SchedulerException, IllegalAccessException;
 
+  /**
+   * Lists the jobs visible to the current user that match a query, sorted and paged as the query requests.
+   */
+  JobsPage getJobs( JobsQuery query ) throws SchedulerException, IllegalAccessException;
+
+  /**
+   * Prepares a pass over the jobs visible to the current user that match the filters of a query. The jobs are neither
+   * sorted nor paged. Permissions are checked when this is called; the jobs are only read, one at a time, when the
+   * returned cursor is run.
+   */
+  JobsCursor getJobsCursor( JobsQuery query ) throws IllegalAccessException;
+
+  /**
+   * @return the version of the job list, which changes whenever a job is added, changed or removed; -1 if job changes
+   * are not tracked
+   */
+  long getJobsVersion();
+
+  /**
+   * Lists the jobs visible to the current user that were added, changed or removed since a version of the job list.
+   */
+  JobChanges getJobChanges( long since ) throws SchedulerException, IllegalAccessException;
+
   boolean isScheduleAllowed( String id );
 
   String doGetCanSchedule();
@@ -77,6 +124,13 @@ public interface ISchedulerServicePlugin {
 
   boolean removeJob( String jobId ) throws SchedulerException;
 
+  /**
+   * Removes the jobs the current user may remove, authorizing the whole batch with a single job lookup.
+   *
+   * @return the new state of each job
+   */
+  JobsResponse removeJobs( List<String> jobIds ) throws SchedulerException;
+
   IJob getJob( String jobId ) throws SchedulerException;
 
   IJob getJobInfo( String jobId ) throws SchedulerException;
@@ -99,9 +153,28 @@ public interface ISchedulerServicePlugin {
 
   BlockStatusProxy getBlockStatus( JobScheduleRequest jobScheduleRequest ) throws SchedulerException;
 
+  /**
+   * Checks a batch of schedules against the blockouts, preparing the blockout windows once for the whole batch.
+   * Jobs which do not exist or which the user may not see are left out.
+   *
+   * @return the block status of each schedule
+   */
+  BlockStatusBatchProxy getBlockStatuses( BlockStatusBatchRequest blockStatusBatchRequest )
+    throws SchedulerException, IllegalAccessException;
+
   List<RepositoryFileDto> doGetGeneratedContentForSchedule( String lineageId ) throws FileNotFoundException;
 
   IScheduler getScheduler();
 
+  JobCatalogStatus verifyJobCatalog() throws SchedulerException, IllegalAccessException;
+
+  JobCatalogStatus rebuildJobCatalog() throws SchedulerException, IllegalAccessException;
+
+  int compactCalendars() throws SchedulerException, IllegalAccessException;
+
+  List<JobBulkheadStatus> getJobBulkheads() throws IllegalAccessException;
+
+  List<JobFairShareStatus> getFairShareStatus() throws IllegalAccessException;
+
   String getHideInternalVariable();
 }
@@ -41,19 +41,42 @@ import org.pentaho.platform.api.scheduler2.SchedulerException;
 import org.pentaho.platform.engine.core.system.PentahoSessionHolder;
 import org.pentaho.platform.engine.core.system.PentahoSystem;
 import org.pentaho.platform.engine.security.SecurityHelper;
+import org.pentaho.platform.scheduler2.IJobGroupFilter;
+import org.pentaho.platform.scheduler2.IJobParamsFilter;
+import org.pentaho.platform.scheduler2.IJobPreFilter;
+import org.pentaho.platform.scheduler2.VisibleJobsFilter;
 import org.pentaho.platform.scheduler2.blockout.BlockoutAction;
+import org.pentaho.platform.scheduler2.blockout.BlockoutManagerUtil;
+import org.pentaho.platform.scheduler2.blockout.BlockoutManagerUtil.BlockStatus;
+import org.pentaho.platform.scheduler2.quartz.QuartzFairShareDispatcher;
+import org.pentaho.platform.scheduler2.quartz.QuartzJobBulkheads;
+import org.pentaho.platform.scheduler2.quartz.QuartzJobCatalog;
+import org.pentaho.platform.scheduler2.quartz.QuartzJobKey;
+import org.pentaho.platform.scheduler2.quartz.QuartzScheduler;
 import org.pentaho.platform.security.policy.rolebased.actions.AdministerSecurityAction;
 import org.pentaho.platform.security.policy.rolebased.actions.SchedulerAction;
 import org.pentaho.platform.security.policy.rolebased.actions.SchedulerExecuteAction;
 import org.pentaho.platform.util.ActionUtil;
 import org.pentaho.platform.util.messages.LocaleHelper;
+import org.pentaho.platform.web.http.api.proxies.BlockStatusBatchProxy;
 import org.pentaho.platform.web.http.api.proxies.BlockStatusProxy;
+import org.pentaho.platform.web.http.api.proxies.JobBlockStatusProxy;
+import org.pentaho.platform.web.http.api.resources.BlockStatusBatchRequest;
 import org.pentaho.platform.web.http.api.resources.ComplexJobTriggerProxy;
+import org.pentaho.platform.web.http.api.resources.JobBulkheadStatus;
+import org.pentaho.platform.web.http.api.resources.JobCatalogStatus;
+import org.pentaho.platform.web.http.api.resources.JobFairShareStatus;
+import org.pentaho.platform.web.http.api.resources.JobChanges;
 import org.pentaho.platform.web.http.api.resources.JobRequest;
 import org.pentaho.platform.web.http.api.resources.JobScheduleParam;
 import org.pentaho.platform.web.http.api.resources.JobScheduleRequest;
+import org.pentaho.platform.web.http.api.resources.JobsCursor;
+import org.pentaho.platform.web.http.api.resources.JobsPage;
+import org.pentaho.platform.web.http.api.resources.JobsQuery;
+import org.pentaho.platform.web.http.api.resources.JobsResponse;
 import org.pentaho.platform.web.http.api.resources.RepositoryFileStreamProvider;
 import org.pentaho.platform.web.http.api.resources.SchedulerOutputPathResolver;
+import org.pentaho.platform.web.http.api.resources.SchedulerResource;
 import org.pentaho.platform.web.http.api.resources.SchedulerResourceUtil;
 import org.pentaho.platform.web.http.api.resources.SessionResource;
 
@@ -62,11 +85,17 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
 
 import com.google.common.annotations.VisibleForTesting;
 
@@ -124,17 +153,118 @@ public class SchedulerService implements ISchedulerServicePlugin {
   @Override
   public Job createJob( JobScheduleRequest scheduleRequest )
     throws IOException, SchedulerException, IllegalAccessException {
+    return createJob( scheduleRequest, this::isScheduleAllowed, this::getInputFileInfo, null );
+  }
+
+  /**
+   * Creates several jobs at once. The permissions and the input files shared by the requests are only looked up once,
+   * and a Quartz scheduler stores all the jobs together, so either all the jobs are created or none is.
+   */
+  @Override
+  public List<Job> createJobs( List<JobScheduleRequest> scheduleRequests )
+    throws IOException, SchedulerException, IllegalAccessException {
+    return createJobs( scheduleRequests, false );
+  }
+
+  /**
+   * Creates several jobs at once, as {@link #createJobs(List)} does.
+   *
+   * @param paused true to create the jobs paused, without any of them firing in between
+   */
+  @Override
+  public List<Job> createJobs( List<JobScheduleRequest> scheduleRequests, boolean paused )
+    throws IOException, SchedulerException, IllegalAccessException {
+    IScheduler scheduler = getScheduler();
+    if ( !( scheduler instanceof QuartzScheduler ) ) {
+      List<Job> jobs = new ArrayList<>( scheduleRequests.size() );
+      for ( JobScheduleRequest scheduleRequest : scheduleRequests ) {
+        Job job = createJob( scheduleRequest );
+        if ( paused ) {
+          scheduler.pauseJob( job.getJobId() );
+          job.setState( JobState.PAUSED );
+        }
+        jobs.add( job );
+      }
+      return jobs;
+    }
+
+    boolean scheduleAllowed = isScheduleAllowed();
+    Map<String, Optional<InputFileInfo>> inputFiles = new HashMap<>();
+    InputFileLookup inputFileLookup = scheduleRequest -> {
+      Optional<InputFileInfo> inputFile = inputFiles.get( scheduleRequest.getInputFile() );
+      if ( inputFile == null ) {
+        inputFile = getInputFileInfo( scheduleRequest ).map( CheckedInputFileInfo::new );
+        inputFiles.put( scheduleRequest.getInputFile(), inputFile );
+      }
+      return inputFile;
+    };
+
+    QuartzScheduler.JobBatch batch = ( (QuartzScheduler) scheduler ).newJobBatch();
+    for ( JobScheduleRequest scheduleRequest : scheduleRequests ) {
+      createJob( scheduleRequest, () -> scheduleAllowed, inputFileLookup, batch );
+    }
+    return paused ? batch.schedulePaused() : batch.schedule();
+  }
+
+  private interface InputFileLookup {
+    Optional<InputFileInfo> getInputFileInfo( JobScheduleRequest scheduleRequest ) throws SchedulerException;
+  }
+
+  /**
+   * Checks only once whether the file is schedulable, for the requests of a batch sharing the file.
+   */
+  private static class CheckedInputFileInfo implements InputFileInfo {
+    private final InputFileInfo inputFile;
+    private boolean checked;
+    private IllegalAccessException notSchedulable;
+
+    CheckedInputFileInfo( InputFileInfo inputFile ) {
+      this.inputFile = inputFile;
+    }
+
+    @Override
+    public String getName() {
+      return inputFile.getName();
+    }
+
+    @Override
+    public String getPath() {
+      return inputFile.getPath();
+    }
+
+    @Override
+    public void checkIsSchedulable() throws IllegalAccessException {
+      if ( !checked ) {
+        try {
+          inputFile.checkIsSchedulable();
+        } catch ( IllegalAccessException e ) {
+          notSchedulable = e;
+        }
+        checked = true;
+      }
+      if ( notSchedulable != null ) {
+        throw notSchedulable;
+      }
+    }
+  }
+
+  /**
+   * @param batch the batch to add the job to, or null to schedule the job right away
+   */
+  private Job createJob( JobScheduleRequest scheduleRequest, BooleanSupplier scheduleAllowed,
+                         InputFileLookup inputFileLookup, QuartzScheduler.JobBatch batch )
+    throws IOException, SchedulerException, IllegalAccessException {
     // Used to determine if created by a RunInBackgroundCommand
     boolean runInBackground = isRunInBackground( scheduleRequest );
 
-    if ( !runInBackground && !isScheduleAllowed() ) {
+    if ( !runInBackground && !scheduleAllowed.getAsBoolean() ) {
       throw new SecurityException();
     }
 
     logger.debug( "checking input file" );
     Optional<InputFileInfo> file;
     if ( !StringUtils.isEmpty( scheduleRequest.getInputFile() ) ) {
-      file = getInputFileInfo( scheduleRequest );
+      file = inputFileLookup.getInputFileInfo( scheduleRequest );
     } else {
       logger.debug( "no input file" );
       file = Optional.empty();
@@ -160,9 +290,14 @@ public class SchedulerService implements ISchedulerServicePlugin {
       final String outputFile = resolveOutputFilePath( scheduleRequest );
       final String actionId = SchedulerResourceUtil.resolveActionId( scheduleRequest.getInputFile() );
       parameterMap.put( ActionUtil.QUARTZ_STREAMPROVIDER_INPUT_FILE, inputFile );
-      job =
+      if ( batch != null ) {
+        job = batch.createJob( scheduleRequest.getJobName(), actionId, parameterMap, jobTrigger,
+          createIBackgroundExecutionStreamProvider( inputFile, outputFile, scheduleRequest ) );
+      } else {
+        job =
           (Job) schedulerCreateJob( scheduleRequest.getJobName(), actionId, parameterMap, jobTrigger, inputFile,
             outputFile, scheduleRequest );
+      }
     } else {
       // TODO need to locate actions from plugins if done this way too (but for now, we're just on main)
       // We will first attempt to get action class and if it fails we get the registered bean id.
@@ -170,10 +305,14 @@ public class SchedulerService implements ISchedulerServicePlugin {
 
       try {
         Class<IAction> iaction = getAction( actionClass );
-        job = (Job) getScheduler().createJob( scheduleRequest.getJobName(), iaction, parameterMap, jobTrigger );
+        job = batch != null
+          ? batch.createJob( scheduleRequest.getJobName(), iaction, parameterMap, jobTrigger, null )
+          : (Job) getScheduler().createJob( scheduleRequest.getJobName(), iaction, parameterMap, jobTrigger );
       } catch ( ClassNotFoundException e ) {
         String actionId = SchedulerResourceUtil.resolveActionIdFromClass( actionClass );
-        job = (Job) getScheduler().createJob( scheduleRequest.getJobName(), actionId, parameterMap, jobTrigger );
+        job = batch != null
+          ? batch.createJob( scheduleRequest.getJobName(), actionId, parameterMap, jobTrigger, null )
+          : (Job) getScheduler().createJob( scheduleRequest.getJobName(), actionId, parameterMap, jobTrigger );
       }
     }
 
@@ -323,6 +462,58 @@ public class SchedulerService implements ISchedulerServicePlugin {
     return job;
   }
 
+  @Override
+  public JobsResponse triggerNow( List<String> jobIds ) throws SchedulerException {
+    IScheduler scheduler = getScheduler();
+    Map<String, IJob> jobsById = new HashMap<>();
+    for ( IJob job : scheduler.getJobs( new JobIdsFilter( jobIds ) ) ) {
+      jobsById.put( job.getJobId(), job );
+    }
+
+    boolean triggerAllowed = isScheduleAllowed() || isExecuteScheduleAllowed();
+    String principalName = getSession().getName();
+    List<String> runnableJobIds = new ArrayList<>();
+    for ( IJob job : jobsById.values() ) {
+      if ( triggerAllowed || principalName.equals( job.getUserName() ) ) {
+        runnableJobIds.add( job.getJobId() );
+      }
+    }
+
+    Set<String> failedJobIds;
+    if ( scheduler instanceof QuartzScheduler ) {
+      failedJobIds = new HashSet<>( ( (QuartzScheduler) scheduler ).triggerNow( runnableJobIds ) );
+    } else {
+      failedJobIds = new HashSet<>();
+      for ( String jobId : runnableJobIds ) {
+        try {
+          scheduler.triggerNow( jobId );
+        } catch ( SchedulerException e ) {
+          failedJobIds.add( jobId );
+        }
+      }
+    }
+
+    // update job states
+    List<String> firedJobIds = new ArrayList<>( runnableJobIds );
+    firedJobIds.removeAll( failedJobIds );
+    if ( !firedJobIds.isEmpty() ) {
+      for ( IJob job : scheduler.getJobs( new JobIdsFilter( firedJobIds ) ) ) {
+        jobsById.put( job.getJobId(), job );
+      }
+    }
+
+    JobsResponse response = new JobsResponse();
+    for ( String jobId : jobIds ) {
+      IJob job = jobsById.get( jobId );
+      if ( job != null && job.getState() != null && !failedJobIds.contains( jobId ) ) {
+        response.addChanges( jobId, job.getState().name() );
+      } else {
+        response.addChanges( jobId, SchedulerResource.ERROR_JOB_STATE );
+      }
+    }
+    return response;
+  }
+
   @Override
   public Job getContentCleanerJob() throws SchedulerException {
     IPentahoSession session = getSession();
@@ -377,7 +568,7 @@ public class SchedulerService implements ISchedulerServicePlugin {
     return new JobFilter( canAdminister, principalName );
   }
 
-  private static class JobFilter implements IJobFilter {
+  private static class JobFilter implements IJobGroupFilter {
     private final boolean canAdminister;
     private final String principalName;
 
@@ -397,6 +588,11 @@ public class SchedulerService implements ISchedulerServicePlugin {
       return principalName.equals( job.getUserName() ) && "org.pentaho.platform.admin.GeneratedContentCleaner".equals(
         actionClass );
     }
+
+    @Override
+    public String getJobGroup() {
+      return canAdminister ? null : principalName;
+    }
   }
 
   @Override
@@ -477,6 +673,94 @@ public class SchedulerService implements ISchedulerServicePlugin {
     return false;
   }
 
+  @Override
+  public JobsResponse removeJobs( List<String> jobIds ) throws SchedulerException {
+    IScheduler scheduler = getScheduler();
+    Map<String, IJob> jobsById = new HashMap<>();
+    for ( IJob job : scheduler.getJobs( new JobIdsFilter( jobIds ) ) ) {
+      jobsById.put( job.getJobId(), job );
+    }
+
+    boolean scheduleAllowed = isScheduleAllowed();
+    String principalName = getSession().getName();
+    List<String> removableJobIds = new ArrayList<>();
+    for ( IJob job : jobsById.values() ) {
+      if ( scheduleAllowed || principalName.equals( job.getUserName() ) ) {
+        removableJobIds.add( job.getJobId() );
+      }
+    }
+
+    Set<String> removedJobIds;
+    if ( scheduler instanceof QuartzScheduler ) {
+      removedJobIds = new HashSet<>( ( (QuartzScheduler) scheduler ).removeJobs( removableJobIds ) );
+    } else {
+      removedJobIds = new HashSet<>();
+      for ( String jobId : removableJobIds ) {
+        try {
+          scheduler.removeJob( jobId );
+          removedJobIds.add( jobId );
+        } catch ( SchedulerException e ) {
+          // reported as an error below
+        }
+      }
+    }
+
+    JobsResponse response = new JobsResponse();
+    for ( String jobId : jobIds ) {
+      IJob job = jobsById.get( jobId );
+      if ( removedJobIds.contains( jobId ) ) {
+        response.addChanges( jobId, SchedulerResource.REMOVED_JOB_STATE );
+      } else if ( job != null && job.getState() != null && !removableJobIds.contains( jobId ) ) {
+        response.addChanges( jobId, job.getState().name() );
+      } else {
+        response.addChanges( jobId, SchedulerResource.ERROR_JOB_STATE );
+      }
+    }
+    return response;
+  }
+
+  /**
+   * Accepts the jobs with the given ids. Only the group of their owner is read when all the jobs belong to the same
+   * user, and their parameters are never read.
+   */
+  private static class JobIdsFilter implements IJobPreFilter, IJobGroupFilter, IJobParamsFilter {
+    private final Set<String> jobIds;
+    private final String jobGroup;
+
+    JobIdsFilter( List<String> jobIds ) {
+      this.jobIds = new HashSet<>( jobIds );
+      Set<String> userNames = new HashSet<>();
+      for ( String jobId : jobIds ) {
+        try {
+          userNames.add( QuartzJobKey.parse( jobId ).getUserName() );
+        } catch ( SchedulerException e ) {
+          // a malformed id matches no job
+        }
+      }
+      this.jobGroup = userNames.size() == 1 ? userNames.iterator().next() : null;
+    }
+
+    @Override
+    public boolean preAccept( IJob job ) {
+      return accept( job );
+    }
+
+    @Override
+    public boolean accept( IJob job ) {
+      return jobIds.contains( job.getJobId() );
+    }
+
+    @Override
+    public String getJobGroup() {
+      return jobGroup;
+    }
+
+    @Override
+    public boolean isJobParamsRequired() {
+      return false;
+    }
+  }
+
   @SuppressWarnings( "java:S112" )
   @Override
   public IJob getJobInfo( String jobId ) throws SchedulerException {
@@ -588,6 +872,76 @@ public class SchedulerService implements ISchedulerServicePlugin {
     return getBlockStatusProxy( totallyBlocked, partiallyBlocked );
   }
 
+  @Override
+  public BlockStatusBatchProxy getBlockStatuses( BlockStatusBatchRequest blockStatusBatchRequest )
+    throws SchedulerException, IllegalAccessException {
+    List<String> jobIds = new ArrayList<>();
+    List<String> jobNames = new ArrayList<>();
+    List<IJobTrigger> triggers = new ArrayList<>();
+    for ( JobScheduleRequest jobScheduleRequest : blockStatusBatchRequest.getJobScheduleRequests() ) {
+      updateStartDateForTimeZone( jobScheduleRequest );
+      jobIds.add( jobScheduleRequest.getJobId() );
+      jobNames.add( jobScheduleRequest.getJobName() );
+      triggers.add( convertScheduleRequestToJobTrigger( jobScheduleRequest ) );
+    }
+
+    if ( !blockStatusBatchRequest.getJobIds().isEmpty() || triggers.isEmpty() ) {
+      VisibleJobsFilter visibleJobsFilter = getVisibleJobsFilter();
+      List<IJob> jobs;
+      if ( blockStatusBatchRequest.getJobIds().isEmpty() ) {
+        jobs = getScheduler().getJobs( visibleJobsFilter );
+      } else {
+        Map<String, IJob> jobsById = new HashMap<>();
+        for ( IJob job : getScheduler().getJobs( new JobIdsFilter( blockStatusBatchRequest.getJobIds() ) ) ) {
+          jobsById.put( job.getJobId(), job );
+        }
+        jobs = new ArrayList<>();
+        for ( String jobId : blockStatusBatchRequest.getJobIds() ) {
+          IJob job = jobsById.get( jobId );
+          if ( job != null && visibleJobsFilter.accept( job ) ) {
+            jobs.add( job );
+          }
+        }
+      }
+      for ( IJob job : jobs ) {
+        if ( job.getJobTrigger() != null && !IBlockoutManager.BLOCK_OUT_JOB_NAME.equals( job.getJobName() ) ) {
+          jobIds.add( job.getJobId() );
+          jobNames.add( job.getJobName() );
+          triggers.add( job.getJobTrigger() );
+        }
+      }
+    }
+
+    List<IJobTrigger> blockOutTriggers = new ArrayList<>();
+    JobScheduleRequest blockout = blockStatusBatchRequest.getBlockout();
+    if ( blockout != null ) {
+      updateStartDateForTimeZone( blockout );
+      IJobTrigger blockOutTrigger = convertScheduleRequestToJobTrigger( blockout );
+      blockOutTrigger.setDuration( blockout.getDuration() );
+      blockOutTriggers.add( blockOutTrigger );
+    } else {
+      for ( IJob blockOutJob : getBlockoutManager().getBlockOutJobs() ) {
+        blockOutTriggers.add( blockOutJob.getJobTrigger() );
+      }
+    }
+
+    List<BlockStatus> statuses = BlockoutManagerUtil.getBlockStatuses( triggers, blockOutTriggers,
+      getBlockStatusPool() );
+    List<JobBlockStatusProxy> blockStatuses = new ArrayList<>( statuses.size() );
+    for ( int i = 0; i < statuses.size(); i++ ) {
+      blockStatuses.add( new JobBlockStatusProxy( jobIds.get( i ), jobNames.get( i ),
+        statuses.get( i ) == BlockStatus.TOTALLY_BLOCKED, statuses.get( i ) != BlockStatus.UNBLOCKED ) );
+    }
+    return new BlockStatusBatchProxy( blockStatuses );
+  }
+
+  /**
+   * The pool checking the schedules of a batch, as checking a schedule against the blockouts only computes.
+   */
+  protected ForkJoinPool getBlockStatusPool() {
+    return ForkJoinPool.commonPool();
+  }
+
   protected BlockStatusProxy getBlockStatusProxy( Boolean totallyBlocked, Boolean partiallyBlocked ) {
     return new BlockStatusProxy( totallyBlocked, partiallyBlocked );
   }
@@ -713,6 +1067,71 @@ public class SchedulerService implements ISchedulerServicePlugin {
 
   @Override
   public List<IJob> getJobs() throws SchedulerException, IllegalAccessException {
+    return getScheduler().getJobs( getVisibleJobsFilter() );
+  }
+
+  @Override
+  public JobsPage getJobs( JobsQuery query ) throws SchedulerException, IllegalAccessException {
+    IScheduler scheduler = getScheduler();
+    // a page only needs the triggers of its own jobs: the filters and the sort keys are all known before the trigger
+    // is built, so the jobs are matched and sorted without one and only the jobs of the page are read whole
+    boolean paged = query.getLimit() >= 0 && scheduler instanceof QuartzScheduler;
+    List<IJob> jobs;
+    if ( paged ) {
+      jobs = ( (QuartzScheduler) scheduler ).getJobsWithoutTriggers(
+        new JobsQueryFilter( getVisibleJobsFilter(), query, query.isJobParamsMatched() ) );
+    } else {
+      jobs = scheduler.getJobs( new JobsQueryFilter( getVisibleJobsFilter(), query, query.isJobParamsRequired() ) );
+    }
+
+    Comparator<IJob> comparator = query.getComparator();
+    if ( comparator != null ) {
+      jobs = new ArrayList<>( jobs );
+      jobs.sort( comparator );
+    }
+
+    int totalCount = jobs.size();
+    int fromIndex = Math.min( query.getOffset(), totalCount );
+    int toIndex = query.getLimit() < 0 ? totalCount : (int) Math.min( (long) fromIndex + query.getLimit(), totalCount );
+    List<IJob> page = new ArrayList<>( jobs.subList( fromIndex, toIndex ) );
+    if ( paged ) {
+      readJobsOfPage( scheduler, page );
+    }
+    return new JobsPage( page, totalCount );
+  }
+
+  /**
+   * Replaces the jobs listed without their trigger by the whole jobs, leaving out the ones removed in the meantime.
+   */
+  private void readJobsOfPage( IScheduler scheduler, List<IJob> page ) throws SchedulerException {
+    for ( ListIterator<IJob> iterator = page.listIterator(); iterator.hasNext(); ) {
+      IJob job = iterator.next();
+      if ( job.getJobTrigger() != null ) {
+        continue;
+      }
+      IJob wholeJob = scheduler.getJob( job.getJobId() );
+      if ( wholeJob != null ) {
+        iterator.set( wholeJob );
+      } else {
+        iterator.remove();
+      }
+    }
+  }
+
+  @Override
+  public JobsCursor getJobsCursor( JobsQuery query ) throws IllegalAccessException {
+    IJobFilter filter = new JobsQueryFilter( getVisibleJobsFilter(), query, query.isJobParamsRequired() );
+    return action -> {
+      IScheduler scheduler = getScheduler();
+      if ( scheduler instanceof QuartzScheduler ) {
+        ( (QuartzScheduler) scheduler ).forEachJob( filter, action );
+      } else {
+        scheduler.getJobs( filter ).forEach( action );
+      }
+    };
+  }
+
+  private VisibleJobsFilter getVisibleJobsFilter() throws IllegalAccessException {
     if ( !isScheduleAllowed() && !isExecuteScheduleAllowed() ) {
       throw new IllegalAccessException();
     }
@@ -723,13 +1142,43 @@ public class SchedulerService implements ISchedulerServicePlugin {
     final boolean canAdminister = canAdminister();
     final boolean canExecuteSchedule = isExecuteScheduleAllowed();
 
-    return getScheduler().getJobs( job -> {
-      if ( canAdminister || canExecuteSchedule ) {
-        return !IBlockoutManager.BLOCK_OUT_JOB_NAME.equals( job.getJobName() );
-      }
+    return new VisibleJobsFilter( principalName, canAdminister || canExecuteSchedule );
+  }
 
-      return principalName.equals( job.getUserName() );
-    } );
+  /**
+   * Combines the visibility rule with the filters of a query. Both only look at properties available before the job
+   * trigger is built, so the scheduler can apply them early.
+   */
+  private static class JobsQueryFilter implements IJobPreFilter, IJobGroupFilter, IJobParamsFilter {
+    private final VisibleJobsFilter visibleJobsFilter;
+    private final JobsQuery query;
+    private final boolean jobParamsRequired;
+
+    JobsQueryFilter( VisibleJobsFilter visibleJobsFilter, JobsQuery query, boolean jobParamsRequired ) {
+      this.visibleJobsFilter = visibleJobsFilter;
+      this.query = query;
+      this.jobParamsRequired = jobParamsRequired;
+    }
+
+    @Override
+    public boolean preAccept( IJob job ) {
+      return accept( job );
+    }
+
+    @Override
+    public boolean accept( IJob job ) {
+      return visibleJobsFilter.accept( job ) && query.matches( job );
+    }
+
+    @Override
+    public String getJobGroup() {
+      return visibleJobsFilter.getJobGroup();
+    }
+
+    @Override
+    public boolean isJobParamsRequired() {
+      return jobParamsRequired;
+    }
   }
 
   protected boolean canAdminister() {
@@ -773,6 +1222,116 @@ public class SchedulerService implements ISchedulerServicePlugin {
     return blockoutManager;
   }
 
+  @Override
+  public JobCatalogStatus verifyJobCatalog() throws SchedulerException, IllegalAccessException {
+    QuartzJobCatalog jobCatalog = getJobCatalog();
+    return jobCatalog == null ? new JobCatalogStatus() : toJobCatalogStatus( jobCatalog.verify() );
+  }
+
+  @Override
+  public JobCatalogStatus rebuildJobCatalog() throws SchedulerException, IllegalAccessException {
+    QuartzJobCatalog jobCatalog = getJobCatalog();
+    return jobCatalog == null ? new JobCatalogStatus() : toJobCatalogStatus( jobCatalog.rebuild() );
+  }
+
+  private static JobCatalogStatus toJobCatalogStatus( QuartzJobCatalog.Status catalogStatus ) {
+    JobCatalogStatus status = new JobCatalogStatus();
+    status.setEnabled( true );
+    status.setConsistent( catalogStatus.isConsistent() );
+    status.setCachedJobCount( catalogStatus.getCachedJobCount() );
+    status.setStoredJobCount( catalogStatus.getStoredJobCount() );
+    status.setMissingJobIds( new ArrayList<>( catalogStatus.getMissingJobIds() ) );
+    status.setUnexpectedJobIds( new ArrayList<>( catalogStatus.getUnexpectedJobIds() ) );
+    status.setOutdatedJobIds( new ArrayList<>( catalogStatus.getOutdatedJobIds() ) );
+    return status;
+  }
+
+  @Override
+  public int compactCalendars() throws SchedulerException, IllegalAccessException {
+    if ( !canAdminister() ) {
+      throw new IllegalAccessException();
+    }
+    IScheduler scheduler = getScheduler();
+    return scheduler instanceof QuartzScheduler ? ( (QuartzScheduler) scheduler ).compactCalendars() : 0;
+  }
+
+  @Override
+  public List<JobBulkheadStatus> getJobBulkheads() throws IllegalAccessException {
+    if ( !canAdminister() ) {
+      throw new IllegalAccessException();
+    }
+    List<JobBulkheadStatus> statuses = new ArrayList<>();
+    for ( QuartzJobBulkheads.BulkheadStatus bulkheadStatus : QuartzJobBulkheads.getInstance().getStatus() ) {
+      JobBulkheadStatus status = new JobBulkheadStatus();
+      status.setName( bulkheadStatus.getName() );
+      status.setMaxConcurrency( bulkheadStatus.getMaxConcurrency() );
+      status.setMaxQueue( bulkheadStatus.getMaxQueue() );
+      status.setRunning( bulkheadStatus.getRunning() );
+      status.setQueued( bulkheadStatus.getQueued() );
+      status.setUtilization( bulkheadStatus.getUtilization() );
+      status.setCompleted( bulkheadStatus.getCompleted() );
+      status.setRejected( bulkheadStatus.getRejected() );
+      status.setAverageQueueWaitMillis( bulkheadStatus.getAverageQueueWaitMillis() );
+      status.setMaxQueueWaitMillis( bulkheadStatus.getMaxQueueWaitMillis() );
+      statuses.add( status );
+    }
+    return statuses;
+  }
+
+  @Override
+  public List<JobFairShareStatus> getFairShareStatus() throws IllegalAccessException {
+    if ( !canAdminister() ) {
+      throw new IllegalAccessException();
+    }
+    List<JobFairShareStatus> statuses = new ArrayList<>();
+    QuartzFairShareDispatcher dispatcher = QuartzFairShareDispatcher.getInstance();
+    if ( dispatcher == null ) {
+      return statuses;
+    }
+    for ( QuartzFairShareDispatcher.UserStatus userStatus : dispatcher.getStatus() ) {
+      JobFairShareStatus status = new JobFairShareStatus();
+      status.setUserName( userStatus.getUserName() );
+      status.setWeight( userStatus.getWeight() );
+      status.setRunning( userStatus.getRunning() );
+      status.setQueued( userStatus.getQueued() );
+      status.setCompleted( userStatus.getCompleted() );
+      status.setAverageQueueWaitMillis( userStatus.getAverageQueueWaitMillis() );
+      status.setMaxQueueWaitMillis( userStatus.getMaxQueueWaitMillis() );
+      status.setOldestQueueWaitMillis( userStatus.getOldestQueueWaitMillis() );
+      statuses.add( status );
+    }
+    return statuses;
+  }
+
+  @Override
+  public long getJobsVersion() {
+    IScheduler scheduler = getScheduler();
+    if ( scheduler instanceof QuartzScheduler && ( (QuartzScheduler) scheduler ).getJobChangeLog() != null ) {
+      return ( (QuartzScheduler) scheduler ).getJobChangeLog().getVersion();
+    }
+    return -1;
+  }
+
+  @Override
+  public JobChanges getJobChanges( long since ) throws SchedulerException, IllegalAccessException {
+    IJobFilter filter = getVisibleJobsFilter();
+    IScheduler scheduler = getScheduler();
+    if ( scheduler instanceof QuartzScheduler ) {
+      return ( (QuartzScheduler) scheduler ).getJobChanges( since, filter );
+    }
+    JobChanges changes = new JobChanges();
+    changes.setReset( true );
+    return changes;
+  }
+
+  private QuartzJobCatalog getJobCatalog() throws IllegalAccessException {
+    if ( !canAdminister() ) {
+      throw new IllegalAccessException();
+    }
+    IScheduler scheduler = getScheduler();
+    return scheduler instanceof QuartzScheduler ? ( (QuartzScheduler) scheduler ).getJobCatalog() : null;
+  }
+
   /**
    * Checks if the fallback setting is enabled for the scheduler.
    * The fallback setting is determined by the plugin setting `settings/scheduler-fallback`.
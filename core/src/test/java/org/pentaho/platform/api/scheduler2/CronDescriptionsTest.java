@@ -0,0 +1,84 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.api.scheduler2;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CronDescriptionsTest {
+
+  @Test
+  public void testDescriptionsAreCachedPerCronStringAndLocale() {
+    String description = CronDescriptions.describe( "0 0 12 ? * 2 *", Locale.US );
+
+    assertNotNull( description );
+    assertSame( description, CronDescriptions.describe( "0 0 12 ? * 2 *", Locale.US ) );
+    assertEquals( description, CronDescriptions.describe( "0 0 12 ? * 2 *", Locale.UK ) );
+  }
+
+  @Test
+  public void testDescriptionIsComputedWhenAskedFor() {
+    ComplexJobTrigger trigger = new ComplexJobTrigger();
+    trigger.setCronString( "0 0 12 ? * 2 *" );
+    String description = trigger.getCronDescription();
+    assertEquals( CronDescriptions.describe( "0 0 12 ? * 2 *", Locale.US ), description );
+
+    trigger.setCronString( "0 30 6 * * ? *" );
+    assertEquals( CronDescriptions.describe( "0 30 6 * * ? *", Locale.US ), trigger.getCronDescription() );
+
+    trigger.setCronString( null );
+    assertNull( trigger.getCronDescription() );
+  }
+
+  @Test
+  public void testSetCronStringRejectsAnInvalidCronString() {
+    ComplexJobTrigger trigger = new ComplexJobTrigger();
+    trigger.setCronString( "0 0 12 ? * 2 *" );
+    try {
+      trigger.setCronString( "not a cron" );
+      fail();
+    } catch ( IllegalArgumentException e ) {
+      // the trigger keeps its valid cron string
+    }
+    assertEquals( "0 0 12 ? * 2 *", trigger.getCronString() );
+  }
+
+  @Test
+  public void testValidCronStringsAreOnlyParsedOnce() {
+    assertFalse( CronDescriptions.isValidated( "0 15 7 ? * 3 *" ) );
+    new ComplexJobTrigger().setCronString( "0 15 7 ? * 3 *" );
+    assertTrue( CronDescriptions.isValidated( "0 15 7 ? * 3 *" ) );
+
+    try {
+      new ComplexJobTrigger().setCronString( "still not a cron" );
+      fail();
+    } catch ( IllegalArgumentException e ) {
+      assertFalse( CronDescriptions.isValidated( "still not a cron" ) );
+    }
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testInvalidCronStringIsNotDescribed() {
+    CronDescriptions.describe( "not a cron", Locale.US );
+  }
+}
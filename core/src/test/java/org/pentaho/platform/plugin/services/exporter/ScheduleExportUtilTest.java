@@ -27,6 +27,7 @@ import org.pentaho.platform.api.scheduler2.CronJobTrigger;
 import org.pentaho.platform.api.scheduler2.IBlockoutManager;
 import org.pentaho.platform.api.scheduler2.IJob;
 import org.pentaho.platform.api.scheduler2.IJobScheduleParam;
+import org.pentaho.platform.api.scheduler2.IJobScheduleRequest;
 import org.pentaho.platform.api.scheduler2.IScheduler;
 import org.pentaho.platform.api.scheduler2.Job;
 import org.pentaho.platform.api.scheduler2.JobTrigger;
@@ -58,6 +59,7 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -401,4 +403,49 @@ public class ScheduleExportUtilTest {
     exporterSpy.exportSchedules();
     exportLogger.endJob();
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testExportSchedulesConvertsBatchesInParallelAndKeepsTheOrder() throws Exception {
+    List<IJob> jobs = new ArrayList<>();
+    for ( int i = 0; i < 7; i++ ) {
+      Job job = new Job();
+      job.setJobName( i == 3 ? "PentahoSystemVersionCheck" : "job " + i );
+      job.setJobTrigger( i == 5 ? mock( JobTrigger.class ) : new SimpleJobTrigger() );
+      jobs.add( job );
+    }
+    when( scheduler.getJobs( null ) ).thenReturn( jobs );
+    when( scheduler.createJobScheduleRequest() ).thenAnswer( invocation -> new JobScheduleRequest() );
+    IRepositoryExportLogger exportLogger = new Log4JRepositoryExportLogger();
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    exportLogger.startJob( outputStream, Level.INFO, new RepositoryTextLayout( Level.INFO ) );
+    PentahoPlatformExporter exporter = new PentahoPlatformExporter( repo );
+    exporter.setExportManifest( exportManifest );
+    exporter.setRepositoryExportLogger( exportLogger );
+
+    ScheduleExportUtil exportUtil = new ScheduleExportUtil();
+    exportUtil.setBatchSize( 2 );
+    exportUtil.setParallelism( 2 );
+    exportUtil.doExport( exporter );
+    exportLogger.endJob();
+
+    verify( scheduler, times( 1 ) ).getJobs( null );
+    List<IJobScheduleRequest> schedules = exportManifest.getScheduleList();
+    assertEquals( 5, schedules.size() );
+    assertEquals( "job 0", schedules.get( 0 ).getJobName() );
+    assertEquals( "job 1", schedules.get( 1 ).getJobName() );
+    assertEquals( "job 2", schedules.get( 2 ).getJobName() );
+    assertEquals( "job 4", schedules.get( 3 ).getJobName() );
+    assertEquals( "job 6", schedules.get( 4 ).getJobName() );
+  }
+
+  @Test
+  public void testParseStreamProvider() {
+    String[] files = ScheduleExportUtil.parseStreamProvider( "input file = /home/admin/a.ktr:output file=/home/admin/a.*" );
+    assertEquals( "/home/admin/a.ktr", files[ 0 ] );
+    assertEquals( "/home/admin/a.*", files[ 1 ] );
+
+    assertNull( ScheduleExportUtil.parseStreamProvider( "/home/admin/a.ktr" ) );
+    assertNull( ScheduleExportUtil.parseStreamProvider( "input file = a:output file = b:c" ) );
+    assertNull( ScheduleExportUtil.parseStreamProvider( "input file = a:b" ) );
+  }
+}
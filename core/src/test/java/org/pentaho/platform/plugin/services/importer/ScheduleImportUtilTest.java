@@ -15,11 +15,14 @@ import org.pentaho.platform.api.mimetype.IMimeType;
 import org.pentaho.platform.api.mimetype.IPlatformMimeResolver;
 import org.pentaho.platform.api.repository2.unified.IUnifiedRepository;
 import org.pentaho.platform.api.scheduler2.ICronJobTrigger;
+import org.pentaho.platform.api.scheduler2.IJob;
+import org.pentaho.platform.api.scheduler2.IJobRequest;
 import org.pentaho.platform.api.scheduler2.IJobScheduleParam;
 import org.pentaho.platform.api.scheduler2.IJobScheduleRequest;
 import org.pentaho.platform.api.scheduler2.IScheduler;
 import org.pentaho.platform.api.scheduler2.ISchedulerResource;
 import org.pentaho.platform.api.scheduler2.ISimpleJobTrigger;
+import org.pentaho.platform.api.scheduler2.Job;
 import org.pentaho.platform.api.scheduler2.JobState;
 import org.pentaho.platform.engine.core.system.PentahoSessionHolder;
 import org.pentaho.platform.engine.core.system.PentahoSystem;
@@ -27,18 +30,21 @@ import org.pentaho.platform.plugin.services.importexport.ImportSession;
 import org.pentaho.platform.plugin.services.importexport.exportManifest.ExportManifest;
 import org.pentaho.platform.security.policy.rolebased.IRoleAuthorizationPolicyRoleBindingDao;
 
-import javax.ws.rs.core.Response;
-
 import org.junit.Ignore;
 import org.junit.Test;
 
+import javax.ws.rs.core.Response;
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -90,12 +96,8 @@ public class ScheduleImportUtilTest {
     IJobScheduleRequest scheduleRequest = Mockito.spy( new FakeJobSchedluerRequest() );
     schedules.add( scheduleRequest );
 
-    Response response = mock( Response.class );
-    when( response.getStatus() ).thenReturn( Response.Status.OK.getStatusCode() );
-    when( response.getEntity() ).thenReturn( "job id" );
-
-    doReturn( response ).when( scheduleImportUtil )
-      .createSchedulerJob( ArgumentMatchers.any( ISchedulerResource.class ), ArgumentMatchers.eq( scheduleRequest ) );
+    doReturn( Collections.singletonList( job( "job id" ) ) ).when( scheduleImportUtil )
+      .createSchedulerJobs( Collections.singletonList( scheduleRequest ) );
 
     try ( MockedStatic<PentahoSystem> pentahoSystemMockedStatic = Mockito.mockStatic( PentahoSystem.class );
           MockedStatic<PentahoSessionHolder> pentahoSessionHolderMockedStatic = Mockito.mockStatic(
@@ -115,8 +117,7 @@ public class ScheduleImportUtilTest {
       importHandler.addImportHelper( scheduleImportUtil );
       importHandler.runImportHelpers();
 
-      verify( scheduleImportUtil )
-        .createSchedulerJob( ArgumentMatchers.any( ISchedulerResource.class ), ArgumentMatchers.eq( scheduleRequest ) );
+      verify( scheduleImportUtil ).createSchedulerJobs( Collections.singletonList( scheduleRequest ) );
       Assert.assertEquals( 1, ImportSession.getSession().getImportedScheduleJobIds().size() );
     }
   }
@@ -130,8 +131,8 @@ public class ScheduleImportUtilTest {
     scheduleRequest.setOutputFile( "/home/admin/scheduledTransform*" );
     schedules.add( scheduleRequest );
 
-    Mockito.doThrow( new IOException( "error creating schedule" ) ).when( scheduleImportUtil ).createSchedulerJob(
-      ArgumentMatchers.any( ISchedulerResource.class ), ArgumentMatchers.eq( scheduleRequest ) );
+    Mockito.doThrow( new IOException( "error creating schedule" ) ).when( scheduleImportUtil )
+      .createSchedulerJobs( Collections.singletonList( scheduleRequest ) );
 
     try ( MockedStatic<PentahoSystem> pentahoSystemMockedStatic = Mockito.mockStatic( PentahoSystem.class );
           MockedStatic<PentahoSessionHolder> pentahoSessionHolderMockedStatic = Mockito.mockStatic(
@@ -165,16 +166,15 @@ public class ScheduleImportUtilTest {
 
     ScheduleRequestMatcher throwMatcher =
       new ScheduleRequestMatcher( "/home/admin/scheduled Transform.ktr", "/home/admin/scheduled Transform*" );
-    Mockito.doThrow( new IOException( "error creating schedule" ) ).when( scheduleImportUtil ).createSchedulerJob(
-      ArgumentMatchers.any( ISchedulerResource.class ), ArgumentMatchers.argThat( throwMatcher ) );
+    Mockito.doThrow( new IOException( "error creating schedule" ) ).when( scheduleImportUtil )
+      .createSchedulerJobs( ArgumentMatchers.argThat( schedules -> schedules.size() == 1
+        && throwMatcher.matches( schedules.get( 0 ) ) ) );
 
-    Response response = mock( Response.class );
-    when( response.getStatus() ).thenReturn( Response.Status.OK.getStatusCode() );
-    when( response.getEntity() ).thenReturn( "job id" );
     ScheduleRequestMatcher goodMatcher =
       new ScheduleRequestMatcher( "/home/admin/scheduled_Transform.ktr", "/home/admin/scheduled_Transform*" );
-    doReturn( response ).when( scheduleImportUtil ).createSchedulerJob( ArgumentMatchers.any( ISchedulerResource.class ),
-      ArgumentMatchers.argThat( goodMatcher ) );
+    doReturn( Collections.singletonList( job( "job id" ) ) ).when( scheduleImportUtil )
+      .createSchedulerJobs( ArgumentMatchers.argThat( schedules -> schedules.size() == 1
+        && goodMatcher.matches( schedules.get( 0 ) ) ) );
 
     try ( MockedStatic<PentahoSystem> pentahoSystemMockedStatic = Mockito.mockStatic( PentahoSystem.class );
           MockedStatic<PentahoSessionHolder> pentahoSessionHolderMockedStatic = Mockito.mockStatic(
@@ -193,13 +193,182 @@ public class ScheduleImportUtilTest {
       importHandler.addImportHelper( scheduleImportUtil );
       importHandler.runImportHelpers();
 
-      verify( scheduleImportUtil, times( 2 ) ).createSchedulerJob(
-        ArgumentMatchers.any( ISchedulerResource.class ), ArgumentMatchers.any( IJobScheduleRequest.class ) );
+      verify( scheduleImportUtil, times( 2 ) ).createSchedulerJobs( ArgumentMatchers.anyList() );
       Assert.assertEquals( 1, ImportSession.getSession().getImportedScheduleJobIds().size() );
     }
   }
 
 
+  @Test
+  public void testImportSchedulesIndexesTheExistingJobsOnce() throws Exception {
+    SolutionImportHandler handler = mock( SolutionImportHandler.class );
+    handler.overwriteFile = true;
+    ImportSession importSession = mock( ImportSession.class );
+    ExportManifest manifest = mock( ExportManifest.class );
+    when( handler.getImportSession() ).thenReturn( importSession );
+    when( importSession.getManifest() ).thenReturn( manifest );
+    when( handler.getLogger() ).thenReturn( mock( Log.class ) );
+    when( manifest.getScheduleList() ).thenReturn( Arrays.asList(
+      scheduleRequest( "existing" ), scheduleRequest( "new" ), scheduleRequest( null ) ) );
+
+    IJob existingJob = mock( IJob.class );
+    when( existingJob.getJobId() ).thenReturn( "existingJobId" );
+    when( existingJob.getJobParams() ).thenReturn( Collections.<String, Serializable>singletonMap( "lineage-id", "existing" ) );
+
+    IScheduler scheduler = mock( IScheduler.class );
+    ISchedulerResource schedulerResource = mock( ISchedulerResource.class );
+    when( scheduler.createSchedulerResource() ).thenReturn( schedulerResource );
+    when( scheduler.createJobRequest() ).thenReturn( mock( IJobRequest.class ) );
+    when( schedulerResource.getJobsList() ).thenReturn( Collections.singletonList( existingJob ) );
+
+    ScheduleImportUtil importUtil = spy( new ScheduleImportUtil() );
+    doReturn( Collections.singletonList( job( "newJobId" ) ) ).when( importUtil )
+      .createSchedulerJobs( ArgumentMatchers.anyList() );
+    importUtil.setBatchSize( 1 );
+    importUtil.setParallelism( 2 );
+    try ( MockedStatic<PentahoSystem> pentahoSystemMockedStatic = Mockito.mockStatic( PentahoSystem.class ) ) {
+      pentahoSystemMockedStatic.when(
+          () -> PentahoSystem.get( ArgumentMatchers.eq( IScheduler.class ), ArgumentMatchers.anyString(),
+            ArgumentMatchers.eq( null ) ) )
+        .thenReturn( scheduler );
+
+      importUtil.doImport( handler );
+    }
+
+    verify( schedulerResource, times( 1 ) ).getJobsList();
+    verify( schedulerResource, times( 1 ) ).removeJob( ArgumentMatchers.any( IJobRequest.class ) );
+    verify( importUtil, times( 3 ) ).createSchedulerJobs( ArgumentMatchers.anyList() );
+    verify( schedulerResource, never() ).createJob( ArgumentMatchers.any( IJobScheduleRequest.class ) );
+    verify( schedulerResource, never() ).pause();
+    verify( scheduler, never() ).pauseJob( ArgumentMatchers.anyString() );
+    verify( scheduler, times( 3 ) ).resumeJob( "newJobId" );
+  }
+
+  @Test
+  public void testImportSchedulesCreatesABatchAtOnceAndResumesOnlyTheSchedulesMeantToRun() throws Exception {
+    IJobScheduleRequest running = scheduleRequest( "running" );
+    IJobScheduleRequest paused = scheduleRequest( "paused" );
+    when( paused.getJobState() ).thenReturn( JobState.PAUSED );
+    List<IJobScheduleRequest> schedules = Arrays.asList( running, paused );
+    IScheduler scheduler = mockScheduler();
+    SolutionImportHandler handler = mockImportHandler( schedules );
+
+    ScheduleImportUtil importUtil = spy( new ScheduleImportUtil() );
+    doReturn( Arrays.asList( job( "runningJobId" ), job( "pausedJobId" ) ) ).when( importUtil )
+      .createSchedulerJobs( schedules );
+    doImport( importUtil, handler, scheduler );
+
+    verify( importUtil, times( 1 ) ).createSchedulerJobs( ArgumentMatchers.anyList() );
+    verify( scheduler ).resumeJob( "runningJobId" );
+    verify( scheduler, never() ).resumeJob( "pausedJobId" );
+  }
+
+  @Test
+  public void testImportSchedulesCreatesTheSchedulesOfAFailedBatchOneByOne() throws Exception {
+    IJobScheduleRequest valid = scheduleRequest( "valid" );
+    IJobScheduleRequest invalid = scheduleRequest( "invalid" );
+    when( invalid.getInputFile() ).thenReturn( "/public/missing.prpt" );
+    when( invalid.getOutputFile() ).thenReturn( "/public" );
+    List<IJobScheduleRequest> schedules = Arrays.asList( valid, invalid );
+    IScheduler scheduler = mockScheduler();
+    SolutionImportHandler handler = mockImportHandler( schedules );
+
+    ScheduleImportUtil importUtil = spy( new ScheduleImportUtil() );
+    Mockito.doThrow( new IOException( "missing.prpt not found" ) ).when( importUtil ).createSchedulerJobs( schedules );
+    Mockito.doThrow( new IOException( "missing.prpt not found" ) ).when( importUtil )
+      .createSchedulerJobs( Collections.singletonList( invalid ) );
+    doReturn( Collections.singletonList( job( "validJobId" ) ) ).when( importUtil )
+      .createSchedulerJobs( Collections.singletonList( valid ) );
+    doImport( importUtil, handler, scheduler );
+
+    verify( importUtil, times( 3 ) ).createSchedulerJobs( ArgumentMatchers.anyList() );
+    verify( scheduler ).resumeJob( "validJobId" );
+    verify( scheduler, times( 1 ) ).resumeJob( ArgumentMatchers.anyString() );
+  }
+
+  @Test
+  @SuppressWarnings( "deprecation" )
+  public void testCreateSchedulerJobCreatesTheScheduleThroughTheBatchAndResumesIt() throws Exception {
+    IJobScheduleRequest running = scheduleRequest( "running" );
+    IJobScheduleRequest paused = scheduleRequest( "paused" );
+    when( paused.getJobState() ).thenReturn( JobState.PAUSED );
+    IScheduler scheduler = mockScheduler();
+
+    ScheduleImportUtil importUtil = spy( new ScheduleImportUtil() );
+    doReturn( Collections.singletonList( job( "runningJobId" ) ) ).when( importUtil )
+      .createSchedulerJobs( Collections.singletonList( running ) );
+    doReturn( Collections.singletonList( job( "pausedJobId" ) ) ).when( importUtil )
+      .createSchedulerJobs( Collections.singletonList( paused ) );
+
+    try ( MockedStatic<PentahoSystem> pentahoSystemMockedStatic = Mockito.mockStatic( PentahoSystem.class ) ) {
+      pentahoSystemMockedStatic.when(
+          () -> PentahoSystem.get( ArgumentMatchers.eq( IScheduler.class ), ArgumentMatchers.anyString(),
+            ArgumentMatchers.eq( null ) ) )
+        .thenReturn( scheduler );
+
+      Response runningResponse = importUtil.createSchedulerJob( null, running );
+      Response pausedResponse = importUtil.createSchedulerJob( null, paused );
+
+      Assert.assertEquals( Response.Status.OK.getStatusCode(), runningResponse.getStatus() );
+      Assert.assertEquals( "runningJobId", runningResponse.getEntity() );
+      Assert.assertEquals( "pausedJobId", pausedResponse.getEntity() );
+    }
+    verify( scheduler ).resumeJob( "runningJobId" );
+    verify( scheduler, never() ).resumeJob( "pausedJobId" );
+  }
+
+  private static IScheduler mockScheduler() {
+    IScheduler scheduler = mock( IScheduler.class );
+    ISchedulerResource schedulerResource = mock( ISchedulerResource.class );
+    when( scheduler.createSchedulerResource() ).thenReturn( schedulerResource );
+    when( schedulerResource.getJobsList() ).thenReturn( Collections.emptyList() );
+    return scheduler;
+  }
+
+  private static SolutionImportHandler mockImportHandler( List<IJobScheduleRequest> schedules ) {
+    SolutionImportHandler handler = mock( SolutionImportHandler.class );
+    ImportSession importSession = mock( ImportSession.class );
+    ExportManifest manifest = mock( ExportManifest.class );
+    when( handler.getImportSession() ).thenReturn( importSession );
+    when( importSession.getManifest() ).thenReturn( manifest );
+    when( handler.getLogger() ).thenReturn( mock( Log.class ) );
+    when( manifest.getScheduleList() ).thenReturn( schedules );
+    return handler;
+  }
+
+  private static void doImport( ScheduleImportUtil importUtil, SolutionImportHandler handler, IScheduler scheduler )
+    throws Exception {
+    try ( MockedStatic<PentahoSystem> pentahoSystemMockedStatic = Mockito.mockStatic( PentahoSystem.class ) ) {
+      pentahoSystemMockedStatic.when(
+          () -> PentahoSystem.get( ArgumentMatchers.eq( IScheduler.class ), ArgumentMatchers.anyString(),
+            ArgumentMatchers.eq( null ) ) )
+        .thenReturn( scheduler );
+
+      importUtil.doImport( handler );
+    }
+  }
+
+  private static Job job( String jobId ) {
+    Job job = new Job();
+    job.setJobId( jobId );
+    return job;
+  }
+
+  private static IJobScheduleRequest scheduleRequest( String lineageId ) {
+    IJobScheduleRequest scheduleRequest = mock( IJobScheduleRequest.class );
+    List<IJobScheduleParam> params = new ArrayList<>();
+    if ( lineageId != null ) {
+      IJobScheduleParam param = mock( IJobScheduleParam.class );
+      when( param.getName() ).thenReturn( "lineage-id" );
+      when( param.getValue() ).thenReturn( lineageId );
+      params.add( param );
+    }
+    when( scheduleRequest.getJobParameters() ).thenReturn( params );
+    when( scheduleRequest.getJobState() ).thenReturn( JobState.NORMAL );
+    return scheduleRequest;
+  }
+
+
   private static class FakeJobSchedluerRequest implements IJobScheduleRequest {
     private String inputFile;
 
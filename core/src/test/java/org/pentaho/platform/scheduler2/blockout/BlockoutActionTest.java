@@ -0,0 +1,80 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.blockout;
+
+import org.junit.After;
+import org.junit.Test;
+import org.pentaho.platform.api.scheduler2.IBlockoutManager;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BlockoutActionTest {
+
+  private static final long HOUR = 60 * 60 * 1000L;
+
+  @After
+  public void tearDown() {
+    ActiveBlockouts.clear();
+  }
+
+  @Test( timeout = 5000 )
+  public void testExecuteRecordsTheWindowWithoutWaitingForItToEnd() throws Exception {
+    long now = System.currentTimeMillis();
+    blockoutAction( "admin\tBlockoutAction\t1", now - 1000, 2 * HOUR ).execute();
+
+    assertTrue( ActiveBlockouts.isActive( now ) );
+    assertTrue( ActiveBlockouts.isActive( now + HOUR ) );
+    assertFalse( ActiveBlockouts.isActive( now + 3 * HOUR ) );
+    assertFalse( ActiveBlockouts.isActive( now - 2000 ) );
+
+    ActiveBlockouts.deactivate( "admin\tBlockoutAction\t1" );
+    assertFalse( ActiveBlockouts.isActive( now ) );
+  }
+
+  @Test
+  public void testExpiredBlockoutIsNotRecorded() throws Exception {
+    long now = System.currentTimeMillis();
+    blockoutAction( "admin\tBlockoutAction\t1", now - 2 * HOUR, HOUR ).execute();
+
+    assertFalse( ActiveBlockouts.isActive( now - HOUR - 1000 ) );
+  }
+
+  @Test
+  public void testOverlappingWindowsOfAJobAreMerged() {
+    long now = System.currentTimeMillis();
+    ActiveBlockouts.activate( "job", now - HOUR, now + HOUR );
+    ActiveBlockouts.activate( "job", now, now + 2 * HOUR );
+    assertTrue( ActiveBlockouts.isActive( now - HOUR / 2 ) );
+    assertTrue( ActiveBlockouts.isActive( now + HOUR + 1000 ) );
+
+    ActiveBlockouts.activate( "job", now + 3 * HOUR, now + 4 * HOUR );
+    assertFalse( ActiveBlockouts.isActive( now ) );
+    assertTrue( ActiveBlockouts.isActive( now + 3 * HOUR ) );
+  }
+
+  private static BlockoutAction blockoutAction( String jobId, long scheduledFireTime, long duration ) {
+    Map<String, Object> args = new HashMap<>();
+    args.put( IBlockoutManager.DURATION_PARAM, duration );
+    args.put( IBlockoutManager.SCHEDULED_FIRE_TIME, new Date( scheduledFireTime ) );
+    args.put( BlockoutAction.BLOCKOUT_JOB_ID_PARAM, jobId );
+    BlockoutAction action = new BlockoutAction();
+    action.setVarArgs( args );
+    return action;
+  }
+}
@@ -0,0 +1,143 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.blockout;
+
+import org.junit.Test;
+import org.pentaho.platform.api.scheduler2.IJobTrigger;
+import org.pentaho.platform.api.scheduler2.SimpleJobTrigger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BlockoutIndexTest {
+
+  private static final long MINUTE = 60 * 1000L;
+
+  private static final long HOUR = 60 * MINUTE;
+
+  @Test
+  public void testWindowsOfAnHourlyBlockout() throws Exception {
+    long now = System.currentTimeMillis() / MINUTE * MINUTE;
+    // blocks from 10 minutes ago for 20 minutes, every hour
+    IJobTrigger blockout = hourlyBlockout( now - 10 * MINUTE, null, 20 * MINUTE );
+
+    BlockoutIndex.Windows windows = BlockoutIndex.build( Collections.singletonList( blockout ), now );
+    assertTrue( windows.includes( now ) );
+    assertTrue( windows.includes( now + 10 * MINUTE ) );
+    assertFalse( windows.includes( now + 15 * MINUTE ) );
+    assertTrue( windows.includes( now + 55 * MINUTE ) );
+    assertEquals( 2, windows.size() );
+  }
+
+  @Test
+  public void testWindowsAreCutShortAtTheEndOfTheBlockout() throws Exception {
+    long now = System.currentTimeMillis() / MINUTE * MINUTE;
+    IJobTrigger blockout = hourlyBlockout( now - 10 * MINUTE, new Date( now + 5 * MINUTE ), 20 * MINUTE );
+
+    BlockoutIndex.Windows windows = BlockoutIndex.build( Collections.singletonList( blockout ), now );
+    assertTrue( windows.includes( now + 5 * MINUTE ) );
+    assertFalse( windows.includes( now + 6 * MINUTE ) );
+    assertFalse( windows.includes( now + 55 * MINUTE ) );
+  }
+
+  @Test
+  public void testOverlappingWindowsAreMerged() throws Exception {
+    long now = System.currentTimeMillis() / MINUTE * MINUTE;
+    List<IJobTrigger> blockouts = Arrays.asList(
+      hourlyBlockout( now - 10 * MINUTE, null, 20 * MINUTE ),
+      hourlyBlockout( now - 5 * MINUTE, null, 30 * MINUTE ) );
+
+    BlockoutIndex.Windows windows = BlockoutIndex.build( blockouts, now );
+    assertTrue( windows.includes( now + 20 * MINUTE ) );
+    assertFalse( windows.includes( now + 30 * MINUTE ) );
+    assertEquals( 2, windows.size() );
+  }
+
+  @Test
+  public void testBlockoutsAreOnlyLoadedAgainWhenInvalidated() throws Exception {
+    long now = System.currentTimeMillis() / MINUTE * MINUTE;
+    AtomicInteger loads = new AtomicInteger();
+    Supplier<List<IJobTrigger>> blockouts = () -> {
+      loads.incrementAndGet();
+      return Collections.singletonList( hourlyBlockout( now - 10 * MINUTE, null, 20 * MINUTE ) );
+    };
+
+    BlockoutIndex index = new BlockoutIndex();
+    assertTrue( index.isBlocked( now, blockouts ) );
+    assertFalse( index.isBlocked( now + 15 * MINUTE, blockouts ) );
+    assertEquals( 1, loads.get() );
+
+    index.invalidate( "admin\tsales report\t1" );
+    assertTrue( index.isBlocked( now + MINUTE, blockouts ) );
+    assertEquals( 1, loads.get() );
+
+    index.invalidate( "admin\tBlockoutAction\t1" );
+    assertTrue( index.isBlocked( now + MINUTE, blockouts ) );
+    assertEquals( 2, loads.get() );
+
+    // past the horizon
+    index.isBlocked( now + 2 * HOUR, blockouts );
+    assertEquals( 3, loads.get() );
+  }
+
+  @Test
+  public void testConcurrentChecksLoadTheBlockoutsOnce() throws Exception {
+    long now = System.currentTimeMillis() / MINUTE * MINUTE;
+    AtomicInteger loads = new AtomicInteger();
+    Supplier<List<IJobTrigger>> blockouts = () -> {
+      loads.incrementAndGet();
+      return Collections.singletonList( hourlyBlockout( now - 10 * MINUTE, null, 20 * MINUTE ) );
+    };
+
+    BlockoutIndex index = new BlockoutIndex();
+    CountDownLatch start = new CountDownLatch( 1 );
+    ExecutorService executor = Executors.newFixedThreadPool( 8 );
+    try {
+      List<Future<Boolean>> checks = new ArrayList<>();
+      for ( int i = 0; i < 8; i++ ) {
+        checks.add( executor.submit( () -> {
+          start.await();
+          return index.isBlocked( now, blockouts );
+        } ) );
+      }
+      start.countDown();
+      for ( Future<Boolean> check : checks ) {
+        assertTrue( check.get() );
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals( 1, loads.get() );
+  }
+
+  private static IJobTrigger hourlyBlockout( long start, Date end, long duration ) {
+    SimpleJobTrigger trigger = new SimpleJobTrigger( new Date( start ), end, -1, 3600 );
+    trigger.setUiPassParam( "HOURS" );
+    trigger.setDuration( duration );
+    return trigger;
+  }
+}
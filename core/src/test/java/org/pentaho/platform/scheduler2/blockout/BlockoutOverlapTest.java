@@ -0,0 +1,151 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.blockout;
+
+import org.junit.Test;
+import org.pentaho.platform.api.scheduler2.IJobTrigger;
+import org.pentaho.platform.api.scheduler2.SimpleJobTrigger;
+import org.pentaho.platform.scheduler2.blockout.BlockoutManagerUtil.BlockStatus;
+import org.pentaho.platform.scheduler2.blockout.BlockoutOverlap.TriggerTimes;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.StreamSupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BlockoutOverlapTest {
+
+  private static final long SECOND = 1000L;
+
+  private static final long MINUTE = 60 * SECOND;
+
+  private static final long HOUR = 60 * MINUTE;
+
+  private static final long DAY = 24 * HOUR;
+
+  private final long now = System.currentTimeMillis();
+
+  private final long start = now / HOUR * HOUR - DAY;
+
+  @Test
+  public void testBlocks() {
+    TriggerTimes blockout = trigger( start, new Date( start + DAY ), HOUR, 10 * MINUTE );
+
+    assertFalse( blockout.blocks( start - 1 ) );
+    assertTrue( blockout.blocks( start ) );
+    assertTrue( blockout.blocks( start + HOUR + 10 * MINUTE ) );
+    assertFalse( blockout.blocks( start + HOUR + 10 * MINUTE + 1 ) );
+    assertFalse( blockout.blocks( start + DAY + 1 ) );
+  }
+
+  @Test
+  public void testSameRecurrenceBlocksEveryFire() {
+    TriggerTimes weeklyBlockout = trigger( start, null, 7 * DAY, 2 * HOUR );
+    TriggerTimes weekly = trigger( start + HOUR, null, 7 * DAY, 0 );
+    TriggerTimes daily = trigger( start + HOUR, null, DAY, 0 );
+
+    assertTrue( BlockoutOverlap.willBlock( weekly, weeklyBlockout, now ) );
+    assertFalse( BlockoutOverlap.willFire( weekly, Collections.singletonList( weeklyBlockout ), now ) );
+    assertTrue( BlockoutOverlap.willBlock( daily, weeklyBlockout, now ) );
+    assertTrue( BlockoutOverlap.willFire( daily, Collections.singletonList( weeklyBlockout ), now ) );
+  }
+
+  @Test
+  public void testOverlapPastAThousandFires() {
+    // the schedule drifts a second per hour through the hour, and reaches the one second window after 3000 fires
+    TriggerTimes blockout = trigger( start, null, HOUR, SECOND );
+    TriggerTimes schedule = trigger( start + 10 * MINUTE, null, HOUR + SECOND, 0 );
+
+    assertTrue( BlockoutOverlap.willBlock( schedule, blockout, start ) );
+    assertTrue( BlockoutOverlap.willFire( schedule, Collections.singletonList( blockout ), start ) );
+
+    TriggerTimes endsEarlier = trigger( start + 10 * MINUTE, new Date( start + 2999 * HOUR ), HOUR + SECOND, 0 );
+    assertFalse( BlockoutOverlap.willBlock( endsEarlier, blockout, start ) );
+  }
+
+  @Test
+  public void testOneTimeBlockout() {
+    TriggerTimes blockout = trigger( start + DAY + 30 * MINUTE, null, 0, HOUR );
+    TriggerTimes hourly = trigger( start, null, HOUR, 0 );
+    TriggerTimes oneTime = trigger( start + DAY + HOUR, null, 0, 0 );
+
+    assertTrue( BlockoutOverlap.willBlock( hourly, blockout, now ) );
+    assertTrue( BlockoutOverlap.willFire( hourly, Collections.singletonList( blockout ), now ) );
+    assertFalse( BlockoutOverlap.willFire( oneTime, Collections.singletonList( blockout ), now ) );
+    assertFalse( BlockoutOverlap.willBlock( hourly, blockout, start + DAY + 2 * HOUR ) );
+  }
+
+  @Test
+  public void testBlockoutsTogetherBlockEveryFire() {
+    TriggerTimes schedule = trigger( start + 15 * MINUTE, null, 30 * MINUTE, 0 );
+    TriggerTimes first = trigger( start, null, HOUR, 20 * MINUTE );
+    TriggerTimes second = trigger( start + 40 * MINUTE, null, HOUR, 10 * MINUTE );
+
+    assertTrue( BlockoutOverlap.willFire( schedule, Collections.singletonList( first ), now ) );
+    assertTrue( BlockoutOverlap.willFire( schedule, Collections.singletonList( second ), now ) );
+    assertFalse( BlockoutOverlap.willFire( schedule, Arrays.asList( first, second ), now ) );
+  }
+
+  @Test
+  public void testFireTimes() {
+    TriggerTimes schedule = trigger( start, new Date( start + 10 * HOUR ), HOUR, 0 );
+
+    long[] fireTimes = toArray( schedule.fireTimes( start + 90 * MINUTE, Long.MAX_VALUE, 100 ) );
+    assertEquals( 9, fireTimes.length );
+    assertEquals( start + 2 * HOUR, fireTimes[ 0 ] );
+    assertEquals( start + 10 * HOUR, fireTimes[ 8 ] );
+    assertEquals( 3, toArray( schedule.fireTimes( start, Long.MAX_VALUE, 3 ) ).length );
+  }
+
+  @Test
+  public void testBlockStatuses() {
+    List<IJobTrigger> blockouts = Collections.singletonList( jobTrigger( start, null, 7 * DAY, 2 * HOUR ) );
+    List<IJobTrigger> schedules = Arrays.asList(
+      jobTrigger( start + HOUR, null, 7 * DAY, 0 ),
+      jobTrigger( start + HOUR, null, DAY, 0 ),
+      jobTrigger( start + 3 * HOUR, null, DAY, 0 ) );
+
+    ForkJoinPool pool = new ForkJoinPool( 2 );
+    try {
+      assertEquals( Arrays.asList( BlockStatus.TOTALLY_BLOCKED, BlockStatus.PARTIALLY_BLOCKED, BlockStatus.UNBLOCKED ),
+        BlockoutManagerUtil.getBlockStatuses( schedules, blockouts, pool ) );
+      assertEquals( Collections.singletonList( BlockStatus.UNBLOCKED ),
+        BlockoutManagerUtil.getBlockStatuses( schedules.subList( 0, 1 ), Collections.emptyList(), pool ) );
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static long[] toArray( PrimitiveIterator.OfLong iterator ) {
+    return StreamSupport.longStream( Spliterators.spliteratorUnknownSize( iterator, 0 ), false ).toArray();
+  }
+
+  private static TriggerTimes trigger( long start, Date end, long interval, long duration ) {
+    return new TriggerTimes( jobTrigger( start, end, interval, duration ) );
+  }
+
+  private static IJobTrigger jobTrigger( long start, Date end, long interval, long duration ) {
+    SimpleJobTrigger trigger = new SimpleJobTrigger( new Date( start ), end, -1, interval / SECOND );
+    trigger.setDuration( duration );
+    return trigger;
+  }
+}
@@ -14,6 +14,12 @@
 package org.pentaho.platform.scheduler2.quartz;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.apache.commons.logging.Log;
 import org.jmock.Expectations;
@@ -25,6 +31,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.pentaho.platform.api.scheduler2.IBlockoutManager;
 import org.pentaho.platform.engine.core.audit.MDCUtil;
+import org.pentaho.platform.engine.core.audit.MessageTypes;
 import org.pentaho.platform.engine.core.system.PentahoSessionHolder;
 import org.pentaho.platform.engine.core.system.StandaloneSession;
 import org.quartz.Job;
@@ -32,6 +39,8 @@ import org.quartz.JobDetail;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
 import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
 import org.quartz.impl.JobDetailImpl;
 
 /**
@@ -166,6 +175,148 @@ public class BlockingQuartzJobTest {
     blockingJob.execute( context );
   }
 
+  @Test
+  public void testFireIsRequeuedWhileItsBulkheadIsFull() throws JobExecutionException {
+    final QuartzJobBulkheads bulkheads = QuartzJobBulkheads.parse( "etl = 1/1 : ktr.backgroundExecution" );
+    QuartzJobBulkheads.Bulkhead bulkhead = bulkheads.getBulkheads().get( 0 );
+    assertEquals( QuartzJobBulkheads.Admission.RUN, bulkhead.tryAcquire( System.currentTimeMillis(), false ) );
+    final JobDetailImpl jobDetail = new JobDetailImpl( "etljob", BlockingQuartzJob.class );
+    jobDetail.getJobDataMap().put( QuartzScheduler.RESERVEDMAPKEY_ACTIONID, "ktr.backgroundExecution" );
+    final List<Long> requeued = new ArrayList<>();
+    final List<String> audited = new ArrayList<>();
+    BlockingQuartzJob blockingJob = new BlockingQuartzJob() {
+      @Override
+      IBlockoutManager getBlockoutManager() {
+        return blockoutManager;
+      }
+
+      @Override
+      QuartzJobBulkheads getJobBulkheads() {
+        return bulkheads;
+      }
+
+      @Override
+      void requeue( JobExecutionContext jobExecutionContext, long firstFiredAt, boolean bulkheadQueued,
+                    long fairShareTicket ) {
+        assertTrue( bulkheadQueued );
+        requeued.add( firstFiredAt );
+      }
+
+      @Override
+      Log getLogger() {
+        return logger;
+      }
+
+      @Override
+      protected void makeAuditRecord( float time, String messageType, JobExecutionContext jobExecutionContext ) {
+        audited.add( messageType );
+      }
+    };
+    mockery.checking( new Expectations() {
+      {
+        allowing( blockoutManager ).shouldFireNow();
+        will( returnValue( true ) );
+        allowing( context ).getJobDetail();
+        will( returnValue( jobDetail ) );
+        allowing( context ).getTrigger();
+        will( returnValue( null ) );
+        one( logger ).warn( "Job 'etljob' misfired, bulkhead 'etl' already has 1 jobs waiting" );
+        never( underlyingJob ).execute( with( any( JobExecutionContext.class ) ) );
+      }
+    } );
+
+    // the first fire waits off the worker thread, the second finds the queue full; neither ran, so neither is audited
+    blockingJob.execute( context );
+    assertEquals( 1, requeued.size() );
+    assertEquals( 1, bulkhead.getQueuedCount() );
+    assertTrue( audited.isEmpty() );
+    blockingJob.execute( context );
+    assertEquals( 1, requeued.size() );
+    assertEquals( 1, bulkhead.getStatus().getRejected() );
+    assertTrue( audited.isEmpty() );
+  }
+
+  @Test
+  public void testFireIsRequeuedUntilTheTurnOfItsUser() throws JobExecutionException {
+    final QuartzFairShareDispatcher dispatcher = QuartzFairShareDispatcher.parse( "maxConcurrency = 1" );
+    assertEquals( 0, dispatcher.tryAcquire( "admin", 0, System.currentTimeMillis() ) );
+    final JobDetailImpl jobDetail = new JobDetailImpl( "report", "suzy", BlockingQuartzJob.class );
+    final List<Long> tickets = new ArrayList<>();
+    final List<String> audited = new ArrayList<>();
+    BlockingQuartzJob blockingJob = new BlockingQuartzJob() {
+      @Override
+      IBlockoutManager getBlockoutManager() {
+        return blockoutManager;
+      }
+
+      @Override
+      QuartzJobBulkheads getJobBulkheads() {
+        return QuartzJobBulkheads.parse( "" );
+      }
+
+      @Override
+      QuartzFairShareDispatcher getFairShareDispatcher() {
+        return dispatcher;
+      }
+
+      @Override
+      Job createUnderlyingJob() {
+        return underlyingJob;
+      }
+
+      @Override
+      void requeue( JobExecutionContext jobExecutionContext, long firstFiredAt, boolean bulkheadQueued,
+                    long fairShareTicket ) {
+        assertFalse( bulkheadQueued );
+        tickets.add( fairShareTicket );
+      }
+
+      @Override
+      protected void makeAuditRecord( float time, String messageType, JobExecutionContext jobExecutionContext ) {
+        audited.add( messageType );
+      }
+    };
+    final JobExecutionContext retry = mockery.mock( JobExecutionContext.class, "retry" );
+    mockery.checking( new Expectations() {
+      {
+        allowing( blockoutManager ).shouldFireNow();
+        will( returnValue( true ) );
+        allowing( context ).getJobDetail();
+        will( returnValue( jobDetail ) );
+        allowing( context ).getTrigger();
+        will( returnValue( null ) );
+        never( underlyingJob ).execute( context );
+      }
+    } );
+
+    // admin holds the only slot, so the job of suzy waits off the worker thread
+    blockingJob.execute( context );
+    assertEquals( 1, tickets.size() );
+    assertEquals( 1, dispatcher.getQueuedCount( "suzy" ) );
+    assertTrue( audited.isEmpty() );
+
+    // the slot admin frees is kept for the fire coming back with its ticket
+    dispatcher.release( "admin" );
+    final Trigger trigger = TriggerBuilder.newTrigger()
+      .usingJobData( BlockingQuartzJob.FIRST_FIRED_AT_KEY, System.currentTimeMillis() )
+      .usingJobData( BlockingQuartzJob.FAIR_SHARE_TICKET_KEY, tickets.get( 0 ) )
+      .build();
+    mockery.checking( new Expectations() {
+      {
+        allowing( retry ).getJobDetail();
+        will( returnValue( jobDetail ) );
+        allowing( retry ).getTrigger();
+        will( returnValue( trigger ) );
+        one( underlyingJob ).execute( retry );
+      }
+    } );
+    blockingJob.execute( retry );
+    assertEquals( 1, tickets.size() );
+    assertEquals( 0, dispatcher.getQueuedCount( "suzy" ) );
+    assertEquals( 0, dispatcher.getUserCount() );
+    assertEquals( Arrays.asList( MessageTypes.INSTANCE_START, MessageTypes.INSTANCE_END ), audited );
+  }
+
   private BlockingQuartzJob createTestBlockingJob( final boolean throwSchedulerException ) {
     return new BlockingQuartzJob() {
       @Override
@@ -0,0 +1,80 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.quartz;
+
+import org.junit.Test;
+import org.pentaho.platform.api.scheduler2.ComplexJobTrigger;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class ComplexJobTriggerCacheTest {
+
+  @Test
+  public void testConvertsEachScheduleOnceAndReturnsCopies() {
+    ComplexJobTriggerCache cache = new ComplexJobTriggerCache();
+    AtomicInteger conversions = new AtomicInteger();
+    ComplexJobTriggerCache.Key key = new ComplexJobTriggerCache.Key( "0 0 12 ? * 2 *", "UTC", 1000L, null, "WEEKLY" );
+
+    ComplexJobTrigger first = cache.get( key, () -> {
+      conversions.incrementAndGet();
+      ComplexJobTrigger trigger = new ComplexJobTrigger();
+      trigger.setDayOfWeekRecurrence( ComplexJobTrigger.MONDAY );
+      trigger.setUiPassParam( "WEEKLY" );
+      trigger.setStartTime( new Date( 1000L ) );
+      return trigger;
+    } );
+    first.setStartTime( new Date( 2000L ) );
+    ComplexJobTrigger second = cache.get(
+      new ComplexJobTriggerCache.Key( "0 0 12 ? * 2 *", "UTC", 1000L, null, "WEEKLY" ), () -> {
+        throw new AssertionError( "schedule converted twice" );
+      } );
+
+    assertEquals( 1, conversions.get() );
+    assertNotSame( first, second );
+    assertEquals( new Date( 1000L ), second.getStartTime() );
+    assertEquals( "WEEKLY", second.getUiPassParam() );
+    assertEquals( 1, second.getDayOfWeekRecurrences().size() );
+    assertEquals( first.toString(), second.toString() );
+  }
+
+  @Test
+  public void testEvictsTheLeastRecentlyUsedSchedule() {
+    ComplexJobTriggerCache cache = new ComplexJobTriggerCache( 2 );
+    AtomicInteger conversions = new AtomicInteger();
+    ComplexJobTriggerCache.Key a = new ComplexJobTriggerCache.Key( "0 0 1 * * ? *", "UTC", null, null, null );
+    ComplexJobTriggerCache.Key b = new ComplexJobTriggerCache.Key( "0 0 2 * * ? *", "UTC", null, null, null );
+    ComplexJobTriggerCache.Key c = new ComplexJobTriggerCache.Key( "0 0 3 * * ? *", "UTC", null, null, null );
+
+    cache.get( a, () -> convert( conversions ) );
+    cache.get( b, () -> convert( conversions ) );
+    cache.get( a, () -> convert( conversions ) );
+    cache.get( c, () -> convert( conversions ) );
+    assertEquals( 3, conversions.get() );
+    assertEquals( 2, cache.size() );
+
+    cache.get( a, () -> convert( conversions ) );
+    assertEquals( 3, conversions.get() );
+    cache.get( b, () -> convert( conversions ) );
+    assertEquals( 4, conversions.get() );
+  }
+
+  private static ComplexJobTrigger convert( AtomicInteger conversions ) {
+    conversions.incrementAndGet();
+    return new ComplexJobTrigger();
+  }
+}
@@ -0,0 +1,141 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.quartz;
+
+import org.junit.Test;
+import org.quartz.JobPersistenceException;
+import org.quartz.Scheduler;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+import org.quartz.impl.matchers.GroupMatcher;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class QuartzAvailabilityCalendarsTest {
+
+  @Test
+  public void testCalendarNameHoldsTheWindow() {
+    QuartzSchedulerAvailability calendar = new QuartzSchedulerAvailability( new Date( 1000L ), new Date( 2000L ) );
+    String calendarName = QuartzAvailabilityCalendars.getCalendarName( calendar );
+    assertEquals( "availability:1000_2000", calendarName );
+
+    QuartzSchedulerAvailability rebuilt = QuartzAvailabilityCalendars.fromCalendarName( calendarName );
+    assertEquals( new Date( 1000L ), rebuilt.getStartTime() );
+    assertEquals( new Date( 2000L ), rebuilt.getEndTime() );
+
+    rebuilt = QuartzAvailabilityCalendars.fromCalendarName( QuartzAvailabilityCalendars.getCalendarName(
+      new QuartzSchedulerAvailability( new Date( -1000L ), null ) ) );
+    assertEquals( new Date( -1000L ), rebuilt.getStartTime() );
+    assertNull( rebuilt.getEndTime() );
+
+    assertNull( QuartzAvailabilityCalendars.fromCalendarName( "admin\tmyJob\trandomUuid" ) );
+    assertNull( QuartzAvailabilityCalendars.fromCalendarName( "availability:soon_later" ) );
+  }
+
+  @Test
+  public void testCalendarsExcludingBlockoutsAreBasedOnTheBlockoutCalendar() throws Exception {
+    Scheduler scheduler = mock( Scheduler.class );
+    QuartzBlockoutCalendar blockoutCalendar = new QuartzBlockoutCalendar( Collections.emptyList() );
+    when( scheduler.getCalendar( QuartzAvailabilityCalendars.BLOCKOUT_CALENDAR_NAME ) ).thenReturn( blockoutCalendar );
+    QuartzAvailabilityCalendars calendars = new QuartzAvailabilityCalendars();
+
+    QuartzSchedulerAvailability calendar = new QuartzSchedulerAvailability( new Date( 1000L ), null );
+    String calendarName = calendars.acquire( scheduler, calendar, true );
+    assertEquals( "availability:1000_;blockouts", calendarName );
+    assertEquals( blockoutCalendar, calendar.getBaseCalendar() );
+    assertEquals( new Date( 1000L ), QuartzAvailabilityCalendars.fromCalendarName( calendarName ).getStartTime() );
+
+    // the blockout calendar is never deleted
+    calendars.release( scheduler, QuartzAvailabilityCalendars.BLOCKOUT_CALENDAR_NAME );
+    verify( scheduler, never() ).deleteCalendar( QuartzAvailabilityCalendars.BLOCKOUT_CALENDAR_NAME );
+
+    when( scheduler.getCalendarNames() ).thenReturn( Arrays.asList( calendarName, "availability:2000_" ) );
+    QuartzBlockoutCalendar refreshed = new QuartzBlockoutCalendar( Collections.emptyList() );
+    calendars.setBlockoutCalendar( scheduler, refreshed );
+    verify( scheduler ).addCalendar( QuartzAvailabilityCalendars.BLOCKOUT_CALENDAR_NAME, refreshed, true, true );
+    verify( scheduler ).addCalendar( eq( calendarName ), any( QuartzSchedulerAvailability.class ), eq( true ),
+      eq( true ) );
+    verify( scheduler, never() ).addCalendar( eq( "availability:2000_" ), any(), anyBoolean(), anyBoolean() );
+  }
+
+  @Test
+  public void testSharedCalendarIsStoredOnEveryAcquireAndDeletedWithItsLastReference() throws Exception {
+    Scheduler scheduler = mock( Scheduler.class );
+    QuartzAvailabilityCalendars calendars = new QuartzAvailabilityCalendars();
+
+    String first = calendars.acquire( scheduler, new QuartzSchedulerAvailability( new Date( 1000L ), null ) );
+    String second = calendars.acquire( scheduler, new QuartzSchedulerAvailability( new Date( 1000L ), null ) );
+    assertEquals( first, second );
+    assertEquals( 2, calendars.getReferenceCount( first ) );
+    // another node of a cluster may have deleted the calendar since the first job, so the second stores it again
+    verify( scheduler, times( 2 ) ).addCalendar( eq( first ), any( QuartzSchedulerAvailability.class ), eq( true ),
+      eq( false ) );
+
+    calendars.release( scheduler, first );
+    verify( scheduler, never() ).deleteCalendar( anyString() );
+
+    calendars.release( scheduler, first );
+    verify( scheduler ).deleteCalendar( first );
+    assertEquals( 0, calendars.getReferenceCount( first ) );
+  }
+
+  @Test
+  public void testCalendarStillReferencedInTheJobStoreIsKept() throws Exception {
+    Scheduler scheduler = mock( Scheduler.class );
+    when( scheduler.deleteCalendar( "availability:1000_" ) ).thenThrow(
+      new JobPersistenceException( "Calender cannot be removed if it referenced by a trigger!" ) );
+
+    // the count is unknown after a restart, so the job store decides
+    new QuartzAvailabilityCalendars().release( scheduler, "availability:1000_" );
+
+    verify( scheduler ).deleteCalendar( "availability:1000_" );
+  }
+
+  @Test
+  public void testCompactDeletesTheUnreferencedCalendars() throws Exception {
+    Scheduler scheduler = mock( Scheduler.class );
+    TriggerKey triggerKey = new TriggerKey( "admin\tmyJob\trandomUuid", "admin" );
+    Trigger trigger = mock( Trigger.class );
+    when( trigger.getCalendarName() ).thenReturn( "availability:1000_" );
+    when( scheduler.getTriggerGroupNames() ).thenReturn( Collections.singletonList( "admin" ) );
+    when( scheduler.getTriggerKeys( GroupMatcher.triggerGroupEquals( "admin" ) ) ).thenReturn(
+      Collections.singleton( triggerKey ) );
+    when( scheduler.getTrigger( triggerKey ) ).thenReturn( trigger );
+    when( scheduler.getCalendarNames() ).thenReturn(
+      Arrays.asList( "availability:1000_", "admin\tremovedJob\trandomUuid", "availability:_2000" ) );
+    when( scheduler.deleteCalendar( anyString() ) ).thenReturn( true );
+    QuartzAvailabilityCalendars calendars = new QuartzAvailabilityCalendars();
+
+    assertEquals( 2, calendars.compact( scheduler ) );
+
+    verify( scheduler ).deleteCalendar( "admin\tremovedJob\trandomUuid" );
+    verify( scheduler ).deleteCalendar( "availability:_2000" );
+    verify( scheduler, never() ).deleteCalendar( "availability:1000_" );
+    assertEquals( 1, calendars.getReferenceCount( "availability:1000_" ) );
+  }
+}
@@ -0,0 +1,95 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.quartz;
+
+import org.junit.Test;
+import org.quartz.CronScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.spi.OperableTrigger;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class QuartzBlockoutCalendarTest {
+
+  private static final long MINUTE = 60 * 1000L;
+
+  private static final long HOUR = 60 * MINUTE;
+
+  private static final TimeZone UTC = TimeZone.getTimeZone( "UTC" );
+
+  // 2030-01-07 00:00 UTC, a Monday
+  private static final long MONDAY = 1893974400000L;
+
+  @Test
+  public void testExcludesTheWindows() {
+    QuartzBlockoutCalendar calendar = hourly( 10 * MINUTE, null );
+
+    assertFalse( calendar.isTimeIncluded( MONDAY ) );
+    assertFalse( calendar.isTimeIncluded( MONDAY + 10 * MINUTE ) );
+    assertTrue( calendar.isTimeIncluded( MONDAY + 10 * MINUTE + 1 ) );
+    assertFalse( calendar.isTimeIncluded( MONDAY + HOUR + 5 * MINUTE ) );
+    assertTrue( calendar.isTimeIncluded( MONDAY - 1 ) );
+  }
+
+  @Test
+  public void testNextIncludedTimeIsTheEndOfTheWindow() {
+    QuartzBlockoutCalendar calendar = hourly( 10 * MINUTE, null );
+
+    assertEquals( MONDAY + 10 * MINUTE + 1, calendar.getNextIncludedTime( MONDAY + MINUTE ) );
+    assertEquals( MONDAY + 30 * MINUTE, calendar.getNextIncludedTime( MONDAY + 30 * MINUTE ) );
+
+    // a window which ends when the next one starts is skipped with it
+    QuartzBlockoutCalendar wholeHours = hourly( HOUR, new Date( MONDAY + 3 * HOUR ) );
+    assertEquals( MONDAY + 3 * HOUR + 1, wholeHours.getNextIncludedTime( MONDAY + MINUTE ) );
+  }
+
+  @Test
+  public void testBaseCalendarIsHonoured() {
+    QuartzBlockoutCalendar calendar = hourly( 10 * MINUTE, null );
+    calendar.setBaseCalendar( new QuartzSchedulerAvailability( new Date( MONDAY + 2 * HOUR ), null ) );
+
+    assertFalse( calendar.isTimeIncluded( MONDAY + 30 * MINUTE ) );
+    assertTrue( calendar.isTimeIncluded( MONDAY + 2 * HOUR + 30 * MINUTE ) );
+  }
+
+  @Test
+  public void testQuartzSkipsTheBlockedFireTimes() {
+    // blocks Mondays from midnight for two hours
+    Trigger blockout = TriggerBuilder.newTrigger().startAt( new Date( MONDAY - HOUR ) )
+      .withSchedule( CronScheduleBuilder.cronSchedule( "0 0 0 ? * MON" ).inTimeZone( UTC ) ).build();
+    QuartzBlockoutCalendar calendar = new QuartzBlockoutCalendar( Collections.singletonList(
+      new QuartzBlockoutCalendar.Blockout( blockout, 2 * HOUR, null, null ) ) );
+
+    // daily at 1 AM
+    OperableTrigger schedule = (OperableTrigger) TriggerBuilder.newTrigger().startAt( new Date( MONDAY - HOUR ) )
+      .withSchedule( CronScheduleBuilder.cronSchedule( "0 0 1 * * ?" ).inTimeZone( UTC ) ).build();
+    Date firstFireTime = schedule.computeFirstFireTime( calendar );
+
+    assertEquals( new Date( MONDAY + 25 * HOUR ), firstFireTime );
+  }
+
+  private static QuartzBlockoutCalendar hourly( long duration, Date endTime ) {
+    Trigger blockout = TriggerBuilder.newTrigger().startAt( new Date( MONDAY ) ).endAt( endTime )
+      .withSchedule( CronScheduleBuilder.cronSchedule( "0 0 * * * ?" ).inTimeZone( UTC ) ).build();
+    return new QuartzBlockoutCalendar( Collections.singletonList(
+      new QuartzBlockoutCalendar.Blockout( blockout, duration, null, null ) ) );
+  }
+}
@@ -0,0 +1,172 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.quartz;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class QuartzFairShareDispatcherTest {
+
+  @Test
+  public void testParse() {
+    QuartzFairShareDispatcher dispatcher =
+      QuartzFairShareDispatcher.parse( " maxConcurrency = 10; maxConcurrencyPerUser = 3\nweights = admin:2, etl:3" );
+
+    assertEquals( 10, dispatcher.getMaxConcurrency() );
+    assertEquals( 3, dispatcher.getMaxConcurrencyPerUser() );
+    assertEquals( Integer.valueOf( 2 ), dispatcher.getWeights().get( "admin" ) );
+    assertEquals( Integer.valueOf( 3 ), dispatcher.getWeights().get( "etl" ) );
+
+    assertEquals( 4, QuartzFairShareDispatcher.parse( "maxConcurrency=4" ).getMaxConcurrencyPerUser() );
+    assertNull( QuartzFairShareDispatcher.parse( "" ) );
+  }
+
+  @Test
+  public void testParseKeepsAThreadOfThePoolForTheWaitingJobs() {
+    QuartzFairShareDispatcher dispatcher =
+      QuartzFairShareDispatcher.parse( "maxConcurrency = 10; maxConcurrencyPerUser = 12", 10 );
+
+    assertEquals( 9, dispatcher.getMaxConcurrency() );
+    assertEquals( 9, dispatcher.getMaxConcurrencyPerUser() );
+    assertEquals( 8, QuartzFairShareDispatcher.parse( "maxConcurrency = 8", 10 ).getMaxConcurrency() );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testParseRequiresMaxConcurrency() {
+    QuartzFairShareDispatcher.parse( "maxConcurrencyPerUser = 3" );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testParseRejectsUnknownOptions() {
+    QuartzFairShareDispatcher.parse( "maxConcurrency = 3; color = blue" );
+  }
+
+  @Test
+  public void testUsersTakeTurns() {
+    QuartzFairShareDispatcher dispatcher = QuartzFairShareDispatcher.parse( "maxConcurrency = 1" );
+    Map<Long, String> waiting = new LinkedHashMap<>();
+
+    assertEquals( 0, dispatcher.tryAcquire( "suzy", 0, System.currentTimeMillis() ) );
+    fire( dispatcher, "suzy", waiting );
+    fire( dispatcher, "suzy", waiting );
+    fire( dispatcher, "suzy", waiting );
+    fire( dispatcher, "admin", waiting );
+
+    QuartzFairShareDispatcher.UserStatus status = dispatcher.getStatus().get( 0 );
+    assertEquals( "suzy", status.getUserName() );
+    assertEquals( 1, status.getRunning() );
+    assertEquals( 3, status.getQueued() );
+
+    assertEquals( Arrays.asList( "suzy", "admin", "suzy", "suzy" ), runInTurn( dispatcher, "suzy", waiting ) );
+    assertTrue( dispatcher.getStatus().isEmpty() );
+  }
+
+  @Test
+  public void testWeightedUsersRunSeveralJobsInARow() {
+    QuartzFairShareDispatcher dispatcher = QuartzFairShareDispatcher.parse( "maxConcurrency = 1; weights = admin:2" );
+    Map<Long, String> waiting = new LinkedHashMap<>();
+
+    assertEquals( 0, dispatcher.tryAcquire( "suzy", 0, System.currentTimeMillis() ) );
+    fire( dispatcher, "admin", waiting );
+    fire( dispatcher, "admin", waiting );
+    fire( dispatcher, "admin", waiting );
+    fire( dispatcher, "suzy", waiting );
+
+    assertEquals( Arrays.asList( "admin", "admin", "suzy", "admin" ), runInTurn( dispatcher, "suzy", waiting ) );
+  }
+
+  @Test
+  public void testUserConcurrencyIsCapped() {
+    QuartzFairShareDispatcher dispatcher =
+      QuartzFairShareDispatcher.parse( "maxConcurrency = 3; maxConcurrencyPerUser = 1" );
+    Map<Long, String> waiting = new LinkedHashMap<>();
+
+    assertEquals( 0, dispatcher.tryAcquire( "suzy", 0, System.currentTimeMillis() ) );
+    fire( dispatcher, "suzy", waiting );
+
+    // admin has a slot of its own while suzy waits for hers
+    assertEquals( 0, dispatcher.tryAcquire( "admin", 0, System.currentTimeMillis() ) );
+    dispatcher.release( "admin" );
+    assertEquals( 1, dispatcher.getQueuedCount( "suzy" ) );
+
+    assertEquals( Arrays.asList( "suzy" ), runInTurn( dispatcher, "suzy", waiting ) );
+  }
+
+  @Test
+  public void testCancelledFireGivesItsSlotToTheNextUser() {
+    QuartzFairShareDispatcher dispatcher = QuartzFairShareDispatcher.parse( "maxConcurrency = 1" );
+    Map<Long, String> waiting = new LinkedHashMap<>();
+
+    assertEquals( 0, dispatcher.tryAcquire( "suzy", 0, System.currentTimeMillis() ) );
+    long admin = fire( dispatcher, "admin", waiting );
+    fire( dispatcher, "etl", waiting );
+    dispatcher.release( "suzy" );
+    assertEquals( 2, dispatcher.getUserCount() );
+
+    // the slot kept for admin goes to etl once admin gives up
+    dispatcher.cancel( admin );
+    waiting.remove( admin );
+    assertEquals( Arrays.asList( "etl" ), runInTurn( dispatcher, null, waiting ) );
+    assertEquals( 0, dispatcher.getUserCount() );
+  }
+
+  private static long fire( QuartzFairShareDispatcher dispatcher, String userName, Map<Long, String> waiting ) {
+    long ticket = dispatcher.tryAcquire( userName, 0, System.currentTimeMillis() );
+    assertNotEquals( 0, ticket );
+    waiting.put( ticket, userName );
+    return ticket;
+  }
+
+  /**
+   * Releases the job running, then brings the waiting fires back until one runs, and so on until none waits.
+   *
+   * @return the users of the jobs in the order they ran
+   */
+  private static List<String> runInTurn( QuartzFairShareDispatcher dispatcher, String running,
+                                         Map<Long, String> waiting ) {
+    List<String> order = new ArrayList<>();
+    while ( !waiting.isEmpty() ) {
+      if ( running != null ) {
+        dispatcher.release( running );
+      }
+      running = null;
+      for ( Iterator<Map.Entry<Long, String>> iterator = waiting.entrySet().iterator(); iterator.hasNext(); ) {
+        Map.Entry<Long, String> fire = iterator.next();
+        long ticket = dispatcher.tryAcquire( fire.getValue(), fire.getKey(), System.currentTimeMillis() );
+        if ( ticket == 0 ) {
+          iterator.remove();
+          running = fire.getValue();
+          order.add( running );
+          break;
+        }
+        assertEquals( fire.getKey().longValue(), ticket );
+      }
+      assertNotNull( running );
+    }
+    dispatcher.release( running );
+    return order;
+  }
+}
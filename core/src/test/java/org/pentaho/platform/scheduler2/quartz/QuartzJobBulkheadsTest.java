@@ -0,0 +1,142 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.quartz;
+
+import org.junit.After;
+import org.junit.Test;
+import org.quartz.JobDataMap;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class QuartzJobBulkheadsTest {
+
+  @After
+  public void tearDown() {
+    QuartzJobBulkheads.configure( null );
+  }
+
+  @Test
+  public void testParse() {
+    QuartzJobBulkheads bulkheads = QuartzJobBulkheads.parse(
+      " etl = 4/20 : ktr.backgroundExecution, kjb.backgroundExecution\n\n"
+        + "maintenance = 1 : org.pentaho.platform.admin.GeneratedContentCleaner; reports=6:prpt.backgroundExecution" );
+
+    assertEquals( 3, bulkheads.getBulkheads().size() );
+    QuartzJobBulkheads.Bulkhead etl = bulkheads.getBulkheads().get( 0 );
+    assertEquals( "etl", etl.getName() );
+    assertEquals( 4, etl.getMaxConcurrency() );
+    assertEquals( 20, etl.getMaxQueue() );
+    assertEquals( Arrays.asList( "ktr.backgroundExecution", "kjb.backgroundExecution" ), etl.getActions() );
+    assertEquals( QuartzJobBulkheads.DEFAULT_QUEUE_PER_ACTION, bulkheads.getBulkheads().get( 1 ).getMaxQueue() );
+    assertEquals( "reports", bulkheads.getBulkheads().get( 2 ).getName() );
+
+    assertTrue( QuartzJobBulkheads.parse( "  " ).getBulkheads().isEmpty() );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testParseRejectsAnActionInTwoBulkheads() {
+    QuartzJobBulkheads.parse( "a = 1 : ktr.backgroundExecution; b = 2 : ktr.backgroundExecution" );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testParseRejectsMissingLimits() {
+    QuartzJobBulkheads.parse( "etl = : ktr.backgroundExecution" );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testParseRejectsMissingActions() {
+    QuartzJobBulkheads.parse( "etl = 4/20" );
+  }
+
+  @Test
+  public void testGetBulkheadByActionIdThenClass() {
+    QuartzJobBulkheads.configure( "etl = 2 : ktr.backgroundExecution; gc = 1 : org.example.GcAction" );
+    QuartzJobBulkheads bulkheads = QuartzJobBulkheads.getInstance();
+
+    JobDataMap jobDataMap = new JobDataMap();
+    assertNull( bulkheads.getBulkhead( jobDataMap ) );
+    jobDataMap.put( QuartzScheduler.RESERVEDMAPKEY_ACTIONCLASS, "org.example.GcAction" );
+    assertSame( bulkheads.getBulkheads().get( 1 ), bulkheads.getBulkhead( jobDataMap ) );
+    jobDataMap.put( QuartzScheduler.RESERVEDMAPKEY_ACTIONID, "ktr.backgroundExecution" );
+    assertSame( bulkheads.getBulkheads().get( 0 ), bulkheads.getBulkhead( jobDataMap ) );
+    jobDataMap.put( QuartzScheduler.RESERVEDMAPKEY_ACTIONID, "prpt.backgroundExecution" );
+    assertSame( bulkheads.getBulkheads().get( 1 ), bulkheads.getBulkhead( jobDataMap ) );
+    assertNull( bulkheads.getBulkhead( (JobDataMap) null ) );
+  }
+
+  @Test
+  public void testParseKeepsAThreadOfThePoolForTheOtherJobs() {
+    QuartzJobBulkheads bulkheads = QuartzJobBulkheads.parse( "etl = 10 : ktr; reports = 4 : prpt", 10 );
+
+    assertEquals( 9, bulkheads.getBulkheads().get( 0 ).getMaxConcurrency() );
+    assertEquals( 100, bulkheads.getBulkheads().get( 0 ).getMaxQueue() );
+    assertEquals( 4, bulkheads.getBulkheads().get( 1 ).getMaxConcurrency() );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testParseRejectsANegativeQueue() {
+    QuartzJobBulkheads.parse( "etl = 4/-1 : ktr" );
+  }
+
+  @Test
+  public void testAcquireQueuesThenRejects() {
+    QuartzJobBulkheads.Bulkhead bulkhead = QuartzJobBulkheads.parse( "etl = 1/1 : ktr" ).getBulkheads().get( 0 );
+    long firedAt = System.currentTimeMillis() - 20;
+    assertEquals( QuartzJobBulkheads.Admission.RUN, bulkhead.tryAcquire( System.currentTimeMillis(), false ) );
+    assertEquals( QuartzJobBulkheads.Admission.QUEUE, bulkhead.tryAcquire( firedAt, false ) );
+    assertEquals( QuartzJobBulkheads.Admission.REJECT, bulkhead.tryAcquire( System.currentTimeMillis(), false ) );
+
+    QuartzJobBulkheads.BulkheadStatus status = bulkhead.getStatus();
+    assertEquals( 1, status.getRunning() );
+    assertEquals( 1, status.getQueued() );
+    assertEquals( 1.0, status.getUtilization(), 0 );
+    assertEquals( 1, status.getRejected() );
+
+    // the queued fire keeps its place while the bulkhead is still full
+    assertEquals( QuartzJobBulkheads.Admission.QUEUE, bulkhead.tryAcquire( firedAt, true ) );
+    assertEquals( 1, bulkhead.getQueuedCount() );
+
+    bulkhead.release();
+    // a new fire does not pass the one waiting
+    assertEquals( QuartzJobBulkheads.Admission.REJECT, bulkhead.tryAcquire( System.currentTimeMillis(), false ) );
+    assertEquals( QuartzJobBulkheads.Admission.RUN, bulkhead.tryAcquire( firedAt, true ) );
+    bulkhead.release();
+
+    status = bulkhead.getStatus();
+    assertEquals( 0, status.getRunning() );
+    assertEquals( 0, status.getQueued() );
+    assertEquals( 2, status.getCompleted() );
+    assertEquals( 2, status.getRejected() );
+    assertTrue( status.getMaxQueueWaitMillis() >= 20 );
+    assertTrue( status.getAverageQueueWaitMillis() >= status.getMaxQueueWaitMillis() / 2 );
+  }
+
+  @Test
+  public void testCancelGivesBackThePlaceInTheQueue() {
+    QuartzJobBulkheads.Bulkhead bulkhead = QuartzJobBulkheads.parse( "etl = 1/1 : ktr" ).getBulkheads().get( 0 );
+    assertEquals( QuartzJobBulkheads.Admission.RUN, bulkhead.tryAcquire( System.currentTimeMillis(), false ) );
+    assertEquals( QuartzJobBulkheads.Admission.QUEUE, bulkhead.tryAcquire( System.currentTimeMillis(), false ) );
+
+    bulkhead.cancel();
+
+    assertEquals( 0, bulkhead.getQueuedCount() );
+    assertEquals( 1, bulkhead.getStatus().getRejected() );
+    assertEquals( QuartzJobBulkheads.Admission.QUEUE, bulkhead.tryAcquire( System.currentTimeMillis(), false ) );
+  }
+}
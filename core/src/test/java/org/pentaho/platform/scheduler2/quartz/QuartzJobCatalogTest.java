@@ -0,0 +1,174 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.quartz;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.pentaho.platform.api.scheduler2.IJob;
+import org.pentaho.platform.api.scheduler2.Job;
+import org.pentaho.platform.api.scheduler2.JobState;
+import org.quartz.JobKey;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class QuartzJobCatalogTest {
+
+  private static final String JOB_ID_1 = "admin\tjob1\t1";
+  private static final String JOB_ID_2 = "suzy\tjob2\t2";
+
+  private QuartzScheduler scheduler;
+  private QuartzJobCatalog catalog;
+
+  @Before
+  public void setUp() throws Exception {
+    scheduler = mock( QuartzScheduler.class );
+    when( scheduler.loadJobs() ).thenReturn( jobs( job( JOB_ID_1, "admin" ), job( JOB_ID_2, "suzy" ) ) );
+    catalog = new QuartzJobCatalog( scheduler );
+  }
+
+  @Test
+  public void testReadsAreServedFromTheCatalog() throws Exception {
+    assertEquals( 2, catalog.getJobs().size() );
+    assertEquals( JOB_ID_1, catalog.getJob( JOB_ID_1 ).getJobId() );
+    assertEquals( 2, catalog.getJobs().size() );
+
+    verify( scheduler, times( 1 ) ).loadJobs();
+    verify( scheduler, never() ).loadJob( anyString() );
+  }
+
+  @Test
+  public void testReadsReturnCopies() throws Exception {
+    Job job = catalog.getJob( JOB_ID_1 );
+    job.getJobParams().put( "key", "value" );
+    job.setState( JobState.PAUSED );
+
+    Job again = catalog.getJob( JOB_ID_1 );
+    assertFalse( again.getJobParams().containsKey( "key" ) );
+    assertEquals( JobState.NORMAL, again.getState() );
+  }
+
+  @Test
+  public void testJobEventsReloadOnlyTheAffectedJob() throws Exception {
+    catalog.getJobs();
+    Job paused = job( JOB_ID_1, "admin" );
+    paused.setState( JobState.PAUSED );
+    when( scheduler.loadJob( JOB_ID_1 ) ).thenReturn( paused );
+
+    catalog.jobPaused( new JobKey( JOB_ID_1, "admin" ) );
+
+    assertEquals( JobState.PAUSED, catalog.getJob( JOB_ID_1 ).getState() );
+    assertEquals( JobState.PAUSED, catalog.getJob( JOB_ID_1 ).getState() );
+    verify( scheduler, times( 1 ) ).loadJob( JOB_ID_1 );
+    verify( scheduler, times( 1 ) ).loadJobs();
+  }
+
+  @Test
+  public void testDeletedJobIsRemoved() throws Exception {
+    catalog.getJobs();
+    when( scheduler.loadJob( JOB_ID_2 ) ).thenReturn( null );
+
+    catalog.jobUnscheduled( new TriggerKey( JOB_ID_2, "suzy" ) );
+
+    assertNull( catalog.getJob( JOB_ID_2 ) );
+    assertEquals( 1, catalog.getJobs().size() );
+  }
+
+  @Test
+  public void testTriggerEventsUseTheJobOfTheTrigger() throws Exception {
+    catalog.getJobs();
+    Trigger manualTrigger = mock( Trigger.class );
+    when( manualTrigger.getJobKey() ).thenReturn( new JobKey( JOB_ID_1, "admin" ) );
+    when( scheduler.loadJob( JOB_ID_1 ) ).thenReturn( job( JOB_ID_1, "admin" ) );
+
+    catalog.triggerPaused( new TriggerKey( "MT_123", "admin" ) );
+    catalog.getJobs();
+    verify( scheduler, never() ).loadJob( anyString() );
+
+    catalog.triggerComplete( manualTrigger, null, Trigger.CompletedExecutionInstruction.NOOP );
+    catalog.getJobs();
+    verify( scheduler, times( 1 ) ).loadJob( JOB_ID_1 );
+  }
+
+  @Test
+  public void testGroupEventReloadsTheJobsOfTheGroup() throws Exception {
+    catalog.getJobs();
+    when( scheduler.loadJob( JOB_ID_2 ) ).thenReturn( job( JOB_ID_2, "suzy" ) );
+
+    catalog.jobsPaused( "suzy" );
+    catalog.getJobs();
+
+    verify( scheduler, times( 1 ) ).loadJob( JOB_ID_2 );
+    verify( scheduler, never() ).loadJob( JOB_ID_1 );
+  }
+
+  @Test
+  public void testSchedulingDataClearedReloadsEverything() throws Exception {
+    catalog.getJobs();
+    catalog.schedulingDataCleared();
+    catalog.getJobs();
+
+    verify( scheduler, times( 2 ) ).loadJobs();
+  }
+
+  @Test
+  public void testVerifyReportsDifferences() throws Exception {
+    catalog.getJobs();
+    String jobId3 = "admin\tjob3\t3";
+    Job changed = job( JOB_ID_1, "admin" );
+    changed.setState( JobState.PAUSED );
+    when( scheduler.loadJobs() ).thenReturn( jobs( changed, job( jobId3, "admin" ) ) );
+
+    QuartzJobCatalog.Status status = catalog.verify();
+
+    assertFalse( status.isConsistent() );
+    assertEquals( 2, status.getCachedJobCount() );
+    assertEquals( 2, status.getStoredJobCount() );
+    assertEquals( Arrays.asList( jobId3 ), status.getMissingJobIds() );
+    assertEquals( Arrays.asList( JOB_ID_2 ), status.getUnexpectedJobIds() );
+    assertEquals( Arrays.asList( JOB_ID_1 ), status.getOutdatedJobIds() );
+
+    status = catalog.rebuild();
+    assertEquals( 2, status.getCachedJobCount() );
+    assertTrue( catalog.verify().isConsistent() );
+    assertNull( catalog.getJob( JOB_ID_2 ) );
+  }
+
+  private static Job job( String jobId, String userName ) {
+    Job job = new Job();
+    job.setJobId( jobId );
+    job.setUserName( userName );
+    job.setGroupName( userName );
+    job.setState( JobState.NORMAL );
+    return job;
+  }
+
+  private static List<IJob> jobs( Job... jobs ) {
+    return new ArrayList<>( Arrays.asList( jobs ) );
+  }
+}
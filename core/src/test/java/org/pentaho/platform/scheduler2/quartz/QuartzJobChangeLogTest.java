@@ -0,0 +1,99 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.quartz;
+
+import org.junit.Test;
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
+import org.quartz.TriggerKey;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class QuartzJobChangeLogTest {
+
+  private static final String JOB_ID_1 = "admin\tjob1\t1";
+  private static final String JOB_ID_2 = "suzy\tjob2\t2";
+
+  @Test
+  public void testListsTheJobsChangedSinceAVersion() {
+    QuartzJobChangeLog changeLog = new QuartzJobChangeLog();
+    long start = changeLog.getVersion();
+
+    changeLog.jobAdded( jobDetail( JOB_ID_1 ) );
+    changeLog.jobPaused( new JobKey( JOB_ID_2, "suzy" ) );
+    long afterPause = changeLog.getVersion();
+    changeLog.triggerResumed( new TriggerKey( JOB_ID_1, "admin" ) );
+    changeLog.triggerPaused( new TriggerKey( "MT_123", "admin" ) );
+
+    assertEquals( start + 3, changeLog.getVersion() );
+
+    Map<String, Boolean> changes = changeLog.getChangedJobIds( start );
+    assertEquals( Arrays.asList( JOB_ID_1, JOB_ID_2 ), Arrays.asList( changes.keySet().toArray() ) );
+    assertTrue( changes.get( JOB_ID_1 ) );
+    assertFalse( changes.get( JOB_ID_2 ) );
+
+    changes = changeLog.getChangedJobIds( afterPause );
+    assertEquals( 1, changes.size() );
+    assertFalse( changes.get( JOB_ID_1 ) );
+
+    assertTrue( changeLog.getChangedJobIds( changeLog.getVersion() ).isEmpty() );
+  }
+
+  @Test
+  public void testVersionsOfAnEarlierRunAreUnknown() {
+    QuartzJobChangeLog earlierRun = new QuartzJobChangeLog();
+    earlierRun.jobAdded( jobDetail( JOB_ID_1 ) );
+    QuartzJobChangeLog changeLog = new QuartzJobChangeLog();
+    changeLog.jobAdded( jobDetail( JOB_ID_2 ) );
+
+    assertTrue( changeLog.getVersion() > 0 );
+    assertNull( changeLog.getChangedJobIds( earlierRun.getVersion() ) );
+  }
+
+  @Test
+  public void testUnknownVersionsNeedAFullReload() {
+    QuartzJobChangeLog changeLog = new QuartzJobChangeLog( 2 );
+    long start = changeLog.getVersion();
+
+    assertNull( changeLog.getChangedJobIds( start - 1 ) );
+    assertNull( changeLog.getChangedJobIds( start + 1 ) );
+
+    changeLog.jobDeleted( new JobKey( JOB_ID_1, "admin" ) );
+    changeLog.jobDeleted( new JobKey( JOB_ID_2, "suzy" ) );
+    changeLog.jobDeleted( new JobKey( "admin\tjob3\t3", "admin" ) );
+
+    // the first change no longer fits in the log
+    assertNull( changeLog.getChangedJobIds( start ) );
+    assertEquals( 2, changeLog.getChangedJobIds( start + 1 ).size() );
+
+    long beforeGroupChange = changeLog.getVersion();
+    changeLog.jobsPaused( "admin" );
+    assertNull( changeLog.getChangedJobIds( beforeGroupChange ) );
+    assertTrue( changeLog.getChangedJobIds( changeLog.getVersion() ).isEmpty() );
+  }
+
+  private static JobDetail jobDetail( String jobId ) {
+    JobDetail jobDetail = mock( JobDetail.class );
+    when( jobDetail.getKey() ).thenReturn( new JobKey( jobId, "admin" ) );
+    return jobDetail;
+  }
+}
@@ -0,0 +1,84 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.quartz;
+
+import org.junit.Test;
+import org.quartz.impl.calendar.BaseCalendar;
+
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class QuartzSchedulerAvailabilityTest {
+
+  private static final long START = 1000000L;
+
+  private static final long END = 2000000L;
+
+  @Test
+  public void testNextIncludedTimeIsABoundaryOfTheWindow() {
+    QuartzSchedulerAvailability calendar = new QuartzSchedulerAvailability( new Date( START ), new Date( END ) );
+
+    assertEquals( START, calendar.getNextIncludedTime( 1L ) );
+    assertEquals( START + 1, calendar.getNextIncludedTime( START ) );
+    assertEquals( END, calendar.getNextIncludedTime( END - 1 ) );
+    assertEquals( 0, calendar.getNextIncludedTime( END ) );
+  }
+
+  @Test
+  public void testWindowWithoutEnds() {
+    QuartzSchedulerAvailability calendar = new QuartzSchedulerAvailability( null, null );
+
+    assertTrue( calendar.isTimeIncluded( START ) );
+    assertEquals( START + 1, calendar.getNextIncludedTime( START ) );
+  }
+
+  @Test
+  public void testBaseCalendarIsHonoured() {
+    QuartzSchedulerAvailability calendar = new QuartzSchedulerAvailability( new Date( START ), new Date( END ) );
+    calendar.setBaseCalendar( new Excluding( START, START + 500000L ) );
+
+    assertFalse( calendar.isTimeIncluded( START ) );
+    assertTrue( calendar.isTimeIncluded( START + 500001L ) );
+    assertEquals( START + 500001L, calendar.getNextIncludedTime( 1L ) );
+
+    calendar.setBaseCalendar( new Excluding( START, END + 1 ) );
+    assertEquals( 0, calendar.getNextIncludedTime( 1L ) );
+  }
+
+  /**
+   * Excludes one range of times, like a blockout window.
+   */
+  private static class Excluding extends BaseCalendar {
+    private final long from;
+    private final long to;
+
+    Excluding( long from, long to ) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public boolean isTimeIncluded( long timeStamp ) {
+      return timeStamp < from || timeStamp > to;
+    }
+
+    @Override
+    public long getNextIncludedTime( long timeStamp ) {
+      return isTimeIncluded( timeStamp ) ? timeStamp : to + 1;
+    }
+  }
+}
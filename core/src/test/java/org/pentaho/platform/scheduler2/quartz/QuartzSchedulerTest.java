@@ -16,20 +16,29 @@ import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.pentaho.platform.api.repository2.unified.IUnifiedRepository;
 import org.pentaho.platform.api.repository2.unified.RepositoryFile;
 import org.pentaho.platform.api.scheduler2.ComplexJobTrigger;
+import org.pentaho.platform.api.scheduler2.IBlockoutManager;
+import org.pentaho.platform.api.scheduler2.IJob;
 import org.pentaho.platform.api.scheduler2.Job;
+import org.pentaho.platform.api.scheduler2.JobState;
 import org.pentaho.platform.api.scheduler2.SchedulerException;
 import org.pentaho.platform.api.scheduler2.SimpleJobTrigger;
 import org.pentaho.platform.engine.core.system.PentahoSystem;
+import org.pentaho.platform.scheduler2.IJobParamsFilter;
+import org.pentaho.platform.scheduler2.IJobPreFilter;
+import org.pentaho.platform.scheduler2.VisibleJobsFilter;
 import org.quartz.CronExpression;
 import org.quartz.CronScheduleBuilder;
 import org.quartz.CronTrigger;
+import org.quartz.JobBuilder;
 import org.quartz.JobDataMap;
 import org.quartz.JobDetail;
 import org.quartz.JobKey;
+import org.quartz.JobPersistenceException;
 import org.quartz.Scheduler;
 import org.quartz.SchedulerFactory;
 import org.quartz.Trigger;
@@ -40,21 +49,34 @@ import org.quartz.impl.triggers.CronTriggerImpl;
 import org.quartz.spi.MutableTrigger;
 
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.TimeZone;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pentaho.platform.api.scheduler2.IScheduler.RESERVEDMAPKEY_ACTIONUSER;
@@ -246,6 +268,157 @@ public class QuartzSchedulerTest {
     assertEquals( testDates.getTime().getTime(), triggerCaptor.getValue().getEndTime().getTime() );
   }
 
+  @Test
+  public void testJobBatchSchedulesAllTheJobsWithOneCall() throws SchedulerException, org.quartz.SchedulerException {
+    SchedulerFactory mockSchedulerFactory = mock( SchedulerFactory.class );
+    Scheduler mockScheduler = mock( Scheduler.class );
+    when( mockSchedulerFactory.getScheduler() ).thenReturn( mockScheduler );
+
+    QuartzScheduler quartzScheduler = new QuartzScheduler();
+    quartzScheduler.setQuartzSchedulerFactory( mockSchedulerFactory );
+    QuartzScheduler.JobBatch batch = newJobBatch( quartzScheduler, "fooJob", "barJob" );
+    verify( mockScheduler, never() ).scheduleJobs( any(), anyBoolean() );
+
+    List<Job> jobs = batch.schedule();
+
+    assertEquals( 2, jobs.size() );
+    assertEquals( "fooJob", jobs.get( 0 ).getJobName() );
+    assertEquals( "fooUser", jobs.get( 1 ).getUserName() );
+    ArgumentCaptor<Map<JobDetail, Set<? extends Trigger>>> captor = ArgumentCaptor.forClass( Map.class );
+    verify( mockScheduler ).scheduleJobs( captor.capture(), eq( false ) );
+    assertEquals( 2, captor.getValue().size() );
+    verify( mockScheduler, never() ).scheduleJob( any( JobDetail.class ), any( Trigger.class ) );
+  }
+
+  @Test
+  public void testJobBatchStoresPausedJobsWhileTheSchedulerStandsBy()
+    throws SchedulerException, org.quartz.SchedulerException {
+    SchedulerFactory mockSchedulerFactory = mock( SchedulerFactory.class );
+    Scheduler mockScheduler = mock( Scheduler.class );
+    when( mockSchedulerFactory.getScheduler() ).thenReturn( mockScheduler );
+    when( mockScheduler.isStarted() ).thenReturn( true );
+
+    QuartzScheduler quartzScheduler = new QuartzScheduler();
+    quartzScheduler.setQuartzSchedulerFactory( mockSchedulerFactory );
+    List<Job> jobs = newJobBatch( quartzScheduler, "fooJob", "barJob" ).schedulePaused();
+
+    assertEquals( JobState.PAUSED, jobs.get( 0 ).getState() );
+    assertEquals( JobState.PAUSED, jobs.get( 1 ).getState() );
+    InOrder inOrder = Mockito.inOrder( mockScheduler );
+    inOrder.verify( mockScheduler ).standby();
+    inOrder.verify( mockScheduler ).scheduleJobs( any(), eq( false ) );
+    inOrder.verify( mockScheduler, times( 2 ) ).pauseTrigger( any( TriggerKey.class ) );
+    inOrder.verify( mockScheduler ).start();
+  }
+
+  @Test
+  public void testJobBatchLeavesAStandingBySchedulerSo() throws SchedulerException, org.quartz.SchedulerException {
+    SchedulerFactory mockSchedulerFactory = mock( SchedulerFactory.class );
+    Scheduler mockScheduler = mock( Scheduler.class );
+    when( mockSchedulerFactory.getScheduler() ).thenReturn( mockScheduler );
+    when( mockScheduler.isStarted() ).thenReturn( true );
+    when( mockScheduler.isInStandbyMode() ).thenReturn( true );
+
+    QuartzScheduler quartzScheduler = new QuartzScheduler();
+    quartzScheduler.setQuartzSchedulerFactory( mockSchedulerFactory );
+    newJobBatch( quartzScheduler, "fooJob" ).schedulePaused();
+
+    verify( mockScheduler ).pauseTrigger( any( TriggerKey.class ) );
+    verify( mockScheduler, never() ).standby();
+    verify( mockScheduler, never() ).start();
+  }
+
+  @Test
+  public void testJobBatchReleasesItsCalendarsWhenTheJobsCannotBeScheduled() throws Exception {
+    Scheduler mockScheduler = mock( Scheduler.class );
+    SchedulerFactory mockSchedulerFactory = mock( SchedulerFactory.class );
+    when( mockSchedulerFactory.getScheduler() ).thenReturn( mockScheduler );
+    QuartzScheduler quartzScheduler = new QuartzScheduler();
+    quartzScheduler.setQuartzSchedulerFactory( mockSchedulerFactory );
+    doThrow( new org.quartz.SchedulerException( "scheduleJobs" ) ).when( mockScheduler )
+      .scheduleJobs( any(), eq( false ) );
+
+    try {
+      newWindowedJobBatch( quartzScheduler, "fooJob", "barJob" ).schedule();
+      fail();
+    } catch ( SchedulerException e ) {
+      // expected
+    }
+
+    ArgumentCaptor<String> calendarNames = ArgumentCaptor.forClass( String.class );
+    verify( mockScheduler, times( 2 ) ).addCalendar( calendarNames.capture(),
+      any( QuartzSchedulerAvailability.class ), eq( true ), eq( false ) );
+    assertNotEquals( calendarNames.getAllValues().get( 0 ), calendarNames.getValue() );
+    for ( String calendarName : calendarNames.getAllValues() ) {
+      verify( mockScheduler ).deleteCalendar( calendarName );
+    }
+  }
+
+  @Test
+  public void testJobBatchReleasesTheCalendarsAcquiredBeforeOneFails() throws Exception {
+    Scheduler mockScheduler = mock( Scheduler.class );
+    SchedulerFactory mockSchedulerFactory = mock( SchedulerFactory.class );
+    when( mockSchedulerFactory.getScheduler() ).thenReturn( mockScheduler );
+    QuartzScheduler quartzScheduler = new QuartzScheduler();
+    quartzScheduler.setQuartzSchedulerFactory( mockSchedulerFactory );
+    doNothing().doThrow( new org.quartz.SchedulerException( "addCalendar" ) ).when( mockScheduler )
+      .addCalendar( anyString(), any( QuartzSchedulerAvailability.class ), eq( true ), eq( false ) );
+
+    try {
+      newWindowedJobBatch( quartzScheduler, "fooJob", "barJob" ).schedule();
+      fail();
+    } catch ( SchedulerException e ) {
+      // expected
+    }
+
+    ArgumentCaptor<String> calendarNames = ArgumentCaptor.forClass( String.class );
+    verify( mockScheduler, times( 2 ) ).addCalendar( calendarNames.capture(),
+      any( QuartzSchedulerAvailability.class ), eq( true ), eq( false ) );
+    verify( mockScheduler ).deleteCalendar( calendarNames.getAllValues().get( 0 ) );
+    verify( mockScheduler, never() ).deleteCalendar( calendarNames.getValue() );
+    verify( mockScheduler, never() ).scheduleJobs( any(), anyBoolean() );
+  }
+
+  /**
+   * @return a batch of cron jobs, each with an availability window, and so a calendar, of its own
+   */
+  private static QuartzScheduler.JobBatch newWindowedJobBatch( QuartzScheduler quartzScheduler, String... jobNames )
+    throws SchedulerException {
+    QuartzScheduler.JobBatch batch = quartzScheduler.newJobBatch();
+    long start = System.currentTimeMillis() + 86400000L;
+    for ( String jobName : jobNames ) {
+      ComplexJobTrigger trigger = new ComplexJobTrigger();
+      trigger.setCronString( "0 0 12 ? * 2 *" );
+      trigger.setStartTime( new Date( start ) );
+      HashMap<String, Object> jobParams = new HashMap<>();
+      jobParams.put( RESERVEDMAPKEY_ACTIONUSER, "fooUser" );
+      batch.createJob( jobName, "fooAction", jobParams, trigger, null );
+      start += 86400000L;
+    }
+    return batch;
+  }
+
+  private static QuartzScheduler.JobBatch newJobBatch( QuartzScheduler quartzScheduler, String... jobNames )
+    throws SchedulerException {
+    QuartzScheduler.JobBatch batch = quartzScheduler.newJobBatch();
+    Calendar startDate = Calendar.getInstance();
+    startDate.add( Calendar.DATE, 1 );
+    for ( String jobName : jobNames ) {
+      SimpleJobTrigger simpleJobTrigger = new SimpleJobTrigger();
+      simpleJobTrigger.setStartYear( startDate.get( Calendar.YEAR ) - 1900 );
+      simpleJobTrigger.setStartMonth( startDate.get( Calendar.MONTH ) );
+      simpleJobTrigger.setStartDay( startDate.get( Calendar.DATE ) );
+      simpleJobTrigger.setStartHour( startDate.get( Calendar.HOUR_OF_DAY ) );
+      simpleJobTrigger.setStartMin( startDate.get( Calendar.MINUTE ) );
+      simpleJobTrigger.setUiPassParam( "HOURS" );
+      simpleJobTrigger.setRepeatInterval( 2 * 60 * 60 );
+      HashMap<String, Object> jobParams = new HashMap<>();
+      jobParams.put( RESERVEDMAPKEY_ACTIONUSER, "fooUser" );
+      batch.createJob( jobName, "fooAction", jobParams, simpleJobTrigger, null );
+    }
+    return batch;
+  }
+
   @Test
   public void testTriggerEndTimeWithTimeZone() throws SchedulerException, org.quartz.SchedulerException {
     // Set the default timezone to UTC, so that the test is not affected by the local timezone
@@ -424,9 +597,209 @@ public class QuartzSchedulerTest {
 
     // Assert
     assertNotNull( jobDataMap.get( QuartzScheduler.PREVIOUS_TRIGGER_NOW_KEY ) );
-    verify( mockScheduler ).scheduleJob( any( JobDetail.class ), eq( mockTrigger ) );
-    verify( mockScheduler ).deleteJob( jobKey );
+    ArgumentCaptor<JobDetail> storedJobDetail = ArgumentCaptor.forClass( JobDetail.class );
+    verify( mockScheduler ).addJob( storedJobDetail.capture(), eq( true ), eq( true ) );
+    assertEquals( jobKey, storedJobDetail.getValue().getKey() );
+    assertNotNull( storedJobDetail.getValue().getJobDataMap().get( QuartzScheduler.PREVIOUS_TRIGGER_NOW_KEY ) );
+    verify( mockScheduler, never() ).deleteJob( jobKey );
+    verify( mockScheduler, never() ).scheduleJob( any( JobDetail.class ), eq( mockTrigger ) );
+    verify( mockScheduler ).triggerJob( jobKey );
+  }
+
+  @Test
+  public void testTriggerNowFiresTheOtherJobsWhenOneFails() throws Exception {
+    String jobId = "admin\tmyJob\trandomUuid";
+    JobKey jobKey = new JobKey( jobId, "admin" );
+    JobDetail jobDetail = mock( JobDetail.class );
+    when( jobDetail.getJobDataMap() ).thenReturn( new JobDataMap() );
+    when( jobDetail.getJobClass() ).thenAnswer( unused -> BlockingQuartzJob.class );
+
+    Scheduler mockScheduler = mock( Scheduler.class );
+    when( mockScheduler.getJobDetail( jobKey ) ).thenReturn( jobDetail );
+    SchedulerFactory mockSchedulerFactory = mock( SchedulerFactory.class );
+    when( mockSchedulerFactory.getScheduler() ).thenReturn( mockScheduler );
+
+    QuartzScheduler quartzScheduler = new QuartzScheduler();
+    quartzScheduler.setQuartzSchedulerFactory( mockSchedulerFactory );
+
+    List<String> failedJobIds = quartzScheduler.triggerNow( Arrays.asList( "admin\tmissingJob\trandomUuid", jobId ) );
+
+    assertEquals( Collections.singletonList( "admin\tmissingJob\trandomUuid" ), failedJobIds );
     verify( mockScheduler ).triggerJob( jobKey );
+    verify( mockScheduler, never() ).triggerJob( new JobKey( "admin\tmissingJob\trandomUuid", "admin" ) );
+    verify( mockScheduler ).addJob( any( JobDetail.class ), eq( true ), eq( true ) );
+  }
+
+  @Test
+  public void testRemoveJobsDeletesTheJobsAndTheirCalendarsAtOnce() throws Exception {
+    String jobId = "admin\tmyJob\trandomUuid";
+    String otherJobId = "suzy\totherJob\trandomUuid";
+
+    Scheduler mockScheduler = mock( Scheduler.class );
+    Trigger trigger = mock( Trigger.class );
+    when( trigger.getCalendarName() ).thenReturn( jobId );
+    when( mockScheduler.getTrigger( new TriggerKey( jobId, "admin" ) ) ).thenReturn( trigger );
+    when( mockScheduler.getTrigger( new TriggerKey( otherJobId, "suzy" ) ) ).thenReturn( mock( Trigger.class ) );
+    SchedulerFactory mockSchedulerFactory = mock( SchedulerFactory.class );
+    when( mockSchedulerFactory.getScheduler() ).thenReturn( mockScheduler );
+
+    QuartzScheduler quartzScheduler = new QuartzScheduler();
+    quartzScheduler.setQuartzSchedulerFactory( mockSchedulerFactory );
+
+    List<String> removedJobIds = quartzScheduler.removeJobs( Arrays.asList( jobId, "malformed", otherJobId ) );
+
+    assertEquals( Arrays.asList( jobId, otherJobId ), removedJobIds );
+    verify( mockScheduler ).deleteJobs( Arrays.asList( new JobKey( jobId, "admin" ), new JobKey( otherJobId, "suzy" ) ) );
+    verify( mockScheduler, never() ).deleteJob( any( JobKey.class ) );
+    verify( mockScheduler ).deleteCalendar( jobId );
+    verify( mockScheduler, never() ).deleteCalendar( otherJobId );
+  }
+
+  @Test
+  public void testRemoveJobsRemovesTheJobsOneByOneWhenTheBatchFails() throws Exception {
+    String jobId = "admin\tmyJob\trandomUuid";
+    String failingJobId = "suzy\tfailingJob\trandomUuid";
+    String unreadableJobId = "suzy\tunreadableJob\trandomUuid";
+
+    Scheduler mockScheduler = mock( Scheduler.class );
+    Trigger trigger = mock( Trigger.class );
+    when( trigger.getCalendarName() ).thenReturn( jobId );
+    Trigger failingTrigger = mock( Trigger.class );
+    when( failingTrigger.getCalendarName() ).thenReturn( failingJobId );
+    when( mockScheduler.getTrigger( new TriggerKey( jobId, "admin" ) ) ).thenReturn( trigger );
+    when( mockScheduler.getTrigger( new TriggerKey( failingJobId, "suzy" ) ) ).thenReturn( failingTrigger );
+    when( mockScheduler.getTrigger( new TriggerKey( unreadableJobId, "suzy" ) ) )
+      .thenThrow( new org.quartz.SchedulerException( "unreadable" ) );
+    when( mockScheduler.deleteJobs( any() ) ).thenThrow( new org.quartz.SchedulerException( "batch" ) );
+    when( mockScheduler.deleteJob( new JobKey( failingJobId, "suzy" ) ) )
+      .thenThrow( new org.quartz.SchedulerException( "failing" ) );
+    SchedulerFactory mockSchedulerFactory = mock( SchedulerFactory.class );
+    when( mockSchedulerFactory.getScheduler() ).thenReturn( mockScheduler );
+
+    QuartzScheduler quartzScheduler = new QuartzScheduler();
+    quartzScheduler.setQuartzSchedulerFactory( mockSchedulerFactory );
+
+    List<String> removedJobIds = quartzScheduler.removeJobs( Arrays.asList( jobId, failingJobId, unreadableJobId ) );
+
+    assertEquals( Collections.singletonList( jobId ), removedJobIds );
+    verify( mockScheduler ).deleteJobs( Arrays.asList( new JobKey( jobId, "admin" ),
+      new JobKey( failingJobId, "suzy" ) ) );
+    verify( mockScheduler ).deleteJob( new JobKey( jobId, "admin" ) );
+    verify( mockScheduler, never() ).deleteJob( new JobKey( unreadableJobId, "suzy" ) );
+    verify( mockScheduler ).deleteCalendar( jobId );
+    verify( mockScheduler, never() ).deleteCalendar( failingJobId );
+  }
+
+  @Test
+  public void testJobsWithTheSameWindowShareOneCalendar() throws Exception {
+    Scheduler mockScheduler = mock( Scheduler.class );
+    SchedulerFactory mockSchedulerFactory = mock( SchedulerFactory.class );
+    when( mockSchedulerFactory.getScheduler() ).thenReturn( mockScheduler );
+    QuartzScheduler quartzScheduler = new QuartzScheduler();
+    quartzScheduler.setQuartzSchedulerFactory( mockSchedulerFactory );
+
+    Date start = new Date( System.currentTimeMillis() + 86400000L );
+    for ( String jobName : Arrays.asList( "first", "second" ) ) {
+      ComplexJobTrigger trigger = new ComplexJobTrigger();
+      trigger.setCronString( "0 0 12 ? * 2 *" );
+      trigger.setStartTime( start );
+      HashMap<String, Object> jobParams = new HashMap<>();
+      jobParams.put( RESERVEDMAPKEY_ACTIONUSER, "fooUser" );
+      quartzScheduler.createJob( jobName, jobParams, trigger, null );
+    }
+
+    ArgumentCaptor<String> calendarName = ArgumentCaptor.forClass( String.class );
+    verify( mockScheduler, times( 2 ) ).addCalendar( calendarName.capture(), any( QuartzSchedulerAvailability.class ),
+      eq( true ), eq( false ) );
+    assertEquals( calendarName.getAllValues().get( 0 ), calendarName.getValue() );
+    assertTrue( calendarName.getValue().startsWith( QuartzAvailabilityCalendars.CALENDAR_NAME_PREFIX ) );
+    ArgumentCaptor<Trigger> triggers = ArgumentCaptor.forClass( Trigger.class );
+    verify( mockScheduler, times( 2 ) ).scheduleJob( any( JobDetail.class ), triggers.capture() );
+    for ( Trigger trigger : triggers.getAllValues() ) {
+      assertEquals( calendarName.getValue(), trigger.getCalendarName() );
+    }
+  }
+
+  @Test
+  public void testCronTriggersStartWhenTheirWindowOpens() throws Exception {
+    Scheduler mockScheduler = mock( Scheduler.class );
+    SchedulerFactory mockSchedulerFactory = mock( SchedulerFactory.class );
+    when( mockSchedulerFactory.getScheduler() ).thenReturn( mockScheduler );
+    QuartzScheduler quartzScheduler = new QuartzScheduler();
+    quartzScheduler.setQuartzSchedulerFactory( mockSchedulerFactory );
+
+    // whole seconds, as cron triggers drop the milliseconds of their start time
+    Date start = new Date( ( System.currentTimeMillis() / 1000 + 30 * 86400 ) * 1000 );
+    ComplexJobTrigger trigger = new ComplexJobTrigger();
+    trigger.setCronString( "0 * * ? * * *" );
+    trigger.setStartTime( start );
+    HashMap<String, Object> jobParams = new HashMap<>();
+    jobParams.put( RESERVEDMAPKEY_ACTIONUSER, "fooUser" );
+    quartzScheduler.createJob( "fooJob", jobParams, trigger, null );
+
+    ArgumentCaptor<Trigger> triggers = ArgumentCaptor.forClass( Trigger.class );
+    verify( mockScheduler ).scheduleJob( any( JobDetail.class ), triggers.capture() );
+    assertEquals( start, triggers.getValue().getStartTime() );
+  }
+
+  @Test
+  public void testJobsOtherThanBlockoutsSkipTheBlockoutWindows() throws Exception {
+    Scheduler mockScheduler = mock( Scheduler.class );
+    SchedulerFactory mockSchedulerFactory = mock( SchedulerFactory.class );
+    when( mockSchedulerFactory.getScheduler() ).thenReturn( mockScheduler );
+    QuartzScheduler quartzScheduler = new QuartzScheduler();
+    quartzScheduler.setQuartzSchedulerFactory( mockSchedulerFactory );
+
+    Date start = new Date( System.currentTimeMillis() + 86400000L );
+    for ( String jobName : Arrays.asList( "fooJob", IBlockoutManager.BLOCK_OUT_JOB_NAME ) ) {
+      SimpleJobTrigger trigger = new SimpleJobTrigger( start, null, -1, 3600 );
+      trigger.setUiPassParam( "HOURS" );
+      HashMap<String, Object> jobParams = new HashMap<>();
+      jobParams.put( RESERVEDMAPKEY_ACTIONUSER, "fooUser" );
+      jobParams.put( IBlockoutManager.DURATION_PARAM, 60000L );
+      quartzScheduler.createJob( jobName, jobParams, trigger, null );
+    }
+
+    ArgumentCaptor<Trigger> triggers = ArgumentCaptor.forClass( Trigger.class );
+    verify( mockScheduler, times( 2 ) ).scheduleJob( any( JobDetail.class ), triggers.capture() );
+    assertEquals( QuartzAvailabilityCalendars.BLOCKOUT_CALENDAR_NAME,
+      triggers.getAllValues().get( 0 ).getCalendarName() );
+    assertNull( triggers.getAllValues().get( 1 ).getCalendarName() );
+    // stored for the first job, and again once the blockout is scheduled
+    verify( mockScheduler, times( 2 ) ).addCalendar( eq( QuartzAvailabilityCalendars.BLOCKOUT_CALENDAR_NAME ),
+      any( QuartzBlockoutCalendar.class ), eq( true ), eq( true ) );
+  }
+
+  @Test
+  public void testJobTheBlockoutsBlockEntirelyIsCreatedWithoutTheBlockoutCalendar() throws Exception {
+    Scheduler mockScheduler = mock( Scheduler.class );
+    SchedulerFactory mockSchedulerFactory = mock( SchedulerFactory.class );
+    when( mockSchedulerFactory.getScheduler() ).thenReturn( mockScheduler );
+    QuartzScheduler quartzScheduler = Mockito.spy( new QuartzScheduler() );
+    quartzScheduler.setQuartzSchedulerFactory( mockSchedulerFactory );
+
+    // an hour long blockout every hour leaves no time for the job to fire
+    Date start = new Date( System.currentTimeMillis() + 86400000L );
+    Job blockOut = new Job();
+    blockOut.setJobName( IBlockoutManager.BLOCK_OUT_JOB_NAME );
+    blockOut.setJobTrigger( new SimpleJobTrigger( start, null, -1, 3600 ) );
+    Map<String, Object> blockOutParams = new HashMap<>();
+    blockOutParams.put( IBlockoutManager.DURATION_PARAM, 3600000L );
+    blockOut.setJobParams( blockOutParams );
+    Mockito.doReturn( Collections.singletonList( blockOut ) ).when( quartzScheduler ).getJobs( any() );
+
+    SimpleJobTrigger trigger = new SimpleJobTrigger( start, null, -1, 7200 );
+    trigger.setUiPassParam( "HOURS" );
+    HashMap<String, Object> jobParams = new HashMap<>();
+    jobParams.put( RESERVEDMAPKEY_ACTIONUSER, "fooUser" );
+    assertNotNull( quartzScheduler.createJob( "fooJob", jobParams, trigger, null ) );
+    // the duration is set on a copy, the trigger of the blockout job may be shared with the job catalog
+    assertEquals( -1, blockOut.getJobTrigger().getDuration() );
+
+    // Quartz would refuse a trigger whose calendar excludes every fire time, so the job only blocks when it fires
+    ArgumentCaptor<Trigger> triggers = ArgumentCaptor.forClass( Trigger.class );
+    verify( mockScheduler ).scheduleJob( any( JobDetail.class ), triggers.capture() );
+    assertNull( triggers.getValue().getCalendarName() );
   }
 
   @Test
@@ -578,4 +951,392 @@ public class QuartzSchedulerTest {
     // Assert
     assertEquals( previousFireTime, lastRun );
   }
+
+  @Test
+  public void testGetJobsFromJobStoreReader() throws Exception {
+    Scheduler mockScheduler = mock( Scheduler.class );
+    when( mockScheduler.getSchedulerName() ).thenReturn( "PentahoQuartzScheduler" );
+    SchedulerFactory mockSchedulerFactory = mock( SchedulerFactory.class );
+    when( mockSchedulerFactory.getScheduler() ).thenReturn( mockScheduler );
+
+    String jobId = "admin\tmyJob\trandomUuid";
+    JobKey jobKey = new JobKey( jobId, "admin" );
+    TriggerKey triggerKey = new TriggerKey( jobId, "admin" );
+    CronTriggerImpl trigger = new CronTriggerImpl();
+    trigger.setKey( triggerKey );
+    trigger.setJobKey( jobKey );
+    trigger.setTimeZone( TimeZone.getTimeZone( "UTC" ) );
+    trigger.setCronExpression( "0 0 12 * * ? *" );
+    trigger.setStartTime( new Date() );
+    Date previousTriggerNow = new Date( System.currentTimeMillis() - 1000 );
+    JobDataMap jobDataMap = new JobDataMap();
+    jobDataMap.put( QuartzScheduler.PREVIOUS_TRIGGER_NOW_KEY, previousTriggerNow );
+
+    QuartzJdbcJobStoreReader reader = mock( QuartzJdbcJobStoreReader.class );
+    when( reader.openJobs( "PentahoQuartzScheduler", null, true ) ).thenAnswer( unused -> cursorOf( reader,
+      new QuartzJdbcJobStoreReader.JobStoreEntry( jobKey, triggerKey, jobDataMap, trigger,
+        Trigger.TriggerState.PAUSED, null ) ) );
+
+    QuartzScheduler quartzScheduler = new QuartzScheduler();
+    quartzScheduler.setQuartzSchedulerFactory( mockSchedulerFactory );
+    quartzScheduler.setJobStoreReader( reader );
+
+    List<IJob> jobs = quartzScheduler.getJobs( null );
+
+    assertEquals( 1, jobs.size() );
+    IJob job = jobs.get( 0 );
+    assertEquals( jobId, job.getJobId() );
+    assertEquals( "myJob", job.getJobName() );
+    assertEquals( "admin", job.getUserName() );
+    assertEquals( JobState.PAUSED, job.getState() );
+    assertEquals( previousTriggerNow, job.getLastRun() );
+    verify( mockScheduler, never() ).getJobDetail( any() );
+    verify( mockScheduler, never() ).getTriggerState( any() );
+    verify( mockScheduler, never() ).getJobGroupNames();
+  }
+
+  @Test
+  public void testGetJobsFallsBackWhenJobStoreReaderFails() throws Exception {
+    Scheduler mockScheduler = mock( Scheduler.class );
+    when( mockScheduler.getSchedulerName() ).thenReturn( "PentahoQuartzScheduler" );
+    when( mockScheduler.getJobGroupNames() ).thenReturn( Collections.emptyList() );
+    SchedulerFactory mockSchedulerFactory = mock( SchedulerFactory.class );
+    when( mockSchedulerFactory.getScheduler() ).thenReturn( mockScheduler );
+
+    QuartzJdbcJobStoreReader reader = mock( QuartzJdbcJobStoreReader.class );
+    when( reader.openJobs( any(), any(), anyBoolean() ) ).thenThrow( new JobPersistenceException( "boom" ) );
+
+    QuartzScheduler quartzScheduler = new QuartzScheduler();
+    quartzScheduler.setQuartzSchedulerFactory( mockSchedulerFactory );
+    quartzScheduler.setJobStoreReader( reader );
+
+    assertTrue( quartzScheduler.getJobs( null ).isEmpty() );
+    verify( mockScheduler ).getJobGroupNames();
+  }
+
+  @Test
+  public void testGetJobsDoesNotListTheJobsAgainWhenTheJobStoreFailsMidway() throws Exception {
+    Scheduler mockScheduler = mock( Scheduler.class );
+    when( mockScheduler.getSchedulerName() ).thenReturn( "PentahoQuartzScheduler" );
+    SchedulerFactory mockSchedulerFactory = mock( SchedulerFactory.class );
+    when( mockSchedulerFactory.getScheduler() ).thenReturn( mockScheduler );
+
+    String jobId = "admin\tmyJob\trandomUuid";
+    JobKey jobKey = new JobKey( jobId, "admin" );
+    TriggerKey triggerKey = new TriggerKey( jobId, "admin" );
+    CronTriggerImpl trigger = new CronTriggerImpl();
+    trigger.setKey( triggerKey );
+    trigger.setJobKey( jobKey );
+    trigger.setTimeZone( TimeZone.getTimeZone( "UTC" ) );
+    trigger.setCronExpression( "0 0 12 * * ? *" );
+    trigger.setStartTime( new Date() );
+    QuartzJdbcJobStoreReader.JobStoreEntry entry = new QuartzJdbcJobStoreReader.JobStoreEntry( jobKey, triggerKey,
+      new JobDataMap(), trigger, Trigger.TriggerState.NORMAL, null );
+
+    // the cursor fails once the first job was passed on
+    QuartzJdbcJobStoreReader reader = mock( QuartzJdbcJobStoreReader.class );
+    when( reader.openJobs( "PentahoQuartzScheduler", null, true ) ).thenAnswer(
+      unused -> reader.new JobStoreCursor( null, null, null, null, true ) {
+        private boolean read;
+
+        @Override
+        public QuartzJdbcJobStoreReader.JobStoreEntry next() throws JobPersistenceException {
+          if ( read ) {
+            throw new JobPersistenceException( "boom" );
+          }
+          read = true;
+          return entry;
+        }
+      } );
+
+    QuartzScheduler quartzScheduler = new QuartzScheduler();
+    quartzScheduler.setQuartzSchedulerFactory( mockSchedulerFactory );
+    quartzScheduler.setJobStoreReader( reader );
+
+    try {
+      quartzScheduler.getJobs( null );
+      fail();
+    } catch ( SchedulerException e ) {
+      // the jobs are not listed again one at a time
+    }
+    verify( mockScheduler, never() ).getJobGroupNames();
+    verify( mockScheduler, never() ).getJobKeys( any() );
+  }
+
+  @Test
+  public void testForEachJobReadsTheJobStoreOneGroupAtATime() throws Exception {
+    Scheduler mockScheduler = mock( Scheduler.class );
+    when( mockScheduler.getSchedulerName() ).thenReturn( "PentahoQuartzScheduler" );
+    when( mockScheduler.getJobGroupNames() ).thenReturn( Arrays.asList( "admin", "suzy" ) );
+    SchedulerFactory mockSchedulerFactory = mock( SchedulerFactory.class );
+    when( mockSchedulerFactory.getScheduler() ).thenReturn( mockScheduler );
+
+    String jobId = "admin\tmyJob\trandomUuid";
+    JobKey jobKey = new JobKey( jobId, "admin" );
+    TriggerKey triggerKey = new TriggerKey( jobId, "admin" );
+    CronTriggerImpl trigger = new CronTriggerImpl();
+    trigger.setKey( triggerKey );
+    trigger.setJobKey( jobKey );
+    trigger.setTimeZone( TimeZone.getTimeZone( "UTC" ) );
+    trigger.setCronExpression( "0 0 12 * * ? *" );
+    trigger.setStartTime( new Date() );
+
+    QuartzJdbcJobStoreReader reader = mock( QuartzJdbcJobStoreReader.class );
+    when( reader.openJobs( "PentahoQuartzScheduler", "admin", true ) ).thenAnswer( unused -> cursorOf( reader,
+      new QuartzJdbcJobStoreReader.JobStoreEntry( jobKey, triggerKey, new JobDataMap(), trigger,
+        Trigger.TriggerState.NORMAL, null ) ) );
+    when( reader.openJobs( "PentahoQuartzScheduler", "suzy", true ) ).thenAnswer( unused -> cursorOf( reader ) );
+
+    QuartzScheduler quartzScheduler = new QuartzScheduler();
+    quartzScheduler.setQuartzSchedulerFactory( mockSchedulerFactory );
+    quartzScheduler.setJobStoreReader( reader );
+
+    List<IJob> jobs = new ArrayList<>();
+    quartzScheduler.forEachJob( null, jobs::add );
+
+    assertEquals( 1, jobs.size() );
+    assertEquals( jobId, jobs.get( 0 ).getJobId() );
+    verify( reader ).openJobs( "PentahoQuartzScheduler", "admin", true );
+    verify( reader ).openJobs( "PentahoQuartzScheduler", "suzy", true );
+    verify( reader, never() ).openJobs( "PentahoQuartzScheduler", null, true );
+  }
+
+  @Test
+  public void testGetJobsReadsOnlyTheGroupOfTheVisibleJobsFilter() throws Exception {
+    Scheduler mockScheduler = mock( Scheduler.class );
+    when( mockScheduler.getSchedulerName() ).thenReturn( "PentahoQuartzScheduler" );
+    SchedulerFactory mockSchedulerFactory = mock( SchedulerFactory.class );
+    when( mockSchedulerFactory.getScheduler() ).thenReturn( mockScheduler );
+
+    String jobId = "suzy\tmyJob\trandomUuid";
+    JobKey jobKey = new JobKey( jobId, "suzy" );
+    TriggerKey triggerKey = new TriggerKey( jobId, "suzy" );
+    CronTriggerImpl trigger = new CronTriggerImpl();
+    trigger.setKey( triggerKey );
+    trigger.setJobKey( jobKey );
+    trigger.setTimeZone( TimeZone.getTimeZone( "UTC" ) );
+    trigger.setCronExpression( "0 0 12 * * ? *" );
+    trigger.setStartTime( new Date() );
+
+    QuartzJdbcJobStoreReader reader = mock( QuartzJdbcJobStoreReader.class );
+    when( reader.openJobs( "PentahoQuartzScheduler", "suzy", true ) ).thenAnswer( unused -> cursorOf( reader,
+      new QuartzJdbcJobStoreReader.JobStoreEntry( jobKey, triggerKey, new JobDataMap(), trigger,
+        Trigger.TriggerState.NORMAL, null ) ) );
+
+    QuartzScheduler quartzScheduler = new QuartzScheduler();
+    quartzScheduler.setQuartzSchedulerFactory( mockSchedulerFactory );
+    quartzScheduler.setJobStoreReader( reader );
+
+    List<IJob> jobs = quartzScheduler.getJobs( new VisibleJobsFilter( "suzy", false ) );
+    assertEquals( 1, jobs.size() );
+    assertEquals( jobId, jobs.get( 0 ).getJobId() );
+
+    List<IJob> streamed = new ArrayList<>();
+    quartzScheduler.forEachJob( new VisibleJobsFilter( "suzy", false ), streamed::add );
+    assertEquals( 1, streamed.size() );
+
+    verify( reader, times( 2 ) ).openJobs( "PentahoQuartzScheduler", "suzy", true );
+    verify( reader, never() ).openJobs( "PentahoQuartzScheduler", null, true );
+    verify( mockScheduler, never() ).getJobGroupNames();
+  }
+
+  @Test
+  public void testGetJobsSkipsTheJobDataWhenTheFilterDoesNotNeedIt() throws Exception {
+    Scheduler mockScheduler = mock( Scheduler.class );
+    when( mockScheduler.getSchedulerName() ).thenReturn( "PentahoQuartzScheduler" );
+    SchedulerFactory mockSchedulerFactory = mock( SchedulerFactory.class );
+    when( mockSchedulerFactory.getScheduler() ).thenReturn( mockScheduler );
+
+    String jobId = "admin\tmyJob\trandomUuid";
+    JobKey jobKey = new JobKey( jobId, "admin" );
+    TriggerKey triggerKey = new TriggerKey( jobId, "admin" );
+    CronTriggerImpl trigger = new CronTriggerImpl();
+    trigger.setKey( triggerKey );
+    trigger.setJobKey( jobKey );
+    trigger.setTimeZone( TimeZone.getTimeZone( "UTC" ) );
+    trigger.setCronExpression( "0 0 12 * * ? *" );
+    trigger.setStartTime( new Date() );
+
+    // without job data, the reader still returns the time of the latest manual run
+    Date manualRun = new Date( System.currentTimeMillis() - 60000 );
+    JobDataMap jobDataMap = new JobDataMap();
+    jobDataMap.put( QuartzScheduler.PREVIOUS_TRIGGER_NOW_KEY, manualRun );
+    QuartzJdbcJobStoreReader reader = mock( QuartzJdbcJobStoreReader.class );
+    when( reader.openJobs( "PentahoQuartzScheduler", null, false ) ).thenAnswer( unused -> cursorOf( reader,
+      new QuartzJdbcJobStoreReader.JobStoreEntry( jobKey, triggerKey, jobDataMap, trigger,
+        Trigger.TriggerState.NORMAL, null ) ) );
+
+    QuartzScheduler quartzScheduler = new QuartzScheduler();
+    quartzScheduler.setQuartzSchedulerFactory( mockSchedulerFactory );
+    quartzScheduler.setJobStoreReader( reader );
+
+    List<IJob> jobs = quartzScheduler.getJobs( new IJobParamsFilter() {
+      @Override
+      public boolean isJobParamsRequired() {
+        return false;
+      }
+
+      @Override
+      public boolean accept( IJob job ) {
+        return true;
+      }
+    } );
+
+    assertEquals( 1, jobs.size() );
+    assertEquals( "admin", jobs.get( 0 ).getUserName() );
+    assertTrue( jobs.get( 0 ).getJobParams().isEmpty() );
+    assertEquals( manualRun, jobs.get( 0 ).getLastRun() );
+    verify( reader, never() ).openJobs( "PentahoQuartzScheduler", null, true );
+  }
+
+  @Test
+  public void testGetJobsWithoutJobParamsKeepsTheLastManualRun() throws Exception {
+    Scheduler mockScheduler = mock( Scheduler.class );
+    SchedulerFactory mockSchedulerFactory = mock( SchedulerFactory.class );
+    when( mockSchedulerFactory.getScheduler() ).thenReturn( mockScheduler );
+
+    String jobId = "admin\tmyJob\trandomUuid";
+    JobKey jobKey = new JobKey( jobId, "admin" );
+    TriggerKey triggerKey = new TriggerKey( jobId, "admin" );
+    CronTriggerImpl trigger = new CronTriggerImpl();
+    trigger.setKey( triggerKey );
+    trigger.setJobKey( jobKey );
+    trigger.setTimeZone( TimeZone.getTimeZone( "UTC" ) );
+    trigger.setCronExpression( "0 0 12 * * ? *" );
+    trigger.setStartTime( new Date() );
+    trigger.setPreviousFireTime( new Date( System.currentTimeMillis() - 120000 ) );
+
+    Date manualRun = new Date( System.currentTimeMillis() - 60000 );
+    JobDetail jobDetail = JobBuilder.newJob( BlockingQuartzJob.class ).withIdentity( jobKey )
+      .usingJobData( "uiPassParam", "DAILY" ).build();
+    jobDetail.getJobDataMap().put( QuartzScheduler.PREVIOUS_TRIGGER_NOW_KEY, manualRun );
+    when( mockScheduler.getJobGroupNames() ).thenReturn( Collections.singletonList( "admin" ) );
+    when( mockScheduler.getJobKeys( any() ) ).thenReturn( Collections.singleton( jobKey ) );
+    when( mockScheduler.getTriggersOfJob( jobKey ) ).thenAnswer( unused -> Collections.singletonList( trigger ) );
+    when( mockScheduler.getJobDetail( jobKey ) ).thenReturn( jobDetail );
+    when( mockScheduler.getTriggerState( triggerKey ) ).thenReturn( Trigger.TriggerState.NORMAL );
+
+    QuartzScheduler quartzScheduler = new QuartzScheduler();
+    quartzScheduler.setQuartzSchedulerFactory( mockSchedulerFactory );
+
+    List<IJob> jobs = quartzScheduler.getJobs( new IJobParamsFilter() {
+      @Override
+      public boolean isJobParamsRequired() {
+        return false;
+      }
+
+      @Override
+      public boolean accept( IJob job ) {
+        return true;
+      }
+    } );
+
+    assertEquals( 1, jobs.size() );
+    assertTrue( jobs.get( 0 ).getJobParams().isEmpty() );
+    assertEquals( manualRun, jobs.get( 0 ).getLastRun() );
+  }
+
+  @Test
+  public void testGetJobsWithoutTriggersSortsOnTheLastRunOfTheFullJob() throws Exception {
+    Scheduler mockScheduler = mock( Scheduler.class );
+    when( mockScheduler.getSchedulerName() ).thenReturn( "PentahoQuartzScheduler" );
+    SchedulerFactory mockSchedulerFactory = mock( SchedulerFactory.class );
+    when( mockSchedulerFactory.getScheduler() ).thenReturn( mockScheduler );
+
+    String jobId = "suzy\tmyJob\trandomUuid";
+    JobKey jobKey = new JobKey( jobId, "suzy" );
+    TriggerKey triggerKey = new TriggerKey( jobId, "suzy" );
+    CronTriggerImpl trigger = new CronTriggerImpl();
+    trigger.setKey( triggerKey );
+    trigger.setJobKey( jobKey );
+    trigger.setTimeZone( TimeZone.getTimeZone( "UTC" ) );
+    trigger.setCronExpression( "0 0 12 * * ? *" );
+    trigger.setStartTime( new Date() );
+    trigger.setPreviousFireTime( new Date( System.currentTimeMillis() - 120000 ) );
+
+    // a paged query sorted on the last run lists the jobs without their parameters, yet sees their manual runs
+    Date manualRun = new Date( System.currentTimeMillis() - 60000 );
+    JobDataMap jobDataMap = new JobDataMap();
+    jobDataMap.put( QuartzScheduler.PREVIOUS_TRIGGER_NOW_KEY, manualRun );
+    QuartzJdbcJobStoreReader reader = mock( QuartzJdbcJobStoreReader.class );
+    when( mockScheduler.getJobGroupNames() ).thenReturn( Collections.singletonList( "suzy" ) );
+    when( reader.openJobs( "PentahoQuartzScheduler", "suzy", false ) ).thenAnswer( unused -> cursorOf( reader,
+      new QuartzJdbcJobStoreReader.JobStoreEntry( jobKey, triggerKey, jobDataMap, trigger,
+        Trigger.TriggerState.NORMAL, null ) ) );
+
+    QuartzScheduler quartzScheduler = new QuartzScheduler();
+    quartzScheduler.setQuartzSchedulerFactory( mockSchedulerFactory );
+    quartzScheduler.setJobStoreReader( reader );
+
+    class SummaryFilter implements IJobPreFilter, IJobParamsFilter {
+      @Override
+      public boolean preAccept( IJob job ) {
+        return true;
+      }
+
+      @Override
+      public boolean accept( IJob job ) {
+        return true;
+      }
+
+      @Override
+      public boolean isJobParamsRequired() {
+        return false;
+      }
+    }
+    List<IJob> jobs = quartzScheduler.getJobsWithoutTriggers( new SummaryFilter() );
+
+    assertEquals( 1, jobs.size() );
+    assertEquals( manualRun, jobs.get( 0 ).getLastRun() );
+    assertTrue( jobs.get( 0 ).getJobParams().isEmpty() );
+  }
+
+  @Test
+  public void testGetJobsWithoutTriggersListsThePreAcceptedJobsWithoutBuildingTheirTriggers() throws Exception {
+    Scheduler mockScheduler = mock( Scheduler.class );
+    when( mockScheduler.getSchedulerName() ).thenReturn( "PentahoQuartzScheduler" );
+    SchedulerFactory mockSchedulerFactory = mock( SchedulerFactory.class );
+    when( mockSchedulerFactory.getScheduler() ).thenReturn( mockScheduler );
+
+    String jobId = "suzy\tmyJob\trandomUuid";
+    JobKey jobKey = new JobKey( jobId, "suzy" );
+    TriggerKey triggerKey = new TriggerKey( jobId, "suzy" );
+    CronTriggerImpl trigger = new CronTriggerImpl();
+    trigger.setKey( triggerKey );
+    trigger.setJobKey( jobKey );
+    trigger.setTimeZone( TimeZone.getTimeZone( "UTC" ) );
+    trigger.setCronExpression( "0 0 12 * * ? *" );
+    trigger.setStartTime( new Date() );
+    trigger.setCalendarName( "myCalendar" );
+
+    QuartzJdbcJobStoreReader reader = mock( QuartzJdbcJobStoreReader.class );
+    when( reader.openJobs( "PentahoQuartzScheduler", "suzy", true ) ).thenAnswer( unused -> cursorOf( reader,
+      new QuartzJdbcJobStoreReader.JobStoreEntry( jobKey, triggerKey, new JobDataMap(), trigger,
+        Trigger.TriggerState.PAUSED, null ) ) );
+
+    QuartzScheduler quartzScheduler = new QuartzScheduler();
+    quartzScheduler.setQuartzSchedulerFactory( mockSchedulerFactory );
+    quartzScheduler.setJobStoreReader( reader );
+
+    List<IJob> jobs = quartzScheduler.getJobsWithoutTriggers( new VisibleJobsFilter( "suzy", false ) );
+
+    assertEquals( 1, jobs.size() );
+    assertEquals( jobId, jobs.get( 0 ).getJobId() );
+    assertEquals( "myJob", jobs.get( 0 ).getJobName() );
+    assertEquals( JobState.PAUSED, jobs.get( 0 ).getState() );
+    assertNull( jobs.get( 0 ).getJobTrigger() );
+    verify( mockScheduler, never() ).getCalendar( anyString() );
+    verify( mockScheduler, never() ).getJobGroupNames();
+  }
+
+  private static QuartzJdbcJobStoreReader.JobStoreCursor cursorOf( QuartzJdbcJobStoreReader reader,
+                                                                   QuartzJdbcJobStoreReader.JobStoreEntry... entries ) {
+    Iterator<QuartzJdbcJobStoreReader.JobStoreEntry> iterator = Arrays.asList( entries ).iterator();
+    return reader.new JobStoreCursor( null, null, null, null, true ) {
+      @Override
+      public QuartzJdbcJobStoreReader.JobStoreEntry next() {
+        return iterator.hasNext() ? iterator.next() : null;
+      }
+    };
+  }
 }
@@ -0,0 +1,139 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.scheduler2.quartz;
+
+import org.junit.After;
+import org.junit.Test;
+import org.quartz.SchedulerConfigException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class QuartzVirtualThreadPoolTest {
+
+  private QuartzVirtualThreadPool threadPool;
+
+  @After
+  public void tearDown() {
+    if ( threadPool != null ) {
+      threadPool.shutdown( false );
+    }
+  }
+
+  @Test
+  public void testCapsTheNumberOfJobsRunningAtOnce() throws Exception {
+    threadPool = new QuartzVirtualThreadPool();
+    threadPool.setMaxConcurrency( 2 );
+    threadPool.setInstanceName( "TestScheduler" );
+    threadPool.initialize();
+    assertEquals( 2, threadPool.getPoolSize() );
+
+    CountDownLatch release = new CountDownLatch( 1 );
+    CountDownLatch done = new CountDownLatch( 3 );
+    Runnable job = () -> {
+      try {
+        release.await();
+      } catch ( InterruptedException e ) {
+        Thread.currentThread().interrupt();
+      }
+      done.countDown();
+    };
+    assertTrue( threadPool.runInThread( job ) );
+    assertTrue( threadPool.runInThread( job ) );
+    assertEquals( 2, threadPool.getInFlightCount() );
+
+    // the third job waits for one of the others to end
+    Thread caller = new Thread( () -> threadPool.runInThread( job ) );
+    caller.start();
+    waitFor( () -> threadPool.getBlockedCallerCount() == 1 );
+    assertEquals( 2, threadPool.getInFlightCount() );
+
+    release.countDown();
+    assertTrue( done.await( 10, TimeUnit.SECONDS ) );
+    caller.join( 10000 );
+    waitFor( () -> threadPool.getInFlightCount() == 0 );
+    assertEquals( 0, threadPool.getBlockedCallerCount() );
+    assertEquals( 2, threadPool.blockForAvailableThreads() );
+  }
+
+  @Test
+  public void testShutdownWaitsForTheRunningJobs() throws Exception {
+    threadPool = new QuartzVirtualThreadPool();
+    threadPool.setUseVirtualThreads( false );
+    threadPool.initialize();
+    assertFalse( threadPool.isVirtual() );
+
+    CountDownLatch started = new CountDownLatch( 1 );
+    CountDownLatch finished = new CountDownLatch( 1 );
+    threadPool.runInThread( () -> {
+      started.countDown();
+      try {
+        Thread.sleep( 200 );
+      } catch ( InterruptedException e ) {
+        Thread.currentThread().interrupt();
+      }
+      finished.countDown();
+    } );
+    assertTrue( started.await( 10, TimeUnit.SECONDS ) );
+
+    threadPool.shutdown( true );
+    assertEquals( 0, finished.getCount() );
+  }
+
+  @Test
+  public void testUsesVirtualThreadsWhenTheJvmHasThem() {
+    boolean hasVirtualThreads;
+    try {
+      Thread.class.getMethod( "ofVirtual" );
+      hasVirtualThreads = Runtime.version().feature() >= 21;
+    } catch ( NoSuchMethodException e ) {
+      hasVirtualThreads = false;
+    }
+    if ( hasVirtualThreads ) {
+      assertNotNull( QuartzVirtualThreadPool.createVirtualThreadFactory() );
+    } else {
+      assertNull( QuartzVirtualThreadPool.createVirtualThreadFactory() );
+    }
+  }
+
+  @Test( expected = SchedulerConfigException.class )
+  public void testRejectsANonPositiveConcurrency() throws Exception {
+    QuartzVirtualThreadPool invalid = new QuartzVirtualThreadPool();
+    invalid.setMaxConcurrency( 0 );
+    invalid.initialize();
+  }
+
+  @Test
+  public void testTakesTheThreadCountOfASimpleThreadPoolAsTheMaxConcurrency() {
+    QuartzVirtualThreadPool pool = new QuartzVirtualThreadPool();
+    pool.setThreadCount( 25 );
+    assertEquals( 25, pool.getMaxConcurrency() );
+    assertEquals( 25, pool.getPoolSize() );
+  }
+
+  private static void waitFor( BooleanSupplier condition ) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10000;
+    while ( !condition.getAsBoolean() ) {
+      assertTrue( "Timed out", System.currentTimeMillis() < deadline );
+      Thread.sleep( 10 );
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.web.http.api.resources;
+
+import org.junit.Test;
+import org.pentaho.platform.api.scheduler2.IJob;
+import org.pentaho.platform.api.scheduler2.IScheduler;
+import org.pentaho.platform.api.scheduler2.Job;
+import org.pentaho.platform.api.scheduler2.JobState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class JobsQueryTest {
+
+  @Test
+  public void testEmptyQueryMatchesEverything() {
+    JobsQuery query = new JobsQuery();
+
+    assertTrue( query.isEmpty() );
+    assertTrue( query.matches( job( "report", "admin", JobState.NORMAL, 1000L ) ) );
+    assertNull( query.getComparator() );
+  }
+
+  @Test
+  public void testFilters() {
+    Job job = job( "report", "admin", JobState.PAUSED, 1000L );
+    job.getJobParams().put( IScheduler.RESERVEDMAPKEY_UIPASSPARAM, "DAILY" );
+    job.getJobParams().put( IScheduler.RESERVEDMAPKEY_STREAMPROVIDER,
+      "input file = /home/admin/Sales Report.prpt:outputFile = /home/admin/out/Sales Report.*" );
+
+    JobsQuery query = new JobsQuery();
+    query.setUserName( "ADMIN" );
+    query.setState( "paused" );
+    query.setScheduleType( "daily" );
+    query.setResourceName( "sales" );
+    query.setNextRunAfter( new Date( 500L ) );
+    query.setNextRunBefore( new Date( 1500L ) );
+    assertFalse( query.isEmpty() );
+    assertTrue( query.matches( job ) );
+
+    query.setNextRunBefore( new Date( 1000L ) );
+    assertFalse( query.matches( job ) );
+    query.setNextRunBefore( null );
+
+    query.setResourceName( "admin" );
+    assertFalse( query.matches( job ) );
+    query.setResourceName( null );
+
+    query.setScheduleType( "WEEKLY" );
+    assertFalse( query.matches( job ) );
+    query.setScheduleType( null );
+
+    query.setState( "NORMAL" );
+    assertFalse( query.matches( job ) );
+  }
+
+  @Test
+  public void testResourcePath() {
+    Job job = job( "report", "admin", JobState.NORMAL, null );
+    assertEquals( "report", JobsQuery.getResourcePath( job ) );
+
+    job.getJobParams().put( IScheduler.RESERVEDMAPKEY_STREAMPROVIDER,
+      "input file = /home/admin/a.ktr:output file=/home/admin/a.*" );
+    assertEquals( "/home/admin/a.ktr", JobsQuery.getResourcePath( job ) );
+
+    job.getJobParams().put( "ActionAdapterQuartzJob-StreamProvider-InputFile", "/public/b.prpt" );
+    assertEquals( "/public/b.prpt", JobsQuery.getResourcePath( job ) );
+  }
+
+  @Test
+  public void testSortKeys() {
+    assertEquals( JobsQuery.SortKey.NEXT_RUN, JobsQuery.SortKey.parse( "nextRun" ) );
+    assertEquals( JobsQuery.SortKey.USER_NAME, JobsQuery.SortKey.parse( "user_name" ) );
+    assertNull( JobsQuery.SortKey.parse( "" ) );
+
+    List<IJob> jobs = new ArrayList<>( Arrays.asList(
+      job( "b", "suzy", JobState.NORMAL, 2000L ),
+      job( "c", "admin", JobState.NORMAL, null ),
+      job( "a", "tiffany", JobState.NORMAL, 1000L ) ) );
+
+    JobsQuery query = new JobsQuery();
+    query.setSortKey( JobsQuery.SortKey.NEXT_RUN );
+    jobs.sort( query.getComparator() );
+    assertEquals( "c", jobs.get( 0 ).getJobName() );
+    assertEquals( "a", jobs.get( 1 ).getJobName() );
+    assertEquals( "b", jobs.get( 2 ).getJobName() );
+
+    query.setSortKey( JobsQuery.SortKey.JOB_NAME );
+    query.setAscending( false );
+    jobs.sort( query.getComparator() );
+    assertEquals( "c", jobs.get( 0 ).getJobName() );
+    assertEquals( "a", jobs.get( 2 ).getJobName() );
+  }
+
+  @Test
+  public void testJobParamsRequired() {
+    JobsQuery query = new JobsQuery();
+    assertTrue( query.isJobParamsRequired() );
+
+    query.setJobParamsRequired( false );
+    query.setState( "NORMAL" );
+    assertFalse( query.isJobParamsRequired() );
+
+    query.setResourceName( "sales" );
+    assertTrue( query.isJobParamsRequired() );
+    query.setResourceName( null );
+
+    query.setSortKey( JobsQuery.SortKey.RESOURCE );
+    assertTrue( query.isJobParamsRequired() );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testUnknownSortKey() {
+    JobsQuery.SortKey.parse( "color" );
+  }
+
+  private static Job job( String jobName, String userName, JobState state, Long nextRun ) {
+    Job job = new Job();
+    job.setJobId( userName + "\t" + jobName + "\t1" );
+    job.setJobName( jobName );
+    job.setUserName( userName );
+    job.setState( state );
+    job.setNextRun( nextRun == null ? null : new Date( nextRun ) );
+    return job;
+  }
+}
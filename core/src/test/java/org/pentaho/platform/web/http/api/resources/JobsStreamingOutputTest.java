@@ -0,0 +1,60 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.platform.web.http.api.resources;
+
+import org.junit.Test;
+import org.pentaho.platform.api.scheduler2.Job;
+
+import javax.xml.bind.JAXBContext;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JobsStreamingOutputTest {
+
+  @Test
+  public void testWritesEachJobInsideTheListElement() throws Exception {
+    JobsCursor cursor = action -> Arrays.asList( job( "job1" ), job( "job2" ) ).forEach( action );
+    JobsStreamingOutput output = new JobsStreamingOutput( cursor, JAXBContext.newInstance( Job.class ), false );
+
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    output.write( stream );
+    String xml = new String( stream.toByteArray(), StandardCharsets.UTF_8 );
+
+    assertTrue( xml.startsWith( "<?xml" ) );
+    assertTrue( xml.endsWith( "</jobs>" ) );
+    assertEquals( 2, xml.split( "<job>", -1 ).length - 1 );
+    assertTrue( xml.indexOf( "job1" ) < xml.indexOf( "job2" ) );
+  }
+
+  @Test
+  public void testWritesAnEmptyList() throws Exception {
+    JobsStreamingOutput output = new JobsStreamingOutput( action -> { }, JAXBContext.newInstance( Job.class ), false );
+
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    output.write( stream );
+
+    assertTrue( new String( stream.toByteArray(), StandardCharsets.UTF_8 ).endsWith( "<jobs></jobs>" ) );
+  }
+
+  private static Job job( String jobName ) {
+    Job job = new Job();
+    job.setJobName( jobName );
+    job.setUserName( "admin" );
+    return job;
+  }
+}
@@ -17,6 +17,7 @@ import com.google.gwt.thirdparty.guava.common.collect.Maps;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.pentaho.platform.api.repository2.unified.UnifiedRepositoryException;
 import org.pentaho.platform.api.scheduler2.IJob;
@@ -24,12 +25,16 @@ import org.pentaho.platform.api.scheduler2.IJobTrigger;
 import org.pentaho.platform.api.scheduler2.Job;
 import org.pentaho.platform.api.scheduler2.JobState;
 import org.pentaho.platform.api.scheduler2.SchedulerException;
+import org.pentaho.platform.web.http.api.proxies.BlockStatusBatchProxy;
 import org.pentaho.platform.web.http.api.proxies.BlockStatusProxy;
 import org.pentaho.platform.web.http.api.resources.services.ISchedulerServicePlugin;
 
+import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.Response;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static javax.ws.rs.core.Response.Status.FORBIDDEN;
@@ -37,15 +42,20 @@ import static javax.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR;
 import static javax.ws.rs.core.Response.Status.OK;
 import static javax.ws.rs.core.Response.Status.UNAUTHORIZED;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.pentaho.platform.web.http.api.resources.SchedulerResource.ERROR_JOB_STATE;
 import static org.pentaho.platform.web.http.api.resources.SchedulerResource.REMOVED_JOB_STATE;
 
 @SuppressWarnings( { "unchecked", "deprecation", "ConstantValue" } )
@@ -84,6 +94,30 @@ public class SchedulerResourceTest {
     verify( schedulerResource, times( 1 ) ).buildPlainTextOkResponse( jobId );
   }
 
+  @Test
+  public void testCreateJobs() throws Exception {
+    List<JobScheduleRequest> requests = Arrays.asList( new JobScheduleRequest(), new JobScheduleRequest() );
+    List<Job> jobs = Arrays.asList( new Job(), new Job() );
+    doReturn( jobs ).when( schedulerResource.schedulerService ).createJobs( requests );
+
+    Response testResponse = schedulerResource.createJobs( requests );
+
+    assertEquals( Response.Status.OK.getStatusCode(), testResponse.getStatus() );
+    assertEquals( jobs, ( (GenericEntity<?>) testResponse.getEntity() ).getEntity() );
+    verify( schedulerResource.schedulerService, times( 0 ) ).createJob( any( JobScheduleRequest.class ) );
+  }
+
+  @Test
+  public void testCreateJobsUnauthorized() throws Exception {
+    List<JobScheduleRequest> requests = Collections.singletonList( new JobScheduleRequest() );
+    doThrow( new SecurityException() ).when( schedulerResource.schedulerService ).createJobs( requests );
+
+    Response mockResponse = mock( Response.class );
+    doReturn( mockResponse ).when( schedulerResource ).buildStatusResponse( Response.Status.UNAUTHORIZED );
+
+    assertEquals( mockResponse, schedulerResource.createJobs( requests ) );
+  }
+
   @Test
   public void testCreateJobError() throws Exception {
     JobScheduleRequest mockRequest = mock( JobScheduleRequest.class );
@@ -613,21 +647,75 @@ public class SchedulerResourceTest {
 
     doReturn( jobIds ).when( mockJobsRequest ).getJobIds();
     JobsResponse mockJobsResponse = new JobsResponse();
-
-    IJob mockJob1 = mock( IJob.class );
-    doReturn( true ).when( schedulerResource.schedulerService ).removeJob( jobIds.get( 0 ) );
-    doReturn( mockJob1 ).when( schedulerResource.schedulerService ).getJob( jobIds.get( 0 ) );
     mockJobsResponse.addChanges( jobIds.get( 0 ), REMOVED_JOB_STATE );
-
-    IJob mockJob2 = mock( IJob.class );
-    doReturn( false ).when( schedulerResource.schedulerService ).removeJob( jobIds.get( 1 ) );
-    doReturn( mockJob2 ).when( schedulerResource.schedulerService ).getJob( jobIds.get( 1 ) );
-    doReturn( JobState.NORMAL ).when( mockJob2 ).getState();
     mockJobsResponse.addChanges( jobIds.get( 1 ), JobState.NORMAL.toString() );
+    doReturn( mockJobsResponse ).when( schedulerResource.schedulerService ).removeJobs( jobIds );
 
     JobsResponse testResponse = schedulerResource.removeJobs( mockJobsRequest );
     assertNotNull( testResponse );
     assertTrue( Maps.difference( testResponse.getChanges(), mockJobsResponse.getChanges() ).areEqual() );
+    verify( schedulerResource.schedulerService, times( 0 ) ).removeJob( anyString() );
+  }
+
+  @Test
+  public void testPauseJobs() throws Exception {
+    JobsRequest jobsRequest = new JobsRequest();
+    jobsRequest.setJobIds( Arrays.asList( "jobId", "jobId2", "jobId3" ) );
+
+    doReturn( JobState.PAUSED ).when( schedulerResource.schedulerService ).pauseJob( "jobId" );
+    doThrow( new SchedulerException( "error" ) ).when( schedulerResource.schedulerService ).pauseJob( "jobId2" );
+    doReturn( JobState.PAUSED ).when( schedulerResource.schedulerService ).pauseJob( "jobId3" );
+
+    JobsResponse testResponse = schedulerResource.pauseJobs( jobsRequest );
+
+    assertEquals( JobState.PAUSED.name(), testResponse.getChanges().get( "jobId" ) );
+    assertEquals( ERROR_JOB_STATE, testResponse.getChanges().get( "jobId2" ) );
+    assertEquals( JobState.PAUSED.name(), testResponse.getChanges().get( "jobId3" ) );
+  }
+
+  @Test
+  public void testResumeJobs() throws Exception {
+    JobsRequest jobsRequest = new JobsRequest();
+    jobsRequest.setJobIds( Arrays.asList( "jobId", "jobId2" ) );
+
+    doReturn( JobState.NORMAL ).when( schedulerResource.schedulerService ).resumeJob( anyString() );
+
+    JobsResponse testResponse = schedulerResource.resumeJobs( jobsRequest );
+
+    assertEquals( 2, testResponse.getChanges().size() );
+    assertEquals( JobState.NORMAL.name(), testResponse.getChanges().get( "jobId2" ) );
+    verify( schedulerResource.schedulerService ).resumeJob( "jobId" );
+    verify( schedulerResource.schedulerService ).resumeJob( "jobId2" );
+  }
+
+  @Test
+  public void testTriggerNowJobs() throws Exception {
+    JobsRequest jobsRequest = new JobsRequest();
+    jobsRequest.setJobIds( Arrays.asList( "jobId", "jobId2" ) );
+
+    JobsResponse jobsResponse = new JobsResponse();
+    jobsResponse.addChanges( "jobId", JobState.NORMAL.name() );
+    jobsResponse.addChanges( "jobId2", ERROR_JOB_STATE );
+    doReturn( jobsResponse ).when( schedulerResource.schedulerService ).triggerNow( jobsRequest.getJobIds() );
+
+    JobsResponse testResponse = schedulerResource.triggerNowJobs( jobsRequest );
+
+    assertEquals( JobState.NORMAL.name(), testResponse.getChanges().get( "jobId" ) );
+    assertEquals( ERROR_JOB_STATE, testResponse.getChanges().get( "jobId2" ) );
+    verify( schedulerResource.schedulerService, never() ).triggerNow( anyString() );
+  }
+
+  @Test
+  public void testTriggerNowJobsWhenTheSchedulerFails() throws Exception {
+    JobsRequest jobsRequest = new JobsRequest();
+    jobsRequest.setJobIds( Arrays.asList( "jobId", "jobId2" ) );
+    doThrow( new SchedulerException( "error" ) ).when( schedulerResource.schedulerService )
+      .triggerNow( jobsRequest.getJobIds() );
+
+    JobsResponse testResponse = schedulerResource.triggerNowJobs( jobsRequest );
+
+    assertEquals( ERROR_JOB_STATE, testResponse.getChanges().get( "jobId" ) );
+    assertEquals( ERROR_JOB_STATE, testResponse.getChanges().get( "jobId2" ) );
   }
 
   @Test
@@ -951,6 +1039,23 @@ public class SchedulerResourceTest {
     verify( schedulerResource, times( 1 ) ).buildOkResponse( mockBlockStatusProxy );
   }
 
+  @Test
+  public void testGetBlockStatuses() throws Exception {
+    BlockStatusBatchRequest request = new BlockStatusBatchRequest();
+    BlockStatusBatchProxy blockStatusBatchProxy = new BlockStatusBatchProxy();
+    doReturn( blockStatusBatchProxy ).when( schedulerResource.schedulerService ).getBlockStatuses( request );
+
+    Response mockResponse = mock( Response.class );
+    doReturn( mockResponse ).when( schedulerResource ).buildOkResponse( blockStatusBatchProxy );
+
+    assertEquals( mockResponse, schedulerResource.getBlockStatuses( request ) );
+
+    Response mockForbiddenResponse = mock( Response.class );
+    doReturn( mockForbiddenResponse ).when( schedulerResource ).buildStatusResponse( FORBIDDEN );
+    doThrow( new IllegalAccessException() ).when( schedulerResource.schedulerService ).getBlockStatuses( request );
+    assertEquals( mockForbiddenResponse, schedulerResource.getBlockStatuses( request ) );
+  }
+
 
   @Test
   public void updateJob_ReturnsJobId() throws Exception {
@@ -998,6 +1103,139 @@ public class SchedulerResourceTest {
     assertUpdateJob( request, FORBIDDEN, null );
   }
 
+  @Test
+  public void verifyJobCatalog_ReturnsStatus() throws Exception {
+    JobCatalogStatus status = new JobCatalogStatus();
+    when( schedulerResource.schedulerService.verifyJobCatalog() ).thenReturn( status );
+
+    Response response = schedulerResource.verifyJobCatalog();
+    assertEquals( OK.getStatusCode(), response.getStatus() );
+    assertEquals( status, response.getEntity() );
+  }
+
+  @Test
+  public void rebuildJobCatalog_Returns403_WhenNotPermitted() throws Exception {
+    when( schedulerResource.schedulerService.rebuildJobCatalog() ).thenThrow( new IllegalAccessException() );
+
+    Response response = schedulerResource.rebuildJobCatalog();
+    assertEquals( FORBIDDEN.getStatusCode(), response.getStatus() );
+  }
+
+  @Test
+  public void compactCalendars_ReturnsTheNumberOfDeletedCalendars() throws Exception {
+    when( schedulerResource.schedulerService.compactCalendars() ).thenReturn( 3 );
+
+    Response response = schedulerResource.compactCalendars();
+    assertEquals( OK.getStatusCode(), response.getStatus() );
+    assertEquals( "3", response.getEntity() );
+  }
+
+  @Test
+  public void compactCalendars_Returns403_WhenNotPermitted() throws Exception {
+    when( schedulerResource.schedulerService.compactCalendars() ).thenThrow( new IllegalAccessException() );
+
+    Response response = schedulerResource.compactCalendars();
+    assertEquals( FORBIDDEN.getStatusCode(), response.getStatus() );
+  }
+
+  @Test
+  public void getJobBulkheads_Returns403_WhenNotPermitted() throws Exception {
+    when( schedulerResource.schedulerService.getJobBulkheads() ).thenThrow( new IllegalAccessException() );
+
+    Response response = schedulerResource.getJobBulkheads();
+    assertEquals( FORBIDDEN.getStatusCode(), response.getStatus() );
+  }
+
+  @Test
+  public void getFairShareStatus_Returns403_WhenNotPermitted() throws Exception {
+    when( schedulerResource.schedulerService.getFairShareStatus() ).thenThrow( new IllegalAccessException() );
+
+    Response response = schedulerResource.getFairShareStatus();
+    assertEquals( FORBIDDEN.getStatusCode(), response.getStatus() );
+  }
+
+  @Test
+  public void streamJobs_Returns403_WhenNotPermitted() throws Exception {
+    when( schedulerResource.schedulerService.getJobsCursor( any( JobsQuery.class ) ) )
+      .thenThrow( new IllegalAccessException() );
+
+    Response response = schedulerResource.streamJobs( null, null, null, null, null, null, null, null );
+    assertEquals( FORBIDDEN.getStatusCode(), response.getStatus() );
+  }
+
+  @Test
+  public void getAllJobs_ReturnsNotModified_WhenTheTagMatches() throws Exception {
+    doReturn( "admin" ).when( schedulerResource ).getSessionName();
+    when( schedulerResource.schedulerService.getJobsVersion() ).thenReturn( 42L );
+    when( schedulerResource.schedulerService.getJobs( any( JobsQuery.class ) ) )
+      .thenReturn( new JobsPage( new ArrayList<>(), 0 ) );
+
+    Response response = schedulerResource.getAllJobs( null, 0, -1, null, "asc", null, null, null, null, null, null,
+      null );
+    assertEquals( OK.getStatusCode(), response.getStatus() );
+    String tag = response.getMetadata().getFirst( "ETag" ).toString();
+    assertTrue( tag.contains( "42-" ) );
+    assertEquals( 42L, response.getMetadata().getFirst( SchedulerResource.JOBS_VERSION_HEADER ) );
+
+    response = schedulerResource.getAllJobs( tag, 0, -1, null, "asc", null, null, null, null, null, null,
+      null );
+    assertEquals( Response.Status.NOT_MODIFIED.getStatusCode(), response.getStatus() );
+
+    response = schedulerResource.getAllJobs( tag, 0, 10, null, "asc", null, null, null, null, null, null,
+      null );
+    assertEquals( OK.getStatusCode(), response.getStatus() );
+    verify( schedulerResource.schedulerService, times( 2 ) ).getJobs( any( JobsQuery.class ) );
+  }
+
+  @Test
+  public void getAllJobs_TagsThePageWithItsFullQuery() throws Exception {
+    doReturn( "admin" ).when( schedulerResource ).getSessionName();
+    when( schedulerResource.schedulerService.getJobsVersion() ).thenReturn( 42L );
+    when( schedulerResource.schedulerService.getJobs( any( JobsQuery.class ) ) )
+      .thenReturn( new JobsPage( new ArrayList<>(), 0 ) );
+
+    Response response = schedulerResource.getAllJobs( null, 0, 10, null, "asc", "a,b", null, null, "\"x\"", null,
+      null, "summary" );
+    String tag = response.getMetadata().getFirst( "ETag" ).toString();
+    assertEquals( "\"42-session=admin&offset=0&limit=10&sortBy=&sortOrder=asc&user=a%2Cb&state=&scheduleType="
+      + "&resourceName=%22x%22&nextRunAfter=&nextRunBefore=&view=summary\"", tag );
+
+    response = schedulerResource.getAllJobs( tag, 0, 10, null, "asc", "a,b", null, null, "\"x\"", null, null,
+      "summary" );
+    assertEquals( Response.Status.NOT_MODIFIED.getStatusCode(), response.getStatus() );
+  }
+
+  @Test
+  public void getAllJobs_ReturnsSummaries_WhenTheViewIsSummary() throws Exception {
+    Job job = new Job();
+    job.setJobId( "admin\tmyJob\t1" );
+    job.setJobName( "myJob" );
+    job.getJobParams().put( "uiPassParam", "DAILY" );
+    ArgumentCaptor<JobsQuery> query = ArgumentCaptor.forClass( JobsQuery.class );
+    when( schedulerResource.schedulerService.getJobsVersion() ).thenReturn( -1L );
+    when( schedulerResource.schedulerService.getJobs( query.capture() ) )
+      .thenReturn( new JobsPage( Collections.singletonList( job ), 1 ) );
+
+    Response response = schedulerResource.getAllJobs( null, 0, -1, null, "asc", null, null, null, null, null, null,
+      "summary" );
+    assertEquals( OK.getStatusCode(), response.getStatus() );
+    assertFalse( query.getValue().isJobParamsRequired() );
+    List<?> summaries = (List<?>) ( (GenericEntity<?>) response.getEntity() ).getEntity();
+    assertEquals( 1, summaries.size() );
+    assertEquals( "admin\tmyJob\t1", ( (JobSummary) summaries.get( 0 ) ).getJobId() );
+
+    response = schedulerResource.getAllJobs( null, 0, -1, null, "asc", null, null, null, null, null, null, "brief" );
+    assertEquals( Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus() );
+  }
+
+  @Test
+  public void getJobChanges_Returns403_WhenNotPermitted() throws Exception {
+    when( schedulerResource.schedulerService.getJobChanges( 1L ) ).thenThrow( new IllegalAccessException() );
+
+    Response response = schedulerResource.getJobChanges( 1L );
+    assertEquals( FORBIDDEN.getStatusCode(), response.getStatus() );
+  }
+
   private void assertUpdateJob( JobScheduleRequest request, Response.Status expectedStatus, String expectedResponse ) {
     Response response = schedulerResource.updateJob( request );
     assertEquals( expectedStatus.getStatusCode(), response.getStatus() );
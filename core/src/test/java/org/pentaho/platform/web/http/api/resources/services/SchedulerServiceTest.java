@@ -18,6 +18,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.jupiter.api.Assertions;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -39,22 +40,36 @@ import org.pentaho.platform.api.scheduler2.SchedulerException;
 import org.pentaho.platform.api.scheduler2.SimpleJobTrigger;
 import org.pentaho.platform.api.scheduler2.CronJobTrigger;
 import org.pentaho.platform.api.util.IPdiContentProvider;
+import org.pentaho.platform.scheduler2.IJobParamsFilter;
+import org.pentaho.platform.scheduler2.IJobPreFilter;
+import org.pentaho.platform.scheduler2.quartz.QuartzJobCatalog;
 import org.pentaho.platform.scheduler2.quartz.QuartzScheduler;
 import org.pentaho.platform.security.policy.rolebased.actions.AdministerSecurityAction;
 import org.pentaho.platform.security.policy.rolebased.actions.SchedulerAction;
 import org.pentaho.platform.security.policy.rolebased.actions.SchedulerExecuteAction;
+import org.pentaho.platform.web.http.api.proxies.BlockStatusBatchProxy;
 import org.pentaho.platform.web.http.api.proxies.BlockStatusProxy;
+import org.pentaho.platform.web.http.api.proxies.JobBlockStatusProxy;
+import org.pentaho.platform.web.http.api.resources.BlockStatusBatchRequest;
 import org.pentaho.platform.web.http.api.resources.JobRequest;
 import org.pentaho.platform.web.http.api.resources.ComplexJobTriggerProxy;
 import org.pentaho.platform.web.http.api.resources.JobScheduleParam;
 import org.pentaho.platform.web.http.api.resources.JobScheduleRequest;
+import org.pentaho.platform.web.http.api.resources.JobCatalogStatus;
+import org.pentaho.platform.web.http.api.resources.JobsPage;
+import org.pentaho.platform.web.http.api.resources.JobsQuery;
+import org.pentaho.platform.web.http.api.resources.JobsResponse;
 import org.pentaho.platform.web.http.api.resources.SchedulerOutputPathResolver;
+import org.pentaho.platform.web.http.api.resources.SchedulerResource;
 import org.pentaho.platform.web.http.api.resources.SchedulerResourceUtil;
 import org.pentaho.platform.web.http.api.resources.SessionResource;
 
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -69,16 +84,19 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @SuppressWarnings( "unchecked" )
@@ -194,6 +212,49 @@ public class SchedulerServiceTest {
   }
 
 
+  @Test
+  public void testCreateJobsSharesTheLookupsAndSchedulesTheJobsTogether() throws Exception {
+    runWithCreateJobMocks( () -> {
+      QuartzScheduler quartzScheduler = mock( QuartzScheduler.class );
+      QuartzScheduler.JobBatch batch = mock( QuartzScheduler.JobBatch.class );
+      doReturn( batch ).when( quartzScheduler ).newJobBatch();
+      List<Job> jobs = Arrays.asList( new Job(), new Job() );
+      doReturn( jobs ).when( batch ).schedule();
+      schedulerService.scheduler = quartzScheduler;
+
+      List<Job> returnJobs = schedulerService.createJobs( Arrays.asList( getBasicRequest(), getBasicRequest() ) );
+
+      assertEquals( jobs, returnJobs );
+      verify( batch, times( 2 ) ).createJob( nullable( String.class ), nullable( String.class ), any( Map.class ),
+        any( IJobTrigger.class ), any( IBackgroundExecutionStreamProvider.class ) );
+      verify( batch ).schedule();
+      verify( quartzScheduler, times( 0 ) ).createJob( nullable( String.class ), nullable( String.class ),
+        any( Map.class ), any( IJobTrigger.class ), any( IBackgroundExecutionStreamProvider.class ) );
+      verify( schedulerService.repository, times( 1 ) ).getFile( nullable( String.class ) );
+      verify( schedulerService.repository, times( 1 ) ).getFileMetadata( nullable( String.class ) );
+      verify( schedulerService.policy, times( 1 ) ).isAllowed( SchedulerAction.NAME );
+    } );
+  }
+
+  @Test( expected = IllegalAccessException.class )
+  public void testCreateJobsSchedulesNothingWhenAFileIsNotSchedulable() throws Exception {
+    QuartzScheduler quartzScheduler = mock( QuartzScheduler.class );
+    QuartzScheduler.JobBatch batch = mock( QuartzScheduler.JobBatch.class );
+    try {
+      runWithCreateJobMocks( () -> {
+        doReturn( batch ).when( quartzScheduler ).newJobBatch();
+        schedulerService.scheduler = quartzScheduler;
+        Map<String, Serializable> metadata = new HashMap<>();
+        metadata.put( RepositoryFile.SCHEDULABLE_KEY, "false" );
+        doReturn( metadata ).when( schedulerService.repository ).getFileMetadata( nullable( String.class ) );
+
+        schedulerService.createJobs( Arrays.asList( getBasicRequest(), getBasicRequest() ) );
+      } );
+    } finally {
+      verify( batch, times( 0 ) ).schedule();
+    }
+  }
+
   private void setupCreateJobMocks() throws SchedulerException, ClassNotFoundException  {
     setupCreateJobMocks( new Job() );
   }
@@ -738,6 +799,128 @@ public class SchedulerServiceTest {
     }
   }
 
+  @Test
+  public void testRemoveJobs() throws SchedulerException {
+    Job ownJob = new Job();
+    ownJob.setJobId( "suzy\tjobA\t1" );
+    ownJob.setUserName( "suzy" );
+    ownJob.setState( JobState.NORMAL );
+    Job otherJob = new Job();
+    otherJob.setJobId( "admin\tjobB\t2" );
+    otherJob.setUserName( "admin" );
+    otherJob.setState( JobState.PAUSED );
+
+    IPentahoSession mockSession = mock( IPentahoSession.class );
+    doReturn( "suzy" ).when( mockSession ).getName();
+    doReturn( mockSession ).when( schedulerService ).getSession();
+    doReturn( false ).when( schedulerService ).isScheduleAllowed();
+    doReturn( Arrays.asList( ownJob, otherJob ) ).when( schedulerService.scheduler ).getJobs( any() );
+
+    JobsResponse response = schedulerService.removeJobs( Arrays.asList( ownJob.getJobId(), otherJob.getJobId(),
+      "suzy\tjobC\t3" ) );
+
+    assertEquals( SchedulerResource.REMOVED_JOB_STATE, response.getChanges().get( ownJob.getJobId() ) );
+    assertEquals( JobState.PAUSED.name(), response.getChanges().get( otherJob.getJobId() ) );
+    assertEquals( SchedulerResource.ERROR_JOB_STATE, response.getChanges().get( "suzy\tjobC\t3" ) );
+    verify( schedulerService.scheduler, times( 1 ) ).getJobs( any() );
+    verify( schedulerService.scheduler ).removeJob( ownJob.getJobId() );
+    verify( schedulerService.scheduler, times( 1 ) ).removeJob( anyString() );
+    verify( schedulerService.scheduler, times( 0 ) ).getJob( anyString() );
+  }
+
+  @Test
+  public void testVerifyJobCatalogMapsTheCatalogStatus() throws Exception {
+    doReturn( true ).when( schedulerService ).canAdminister();
+    QuartzScheduler quartzScheduler = mock( QuartzScheduler.class );
+    schedulerService.scheduler = quartzScheduler;
+    QuartzJobCatalog jobCatalog = mock( QuartzJobCatalog.class );
+    doReturn( jobCatalog ).when( quartzScheduler ).getJobCatalog();
+    QuartzJobCatalog.Status catalogStatus = mock( QuartzJobCatalog.Status.class );
+    doReturn( catalogStatus ).when( jobCatalog ).verify();
+    doReturn( 2 ).when( catalogStatus ).getCachedJobCount();
+    doReturn( 3 ).when( catalogStatus ).getStoredJobCount();
+    doReturn( Collections.singletonList( "missing" ) ).when( catalogStatus ).getMissingJobIds();
+    doReturn( Collections.emptyList() ).when( catalogStatus ).getUnexpectedJobIds();
+    doReturn( Collections.emptyList() ).when( catalogStatus ).getOutdatedJobIds();
+
+    JobCatalogStatus status = schedulerService.verifyJobCatalog();
+
+    assertTrue( status.isEnabled() );
+    assertFalse( status.isConsistent() );
+    assertEquals( 2, status.getCachedJobCount() );
+    assertEquals( 3, status.getStoredJobCount() );
+    assertEquals( Collections.singletonList( "missing" ), status.getMissingJobIds() );
+    assertTrue( status.getUnexpectedJobIds().isEmpty() );
+  }
+
+  @Test
+  public void testRemoveJobsReportsTheJobsTheSchedulerFailedToRemove() throws SchedulerException {
+    Job removedJob = new Job();
+    removedJob.setJobId( "suzy\tjobA\t1" );
+    removedJob.setUserName( "suzy" );
+    removedJob.setState( JobState.NORMAL );
+    Job failingJob = new Job();
+    failingJob.setJobId( "suzy\tjobB\t2" );
+    failingJob.setUserName( "suzy" );
+    failingJob.setState( JobState.NORMAL );
+
+    IPentahoSession mockSession = mock( IPentahoSession.class );
+    doReturn( "suzy" ).when( mockSession ).getName();
+    doReturn( mockSession ).when( schedulerService ).getSession();
+    doReturn( false ).when( schedulerService ).isScheduleAllowed();
+    QuartzScheduler quartzScheduler = mock( QuartzScheduler.class );
+    schedulerService.scheduler = quartzScheduler;
+    doReturn( Arrays.asList( removedJob, failingJob ) ).when( quartzScheduler ).getJobs( any() );
+    doReturn( Collections.singletonList( removedJob.getJobId() ) ).when( quartzScheduler ).removeJobs( anyList() );
+
+    JobsResponse response = schedulerService.removeJobs( Arrays.asList( removedJob.getJobId(),
+      failingJob.getJobId() ) );
+
+    assertEquals( SchedulerResource.REMOVED_JOB_STATE, response.getChanges().get( removedJob.getJobId() ) );
+    assertEquals( SchedulerResource.ERROR_JOB_STATE, response.getChanges().get( failingJob.getJobId() ) );
+  }
+
+  @Test
+  @SuppressWarnings( "unchecked" )
+  public void testTriggerNowJobsFiresTheRunnableJobsAtOnce() throws SchedulerException {
+    Job ownJob = new Job();
+    ownJob.setJobId( "suzy\tjobA\t1" );
+    ownJob.setUserName( "suzy" );
+    ownJob.setState( JobState.NORMAL );
+    Job failingJob = new Job();
+    failingJob.setJobId( "suzy\tjobB\t2" );
+    failingJob.setUserName( "suzy" );
+    failingJob.setState( JobState.NORMAL );
+    Job otherJob = new Job();
+    otherJob.setJobId( "admin\tjobC\t3" );
+    otherJob.setUserName( "admin" );
+    otherJob.setState( JobState.PAUSED );
+
+    IPentahoSession mockSession = mock( IPentahoSession.class );
+    doReturn( "suzy" ).when( mockSession ).getName();
+    doReturn( mockSession ).when( schedulerService ).getSession();
+    doReturn( false ).when( schedulerService ).isScheduleAllowed();
+    doReturn( false ).when( schedulerService ).isExecuteScheduleAllowed();
+    QuartzScheduler quartzScheduler = mock( QuartzScheduler.class );
+    schedulerService.scheduler = quartzScheduler;
+    doReturn( Arrays.asList( ownJob, failingJob, otherJob ) ).when( quartzScheduler ).getJobs( any() );
+    doReturn( Collections.singletonList( failingJob.getJobId() ) ).when( quartzScheduler ).triggerNow( anyList() );
+
+    JobsResponse response = schedulerService.triggerNow( Arrays.asList( ownJob.getJobId(), failingJob.getJobId(),
+      otherJob.getJobId(), "suzy\tjobD\t4" ) );
+
+    assertEquals( JobState.NORMAL.name(), response.getChanges().get( ownJob.getJobId() ) );
+    assertEquals( SchedulerResource.ERROR_JOB_STATE, response.getChanges().get( failingJob.getJobId() ) );
+    assertEquals( JobState.PAUSED.name(), response.getChanges().get( otherJob.getJobId() ) );
+    assertEquals( SchedulerResource.ERROR_JOB_STATE, response.getChanges().get( "suzy\tjobD\t4" ) );
+    ArgumentCaptor<List<String>> firedJobIds = ArgumentCaptor.forClass( List.class );
+    verify( quartzScheduler ).triggerNow( firedJobIds.capture() );
+    assertEquals( new HashSet<>( Arrays.asList( ownJob.getJobId(), failingJob.getJobId() ) ),
+      new HashSet<>( firedJobIds.getValue() ) );
+    verify( quartzScheduler, never() ).triggerNow( anyString() );
+    verify( quartzScheduler, times( 2 ) ).getJobs( any() );
+  }
+
   @Test
   public void testShutdown() throws SchedulerException {
     doReturn( true ).when( schedulerService.policy ).isAllowed( SchedulerAction.NAME );
@@ -817,6 +1000,104 @@ public class SchedulerServiceTest {
     verify( schedulerService.scheduler, times( 0 ) ).getJobs( any( IJobFilter.class ) );
   }
 
+  @Test
+  public void testGetJobsPage() throws Exception {
+    IPentahoSession mockPentahoSession = mock( IPentahoSession.class );
+
+    doReturn( mockPentahoSession ).when( schedulerService ).getSession();
+    doReturn( "admin" ).when( mockPentahoSession ).getName();
+    doReturn( true ).when( schedulerService ).canAdminister();
+    doReturn( true ).when( schedulerService ).isScheduleAllowed();
+    List<IJob> mockJobs = new ArrayList<>();
+    mockJobs.add( createJob( "c", "suzy" ) );
+    mockJobs.add( createJob( "a", "admin" ) );
+    mockJobs.add( createJob( "d", "admin" ) );
+    mockJobs.add( createJob( IBlockoutManager.BLOCK_OUT_JOB_NAME, "admin" ) );
+    mockJobs.add( createJob( "b", "admin" ) );
+    doAnswer( invocation -> {
+      IJobFilter filter = invocation.getArgument( 0 );
+      List<IJob> accepted = new ArrayList<>();
+      for ( IJob job : mockJobs ) {
+        if ( filter.accept( job ) ) {
+          accepted.add( job );
+        }
+      }
+      return accepted;
+    } ).when( schedulerService.scheduler ).getJobs( any( IJobFilter.class ) );
+
+    JobsQuery query = new JobsQuery();
+    query.setUserName( "admin" );
+    query.setSortKey( JobsQuery.SortKey.JOB_NAME );
+    query.setOffset( 1 );
+    query.setLimit( 1 );
+
+    JobsPage page = schedulerService.getJobs( query );
+
+    assertEquals( 3, page.getTotalCount() );
+    assertEquals( 1, page.getJobs().size() );
+    assertEquals( "b", page.getJobs().get( 0 ).getJobName() );
+
+    query.setOffset( 5 );
+    page = schedulerService.getJobs( query );
+    assertEquals( 3, page.getTotalCount() );
+    assertTrue( page.getJobs().isEmpty() );
+  }
+
+  @Test
+  public void testGetJobsPageReadsOnlyTheJobsOfThePage() throws Exception {
+    IPentahoSession mockPentahoSession = mock( IPentahoSession.class );
+
+    doReturn( mockPentahoSession ).when( schedulerService ).getSession();
+    doReturn( "admin" ).when( mockPentahoSession ).getName();
+    doReturn( true ).when( schedulerService ).canAdminister();
+    doReturn( true ).when( schedulerService ).isScheduleAllowed();
+    QuartzScheduler quartzScheduler = mock( QuartzScheduler.class );
+    schedulerService.scheduler = quartzScheduler;
+    List<IJob> mockJobs = new ArrayList<>();
+    mockJobs.add( createJob( "c", "admin" ) );
+    mockJobs.add( createJob( "a", "admin" ) );
+    mockJobs.add( createJob( "d", "suzy" ) );
+    mockJobs.add( createJob( "b", "admin" ) );
+    mockJobs.forEach( job -> ( (Job) job ).setJobId( job.getJobName() ) );
+    doAnswer( invocation -> {
+      IJobPreFilter filter = invocation.getArgument( 0 );
+      assertFalse( ( (IJobParamsFilter) filter ).isJobParamsRequired() );
+      List<IJob> accepted = new ArrayList<>();
+      for ( IJob job : mockJobs ) {
+        if ( filter.preAccept( job ) ) {
+          accepted.add( job );
+        }
+      }
+      return accepted;
+    } ).when( quartzScheduler ).getJobsWithoutTriggers( any( IJobPreFilter.class ) );
+    Job wholeJob = createJob( "b", "admin" );
+    wholeJob.setJobTrigger( new SimpleJobTrigger() );
+    doReturn( wholeJob ).when( quartzScheduler ).getJob( "b" );
+
+    JobsQuery query = new JobsQuery();
+    query.setUserName( "admin" );
+    query.setSortKey( JobsQuery.SortKey.JOB_NAME );
+    query.setOffset( 1 );
+    query.setLimit( 1 );
+    query.setJobParamsRequired( false );
+
+    JobsPage page = schedulerService.getJobs( query );
+
+    assertEquals( 3, page.getTotalCount() );
+    assertEquals( Collections.singletonList( wholeJob ), page.getJobs() );
+    verify( quartzScheduler ).getJob( "b" );
+    verify( quartzScheduler, never() ).getJob( "a" );
+    verify( quartzScheduler, never() ).getJob( "c" );
+    verify( quartzScheduler, never() ).getJobs( any() );
+  }
+
+  private static Job createJob( String jobName, String userName ) {
+    Job job = new Job();
+    job.setJobName( jobName );
+    job.setUserName( userName );
+    return job;
+  }
+
   @Test
   public void testGetJobsExecuteSchedulePermission() throws Exception {
     IPentahoSession mockPentahoSession = mock( IPentahoSession.class );
@@ -1387,6 +1668,82 @@ public class SchedulerServiceTest {
     verify( schedulerService ).convertScheduleRequestToJobTrigger( jobScheduleRequestMock );
   }
 
+  @Test
+  public void testGetBlockStatuses() throws Exception {
+    long hour = 3600000L;
+    long start = System.currentTimeMillis() / hour * hour - 24 * hour;
+    Job blockout = new Job();
+    blockout.setJobTrigger( new SimpleJobTrigger( new Date( start ), null, -1, 7 * 24 * 3600 ) );
+    blockout.getJobTrigger().setDuration( 2 * hour );
+    doReturn( Collections.singletonList( blockout ) ).when( schedulerService.blockoutManager ).getBlockOutJobs();
+
+    JobScheduleRequest draft = new JobScheduleRequest();
+    draft.setJobName( "draft" );
+    doReturn( new SimpleJobTrigger( new Date( start + hour ), null, -1, 7 * 24 * 3600 ) ).when( schedulerService )
+      .convertScheduleRequestToJobTrigger( draft );
+
+    Job ownJob = new Job();
+    ownJob.setJobId( "suzy\tdaily\t1" );
+    ownJob.setJobName( "daily" );
+    ownJob.setUserName( "suzy" );
+    ownJob.setJobTrigger( new SimpleJobTrigger( new Date( start + hour ), null, -1, 24 * 3600 ) );
+    Job otherJob = new Job();
+    otherJob.setJobId( "admin\tdaily\t2" );
+    otherJob.setJobName( "daily" );
+    otherJob.setUserName( "admin" );
+    otherJob.setJobTrigger( ownJob.getJobTrigger() );
+    doReturn( Arrays.asList( ownJob, otherJob ) ).when( schedulerService.scheduler ).getJobs( any() );
+
+    IPentahoSession mockSession = mock( IPentahoSession.class );
+    doReturn( "suzy" ).when( mockSession ).getName();
+    doReturn( mockSession ).when( schedulerService ).getSession();
+    doReturn( true ).when( schedulerService.policy ).isAllowed( SchedulerAction.NAME );
+
+    BlockStatusBatchRequest request = new BlockStatusBatchRequest();
+    request.getJobScheduleRequests().add( draft );
+    request.setJobIds( Arrays.asList( ownJob.getJobId(), otherJob.getJobId(), "suzy\tmissing\t3" ) );
+    BlockStatusBatchProxy response = schedulerService.getBlockStatuses( request );
+
+    assertEquals( Arrays.asList( new JobBlockStatusProxy( null, "draft", true, true ),
+      new JobBlockStatusProxy( ownJob.getJobId(), "daily", false, true ) ), response.getBlockStatuses() );
+    verify( schedulerService.scheduler, times( 1 ) ).getJobs( any() );
+  }
+
+  @Test
+  public void testGetBlockStatusesOfANewBlockout() throws Exception {
+    long hour = 3600000L;
+    long start = System.currentTimeMillis() / hour * hour - 24 * hour;
+    JobScheduleRequest blockout = new JobScheduleRequest();
+    blockout.setDuration( 2 * hour );
+    doReturn( new SimpleJobTrigger( new Date( start ), null, -1, 24 * 3600 ) ).when( schedulerService )
+      .convertScheduleRequestToJobTrigger( blockout );
+
+    Job job = new Job();
+    job.setJobId( "suzy\thourly\t1" );
+    job.setJobName( "hourly" );
+    job.setUserName( "suzy" );
+    job.setJobTrigger( new SimpleJobTrigger( new Date( start + 30 * 60000L ), null, -1, 3600 ) );
+    doReturn( Collections.singletonList( job ) ).when( schedulerService.scheduler ).getJobs( any() );
+
+    IPentahoSession mockSession = mock( IPentahoSession.class );
+    doReturn( "suzy" ).when( mockSession ).getName();
+    doReturn( mockSession ).when( schedulerService ).getSession();
+    doReturn( true ).when( schedulerService.policy ).isAllowed( SchedulerAction.NAME );
+
+    BlockStatusBatchRequest request = new BlockStatusBatchRequest();
+    request.setBlockout( blockout );
+    BlockStatusBatchProxy response = schedulerService.getBlockStatuses( request );
+
+    assertEquals( Collections.singletonList( new JobBlockStatusProxy( job.getJobId(), "hourly", false, true ) ),
+      response.getBlockStatuses() );
+    verify( schedulerService.blockoutManager, times( 0 ) ).getBlockOutJobs();
+  }
+
+  @Test( expected = IllegalAccessException.class )
+  public void testGetBlockStatusesOfAllSchedulesNeedsSchedulePermission() throws Exception {
+    schedulerService.getBlockStatuses( new BlockStatusBatchRequest() );
+  }
+
   @Test
   public void test_IsRunInBackGround_whenJobTriggersAreNull() {
     JobScheduleRequest scheduleRequest = mock( JobScheduleRequest.class );
@@ -0,0 +1,44 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.mantle.client.workspace;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArray;
+import com.google.gwt.core.client.JsArrayString;
+
+public class JsJobChanges extends JavaScriptObject {
+
+  // Overlay types always have protected, zero argument constructors.
+  protected JsJobChanges() {
+  }
+
+  // the version is kept as a string, it does not fit in a GWT int and is only sent back to the server
+  public final native String getVersion() /*-{ return this.version == null ? null : String(this.version); }-*/; //
+
+  public final native boolean isReset() /*-{ return this.reset === true || this.reset === "true"; }-*/; //
+
+  public final native JsArray<JsJob> getAddedJobs() /*-{ return @org.pentaho.mantle.client.workspace.JsJobChanges::toArray(*)(this.addedJobs); }-*/; //
+
+  public final native JsArray<JsJob> getChangedJobs() /*-{ return @org.pentaho.mantle.client.workspace.JsJobChanges::toArray(*)(this.changedJobs); }-*/; //
+
+  public final native JsArrayString getRemovedJobIds() /*-{ return @org.pentaho.mantle.client.workspace.JsJobChanges::toArray(*)(this.removedJobIds); }-*/; //
+
+  // single element lists may be serialized as the element itself
+  private static native JavaScriptObject toArray( JavaScriptObject value ) /*-{
+    if (value == null) {
+      return [];
+    }
+    return Array.isArray(value) ? value : [value];
+  }-*/;
+}
@@ -14,7 +14,9 @@ package org.pentaho.mantle.client.workspace;
 
 import com.google.gwt.cell.client.CheckboxCell;
 import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.core.client.JsArray;
+import com.google.gwt.core.client.JsArrayString;
 import com.google.gwt.core.client.JsonUtils;
 import com.google.gwt.dom.client.BrowserEvents;
 import com.google.gwt.dom.client.Style.Unit;
@@ -77,6 +79,7 @@ import org.pentaho.mantle.client.workspace.dialogs.PermissionDenied;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -101,6 +104,7 @@ public class SchedulesPanel extends SimplePanel {
   public static final String TEXT_PLAIN = "text/plain";
   public static final String IF_MODIFIED_SINCE = "If-Modified-Since";
   public static final String IF_MODIFIED_SINCE_DATE = "01 Jan 1970 00:00:00 GMT";
+  private static final String JOBS_VERSION_HEADER = "X-Jobs-Version";
 
   private static final String ICON_SMALL_STYLE = "icon-small";
   private static final String ICON_RUN_STYLE = "icon-run";
@@ -130,6 +134,11 @@ public class SchedulesPanel extends SimplePanel {
 
   private JsArray<JsJob> allJobs;
 
+  /**
+   * The version of the job list last read from the server, used to ask only for the jobs changed since then.
+   */
+  private String jobsVersion;
+
   private final ArrayList<IJobFilter> filters = new ArrayList<>();
 
   private final CellTable<JsJob> table =
@@ -218,6 +227,14 @@ public class SchedulesPanel extends SimplePanel {
   }
 
   public void refresh() {
+    if ( allJobs == null || StringUtils.isEmpty( jobsVersion ) ) {
+      loadAllJobs();
+    } else {
+      loadChangedJobs();
+    }
+  }
+
+  private void loadAllJobs() {
     final String apiEndpoint = "api/scheduler/getJobs";
 
     RequestBuilder executableTypesRequestBuilder =
@@ -236,6 +253,7 @@ public class SchedulesPanel extends SimplePanel {
 
         public void onResponseReceived( Request request, Response response ) {
           if ( response.getStatusCode() == Response.SC_OK ) {
+            jobsVersion = response.getHeader( JOBS_VERSION_HEADER );
             allJobs = parseJson( JsonUtils.escapeJsonForEval( response.getText() ) );
             filterAndShowData();
           } else {
@@ -248,6 +266,122 @@ public class SchedulesPanel extends SimplePanel {
     }
   }
 
+  /**
+   * Asks for the jobs changed since the list was last read and applies them to the table, falling back to reading
+   * the whole list when the changes are not known.
+   */
+  private void loadChangedJobs() {
+    final String apiEndpoint = "api/scheduler/jobs/changes?since=" + URL.encodeQueryString( jobsVersion );
+
+    RequestBuilder changesRequestBuilder =
+      createRequestBuilder( RequestBuilder.GET, ScheduleHelper.getPluginContextURL(), apiEndpoint );
+    changesRequestBuilder.setHeader( ACCEPT, APPLICATION_JSON );
+
+    try {
+      changesRequestBuilder.sendRequest( null, new RequestCallback() {
+
+        public void onError( Request request, Throwable exception ) {
+          loadAllJobs();
+        }
+
+        public void onResponseReceived( Request request, Response response ) {
+          JsJobChanges changes = null;
+          if ( response.getStatusCode() == Response.SC_OK ) {
+            changes = parseJsonJobChanges( JsonUtils.escapeJsonForEval( response.getText() ) );
+          }
+
+          if ( changes == null || changes.isReset() ) {
+            loadAllJobs();
+          } else {
+            jobsVersion = changes.getVersion();
+            applyJobChanges( changes );
+          }
+        }
+      } );
+    } catch ( RequestException e ) {
+      loadAllJobs();
+    }
+  }
+
+  private void applyJobChanges( JsJobChanges changes ) {
+    Set<String> removedJobIds = new HashSet<>();
+    JsArrayString removed = changes.getRemovedJobIds();
+    for ( int i = 0; i < removed.length(); i++ ) {
+      removedJobIds.add( removed.get( i ) );
+    }
+
+    Map<String, JsJob> updatedJobs = new HashMap<>();
+    for ( JsArray<JsJob> jobs : Arrays.asList( changes.getAddedJobs(), changes.getChangedJobs() ) ) {
+      for ( int i = 0; i < jobs.length(); i++ ) {
+        updatedJobs.put( jobs.get( i ).getJobId(), jobs.get( i ) );
+      }
+    }
+
+    if ( removedJobIds.isEmpty() && updatedJobs.isEmpty() ) {
+      return;
+    }
+
+    // keep the full list, which the filter dialog is built from, in step with the table
+    Map<String, JsJob> newJobs = new HashMap<>( updatedJobs );
+    JsArray<JsJob> jobs = JavaScriptObject.createArray().cast();
+    for ( int i = 0; i < allJobs.length(); i++ ) {
+      JsJob job = allJobs.get( i );
+      if ( !removedJobIds.contains( job.getJobId() ) ) {
+        JsJob updatedJob = newJobs.remove( job.getJobId() );
+        jobs.push( updatedJob != null ? updatedJob : job );
+      }
+    }
+    for ( JsJob job : newJobs.values() ) {
+      jobs.push( job );
+    }
+    allJobs = jobs;
+
+    // update the rows in place, so the table keeps its page and sort order
+    List<JsJob> list = dataProvider.getList();
+    Set<String> listedJobIds = new HashSet<>();
+    for ( int i = list.size() - 1; i >= 0; i-- ) {
+      String jobId = list.get( i ).getJobId();
+      JsJob updatedJob = updatedJobs.get( jobId );
+      if ( removedJobIds.contains( jobId ) || ( updatedJob != null && !isShown( updatedJob ) ) ) {
+        list.remove( i );
+      } else {
+        listedJobIds.add( jobId );
+        if ( updatedJob != null ) {
+          list.set( i, updatedJob );
+        }
+      }
+    }
+    for ( JsJob job : updatedJobs.values() ) {
+      if ( !listedJobIds.contains( job.getJobId() ) && isShown( job ) ) {
+        list.add( job );
+      }
+    }
+
+    selectAllHeader.setHeaderStyleNames( list.isEmpty() ? "cellTableSelectAllHeader" : "" );
+    pager.setVisible( list.size() > PAGE_SIZE );
+
+    clearJobsSelection();
+
+    editButton.setEnabled( false );
+    controlScheduleButton.setEnabled( false );
+    scheduleRemoveButton.setEnabled( false );
+    triggerNowButton.setEnabled( false );
+
+    table.redraw();
+  }
+
+  private boolean isShown( JsJob job ) {
+    if ( job.getInputFilePath().equals( "GeneratedContentCleaner" ) ) {
+      return false;
+    }
+    for ( IJobFilter filter : filters ) {
+      if ( !filter.accept( job ) ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private void filterAndShowData() {
     filters.add( job -> !job.getInputFilePath().equals( "GeneratedContentCleaner" ) );
 
@@ -891,8 +1025,8 @@ public class SchedulesPanel extends SimplePanel {
 
         boolean isRunning = JOB_STATE_NORMAL.equalsIgnoreCase( job.getState() );
 
-        final String action = isRunning ? "pauseJob" : "resumeJob";
-        controlJobs( selectedJobs, action, RequestBuilder.POST, false );
+        final String action = isRunning ? "pauseJobs" : "resumeJobs";
+        controlJobs( selectedJobs, action, false );
       }
     } );
     controlScheduleButton.setEnabled( false );
@@ -1143,7 +1277,7 @@ public class SchedulesPanel extends SimplePanel {
     MessageDialogBox messageDialog = new MessageDialogBox( title, message, false, true, true );
     messageDialog.center();
 
-    controlJobs( jobs, "triggerNow", RequestBuilder.POST, true );
+    controlJobs( jobs, "triggerNowJobs", true );
   }
 
   private Set<JsJob> getExecutableJobs( Map<String, List<JsJob>> candidateJobs, Response response ) {
@@ -1211,7 +1345,7 @@ public class SchedulesPanel extends SimplePanel {
 
     prompt.setCallback( new IDialogCallback() {
       public void okPressed() {
-        controlJobs( jobs, "removeJob", RequestBuilder.DELETE, true );
+        controlJobs( jobs, "removeJobs", true );
         prompt.hide();
       }
 
@@ -1224,39 +1358,48 @@ public class SchedulesPanel extends SimplePanel {
     prompt.center();
   }
 
-  private void controlJobs( final Set<JsJob> jobs, String function, final Method method, final boolean refreshData ) {
-    for ( final JsJob job : jobs ) {
-      RequestBuilder builder =
-        createRequestBuilder( method, ScheduleHelper.getPluginContextURL(), "api/scheduler/" + function );
-
-      builder.setHeader( CONTENT_TYPE, APPLICATION_JSON );
-
-      JSONObject startJobRequest = new JSONObject();
-      startJobRequest.put( "jobId", new JSONString( job.getJobId() ) );
+  /**
+   * Applies an operation to all the jobs with a single request to one of the bulk endpoints, e.g. pauseJobs, which
+   * answer with the new state of each job.
+   */
+  private void controlJobs( final Set<JsJob> jobs, String function, final boolean refreshData ) {
+    RequestBuilder builder =
+      createRequestBuilder( RequestBuilder.POST, ScheduleHelper.getPluginContextURL(), "api/scheduler/" + function );
+    builder.setHeader( CONTENT_TYPE, APPLICATION_JSON );
+    builder.setHeader( ACCEPT, APPLICATION_JSON );
 
-      try {
-        builder.sendRequest( startJobRequest.toString(), new RequestCallback() {
+    JSONObject requestData = new JSONObject();
+    requestData.put( "jobIds", getIds( jobs ) );
 
-          public void onError( Request request, Throwable exception ) {
-            // showError(exception);
-          }
+    try {
+      builder.sendRequest( requestData.toString(), new RequestCallback() {
 
-          public void onResponseReceived( Request request, Response response ) {
-            final String jobState = response.getText();
+        public void onError( Request request, Throwable exception ) {
+          // showError(exception);
+        }
 
-            job.setState( jobState );
+        public void onResponseReceived( Request request, Response response ) {
+          if ( response.getStatusCode() == Response.SC_OK ) {
+            JSONObject responseObj = new JSONObject( JsonUtils.safeEval( response.getText() ) );
+            Map<String, String> changes = SchedulerUiUtil.getMapFromJSONResponse( responseObj, "changes" );
+
+            for ( JsJob job : jobs ) {
+              String jobState = changes.get( job.getJobId() );
+              if ( jobState != null && !JOB_STATE_UNKNOWN_ERROR.equals( jobState ) ) {
+                job.setState( jobState );
+                updateJobScheduleButtonStyle( jobState );
+              }
+            }
             table.redraw();
+          }
 
-            updateJobScheduleButtonStyle( jobState );
-
-            if ( refreshData ) {
-              refresh();
-            }
+          if ( refreshData ) {
+            refresh();
           }
-        } );
-      } catch ( RequestException e ) {
-        // showError(e);
-      }
+        }
+      } );
+    } catch ( RequestException e ) {
+      // showError(e);
     }
   }
 
@@ -1472,6 +1615,10 @@ public class SchedulesPanel extends SimplePanel {
     return [];
   }-*/;
 
+  private native JsJobChanges parseJsonJobChanges( String json ) /*-{
+    return JSON.parse(json);
+  }-*/;
+
   private native JsJob parseJsonJob( String json ) /*-{
     return JSON.parse(json);
   }-*/;